@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * BenchmarkNode is a minimal tree of named nodes, used as input to and output from the reference
+ * converters. A node has either a value or a list of children.
+ */
+public final class BenchmarkNode implements ExternallyConvertible {
+	private final String name;
+	private final String value;
+	private final List<BenchmarkNode> children;
+
+	private BenchmarkNode(String name, String value, List<BenchmarkNode> children) {
+		this.name = name;
+		this.value = value;
+		this.children = children;
+	}
+
+	public static BenchmarkNode withValue(String name, String value) {
+		return new BenchmarkNode(name, value, Collections.emptyList());
+	}
+
+	public static BenchmarkNode withChildren(String name, List<BenchmarkNode> children) {
+		return new BenchmarkNode(name, null, List.copyOf(children));
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
+	public boolean hasValue() {
+		return value != null;
+	}
+
+	public List<BenchmarkNode> getChildren() {
+		return children;
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import se.uu.ub.cora.converter.ConverterProvider;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+/**
+ * BenchmarkSetup registers the {@link ReferenceConverterFactory} in {@link ConverterProvider} and
+ * turns off logging before a benchmark is run.
+ */
+final class BenchmarkSetup {
+
+	private BenchmarkSetup() {
+		throw new UnsupportedOperationException();
+	}
+
+	static void registerReferenceConverterFactory(boolean useCachedConverters) {
+		LoggerProvider.setLoggerFactory(new NoLoggingLoggerFactory());
+		ConverterProvider.setConverterFactory(ReferenceConverterFactory.NAME,
+				new ReferenceConverterFactory());
+		ConverterProvider.setUseCachedConverters(useCachedConverters);
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BenchmarkTrees creates trees of {@link BenchmarkNode}s of the sizes used in the benchmarks.
+ */
+public enum BenchmarkTrees {
+	SMALL(1, 10), MEDIUM(10, 100), LARGE(100, 1000);
+
+	private final int noOfGroups;
+	private final int noOfValuesPerGroup;
+
+	BenchmarkTrees(int noOfGroups, int noOfValuesPerGroup) {
+		this.noOfGroups = noOfGroups;
+		this.noOfValuesPerGroup = noOfValuesPerGroup;
+	}
+
+	public BenchmarkNode createTree() {
+		List<BenchmarkNode> groups = new ArrayList<>(noOfGroups + 1);
+		groups.add(createRecordInfo());
+		for (int group = 0; group < noOfGroups; group++) {
+			groups.add(createGroup(group));
+		}
+		return BenchmarkNode.withChildren("record", groups);
+	}
+
+	private BenchmarkNode createRecordInfo() {
+		return BenchmarkNode.withChildren("recordInfo",
+				List.of(BenchmarkNode.withValue("id", "someRecordId"),
+						BenchmarkNode.withValue("type", "someRecordType")));
+	}
+
+	private BenchmarkNode createGroup(int group) {
+		List<BenchmarkNode> values = new ArrayList<>(noOfValuesPerGroup);
+		for (int value = 0; value < noOfValuesPerGroup; value++) {
+			values.add(BenchmarkNode.withValue("value" + value,
+					"some \"quoted\" text\twith åäö for value " + group + "-" + value));
+		}
+		return BenchmarkNode.withChildren("group" + group, values);
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.converter.ConverterProvider;
+import se.uu.ub.cora.converter.ExternalUrls;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * Measures conversion throughput through {@link ConverterProvider} and the
+ * {@link ReferenceConverterFactory}, in both directions, for small, medium and large trees. The
+ * UTF-8 benchmarks measure the default byte output of converters that only produce Strings.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBenchmark {
+
+	@Param({ "SMALL", "MEDIUM", "LARGE" })
+	public BenchmarkTrees treeSize;
+
+	private BenchmarkNode tree;
+	private String json;
+	private ExternalUrls externalUrls;
+	private ByteBuffer directBuffer;
+
+	@Setup
+	public void setup() {
+		BenchmarkSetup.registerReferenceConverterFactory(false);
+		tree = treeSize.createTree();
+		externalUrls = new ExternalUrls();
+		externalUrls.setBaseUrl("https://cora.example.org/rest/");
+		json = ConverterProvider
+				.getExternallyConvertibleToStringConverter(ReferenceConverterFactory.NAME)
+				.convertWithLinks(tree, externalUrls);
+		directBuffer = ByteBuffer
+				.allocateDirect(json.getBytes(StandardCharsets.UTF_8).length);
+	}
+
+	@Benchmark
+	public String convert() {
+		return ConverterProvider
+				.getExternallyConvertibleToStringConverter(ReferenceConverterFactory.NAME)
+				.convert(tree);
+	}
+
+	@Benchmark
+	public String convertWithLinks() {
+		return ConverterProvider
+				.getExternallyConvertibleToStringConverter(ReferenceConverterFactory.NAME)
+				.convertWithLinks(tree, externalUrls);
+	}
+
+	@Benchmark
+	public byte[] convertToUtf8() {
+		return ConverterProvider
+				.getExternallyConvertibleToStringConverter(ReferenceConverterFactory.NAME)
+				.convertToUtf8(tree);
+	}
+
+	@Benchmark
+	public int convertWithLinksToDirectBuffer() {
+		directBuffer.clear();
+		return ConverterProvider
+				.getExternallyConvertibleToStringConverter(ReferenceConverterFactory.NAME)
+				.convertWithLinksToBuffer(tree, externalUrls, directBuffer);
+	}
+
+	@Benchmark
+	public ExternallyConvertible convertFromString() {
+		return ConverterProvider
+				.getStringToExternallyConvertibleConverter(ReferenceConverterFactory.NAME)
+				.convert(json);
+	}
+}
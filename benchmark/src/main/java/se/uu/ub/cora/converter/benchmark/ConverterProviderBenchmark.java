@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.converter.ConverterProvider;
+import se.uu.ub.cora.converter.ExternallyConvertibleToStringConverter;
+import se.uu.ub.cora.converter.StringToExternallyConvertibleConverter;
+
+/**
+ * Measures the cost of getting converters from {@link ConverterProvider} with one, four and as
+ * many threads as there are available processors, with and without cached converters.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterProviderBenchmark {
+
+	@Param({ "false", "true" })
+	public boolean useCachedConverters;
+
+	@Setup
+	public void setup() {
+		BenchmarkSetup.registerReferenceConverterFactory(useCachedConverters);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public ExternallyConvertibleToStringConverter lookupToStringOneThread() {
+		return lookupToString();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public ExternallyConvertibleToStringConverter lookupToStringFourThreads() {
+		return lookupToString();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public ExternallyConvertibleToStringConverter lookupToStringMaxThreads() {
+		return lookupToString();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public StringToExternallyConvertibleConverter lookupStringToOneThread() {
+		return lookupStringTo();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public StringToExternallyConvertibleConverter lookupStringToMaxThreads() {
+		return lookupStringTo();
+	}
+
+	private ExternallyConvertibleToStringConverter lookupToString() {
+		return ConverterProvider
+				.getExternallyConvertibleToStringConverter(ReferenceConverterFactory.NAME);
+	}
+
+	private StringToExternallyConvertibleConverter lookupStringTo() {
+		return ConverterProvider
+				.getStringToExternallyConvertibleConverter(ReferenceConverterFactory.NAME);
+	}
+}
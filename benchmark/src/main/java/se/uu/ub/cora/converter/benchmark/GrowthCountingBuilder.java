@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+/**
+ * GrowthCountingBuilder builds a String in a StringBuilder and counts the number of times the
+ * StringBuilder grows, that is allocates a larger array and copies what has been built so far to
+ * it. The capacity is checked after each append, so the count is measured and not derived from the
+ * growth policy of StringBuilder.
+ */
+final class GrowthCountingBuilder {
+	private final StringBuilder builder;
+	private int capacity;
+	private int noOfGrowths = 0;
+
+	GrowthCountingBuilder(StringBuilder builder) {
+		this.builder = builder;
+		capacity = builder.capacity();
+	}
+
+	GrowthCountingBuilder append(String value) {
+		builder.append(value);
+		countGrowth();
+		return this;
+	}
+
+	GrowthCountingBuilder append(char value) {
+		builder.append(value);
+		countGrowth();
+		return this;
+	}
+
+	private void countGrowth() {
+		if (builder.capacity() != capacity) {
+			capacity = builder.capacity();
+			noOfGrowths++;
+		}
+	}
+
+	int getNoOfGrowths() {
+		return noOfGrowths;
+	}
+
+	@Override
+	public String toString() {
+		return builder.toString();
+	}
+}
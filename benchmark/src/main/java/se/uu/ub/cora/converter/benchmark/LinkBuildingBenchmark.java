@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.converter.ExternalUrls;
+import se.uu.ub.cora.converter.ImmutableExternalUrls;
+
+/**
+ * Compares building record links by concatenating the baseUrl from {@link ExternalUrls} with
+ * building them using the precomputed prefixes in {@link ImmutableExternalUrls}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkBuildingBenchmark {
+	private static final String BASE_URL = "https://cora.example.org/rest/";
+	private static final String RECORD_TYPE = "publication";
+	private static final String RECORD_ID = "publication:1234567890";
+
+	private final ExternalUrls externalUrls = createExternalUrls();
+	private final ImmutableExternalUrls immutableExternalUrls = new ImmutableExternalUrls(BASE_URL,
+			null);
+	private final StringBuilder builder = new StringBuilder(256);
+	private final ByteBuffer directBuffer = ByteBuffer.allocateDirect(256);
+
+	private static ExternalUrls createExternalUrls() {
+		ExternalUrls urls = new ExternalUrls();
+		urls.setBaseUrl(BASE_URL);
+		return urls;
+	}
+
+	@Benchmark
+	public String concatenateRecordUrl() {
+		return externalUrls.getBaseUrl() + "record/" + RECORD_TYPE + "/" + RECORD_ID;
+	}
+
+	@Benchmark
+	public String getRecordUrl() {
+		return immutableExternalUrls.getRecordUrl(RECORD_TYPE, RECORD_ID);
+	}
+
+	@Benchmark
+	public int appendConcatenatedRecordUrl() {
+		builder.setLength(0);
+		builder.append(externalUrls.getBaseUrl() + "record/" + RECORD_TYPE + "/" + RECORD_ID);
+		return builder.length();
+	}
+
+	@Benchmark
+	public int appendRecordUrl() {
+		builder.setLength(0);
+		immutableExternalUrls.appendRecordUrl(builder, RECORD_TYPE, RECORD_ID);
+		return builder.length();
+	}
+
+	@Benchmark
+	public int putConcatenatedRecordUrl() {
+		directBuffer.clear();
+		directBuffer.put((externalUrls.getBaseUrl() + "record/" + RECORD_TYPE + "/" + RECORD_ID)
+				.getBytes(StandardCharsets.UTF_8));
+		return directBuffer.position();
+	}
+
+	@Benchmark
+	public int putRecordUrl() {
+		directBuffer.clear();
+		return immutableExternalUrls.putRecordUrl(directBuffer, RECORD_TYPE, RECORD_ID);
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.logger.Logger;
+import se.uu.ub.cora.logger.LoggerFactory;
+
+/**
+ * NoLoggingLoggerFactory factors loggers that discard all messages, so that logging does not
+ * affect the benchmark results.
+ */
+final class NoLoggingLoggerFactory implements LoggerFactory {
+
+	@Override
+	public Logger factorForClass(Class<? extends Object> javaClass) {
+		return new NoLogger();
+	}
+
+	private static final class NoLogger implements Logger {
+
+		@Override
+		public void logFatalUsingMessage(String message) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logFatalUsingMessageAndException(String message, Exception exception) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logErrorUsingMessage(String message) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logErrorUsingMessageAndException(String message, Exception exception) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logWarnUsingMessage(String message) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logWarnUsingMessageAndException(String message, Exception exception) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logInfoUsingMessage(String message) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logDebugUsingMessage(String message) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logDebugUsingMessageSupplier(Supplier<String> messageSupplier) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logTraceUsingMessage(String message) {
+			// not logged in benchmarks
+		}
+
+		@Override
+		public void logTraceUsingMessageSupplier(Supplier<String> messageSupplier) {
+			// not logged in benchmarks
+		}
+	}
+}
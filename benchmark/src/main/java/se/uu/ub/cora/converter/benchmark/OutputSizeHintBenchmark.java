@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.converter.ConverterProvider;
+import se.uu.ub.cora.converter.ExternalUrls;
+import se.uu.ub.cora.converter.OutputSizeEstimator;
+
+/**
+ * Measures conversion to String with and without output size hints from an
+ * {@link OutputSizeEstimator}, for small, medium and large trees.
+ * <p>
+ * Besides throughput, the number of times the output buffer is grown and copied is reported as the
+ * secondary result bufferCopies. It is counted by the reference converter, which checks the
+ * capacity of its StringBuilder after each append, see {@link GrowthCountingBuilder}. The count is
+ * taken from a counter shared by all threads, so it is only exact when the benchmark is run with one
+ * thread, which is the default. Run with "-prof gc" to also see the allocation rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OutputSizeHintBenchmark {
+	private static final String RECORD_TYPE = "benchmarkRecord";
+
+	@Param({ "SMALL", "MEDIUM", "LARGE" })
+	public BenchmarkTrees treeSize;
+
+	@Param({ "false", "true" })
+	public boolean useOutputSizeHints;
+
+	private BenchmarkNode tree;
+	private ExternalUrls externalUrls;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class BufferCopies {
+		public long bufferCopies;
+	}
+
+	@Setup
+	public void setup() {
+		BenchmarkSetup.registerReferenceConverterFactory(false);
+		tree = treeSize.createTree();
+		externalUrls = new ExternalUrls();
+		externalUrls.setBaseUrl("https://cora.example.org/rest/");
+		OutputSizeEstimator outputSizeEstimator = useOutputSizeHints
+				? new OutputSizeEstimator(externallyConvertible -> RECORD_TYPE)
+				: null;
+		ConverterProvider.setOutputSizeEstimator(ReferenceConverterFactory.NAME,
+				outputSizeEstimator);
+		convertTree();
+		convertTreeWithLinks();
+	}
+
+	@Benchmark
+	public String convert(BufferCopies bufferCopies) {
+		long noOfGrowthsBefore = ReferenceToStringConverter.getNoOfBufferGrowths();
+		String converted = convertTree();
+		bufferCopies.bufferCopies += ReferenceToStringConverter.getNoOfBufferGrowths()
+				- noOfGrowthsBefore;
+		return converted;
+	}
+
+	@Benchmark
+	public String convertWithLinks(BufferCopies bufferCopies) {
+		long noOfGrowthsBefore = ReferenceToStringConverter.getNoOfBufferGrowths();
+		String converted = convertTreeWithLinks();
+		bufferCopies.bufferCopies += ReferenceToStringConverter.getNoOfBufferGrowths()
+				- noOfGrowthsBefore;
+		return converted;
+	}
+
+	private String convertTree() {
+		return ConverterProvider
+				.getExternallyConvertibleToStringConverter(ReferenceConverterFactory.NAME)
+				.convert(tree);
+	}
+
+	private String convertTreeWithLinks() {
+		return ConverterProvider
+				.getExternallyConvertibleToStringConverter(ReferenceConverterFactory.NAME)
+				.convertWithLinks(tree, externalUrls);
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import se.uu.ub.cora.converter.ConverterFactory;
+import se.uu.ub.cora.converter.ConverterFactoryName;
+import se.uu.ub.cora.converter.ExternallyConvertibleToStringConverter;
+import se.uu.ub.cora.converter.StringToExternallyConvertibleConverter;
+
+/**
+ * ReferenceConverterFactory factors simple JSON converters for {@link BenchmarkNode} trees. The
+ * converters do the same kind of work as real converters, building strings with escaping and
+ * links, and are used to measure the overhead of the converter layer.
+ */
+@ConverterFactoryName(ReferenceConverterFactory.NAME)
+public final class ReferenceConverterFactory implements ConverterFactory {
+	public static final String NAME = "benchmarkJson";
+
+	@Override
+	public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+		return new ReferenceToStringConverter();
+	}
+
+	@Override
+	public StringToExternallyConvertibleConverter factorStringToExternallyConvertableConverter() {
+		return new ReferenceFromStringConverter();
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public boolean factorsThreadSafeConverters() {
+		return true;
+	}
+}
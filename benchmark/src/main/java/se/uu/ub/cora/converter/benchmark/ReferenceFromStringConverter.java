@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import se.uu.ub.cora.converter.ConverterException;
+import se.uu.ub.cora.converter.StringToExternallyConvertibleConverter;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ReferenceFromStringConverter parses the JSON written by {@link ReferenceToStringConverter} back
+ * into {@link BenchmarkNode} trees. Action links are read but ignored.
+ */
+final class ReferenceFromStringConverter implements StringToExternallyConvertibleConverter {
+
+	@Override
+	public ExternallyConvertible convert(String dataString) {
+		return new Parser(dataString).parseNode();
+	}
+
+	private static final class Parser {
+		private final String json;
+		private int position = 0;
+
+		Parser(String json) {
+			this.json = json;
+		}
+
+		BenchmarkNode parseNode() {
+			expect('{');
+			String name = null;
+			String value = null;
+			List<BenchmarkNode> children = null;
+			do {
+				String key = parseString();
+				expect(':');
+				switch (key) {
+				case "name" -> name = parseString();
+				case "value" -> value = parseString();
+				case "children" -> children = parseChildren();
+				default -> skipValue();
+				}
+			} while (consumeIf(','));
+			expect('}');
+			if (children == null) {
+				return BenchmarkNode.withValue(name, value);
+			}
+			return BenchmarkNode.withChildren(name, children);
+		}
+
+		private List<BenchmarkNode> parseChildren() {
+			expect('[');
+			List<BenchmarkNode> children = new ArrayList<>();
+			if (consumeIf(']')) {
+				return children;
+			}
+			do {
+				children.add(parseNode());
+			} while (consumeIf(','));
+			expect(']');
+			return children;
+		}
+
+		private void skipValue() {
+			char c = json.charAt(position);
+			if (c == '"') {
+				parseString();
+			} else if (c == '{') {
+				skipObject();
+			} else {
+				throw error("Unexpected value");
+			}
+		}
+
+		private void skipObject() {
+			expect('{');
+			do {
+				parseString();
+				expect(':');
+				skipValue();
+			} while (consumeIf(','));
+			expect('}');
+		}
+
+		private String parseString() {
+			expect('"');
+			StringBuilder value = new StringBuilder();
+			char c = next();
+			while (c != '"') {
+				if (c == '\\') {
+					value.append(parseEscaped());
+				} else {
+					value.append(c);
+				}
+				c = next();
+			}
+			return value.toString();
+		}
+
+		private char parseEscaped() {
+			char c = next();
+			return switch (c) {
+			case 'n' -> '\n';
+			case 'r' -> '\r';
+			case 't' -> '\t';
+			case 'u' -> parseUnicode();
+			default -> c;
+			};
+		}
+
+		private char parseUnicode() {
+			position += 4;
+			return (char) Integer.parseInt(json, position - 4, position, 16);
+		}
+
+		private boolean consumeIf(char expected) {
+			if (position < json.length() && json.charAt(position) == expected) {
+				position++;
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(char expected) {
+			if (!consumeIf(expected)) {
+				throw error("Expected " + expected);
+			}
+		}
+
+		private char next() {
+			if (position >= json.length()) {
+				throw error("Unexpected end of data");
+			}
+			return json.charAt(position++);
+		}
+
+		private ConverterException error(String message) {
+			return new ConverterException(message + " at position " + position);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import se.uu.ub.cora.converter.ConverterException;
+import se.uu.ub.cora.converter.ExternalUrls;
+import se.uu.ub.cora.converter.ExternallyConvertibleToStringConverter;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ReferenceToStringConverter converts {@link BenchmarkNode} trees to JSON, adding a read link to
+ * every group when converting with links. Output size hints are used as the initial capacity of
+ * the StringBuilder the JSON is built in. The number of times that StringBuilder grows is counted
+ * for all converters, see {@link #getNoOfBufferGrowths()}.
+ */
+final class ReferenceToStringConverter implements ExternallyConvertibleToStringConverter {
+	private static final LongAdder noOfBufferGrowths = new LongAdder();
+
+	static long getNoOfBufferGrowths() {
+		return noOfBufferGrowths.sum();
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible) {
+		return convert(externallyConvertible, 0);
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		return convertWithLinks(externallyConvertible, externalUrls, 0);
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, int outputSizeHint) {
+		GrowthCountingBuilder json = createBuilder(outputSizeHint);
+		appendNode(json, asNode(externallyConvertible), null);
+		return toJson(json);
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, int outputSizeHint) {
+		GrowthCountingBuilder json = createBuilder(outputSizeHint);
+		appendNode(json, asNode(externallyConvertible), externalUrls);
+		return toJson(json);
+	}
+
+	private GrowthCountingBuilder createBuilder(int outputSizeHint) {
+		if (outputSizeHint > 0) {
+			return new GrowthCountingBuilder(new StringBuilder(outputSizeHint));
+		}
+		return new GrowthCountingBuilder(new StringBuilder());
+	}
+
+	private String toJson(GrowthCountingBuilder json) {
+		noOfBufferGrowths.add(json.getNoOfGrowths());
+		return json.toString();
+	}
+
+	private BenchmarkNode asNode(ExternallyConvertible externallyConvertible) {
+		if (externallyConvertible instanceof BenchmarkNode node) {
+			return node;
+		}
+		throw new ConverterException("Unable to convert " + externallyConvertible);
+	}
+
+	private void appendNode(GrowthCountingBuilder json, BenchmarkNode node, ExternalUrls externalUrls) {
+		json.append("{\"name\":");
+		appendString(json, node.getName());
+		if (node.hasValue()) {
+			json.append(",\"value\":");
+			appendString(json, node.getValue());
+		} else {
+			appendChildren(json, node, externalUrls);
+			appendLink(json, node, externalUrls);
+		}
+		json.append('}');
+	}
+
+	private void appendChildren(GrowthCountingBuilder json, BenchmarkNode node,
+			ExternalUrls externalUrls) {
+		json.append(",\"children\":[");
+		boolean first = true;
+		for (BenchmarkNode child : node.getChildren()) {
+			if (!first) {
+				json.append(',');
+			}
+			appendNode(json, child, externalUrls);
+			first = false;
+		}
+		json.append(']');
+	}
+
+	private void appendLink(GrowthCountingBuilder json, BenchmarkNode node, ExternalUrls externalUrls) {
+		if (externalUrls != null) {
+			json.append(",\"actionLinks\":{\"read\":{\"requestMethod\":\"GET\",\"url\":");
+			appendString(json, externalUrls.getBaseUrl() + "record/" + node.getName());
+			json.append("}}");
+		}
+	}
+
+	private void appendString(GrowthCountingBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			appendEscaped(json, value.charAt(i));
+		}
+		json.append('"');
+	}
+
+	private void appendEscaped(GrowthCountingBuilder json, char c) {
+		switch (c) {
+		case '"' -> json.append("\\\"");
+		case '\\' -> json.append("\\\\");
+		case '\n' -> json.append("\\n");
+		case '\r' -> json.append("\\r");
+		case '\t' -> json.append("\\t");
+		default -> appendPlainOrUnicode(json, c);
+		}
+	}
+
+	private void appendPlainOrUnicode(GrowthCountingBuilder json, char c) {
+		if (c < 0x20) {
+			json.append(String.format("\\u%04x", (int) c));
+		} else {
+			json.append(c);
+		}
+	}
+}
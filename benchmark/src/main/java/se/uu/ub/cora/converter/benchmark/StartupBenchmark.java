@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.benchmark;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import se.uu.ub.cora.converter.ConverterFactory;
+import se.uu.ub.cora.converter.ExternallyConvertibleToStringConverter;
+import se.uu.ub.cora.converter.index.ConverterFactoryIndex;
+import se.uu.ub.cora.converter.starter.ConverterModuleStarterImp;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+/**
+ * Measures the cold start of the converter module, from finding the ConverterFactory
+ * implementations to factoring the first converter, in a new JVM for each measurement.
+ * <p>
+ * INDEX takes the factory names from the converter index written at build time, so that indexed
+ * factories are not instantiated at start. SERVICE_LOADER hides the index so that the names are
+ * found from annotations or by instantiating the factories. The ServiceLoader providers are listed
+ * in both cases.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+	public enum Discovery {
+		INDEX, SERVICE_LOADER
+	}
+
+	@Param({ "INDEX", "SERVICE_LOADER" })
+	public Discovery discovery;
+
+	@Setup
+	public void setup() {
+		LoggerProvider.setLoggerFactory(new NoLoggingLoggerFactory());
+		if (discovery == Discovery.SERVICE_LOADER) {
+			Thread currentThread = Thread.currentThread();
+			currentThread.setContextClassLoader(
+					new IndexHidingClassLoader(currentThread.getContextClassLoader()));
+		}
+	}
+
+	@Benchmark
+	public ExternallyConvertibleToStringConverter startAndFactorFirstConverter() {
+		Map<String, ConverterFactory> converterFactories = new ConverterModuleStarterImp()
+				.startUsingConverterFactoryImplementations(
+						ServiceLoader.load(ConverterFactory.class));
+		return converterFactories.get(ReferenceConverterFactory.NAME)
+				.factorExternallyConvertableToStringConverter();
+	}
+
+	private static final class IndexHidingClassLoader extends ClassLoader {
+		IndexHidingClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		public URL getResource(String name) {
+			if (ConverterFactoryIndex.RESOURCE_NAME.equals(name)) {
+				return null;
+			}
+			return super.getResource(name);
+		}
+
+		@Override
+		public Enumeration<URL> getResources(String name) throws IOException {
+			if (ConverterFactoryIndex.RESOURCE_NAME.equals(name)) {
+				return Collections.emptyEnumeration();
+			}
+			return super.getResources(name);
+		}
+	}
+}
@@ -1,8 +1,13 @@
 module se.uu.ub.cora.converter {
 	requires transitive se.uu.ub.cora.logger;
 	requires transitive se.uu.ub.cora.data;
+	requires jdk.jfr;
+	requires java.management;
+	requires jdk.management;
+	requires static java.compiler;
 
 	exports se.uu.ub.cora.converter;
+	exports se.uu.ub.cora.converter.index;
 
 	uses se.uu.ub.cora.converter.ConverterFactory;
 }
\ No newline at end of file
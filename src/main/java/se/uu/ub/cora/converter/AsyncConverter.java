@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * AsyncConverter runs conversions using the converters with a given name from
+ * {@link ConverterProvider} on an {@link Executor}, and returns the results as
+ * {@link CompletableFuture}s. By default is each conversion run on a new virtual thread.
+ * <p>
+ * Each conversion uses a converter fetched from ConverterProvider in the thread running the
+ * conversion, so the converters do not need to be thread safe.
+ * <p>
+ * If a conversion fails is the returned future completed exceptionally with a
+ * {@link ConverterException}. Other exceptions thrown during the conversion, such as a
+ * {@link ConverterInitializationException} for an unknown converter name, are wrapped in a
+ * ConverterException. If an Error is thrown during the conversion is the returned future completed
+ * exceptionally with the Error, before the Error is rethrown to the executor. If the returned
+ * future is cancelled with mayInterruptIfRunning set to true, is the thread running the
+ * conversion interrupted.
+ * <p>
+ * AsyncConverter is thread safe.
+ */
+public final class AsyncConverter {
+	private static final ThreadFactory VIRTUAL_THREAD_FACTORY = Thread.ofVirtual()
+			.name("converter-", 0).factory();
+	private static final Executor VIRTUAL_THREAD_EXECUTOR = command -> VIRTUAL_THREAD_FACTORY
+			.newThread(command).start();
+
+	private final String converterName;
+	private final Executor executor;
+
+	/**
+	 * Creates an AsyncConverter using the converters with the entered name, running each
+	 * conversion on a new virtual thread.
+	 *
+	 * @param converterName
+	 *            String with a name that identifies the desired Converter.
+	 */
+	public AsyncConverter(String converterName) {
+		this(converterName, VIRTUAL_THREAD_EXECUTOR);
+	}
+
+	/**
+	 * Creates an AsyncConverter using the converters with the entered name, running conversions
+	 * using the entered executor.
+	 *
+	 * @param converterName
+	 *            String with a name that identifies the desired Converter.
+	 * @param executor
+	 *            the Executor to run conversions with
+	 */
+	public AsyncConverter(String converterName, Executor executor) {
+		this.converterName = converterName;
+		this.executor = executor;
+	}
+
+	/**
+	 * Converts the entered externallyConvertible in the same way as
+	 * {@link ExternallyConvertibleToStringConverter#convert(ExternallyConvertible)}.
+	 *
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @return a CompletableFuture completed with the result of the convertion as a String
+	 */
+	public CompletableFuture<String> convert(ExternallyConvertible externallyConvertible) {
+		return runAsync(() -> ConverterProvider
+				.getExternallyConvertibleToStringConverter(converterName)
+				.convert(externallyConvertible));
+	}
+
+	/**
+	 * Converts the entered externallyConvertible in the same way as
+	 * {@link ExternallyConvertibleToStringConverter#convertWithLinks(ExternallyConvertible, ExternalUrls)}.
+	 *
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @return a CompletableFuture completed with the result of the convertion as a String with
+	 *         links for actions
+	 */
+	public CompletableFuture<String> convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		return runAsync(() -> ConverterProvider
+				.getExternallyConvertibleToStringConverter(converterName)
+				.convertWithLinks(externallyConvertible, externalUrls));
+	}
+
+	/**
+	 * Converts the entered dataString in the same way as
+	 * {@link StringToExternallyConvertibleConverter#convert(String)}.
+	 *
+	 * @param dataString
+	 *            with the string representation of an element to convert from
+	 * @return a CompletableFuture completed with the result of the convertion as a
+	 *         ExternallyConvertible
+	 */
+	public CompletableFuture<ExternallyConvertible> convert(String dataString) {
+		return runAsync(() -> ConverterProvider
+				.getStringToExternallyConvertibleConverter(converterName).convert(dataString));
+	}
+
+	private <T> CompletableFuture<T> runAsync(Supplier<T> conversion) {
+		ConversionTask<T> task = new ConversionTask<>(conversion);
+		try {
+			executor.execute(task);
+		} catch (RuntimeException e) {
+			task.future.completeExceptionally(
+					new ConverterException("Unable to start conversion", e));
+		}
+		return task.future;
+	}
+
+	private static final class ConversionTask<T> implements Runnable {
+		private final Supplier<T> conversion;
+		private final CompletableFuture<T> future = new InterruptingFuture();
+		private Thread runner;
+
+		ConversionTask(Supplier<T> conversion) {
+			this.conversion = conversion;
+		}
+
+		@Override
+		public void run() {
+			if (!startRunning()) {
+				return;
+			}
+			try {
+				future.complete(conversion.get());
+			} catch (ConverterException e) {
+				future.completeExceptionally(e);
+			} catch (RuntimeException e) {
+				future.completeExceptionally(new ConverterException(e.getMessage(), e));
+			} catch (Error e) {
+				future.completeExceptionally(e);
+				throw e;
+			} finally {
+				stopRunning();
+			}
+		}
+
+		private synchronized boolean startRunning() {
+			if (future.isDone()) {
+				return false;
+			}
+			runner = Thread.currentThread();
+			return true;
+		}
+
+		private synchronized void stopRunning() {
+			runner = null;
+			if (future.isCancelled()) {
+				Thread.interrupted();
+			}
+		}
+
+		private synchronized void interruptIfRunning() {
+			if (runner != null) {
+				runner.interrupt();
+			}
+		}
+
+		private final class InterruptingFuture extends CompletableFuture<T> {
+			@Override
+			public boolean cancel(boolean mayInterruptIfRunning) {
+				boolean cancelled = super.cancel(mayInterruptIfRunning);
+				if (cancelled && mayInterruptIfRunning) {
+					interruptIfRunning();
+				}
+				return cancelled;
+			}
+		}
+	}
+}
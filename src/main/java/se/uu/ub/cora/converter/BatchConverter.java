@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * BatchConverter converts lists of ExternallyConvertibles to Strings using the
+ * {@link ExternallyConvertibleToStringConverter} with a given name from {@link ConverterProvider}.
+ * <p>
+ * The list is split into at most parallelism consecutive parts that are converted at the same time
+ * in the common {@link ForkJoinPool}. Each part is converted by its own converter, so the
+ * converters do not need to be thread safe. The results are returned in the same order as the
+ * entered list.
+ * <p>
+ * BatchConverter is thread safe.
+ */
+public final class BatchConverter {
+
+	private final String converterName;
+	private final int parallelism;
+
+	/**
+	 * Creates a BatchConverter using the converter with the entered name and a parallelism equal
+	 * to the number of available processors.
+	 *
+	 * @param converterName
+	 *            String with a name that identifies the desired Converter.
+	 */
+	public BatchConverter(String converterName) {
+		this(converterName, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a BatchConverter using the converter with the entered name, converting at most
+	 * parallelism parts of a list at the same time.
+	 *
+	 * @param converterName
+	 *            String with a name that identifies the desired Converter.
+	 * @param parallelism
+	 *            the maximum number of parts of a list to convert at the same time, must be at
+	 *            least 1
+	 */
+	public BatchConverter(String converterName, int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException(
+					"Parallelism must be at least 1, was " + parallelism);
+		}
+		this.converterName = converterName;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Returns a list of Strings containing the results of the convertions from the entered
+	 * externallyConvertibles, in the same order as the entered list, see
+	 * {@link ExternallyConvertibleToStringConverter#convertAll(List)}.
+	 * <p>
+	 * If unable to convert an element a {@link ConverterException} is thrown.
+	 *
+	 * @param externallyConvertibles
+	 *            to convert from
+	 * @return results of the convertions as Strings
+	 */
+	public List<String> convertAll(List<? extends ExternallyConvertible> externallyConvertibles) {
+		return convertInParts(externallyConvertibles, false, null);
+	}
+
+	/**
+	 * Returns a list of Strings containing the results of the convertions with links from the
+	 * entered externallyConvertibles, in the same order as the entered list, see
+	 * {@link ExternallyConvertibleToStringConverter#convertAllWithLinks(List, ExternalUrls)}.
+	 * <p>
+	 * If unable to convert an element a {@link ConverterException} is thrown.
+	 *
+	 * @param externallyConvertibles
+	 *            to convert from
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @return results of the convertions as Strings with links for actions
+	 */
+	public List<String> convertAllWithLinks(
+			List<? extends ExternallyConvertible> externallyConvertibles,
+			ExternalUrls externalUrls) {
+		return convertInParts(externallyConvertibles, true, externalUrls);
+	}
+
+	private List<String> convertInParts(
+			List<? extends ExternallyConvertible> externallyConvertibles, boolean withLinks,
+			ExternalUrls externalUrls) {
+		String[] converted = new String[externallyConvertibles.size()];
+		List<PartConversion> parts = createParts(externallyConvertibles, withLinks, externalUrls,
+				converted);
+		if (parts.size() == 1) {
+			parts.get(0).compute();
+		} else {
+			ForkJoinPool.commonPool().invoke(new AllParts(parts));
+		}
+		return Collections.unmodifiableList(Arrays.asList(converted));
+	}
+
+	private List<PartConversion> createParts(
+			List<? extends ExternallyConvertible> externallyConvertibles, boolean withLinks,
+			ExternalUrls externalUrls, String[] converted) {
+		int size = externallyConvertibles.size();
+		int noOfParts = Math.max(1, Math.min(parallelism, size));
+		List<PartConversion> parts = new ArrayList<>(noOfParts);
+		for (int part = 0; part < noOfParts; part++) {
+			int from = (int) ((long) size * part / noOfParts);
+			int to = (int) ((long) size * (part + 1) / noOfParts);
+			parts.add(new PartConversion(externallyConvertibles.subList(from, to), from,
+					withLinks, externalUrls, converted));
+		}
+		return parts;
+	}
+
+	private static final class AllParts extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final transient List<PartConversion> parts;
+
+		AllParts(List<PartConversion> parts) {
+			this.parts = parts;
+		}
+
+		@Override
+		protected void compute() {
+			invokeAll(parts);
+		}
+	}
+
+	private final class PartConversion extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final transient List<? extends ExternallyConvertible> externallyConvertibles;
+		private final int offset;
+		private final boolean withLinks;
+		private final transient ExternalUrls externalUrls;
+		private final String[] converted;
+
+		PartConversion(List<? extends ExternallyConvertible> externallyConvertibles, int offset,
+				boolean withLinks, ExternalUrls externalUrls, String[] converted) {
+			this.externallyConvertibles = externallyConvertibles;
+			this.offset = offset;
+			this.withLinks = withLinks;
+			this.externalUrls = externalUrls;
+			this.converted = converted;
+		}
+
+		@Override
+		protected void compute() {
+			List<String> convertedPart = convertPart();
+			for (int i = 0; i < convertedPart.size(); i++) {
+				converted[offset + i] = convertedPart.get(i);
+			}
+		}
+
+		private List<String> convertPart() {
+			ExternallyConvertibleToStringConverter converter = ConverterProvider
+					.getExternallyConvertibleToStringConverter(converterName);
+			if (withLinks) {
+				return converter.convertAllWithLinks(externallyConvertibles, externalUrls);
+			}
+			return converter.convertAll(externallyConvertibles);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * BufferPoolStatistics holds the statistics of an {@link OutputBufferPool} at the time they were
+ * read.
+ */
+public final class BufferPoolStatistics {
+	private final long noOfHits;
+	private final long noOfMisses;
+	private final long noOfDiscarded;
+	private final int noOfBuffers;
+
+	BufferPoolStatistics(long noOfHits, long noOfMisses, long noOfDiscarded, int noOfBuffers) {
+		this.noOfHits = noOfHits;
+		this.noOfMisses = noOfMisses;
+		this.noOfDiscarded = noOfDiscarded;
+		this.noOfBuffers = noOfBuffers;
+	}
+
+	/**
+	 * Returns the number of borrowed buffers taken from the buffers kept in the pool.
+	 */
+	public long getNoOfHits() {
+		return noOfHits;
+	}
+
+	/**
+	 * Returns the number of borrowed buffers that had to be created.
+	 */
+	public long getNoOfMisses() {
+		return noOfMisses;
+	}
+
+	/**
+	 * Returns the number of returned buffers that were not kept, because they had grown larger
+	 * than the maximum retained capacity or because the pool was full.
+	 */
+	public long getNoOfDiscarded() {
+		return noOfDiscarded;
+	}
+
+	/**
+	 * Returns the number of buffers kept in the pool.
+	 */
+	public int getNoOfBuffers() {
+		return noOfBuffers;
+	}
+
+	/**
+	 * Returns the share of borrowed buffers that were reused, or 0 if no buffers have been
+	 * borrowed.
+	 */
+	public double getHitRatio() {
+		long noOfBorrowed = noOfHits + noOfMisses;
+		return noOfBorrowed == 0 ? 0 : (double) noOfHits / noOfBorrowed;
+	}
+}
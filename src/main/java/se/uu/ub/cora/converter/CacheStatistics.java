@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * CacheStatistics holds the statistics of a conversion cache, such as an {@link OutputCache} or a
+ * {@link ParseResultCache}, at the time they were read.
+ */
+public final class CacheStatistics {
+	private final long noOfHits;
+	private final long noOfMisses;
+	private final long noOfEvictions;
+	private final long noOfInvalidations;
+	private final int noOfEntries;
+	private final long size;
+
+	CacheStatistics(long noOfHits, long noOfMisses, long noOfEvictions,
+			long noOfInvalidations, int noOfEntries, long size) {
+		this.noOfHits = noOfHits;
+		this.noOfMisses = noOfMisses;
+		this.noOfEvictions = noOfEvictions;
+		this.noOfInvalidations = noOfInvalidations;
+		this.noOfEntries = noOfEntries;
+		this.size = size;
+	}
+
+	public long getNoOfHits() {
+		return noOfHits;
+	}
+
+	public long getNoOfMisses() {
+		return noOfMisses;
+	}
+
+	/**
+	 * Returns the number of entries removed to keep the cache within its maximum size.
+	 */
+	public long getNoOfEvictions() {
+		return noOfEvictions;
+	}
+
+	/**
+	 * Returns the number of entries removed by invalidation, or by an {@link OutputCache} because a
+	 * newer version of the record was converted.
+	 */
+	public long getNoOfInvalidations() {
+		return noOfInvalidations;
+	}
+
+	public int getNoOfEntries() {
+		return noOfEntries;
+	}
+
+	/**
+	 * Returns the total size in characters of the cached entries, as counted by the cache.
+	 */
+	public long getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the share of lookups that were hits, or 0 if there has been no lookups.
+	 */
+	public double getHitRatio() {
+		long noOfLookups = noOfHits + noOfMisses;
+		return noOfLookups == 0 ? 0 : (double) noOfHits / noOfLookups;
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * CachingConverterFactory wraps a {@link ConverterFactory} and reuses the converters it factors
+ * instead of factoring new ones for every call.
+ * <p>
+ * If the wrapped factory factors thread safe converters is one instance of each converter shared
+ * by all threads. Otherwise are the factored converters kept in a bounded {@link ConverterPool},
+ * and one converter shared by all threads borrows a pooled converter for each call. The number of
+ * instances kept is thereby bounded by the capacity of the pool, independent of the number of
+ * threads using the factory, and converters are reused also between virtual threads. The wrapped
+ * factory is not used until the first converter is requested, so that lazily instantiated factories
+ * stay uninstantiated until they are used.
+ */
+final class CachingConverterFactory implements ConverterFactory {
+	static final int POOL_CAPACITY = 2 * Runtime.getRuntime().availableProcessors();
+
+	private final ConverterFactory converterFactory;
+	private final ConverterCache<ExternallyConvertibleToStringConverter> toStringConverter;
+	private final ConverterCache<StringToExternallyConvertibleConverter> toExternallyConvertibleConverter;
+
+	CachingConverterFactory(ConverterFactory converterFactory) {
+		this.converterFactory = converterFactory;
+		toStringConverter = createCache(
+				converterFactory::factorExternallyConvertableToStringConverter,
+				PoolingToStringConverter::new);
+		toExternallyConvertibleConverter = createCache(
+				converterFactory::factorStringToExternallyConvertableConverter,
+				PoolingFromStringConverter::new);
+	}
+
+	private <T> ConverterCache<T> createCache(Supplier<T> factorer,
+			Function<ConverterPool<T>, T> poolingConverterCreator) {
+		return new DeferredConverterCache<>(() -> {
+			if (converterFactory.factorsThreadSafeConverters()) {
+				return new SharedConverterCache<>(factorer);
+			}
+			return new PooledConverterCache<>(factorer, poolingConverterCreator);
+		});
+	}
+
+	@Override
+	public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+		return toStringConverter.get();
+	}
+
+	@Override
+	public StringToExternallyConvertibleConverter factorStringToExternallyConvertableConverter() {
+		return toExternallyConvertibleConverter.get();
+	}
+
+	@Override
+	public String getName() {
+		return converterFactory.getName();
+	}
+
+	@Override
+	public boolean factorsThreadSafeConverters() {
+		return converterFactory.factorsThreadSafeConverters();
+	}
+
+	@Override
+	public boolean supportsDataEvents() {
+		return converterFactory.supportsDataEvents();
+	}
+
+	@Override
+	public DataEventReader factorDataEventReader() {
+		return converterFactory.factorDataEventReader();
+	}
+
+	@Override
+	public DataEventWriter factorDataEventWriter() {
+		return converterFactory.factorDataEventWriter();
+	}
+
+	private interface ConverterCache<T> {
+		T get();
+	}
+
+	private static final class DeferredConverterCache<T> implements ConverterCache<T> {
+		private final Supplier<ConverterCache<T>> cacheCreator;
+		private volatile ConverterCache<T> cache;
+
+		DeferredConverterCache(Supplier<ConverterCache<T>> cacheCreator) {
+			this.cacheCreator = cacheCreator;
+		}
+
+		@Override
+		public T get() {
+			ConverterCache<T> current = cache;
+			if (current == null) {
+				current = createCache();
+			}
+			return current.get();
+		}
+
+		private synchronized ConverterCache<T> createCache() {
+			if (cache == null) {
+				cache = cacheCreator.get();
+			}
+			return cache;
+		}
+	}
+
+	private static final class SharedConverterCache<T> implements ConverterCache<T> {
+		private final Supplier<T> factorer;
+		private volatile T converter;
+
+		SharedConverterCache(Supplier<T> factorer) {
+			this.factorer = factorer;
+		}
+
+		@Override
+		public T get() {
+			T current = converter;
+			if (current == null) {
+				return factorSharedConverter();
+			}
+			return current;
+		}
+
+		private synchronized T factorSharedConverter() {
+			if (converter == null) {
+				converter = factorer.get();
+			}
+			return converter;
+		}
+	}
+
+	private static final class PooledConverterCache<T> implements ConverterCache<T> {
+		private final T poolingConverter;
+
+		PooledConverterCache(Supplier<T> factorer,
+				Function<ConverterPool<T>, T> poolingConverterCreator) {
+			ConverterPool<T> pool = new ConverterPool<>(factorer, POOL_CAPACITY);
+			pool.release(factorer.get());
+			poolingConverter = poolingConverterCreator.apply(pool);
+		}
+
+		@Override
+		public T get() {
+			return poolingConverter;
+		}
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * Conversion holds information about one call to a converter, it is passed to
+ * {@link ConversionObserver}s when the call starts and ends.
+ * <p>
+ * Sizes are kept in one unit each. The input and output sizes are counted in characters, for
+ * Strings, Appendables and Readers, and the input and output bytes are counted in bytes, for
+ * InputStreams, OutputStreams, byte arrays and ByteBuffers. A size that is not known, or not
+ * counted in that unit for the call, is -1.
+ */
+final class Conversion {
+	static final long UNKNOWN_SIZE = -1;
+
+	private final String converterName;
+	private final ConversionDirection direction;
+	private final boolean withLinks;
+	private ExternallyConvertible externallyConvertible;
+	private long inputSize = UNKNOWN_SIZE;
+	private long outputSize = UNKNOWN_SIZE;
+	private long inputBytes = UNKNOWN_SIZE;
+	private long outputBytes = UNKNOWN_SIZE;
+	private long durationNanos;
+	private Exception failure;
+
+	Conversion(String converterName, ConversionDirection direction, boolean withLinks) {
+		this.converterName = converterName;
+		this.direction = direction;
+		this.withLinks = withLinks;
+	}
+
+	String getConverterName() {
+		return converterName;
+	}
+
+	ConversionDirection getDirection() {
+		return direction;
+	}
+
+	boolean isWithLinks() {
+		return withLinks;
+	}
+
+	/**
+	 * Returns the ExternallyConvertible converted from, for conversions to String, or the
+	 * ExternallyConvertible converted to, for successful conversions from String. Returns null if
+	 * not known, or if a list was converted.
+	 */
+	ExternallyConvertible getExternallyConvertible() {
+		return externallyConvertible;
+	}
+
+	void setExternallyConvertible(ExternallyConvertible externallyConvertible) {
+		this.externallyConvertible = externallyConvertible;
+	}
+
+	long getInputSize() {
+		return inputSize;
+	}
+
+	void setInputSize(long inputSize) {
+		this.inputSize = inputSize;
+	}
+
+	long getOutputSize() {
+		return outputSize;
+	}
+
+	void setOutputSize(long outputSize) {
+		this.outputSize = outputSize;
+	}
+
+	long getInputBytes() {
+		return inputBytes;
+	}
+
+	void setInputBytes(long inputBytes) {
+		this.inputBytes = inputBytes;
+	}
+
+	long getOutputBytes() {
+		return outputBytes;
+	}
+
+	void setOutputBytes(long outputBytes) {
+		this.outputBytes = outputBytes;
+	}
+
+	long getDurationNanos() {
+		return durationNanos;
+	}
+
+	void setDurationNanos(long durationNanos) {
+		this.durationNanos = durationNanos;
+	}
+
+	boolean isFailed() {
+		return failure != null;
+	}
+
+	Exception getFailure() {
+		return failure;
+	}
+
+	void setFailure(Exception failure) {
+		this.failure = failure;
+	}
+}
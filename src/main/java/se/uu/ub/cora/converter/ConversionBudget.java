@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ConversionBudget holds the maximum duration and payload size for conversions done by converters
+ * with one converter name, see
+ * {@link ConverterProvider#setConversionBudget(String, ConversionBudget)}. Conversions that take
+ * longer, or whose payload is larger, are logged as a warning, with the converter name, direction,
+ * name in data of the top level element, duration and sizes, so that the data causing slow
+ * conversions can be found.
+ * <p>
+ * The payload is the String side of the conversion, that is the output of conversions to String
+ * and the input of conversions from String. The payload size is its size in characters, or its
+ * size in bytes for conversions to and from streams, byte arrays and ByteBuffers, where characters
+ * are not counted. Conversions where the payload size is not known are only checked against the
+ * maximum duration.
+ * <p>
+ * To not flood the log during a burst of conversions over budget, at most one warning is logged
+ * per minimum time between warnings. The number of conversions over budget that were not logged is
+ * included in the next warning.
+ * <p>
+ * ConversionBudget is thread safe.
+ */
+public final class ConversionBudget {
+	private final long maxDurationNanos;
+	private final long maxSize;
+	private final long minNanosBetweenWarnings;
+	private final NameInDataResolver nameInDataResolver;
+	private final LongSupplier nanoClock;
+	private final AtomicLong nextWarningNanos;
+	private final AtomicLong noOfOverBudget = new AtomicLong();
+	private final AtomicLong noOfSuppressedWarnings = new AtomicLong();
+
+	/**
+	 * Creates a ConversionBudget with the entered limits.
+	 * 
+	 * @param maxDuration
+	 *            the longest duration a conversion can take without being logged, must be positive
+	 * @param maxSize
+	 *            the largest payload size a conversion can have without being logged, must be at
+	 *            least 1, use Long.MAX_VALUE to only check durations
+	 * @param minTimeBetweenWarnings
+	 *            the minimum time between two logged warnings, must not be negative
+	 * @param nameInDataResolver
+	 *            the NameInDataResolver used to find the name in data of converted data
+	 */
+	public ConversionBudget(Duration maxDuration, long maxSize, Duration minTimeBetweenWarnings,
+			NameInDataResolver nameInDataResolver) {
+		this(maxDuration, maxSize, minTimeBetweenWarnings, nameInDataResolver, System::nanoTime);
+	}
+
+	ConversionBudget(Duration maxDuration, long maxSize, Duration minTimeBetweenWarnings,
+			NameInDataResolver nameInDataResolver, LongSupplier nanoClock) {
+		if (maxDuration.isNegative() || maxDuration.isZero()) {
+			throw new IllegalArgumentException("Max duration must be positive, was " + maxDuration);
+		}
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Max size must be at least 1, was " + maxSize);
+		}
+		if (minTimeBetweenWarnings.isNegative()) {
+			throw new IllegalArgumentException(
+					"Min time between warnings must not be negative, was "
+							+ minTimeBetweenWarnings);
+		}
+		this.maxDurationNanos = maxDuration.toNanos();
+		this.maxSize = maxSize;
+		this.minNanosBetweenWarnings = minTimeBetweenWarnings.toNanos();
+		this.nameInDataResolver = nameInDataResolver;
+		this.nanoClock = nanoClock;
+		nextWarningNanos = new AtomicLong(nanoClock.getAsLong());
+	}
+
+	/**
+	 * Returns the number of conversions that have been over budget, logged or not.
+	 * 
+	 * @return the number of conversions over budget
+	 */
+	public long getNoOfOverBudget() {
+		return noOfOverBudget.get();
+	}
+
+	/**
+	 * Returns the number of conversions over budget that have not been logged, since the last
+	 * logged warning.
+	 * 
+	 * @return the number of suppressed warnings
+	 */
+	public long getNoOfSuppressedWarnings() {
+		return noOfSuppressedWarnings.get();
+	}
+
+	/**
+	 * Returns a warning message if the entered conversion is over budget and a warning may be
+	 * logged, otherwise null.
+	 */
+	String checkConversion(Conversion conversion) {
+		boolean overDuration = conversion.getDurationNanos() > maxDurationNanos;
+		boolean overSize = getPayloadSize(conversion) > maxSize;
+		if (!overDuration && !overSize) {
+			return null;
+		}
+		noOfOverBudget.incrementAndGet();
+		if (!tryToReserveWarning()) {
+			noOfSuppressedWarnings.incrementAndGet();
+			return null;
+		}
+		return createWarning(conversion, overDuration, overSize);
+	}
+
+	private long getPayloadSize(Conversion conversion) {
+		if (conversion.getDirection() == ConversionDirection.TO_STRING) {
+			return getSizeInCharactersOrBytes(conversion.getOutputSize(),
+					conversion.getOutputBytes());
+		}
+		return getSizeInCharactersOrBytes(conversion.getInputSize(), conversion.getInputBytes());
+	}
+
+	private long getSizeInCharactersOrBytes(long sizeInCharacters, long sizeInBytes) {
+		return sizeInCharacters != Conversion.UNKNOWN_SIZE ? sizeInCharacters : sizeInBytes;
+	}
+
+	private boolean tryToReserveWarning() {
+		long now = nanoClock.getAsLong();
+		long next = nextWarningNanos.get();
+		if (now - next < 0) {
+			return false;
+		}
+		return nextWarningNanos.compareAndSet(next, now + minNanosBetweenWarnings);
+	}
+
+	private String createWarning(Conversion conversion, boolean overDuration, boolean overSize) {
+		return "Conversion over budget, exceeded: " + getExceeded(overDuration, overSize)
+				+ ", converterName: " + conversion.getConverterName() + ", direction: "
+				+ conversion.getDirection() + ", nameInData: " + getNameInData(conversion)
+				+ ", withLinks: " + conversion.isWithLinks() + ", durationMillis: "
+				+ conversion.getDurationNanos() / 1_000_000 + ", inputSize: "
+				+ conversion.getInputSize() + ", outputSize: " + conversion.getOutputSize()
+				+ ", inputBytes: " + conversion.getInputBytes() + ", outputBytes: "
+				+ conversion.getOutputBytes() + ", failed: " + conversion.isFailed()
+				+ ", suppressedWarnings: " + noOfSuppressedWarnings.getAndSet(0);
+	}
+
+	private String getExceeded(boolean overDuration, boolean overSize) {
+		if (overDuration && overSize) {
+			return "duration and size";
+		}
+		return overDuration ? "duration" : "size";
+	}
+
+	private String getNameInData(Conversion conversion) {
+		ExternallyConvertible externallyConvertible = conversion.getExternallyConvertible();
+		String nameInData = externallyConvertible == null ? null
+				: nameInDataResolver.getNameInData(externallyConvertible);
+		return nameInData == null ? "unknown" : nameInData;
+	}
+}
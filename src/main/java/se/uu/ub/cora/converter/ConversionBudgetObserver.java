@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import se.uu.ub.cora.logger.Logger;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+/**
+ * ConversionBudgetObserver logs a warning for conversions that are over the duration or size of a
+ * {@link ConversionBudget}.
+ */
+final class ConversionBudgetObserver implements ConversionObserver {
+	private final ConversionBudget conversionBudget;
+	private final Logger log = LoggerProvider.getLoggerForClass(ConversionBudget.class);
+
+	ConversionBudgetObserver(ConversionBudget conversionBudget) {
+		this.conversionBudget = conversionBudget;
+	}
+
+	@Override
+	public void conversionEnded(Conversion conversion, Object startState) {
+		String warning = conversionBudget.checkConversion(conversion);
+		if (warning != null) {
+			log.logWarnUsingMessage(warning);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ConversionEvent is the Java Flight Recorder event emitted for each call to a converter from
+ * {@link ConverterProvider} while a recording has the event enabled. The input and output sizes
+ * count characters and the input and output bytes count bytes, a size not known in that unit for
+ * the call is -1.
+ */
+@Name(ConversionEvent.NAME)
+@Label("Conversion")
+@Category({ "Cora", "Converter" })
+@Description("A call to a converter")
+@StackTrace(false)
+final class ConversionEvent extends jdk.jfr.Event {
+	static final String NAME = "se.uu.ub.cora.converter.Conversion";
+	static final String SUCCEEDED = "SUCCEEDED";
+	static final String FAILED = "FAILED";
+
+	@Label("Converter Name")
+	String converterName;
+
+	@Label("Direction")
+	@Description("TO_STRING or FROM_STRING")
+	String direction;
+
+	@Label("With Links")
+	boolean withLinks;
+
+	@Label("Input Size")
+	@Description("Size of the input in characters, -1 if not known")
+	long inputSize;
+
+	@Label("Output Size")
+	@Description("Size of the output in characters, -1 if not known")
+	long outputSize;
+
+	@Label("Input Bytes")
+	@Description("Size of the input in bytes, -1 if not known")
+	@DataAmount
+	long inputBytes;
+
+	@Label("Output Bytes")
+	@Description("Size of the output in bytes, -1 if not known")
+	@DataAmount
+	long outputBytes;
+
+	@Label("Outcome")
+	@Description("SUCCEEDED or FAILED")
+	String outcome;
+
+	@Label("Exception Class")
+	@Description("Class of the exception thrown by a failed conversion")
+	Class<?> exceptionClass;
+}
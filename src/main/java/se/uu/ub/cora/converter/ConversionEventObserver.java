@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * ConversionEventObserver emits a {@link ConversionEvent} to Java Flight Recorder for each call to
+ * a converter. It only observes while a running recording has the event enabled, see
+ * {@link #isObserving()}, so that checking that is the only work done per call otherwise.
+ */
+final class ConversionEventObserver implements ConversionObserver {
+	private static final EventType eventType = registerEventType();
+
+	private static EventType registerEventType() {
+		FlightRecorder.register(ConversionEvent.class);
+		return EventType.getEventType(ConversionEvent.class);
+	}
+
+	@Override
+	public boolean isObserving() {
+		return eventType.isEnabled();
+	}
+
+	@Override
+	public Object conversionStarted(Conversion conversion) {
+		if (!eventType.isEnabled()) {
+			return null;
+		}
+		ConversionEvent event = new ConversionEvent();
+		event.begin();
+		return event;
+	}
+
+	@Override
+	public void conversionEnded(Conversion conversion, Object startState) {
+		if (startState == null) {
+			return;
+		}
+		ConversionEvent event = (ConversionEvent) startState;
+		event.end();
+		if (event.shouldCommit()) {
+			commitEvent(event, conversion);
+		}
+	}
+
+	private void commitEvent(ConversionEvent event, Conversion conversion) {
+		event.converterName = conversion.getConverterName();
+		event.direction = conversion.getDirection().name();
+		event.withLinks = conversion.isWithLinks();
+		event.inputSize = conversion.getInputSize();
+		event.outputSize = conversion.getOutputSize();
+		event.inputBytes = conversion.getInputBytes();
+		event.outputBytes = conversion.getOutputBytes();
+		if (conversion.isFailed()) {
+			event.outcome = ConversionEvent.FAILED;
+			event.exceptionClass = conversion.getFailure().getClass();
+		} else {
+			event.outcome = ConversionEvent.SUCCEEDED;
+		}
+		event.commit();
+	}
+}
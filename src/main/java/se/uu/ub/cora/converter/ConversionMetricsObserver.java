@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import se.uu.ub.cora.converter.ConversionMetricsSnapshot.SizeSnapshot;
+
+/**
+ * ConversionMetricsObserver collects call counts, failure counts, latency histograms and sizes per
+ * converter name and {@link ConversionDirection}.
+ */
+final class ConversionMetricsObserver implements ConversionObserver {
+	private static final int NO_OF_BOUNDED_LATENCY_BUCKETS = 25;
+	private static final long[] LATENCY_BUCKET_UPPER_BOUNDS_MICROS = createLatencyBucketBounds();
+
+	private final Map<ConversionDirection, Map<String, ConversionMetrics>> metrics = new EnumMap<>(
+			ConversionDirection.class);
+
+	ConversionMetricsObserver() {
+		for (ConversionDirection direction : ConversionDirection.values()) {
+			metrics.put(direction, new ConcurrentHashMap<>());
+		}
+	}
+
+	private static long[] createLatencyBucketBounds() {
+		long[] bounds = new long[NO_OF_BOUNDED_LATENCY_BUCKETS + 1];
+		for (int i = 0; i < NO_OF_BOUNDED_LATENCY_BUCKETS; i++) {
+			bounds[i] = 1L << i;
+		}
+		bounds[NO_OF_BOUNDED_LATENCY_BUCKETS] = Long.MAX_VALUE;
+		return bounds;
+	}
+
+	@Override
+	public void conversionEnded(Conversion conversion, Object startState) {
+		metrics.get(conversion.getDirection())
+				.computeIfAbsent(conversion.getConverterName(), ConversionMetrics::new)
+				.record(conversion);
+	}
+
+	List<ConversionMetricsSnapshot> getSnapshots() {
+		List<ConversionMetricsSnapshot> snapshots = new ArrayList<>();
+		for (Map.Entry<ConversionDirection, Map<String, ConversionMetrics>> entry : metrics
+				.entrySet()) {
+			for (ConversionMetrics conversionMetrics : entry.getValue().values()) {
+				snapshots.add(conversionMetrics.createSnapshot(entry.getKey()));
+			}
+		}
+		snapshots.sort(Comparator.comparing(ConversionMetricsSnapshot::getConverterName)
+				.thenComparing(ConversionMetricsSnapshot::getDirection));
+		return snapshots;
+	}
+
+	void reset() {
+		for (Map<String, ConversionMetrics> metricsForDirection : metrics.values()) {
+			metricsForDirection.clear();
+		}
+	}
+
+	static int getLatencyBucketIndex(long durationNanos) {
+		long durationMicros = Math.ceilDiv(durationNanos, 1000L);
+		if (durationMicros <= 1) {
+			return 0;
+		}
+		int index = Long.SIZE - Long.numberOfLeadingZeros(durationMicros - 1);
+		return Math.min(index, NO_OF_BOUNDED_LATENCY_BUCKETS);
+	}
+
+	private static final class ConversionMetrics {
+		private final String converterName;
+		private final LongAdder noOfCalls = new LongAdder();
+		private final LongAdder noOfFailures = new LongAdder();
+		private final LongAdder totalDurationNanos = new LongAdder();
+		private final LongAccumulator maxDurationNanos = new LongAccumulator(Math::max, 0);
+		private final AtomicLongArray latencyBuckets = new AtomicLongArray(
+				LATENCY_BUCKET_UPPER_BOUNDS_MICROS.length);
+		private final SizeMetrics inputSize = new SizeMetrics();
+		private final SizeMetrics outputSize = new SizeMetrics();
+		private final SizeMetrics inputBytes = new SizeMetrics();
+		private final SizeMetrics outputBytes = new SizeMetrics();
+
+		ConversionMetrics(String converterName) {
+			this.converterName = converterName;
+		}
+
+		void record(Conversion conversion) {
+			noOfCalls.increment();
+			if (conversion.isFailed()) {
+				noOfFailures.increment();
+			}
+			long durationNanos = conversion.getDurationNanos();
+			totalDurationNanos.add(durationNanos);
+			maxDurationNanos.accumulate(durationNanos);
+			latencyBuckets.incrementAndGet(getLatencyBucketIndex(durationNanos));
+			inputSize.record(conversion.getInputSize());
+			outputSize.record(conversion.getOutputSize());
+			inputBytes.record(conversion.getInputBytes());
+			outputBytes.record(conversion.getOutputBytes());
+		}
+
+		ConversionMetricsSnapshot createSnapshot(ConversionDirection direction) {
+			long[] bucketCounts = new long[latencyBuckets.length()];
+			for (int i = 0; i < bucketCounts.length; i++) {
+				bucketCounts[i] = latencyBuckets.get(i);
+			}
+			return new ConversionMetricsSnapshot(converterName, direction, noOfCalls.sum(),
+					noOfFailures.sum(), totalDurationNanos.sum(), maxDurationNanos.get(),
+					LATENCY_BUCKET_UPPER_BOUNDS_MICROS.clone(), bucketCounts,
+					inputSize.createSnapshot(), outputSize.createSnapshot(),
+					inputBytes.createSnapshot(), outputBytes.createSnapshot());
+		}
+	}
+
+	private static final class SizeMetrics {
+		private final LongAdder noOfMeasurements = new LongAdder();
+		private final LongAdder total = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		void record(long size) {
+			if (size != Conversion.UNKNOWN_SIZE) {
+				noOfMeasurements.increment();
+				total.add(size);
+				max.accumulate(size);
+			}
+		}
+
+		SizeSnapshot createSnapshot() {
+			return new SizeSnapshot(noOfMeasurements.sum(), total.sum(), max.get());
+		}
+	}
+}
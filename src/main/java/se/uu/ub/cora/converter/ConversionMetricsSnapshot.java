@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.Arrays;
+
+/**
+ * ConversionMetricsSnapshot holds the metrics collected for conversions in one
+ * {@link ConversionDirection} by the converters with one name, at the time the snapshot was taken.
+ * <p>
+ * Latencies are counted in a histogram where bucket i holds the number of calls that took at most
+ * the upper bound of bucket i, and more than the upper bound of bucket i - 1. The last bucket holds
+ * all calls slower than the second to last upper bound.
+ * <p>
+ * Sizes are kept in one unit each. The input and output sizes are counted in characters, for
+ * conversions to and from Strings, Appendables and Readers. The input and output bytes are counted
+ * in bytes, for conversions to and from InputStreams, OutputStreams, byte arrays and ByteBuffers.
+ * Sizes are only counted for calls where they are known in that unit, the input of a conversion to
+ * String and the output of a conversion from String are not known.
+ * <p>
+ * As metrics are collected without locking can the values in a snapshot taken during ongoing
+ * conversions be slightly out of step with each other.
+ */
+public final class ConversionMetricsSnapshot {
+	private final String converterName;
+	private final ConversionDirection direction;
+	private final long noOfCalls;
+	private final long noOfFailures;
+	private final long totalDurationNanos;
+	private final long maxDurationNanos;
+	private final long[] latencyBucketUpperBoundsMicros;
+	private final long[] latencyBucketCounts;
+	private final SizeSnapshot inputSize;
+	private final SizeSnapshot outputSize;
+	private final SizeSnapshot inputBytes;
+	private final SizeSnapshot outputBytes;
+
+	ConversionMetricsSnapshot(String converterName, ConversionDirection direction, long noOfCalls,
+			long noOfFailures, long totalDurationNanos, long maxDurationNanos,
+			long[] latencyBucketUpperBoundsMicros, long[] latencyBucketCounts,
+			SizeSnapshot inputSize, SizeSnapshot outputSize, SizeSnapshot inputBytes,
+			SizeSnapshot outputBytes) {
+		this.converterName = converterName;
+		this.direction = direction;
+		this.noOfCalls = noOfCalls;
+		this.noOfFailures = noOfFailures;
+		this.totalDurationNanos = totalDurationNanos;
+		this.maxDurationNanos = maxDurationNanos;
+		this.latencyBucketUpperBoundsMicros = latencyBucketUpperBoundsMicros;
+		this.latencyBucketCounts = latencyBucketCounts;
+		this.inputSize = inputSize;
+		this.outputSize = outputSize;
+		this.inputBytes = inputBytes;
+		this.outputBytes = outputBytes;
+	}
+
+	public String getConverterName() {
+		return converterName;
+	}
+
+	public ConversionDirection getDirection() {
+		return direction;
+	}
+
+	public long getNoOfCalls() {
+		return noOfCalls;
+	}
+
+	public long getNoOfFailures() {
+		return noOfFailures;
+	}
+
+	public long getTotalDurationNanos() {
+		return totalDurationNanos;
+	}
+
+	public long getMaxDurationNanos() {
+		return maxDurationNanos;
+	}
+
+	/**
+	 * Returns the upper bounds, in microseconds, of the buckets in the latency histogram. The last
+	 * bound is {@link Long#MAX_VALUE}.
+	 * 
+	 * @return a copy of the upper bounds of the latency buckets
+	 */
+	public long[] getLatencyBucketUpperBoundsMicros() {
+		return Arrays.copyOf(latencyBucketUpperBoundsMicros,
+				latencyBucketUpperBoundsMicros.length);
+	}
+
+	/**
+	 * Returns the number of calls in each bucket of the latency histogram.
+	 * 
+	 * @return a copy of the counts of the latency buckets
+	 */
+	public long[] getLatencyBucketCounts() {
+		return Arrays.copyOf(latencyBucketCounts, latencyBucketCounts.length);
+	}
+
+	/**
+	 * Returns the input sizes counted in characters.
+	 */
+	public SizeSnapshot getInputSize() {
+		return inputSize;
+	}
+
+	/**
+	 * Returns the output sizes counted in characters.
+	 */
+	public SizeSnapshot getOutputSize() {
+		return outputSize;
+	}
+
+	/**
+	 * Returns the input sizes counted in bytes.
+	 */
+	public SizeSnapshot getInputBytes() {
+		return inputBytes;
+	}
+
+	/**
+	 * Returns the output sizes counted in bytes.
+	 */
+	public SizeSnapshot getOutputBytes() {
+		return outputBytes;
+	}
+
+	/**
+	 * SizeSnapshot holds the number of measured sizes, their total and the largest one.
+	 */
+	public static final class SizeSnapshot {
+		private final long noOfMeasurements;
+		private final long total;
+		private final long max;
+
+		SizeSnapshot(long noOfMeasurements, long total, long max) {
+			this.noOfMeasurements = noOfMeasurements;
+			this.total = total;
+			this.max = max;
+		}
+
+		public long getNoOfMeasurements() {
+			return noOfMeasurements;
+		}
+
+		public long getTotal() {
+			return total;
+		}
+
+		public long getMax() {
+			return max;
+		}
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * ConversionObserver is notified when a call to a converter starts and ends, when the converter is
+ * obtained from {@link ConverterProvider} with observing turned on.
+ * <p>
+ * Implementations MUST be thread safe, as they are called by all threads doing conversions.
+ */
+interface ConversionObserver {
+	/**
+	 * Returns if this observer is to be notified about a call to a converter starting now.
+	 * Observers that only observe some of the time, such as while a recording is running, return
+	 * false otherwise, so that no work is done per call when no observer is interested in it.
+	 * 
+	 * @return true if this observer observes calls starting now, otherwise false
+	 */
+	default boolean isObserving() {
+		return true;
+	}
+
+	/**
+	 * Called before the converter is called. The returned object is passed on to
+	 * {@link #conversionEnded(Conversion, Object)} for the same conversion.
+	 * 
+	 * @param conversion
+	 *            information about the starting conversion
+	 * @return an object holding state needed when the conversion ends, or null
+	 */
+	default Object conversionStarted(Conversion conversion) {
+		return null;
+	}
+
+	/**
+	 * Called after the converter has returned or thrown an exception.
+	 * 
+	 * @param conversion
+	 *            information about the ended conversion
+	 * @param startState
+	 *            the object returned from {@link #conversionStarted(Conversion)}
+	 */
+	void conversionEnded(Conversion conversion, Object startState);
+}
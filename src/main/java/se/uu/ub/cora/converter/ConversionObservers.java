@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.List;
+
+/**
+ * ConversionObservers notifies a list of {@link ConversionObserver}s about calls to converters, and
+ * measures the duration of the calls. Callers SHOULD check {@link #isObserving()} before doing any
+ * work for a call, and call the converter directly if no observer is observing.
+ */
+final class ConversionObservers {
+	private final List<ConversionObserver> observers;
+
+	ConversionObservers(List<ConversionObserver> observers) {
+		this.observers = List.copyOf(observers);
+	}
+
+	boolean isObserving() {
+		for (ConversionObserver observer : observers) {
+			if (observer.isObserving()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	<T> T observe(Conversion conversion, ConversionCall<T> call) {
+		Object[] startStates = notifyStarted(conversion);
+		long start = System.nanoTime();
+		try {
+			return call.call(conversion);
+		} catch (RuntimeException e) {
+			conversion.setFailure(e);
+			throw e;
+		} finally {
+			conversion.setDurationNanos(System.nanoTime() - start);
+			notifyEnded(conversion, startStates);
+		}
+	}
+
+	private Object[] notifyStarted(Conversion conversion) {
+		Object[] startStates = new Object[observers.size()];
+		for (int i = 0; i < startStates.length; i++) {
+			startStates[i] = observers.get(i).conversionStarted(conversion);
+		}
+		return startStates;
+	}
+
+	private void notifyEnded(Conversion conversion, Object[] startStates) {
+		for (int i = startStates.length - 1; i >= 0; i--) {
+			observers.get(i).conversionEnded(conversion, startStates[i]);
+		}
+	}
+
+	interface ConversionCall<T> {
+		T call(Conversion conversion);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2021, 2022 Uppsala University Library
+ * Copyright 2019, 2021, 2022, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -61,4 +61,63 @@ public interface ConverterFactory {
 	 */
 	String getName();
 
+	/**
+	 * Returns true if the converters factored by this ConverterFactory are thread safe, so that one
+	 * instance of each converter can be shared by all threads. This is used by
+	 * {@link ConverterProvider} when it is set to use cached converters, see
+	 * {@link ConverterProvider#setUseCachedConverters(boolean)}.
+	 * <p>
+	 * The default implementation returns false, as implementations of converters are not expected
+	 * to be thread safe.
+	 * 
+	 * @return true if the factored converters are thread safe, otherwise false
+	 */
+	default boolean factorsThreadSafeConverters() {
+		return false;
+	}
+
+	/**
+	 * Returns true if this ConverterFactory can factor a {@link DataEventReader} and a
+	 * {@link DataEventWriter} for its format. This is used by {@link ConverterProvider} to transcode
+	 * directly between two formats without building an ExternallyConvertible in between, see
+	 * {@link ConverterProvider#transcode(String, String, String)}.
+	 * <p>
+	 * The default implementation returns false.
+	 * 
+	 * @return true if data events are supported, otherwise false
+	 */
+	default boolean supportsDataEvents() {
+		return false;
+	}
+
+	/**
+	 * Returns a new DataEventReader for the format of this ConverterFactory. Implementations that
+	 * support data events MUST override this method, {@link #factorDataEventWriter()} and
+	 * {@link #supportsDataEvents()}.
+	 * <p>
+	 * The default implementation throws a {@link ConverterInitializationException}.
+	 * 
+	 * @return a newly factored DataEventReader
+	 */
+	default DataEventReader factorDataEventReader() {
+		throw createDataEventsNotSupportedException();
+	}
+
+	/**
+	 * Returns a new DataEventWriter for the format of this ConverterFactory. Implementations that
+	 * support data events MUST override this method, {@link #factorDataEventReader()} and
+	 * {@link #supportsDataEvents()}.
+	 * <p>
+	 * The default implementation throws a {@link ConverterInitializationException}.
+	 * 
+	 * @return a newly factored DataEventWriter
+	 */
+	default DataEventWriter factorDataEventWriter() {
+		throw createDataEventsNotSupportedException();
+	}
+
+	private ConverterInitializationException createDataEventsNotSupportedException() {
+		return new ConverterInitializationException(
+				"Data events are not supported by " + getName() + " converter.");
+	}
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ConverterFactoryName declares the name of a {@link ConverterFactory} implementation, so that the
+ * name is known without instantiating the factory.
+ * <p>
+ * When ConverterFactory implementations are found using the ServiceLoader are only the annotated
+ * implementations that are used instantiated, the first time a converter is requested from them.
+ * Implementations without the annotation are instantiated at startup to get their names.
+ * <p>
+ * The value MUST be equal to the name returned by {@link ConverterFactory#getName()}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ConverterFactoryName {
+	/**
+	 * Returns the name of the annotated ConverterFactory.
+	 * 
+	 * @return the name of the ConverterFactory
+	 */
+	String value();
+}
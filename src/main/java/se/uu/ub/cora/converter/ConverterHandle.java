@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * ConverterHandle is a pre-resolved reference to the converters with one name in
+ * {@link ConverterProvider}, see {@link ConverterProvider#handle(String)}. The name is validated
+ * once when the handle is created, after that are converters handed out directly from the
+ * {@link ConverterFactory} the handle refers to, without any lookup by name.
+ * <p>
+ * A handle follows the provider. If the ConverterFactory for the name is replaced, or the provider
+ * settings are changed, does the handle hand out converters from the new factory. Converters
+ * fetched from the handle follow the same rules as converters fetched directly from the provider,
+ * see {@link ConverterProvider#setUseCachedConverters(boolean)}.
+ * <p>
+ * ConverterHandle is thread safe and is intended to be created once and kept, for instance in a
+ * static field.
+ */
+public final class ConverterHandle {
+
+	private final String converterName;
+	private volatile ConverterFactory converterFactory;
+
+	ConverterHandle(String converterName, ConverterFactory converterFactory) {
+		this.converterName = converterName;
+		this.converterFactory = converterFactory;
+	}
+
+	/**
+	 * Returns an ExternallyConvertibleToStringConverter in the same way as
+	 * {@link ConverterProvider#getExternallyConvertibleToStringConverter(String)} for the name of
+	 * this handle.
+	 * 
+	 * @return an ExternallyConvertibleToStringConverter
+	 */
+	public ExternallyConvertibleToStringConverter getExternallyConvertibleToStringConverter() {
+		return getConverterFactory().factorExternallyConvertableToStringConverter();
+	}
+
+	/**
+	 * Returns a StringToExternallyConvertibleConverter in the same way as
+	 * {@link ConverterProvider#getStringToExternallyConvertibleConverter(String)} for the name of
+	 * this handle.
+	 * 
+	 * @return a StringToExternallyConvertibleConverter
+	 */
+	public StringToExternallyConvertibleConverter getStringToExternallyConvertibleConverter() {
+		return getConverterFactory().factorStringToExternallyConvertableConverter();
+	}
+
+	private ConverterFactory getConverterFactory() {
+		ConverterFactory current = converterFactory;
+		if (current == null || ConverterProvider.isConversionEventObservingOutdated()) {
+			return ConverterProvider.getConverterFactory(converterName);
+		}
+		return current;
+	}
+
+	/**
+	 * Returns the name of the converters this handle refers to.
+	 * 
+	 * @return String with the converter name
+	 */
+	public String getConverterName() {
+		return converterName;
+	}
+
+	void setConverterFactory(ConverterFactory converterFactory) {
+		this.converterFactory = converterFactory;
+	}
+}
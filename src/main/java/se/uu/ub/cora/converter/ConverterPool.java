@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ConverterPool keeps a bounded number of converters that are not thread safe, so that they can be
+ * reused by one thread at a time instead of being factored for every call.
+ * <p>
+ * A converter is borrowed for the duration of one call and returned when the call is done. If no
+ * converter is kept when one is borrowed is a new one factored, and if the pool is full when a
+ * converter is returned is the converter dropped. The number of converters kept is thereby bounded
+ * by the capacity of the pool, independent of the number of threads using it, and converters are
+ * reused also between short lived virtual threads.
+ * <p>
+ * ConverterPool is thread safe.
+ */
+final class ConverterPool<T> {
+	private final Supplier<T> factorer;
+	private final BlockingQueue<T> idleConverters;
+
+	ConverterPool(Supplier<T> factorer, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be at least 1, was " + capacity);
+		}
+		this.factorer = factorer;
+		idleConverters = new ArrayBlockingQueue<>(capacity);
+	}
+
+	T borrow() {
+		T converter = idleConverters.poll();
+		if (converter == null) {
+			return factorer.get();
+		}
+		return converter;
+	}
+
+	void release(T converter) {
+		idleConverters.offer(converter);
+	}
+
+	<R> R use(Function<T, R> call) {
+		T converter = borrow();
+		try {
+			return call.apply(converter);
+		} finally {
+			release(converter);
+		}
+	}
+
+	int getNoOfIdleConverters() {
+		return idleConverters.size();
+	}
+}
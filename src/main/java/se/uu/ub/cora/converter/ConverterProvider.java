@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2021 Uppsala University Library
+ * Copyright 2019, 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,22 +19,79 @@
 
 package se.uu.ub.cora.converter;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import se.uu.ub.cora.converter.starter.ConverterModuleStarter;
 import se.uu.ub.cora.converter.starter.ConverterModuleStarterImp;
+import se.uu.ub.cora.converter.starter.ImplementationNamed;
+import se.uu.ub.cora.data.ExternallyConvertible;
 import se.uu.ub.cora.logger.Logger;
 import se.uu.ub.cora.logger.LoggerProvider;
 
 /**
  * This class is the way in to the Converter package. Via this provider the user can get a converter
  * choosen by a given converter name that identifies an specific {@link ConverterProvider}
+ * <p>
+ * The found ConverterFactories, together with all other state of the provider, are kept in an
+ * immutable registry that is replaced as a whole when changed, so that lookups after startup can be
+ * done by many threads at the same time without locking and always see a consistent state.
+ * <p>
+ * By default is a new converter factored for each call. If the provider is set to use cached
+ * converters, see {@link #setUseCachedConverters(boolean)}, are factored converters reused instead.
+ * Output and parse results from conversions can also be cached per converter name, see
+ * {@link #setOutputCache(String, OutputCache)} and
+ * {@link #setParseResultCache(String, ParseResultCache)}.
+ * <p>
+ * Data can be converted directly from one format to another, see
+ * {@link #transcode(String, String, String)}.
+ * <p>
+ * Callers that use the same converter name for many requests can fetch a {@link ConverterHandle}
+ * once, see {@link #handle(String)}, and get converters from it without a lookup by name for each
+ * call.
+ * <p>
+ * A Java Flight Recorder event named "se.uu.ub.cora.converter.Conversion" is emitted for each call
+ * to a converter from this provider while a recording has the event enabled. Converters are only
+ * decorated to emit the event while it is enabled, which is checked on each lookup, so converters
+ * fetched before a recording starts do not emit it. When nothing else is configured are the
+ * converters from the factories returned as they are.
+ * <p>
+ * Converter implementations can borrow buffers to build their output in from a shared pool, see
+ * {@link #getOutputBufferPool()}.
+ * <p>
+ * The registered converters and their statistics can be inspected through JMX, see
+ * {@link ConverterProviderMXBean}, or read using {@link #getConverterStatistics()}. When the
+ * provider is used by an application that can be undeployed, such as a webapp in a servlet
+ * container, {@link #shutdown()} MUST be called when the application stops, so that the JVM does
+ * not keep the application's classes loaded.
+ * <p>
+ * Factories are otherwise started on the first request for a converter. To move that work, and the
+ * first runs of the converter code, to before the node reports ready use
+ * {@link #warmUp(List, int)}.
  */
 public class ConverterProvider {
+	private static final int DEFAULT_MAX_RETAINED_BUFFER_CAPACITY = 64 * 1024;
 
-	private static Map<String, ConverterFactory> converterFactories = new HashMap<>();
+	private static volatile ConverterRegistry registry = ConverterRegistry.EMPTY;
+	private static volatile long startTimeMillis;
+	private static volatile long startupDurationMillis;
+	private static ObjectName registeredMXBeanName;
+	private static volatile OutputBufferPool outputBufferPool = createDefaultOutputBufferPool();
+	private static final ConversionMetricsObserver conversionMetrics = new ConversionMetricsObserver();
+	private static final ConversionEventObserver conversionEvents = new ConversionEventObserver();
 	private static ConverterModuleStarter starter = new ConverterModuleStarterImp();
 	private static Logger log = LoggerProvider.getLoggerForClass(ConverterProvider.class);
 
@@ -48,6 +105,9 @@ public class ConverterProvider {
 	 * identified by the param name. The ConverterFactory and its Converter must be supplied by an
 	 * implementation module at runtime. If no implementation is found with the given
 	 * ConverterFactory name, a {@link ConverterInitializationException} is thrown.
+	 * <p>
+	 * If the provider is set to use cached converters is a previously factored converter returned,
+	 * see {@link #setUseCachedConverters(boolean)}.
 	 * 
 	 * @param name
 	 *            String with a name that identifies the desired Converter.
@@ -56,9 +116,7 @@ public class ConverterProvider {
 	 */
 	public static ExternallyConvertibleToStringConverter getExternallyConvertibleToStringConverter(
 			String name) {
-		ensureConverterFactoryIsSet();
-		ConverterFactory converterFactory = converterFactories.get(name);
-		ensureFactoryImplementationIsFound(name, converterFactory);
+		ConverterFactory converterFactory = getConverterFactory(name);
 		return converterFactory.factorExternallyConvertableToStringConverter();
 	}
 
@@ -67,6 +125,9 @@ public class ConverterProvider {
 	 * identified by the param name. The ConverterFactory and its Converter must be supplied by an
 	 * implementation module at runtime. If no implementation is found with the given
 	 * ConverterFactory name, a {@link ConverterInitializationException} is thrown.
+	 * <p>
+	 * If the provider is set to use cached converters is a previously factored converter returned,
+	 * see {@link #setUseCachedConverters(boolean)}.
 	 * 
 	 * @param name
 	 *            String with a name that identifies the desired Converter.
@@ -75,25 +136,272 @@ public class ConverterProvider {
 	 */
 	public static StringToExternallyConvertibleConverter getStringToExternallyConvertibleConverter(
 			String name) {
-		ensureConverterFactoryIsSet();
-		ConverterFactory converterFactory = converterFactories.get(name);
-		ensureFactoryImplementationIsFound(name, converterFactory);
+		ConverterFactory converterFactory = getConverterFactory(name);
 		return converterFactory.factorStringToExternallyConvertableConverter();
 	}
 
-	private static synchronized void ensureConverterFactoryIsSet() {
-		if (converterFactories.isEmpty()) {
+	/**
+	 * Returns a {@link ConverterHandle} for the converters with the entered name. The name is
+	 * validated when the handle is requested, if no implementation is found with the given
+	 * ConverterFactory name, a {@link ConverterInitializationException} is thrown.
+	 * <p>
+	 * The returned handle hands out converters without looking up the name again, and stays valid
+	 * when the ConverterFactory for the name is replaced, see
+	 * {@link #setConverterFactory(String, ConverterFactory)}, or other provider settings are
+	 * changed. The same handle is returned for all requests for the same name.
+	 * 
+	 * @param name
+	 *            String with a name that identifies the desired Converter.
+	 * @return a ConverterHandle for the converters identified by the param name
+	 */
+	public static ConverterHandle handle(String name) {
+		ConverterHandle converterHandle = registry.getConverterHandle(name);
+		if (converterHandle == null) {
+			getConverterFactory(name);
+			return createHandle(name);
+		}
+		return converterHandle;
+	}
+
+	private static synchronized ConverterHandle createHandle(String name) {
+		ConverterHandle converterHandle = registry.getConverterHandle(name);
+		if (converterHandle == null) {
+			converterHandle = new ConverterHandle(name, registry.getActiveConverterFactory(name));
+			registry = registry.withConverterHandle(converterHandle);
+		}
+		return converterHandle;
+	}
+
+	static ConverterFactory getConverterFactory(String name) {
+		ConverterRegistry current = ensureConverterFactoryIsSet();
+		ConverterFactory converterFactory = current.getActiveConverterFactory(name);
+		ensureFactoryImplementationIsFound(name, converterFactory);
+		current.getConverterCounters(name).noOfLookups.increment();
+		return converterFactory;
+	}
+
+	private static ConverterRegistry ensureConverterFactoryIsSet() {
+		ConverterRegistry current = registry;
+		if (!current.hasActiveConverterFactories()) {
+			return startConverterFactories();
+		}
+		if (isConversionEventObservingOutdated(current)) {
+			return updateConversionEventObserving();
+		}
+		return current;
+	}
+
+	static boolean isConversionEventObservingOutdated() {
+		return isConversionEventObservingOutdated(registry);
+	}
+
+	private static boolean isConversionEventObservingOutdated(ConverterRegistry current) {
+		return current.getSettings().observeConversionEvents() != conversionEvents.isObserving();
+	}
+
+	private static synchronized ConverterRegistry updateConversionEventObserving() {
+		if (isConversionEventObservingOutdated(registry)) {
+			publishSettings(registry.getSettings());
+		}
+		return registry;
+	}
+
+	private static synchronized ConverterRegistry startConverterFactories() {
+		if (!registry.hasActiveConverterFactories()) {
 			log.logInfoUsingMessage("ConverterProvider starting...");
+			long startNanos = System.nanoTime();
+			startTimeMillis = System.currentTimeMillis();
 			getConverterFactoryImpUsingModuleStarter();
+			startupDurationMillis = millisecondsSince(startNanos);
+			registerMXBean();
 			log.logInfoUsingMessage("ConverterProvider started");
 		}
+		return registry;
 	}
 
 	private static void getConverterFactoryImpUsingModuleStarter() {
 		Iterable<ConverterFactory> converterFactoryImplementations = ServiceLoader
 				.load(ConverterFactory.class);
-		converterFactories = starter
-				.startUsingConverterFactoryImplementations(converterFactoryImplementations);
+		publishConverterFactories(starter
+				.startUsingConverterFactoryImplementations(converterFactoryImplementations));
+	}
+
+	private static void registerMXBean() {
+		if (registeredMXBeanName != null) {
+			return;
+		}
+		try {
+			ObjectName objectName = new ObjectName(getMXBeanObjectName());
+			ManagementFactory.getPlatformMBeanServer()
+					.registerMBean(new ConverterProviderMXBeanImp(), objectName);
+			registeredMXBeanName = objectName;
+		} catch (JMException | RuntimeException e) {
+			log.logWarnUsingMessageAndException("ConverterProvider MXBean could not be registered",
+					e);
+		}
+	}
+
+	/**
+	 * Returns the name the {@link ConverterProviderMXBean} of this provider is registered with in
+	 * the platform MBeanServer. The name is {@link ConverterProviderMXBean#OBJECT_NAME} with a
+	 * loader key identifying the classloader of this provider, so that providers loaded by
+	 * different applications in the same JVM are registered with different names.
+	 * 
+	 * @return the object name of the MXBean of this provider
+	 */
+	public static String getMXBeanObjectName() {
+		ClassLoader classLoader = ConverterProvider.class.getClassLoader();
+		return ConverterProviderMXBean.OBJECT_NAME + ",loader="
+				+ Integer.toHexString(System.identityHashCode(classLoader));
+	}
+
+	/**
+	 * Unregisters what the provider has registered with the JVM, the
+	 * {@link ConverterProviderMXBean}, so that the classes of the application using the provider
+	 * can be unloaded. Applications that can be undeployed, such as webapps in a servlet container,
+	 * MUST call shutdown when they stop, for instance from
+	 * ServletContextListener#contextDestroyed. Converters can still be fetched after shutdown, but
+	 * the MXBean is not registered again until the provider is started again.
+	 */
+	public static synchronized void shutdown() {
+		unregisterMXBean();
+	}
+
+	private static void unregisterMXBean() {
+		if (registeredMXBeanName == null) {
+			return;
+		}
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		try {
+			mBeanServer.unregisterMBean(registeredMXBeanName);
+		} catch (InstanceNotFoundException e) {
+			// already unregistered by someone else, nothing left to release
+		} catch (JMException | RuntimeException e) {
+			log.logWarnUsingMessageAndException(
+					"ConverterProvider MXBean could not be unregistered", e);
+		}
+		registeredMXBeanName = null;
+	}
+
+	private static void publishConverterFactories(Map<String, ConverterFactory> factories) {
+		publish(factories, registry.getSettings());
+	}
+
+	private static void publishSettings(ConverterSettings settings) {
+		publish(registry.getConverterFactories(), settings);
+	}
+
+	private static void publish(Map<String, ConverterFactory> factories,
+			ConverterSettings changedSettings) {
+		ConverterSettings settings = changedSettings
+				.withObserveConversionEvents(conversionEvents.isObserving());
+		ConverterRegistry current = registry;
+		Map<String, ConverterCounters> counters = createConverterCounters(current, factories);
+		registry = new ConverterRegistry(settings, factories,
+				createActiveConverterFactories(factories, counters, settings), counters,
+				current.getConverterHandlesByName());
+		updateConverterHandles();
+	}
+
+	private static void updateConverterHandles() {
+		ConverterRegistry current = registry;
+		for (ConverterHandle converterHandle : current.getConverterHandles()) {
+			converterHandle.setConverterFactory(
+					current.getActiveConverterFactory(converterHandle.getConverterName()));
+		}
+	}
+
+	private static Map<String, ConverterCounters> createConverterCounters(
+			ConverterRegistry current, Map<String, ConverterFactory> factories) {
+		Map<String, ConverterCounters> counters = new HashMap<>();
+		for (String converterName : factories.keySet()) {
+			ConverterCounters existing = current.getConverterCounters(converterName);
+			counters.put(converterName, existing == null ? new ConverterCounters() : existing);
+		}
+		return counters;
+	}
+
+	private static Map<String, ConverterFactory> createActiveConverterFactories(
+			Map<String, ConverterFactory> factories, Map<String, ConverterCounters> counters,
+			ConverterSettings settings) {
+		Map<String, ConverterFactory> activeFactories = new HashMap<>();
+		for (Map.Entry<String, ConverterFactory> entry : factories.entrySet()) {
+			String converterName = entry.getKey();
+			ConverterFactory countingFactory = new CountingConverterFactory(entry.getValue(),
+					counters.get(converterName));
+			activeFactories.put(converterName,
+					decorateConverterFactory(converterName, countingFactory, settings));
+		}
+		return activeFactories;
+	}
+
+	private static ConverterFactory decorateConverterFactory(String converterName,
+			ConverterFactory converterFactory, ConverterSettings settings) {
+		ConverterFactory decoratedFactory = decorateWithOutputSizeHints(
+				settings.getOutputSizeEstimator(converterName), converterFactory);
+		decoratedFactory = decorateWithOutputCache(converterName,
+				settings.getOutputCache(converterName), decoratedFactory);
+		decoratedFactory = decorateWithParseResultCache(
+				settings.getParseResultCache(converterName), decoratedFactory);
+		decoratedFactory = decorateWithObservers(converterName, settings, decoratedFactory);
+		if (settings.useCachedConverters()) {
+			return new CachingConverterFactory(decoratedFactory);
+		}
+		return decoratedFactory;
+	}
+
+	private static ConverterFactory decorateWithOutputSizeHints(
+			OutputSizeEstimator outputSizeEstimator, ConverterFactory converterFactory) {
+		if (outputSizeEstimator == null) {
+			return converterFactory;
+		}
+		return new SizeHintingConverterFactory(converterFactory, outputSizeEstimator);
+	}
+
+	private static ConverterFactory decorateWithOutputCache(String converterName,
+			OutputCache outputCache, ConverterFactory converterFactory) {
+		if (outputCache == null) {
+			return converterFactory;
+		}
+		return new OutputCachingConverterFactory(converterName, converterFactory, outputCache);
+	}
+
+	private static ConverterFactory decorateWithParseResultCache(
+			ParseResultCache parseResultCache, ConverterFactory converterFactory) {
+		if (parseResultCache == null) {
+			return converterFactory;
+		}
+		return new ParseResultCachingConverterFactory(converterFactory, parseResultCache);
+	}
+
+	private static ConverterFactory decorateWithObservers(String converterName,
+			ConverterSettings settings, ConverterFactory converterFactory) {
+		List<ConversionObserver> observers = createConversionObservers(converterName, settings);
+		if (observers.isEmpty()) {
+			return converterFactory;
+		}
+		return new ObservingConverterFactory(converterName, converterFactory,
+				new ConversionObservers(observers));
+	}
+
+	private static List<ConversionObserver> createConversionObservers(String converterName,
+			ConverterSettings settings) {
+		List<ConversionObserver> observers = new ArrayList<>();
+		if (settings.collectConversionMetrics()) {
+			observers.add(conversionMetrics);
+		}
+		if (settings.observeConversionEvents()) {
+			observers.add(conversionEvents);
+		}
+		ConversionBudget conversionBudget = settings.getConversionBudget(converterName);
+		if (conversionBudget != null) {
+			observers.add(new ConversionBudgetObserver(conversionBudget));
+		}
+		ResourceAccounting resourceAccounting = settings.getResourceAccounting();
+		if (resourceAccounting != null) {
+			observers.add(new ResourceAccountingObserver(resourceAccounting));
+		}
+		return observers;
 	}
 
 	private static void ensureFactoryImplementationIsFound(String name,
@@ -104,26 +412,438 @@ public class ConverterProvider {
 		}
 	}
 
+	/**
+	 * Returns the entered dataString, in the format of the converters with the name fromName,
+	 * converted to the format of the converters with the name toName, see
+	 * {@link #transcode(String, String, String, Appendable)}.
+	 * 
+	 * @param fromName
+	 *            String with a name that identifies the Converter for the format of the dataString
+	 * @param toName
+	 *            String with a name that identifies the Converter for the format to convert to
+	 * @param dataString
+	 *            with the string representation of an element to convert from
+	 * @return result of the convertion as a String
+	 */
+	public static String transcode(String fromName, String toName, String dataString) {
+		StringBuilder transcoded = new StringBuilder();
+		transcode(fromName, toName, dataString, transcoded);
+		return transcoded.toString();
+	}
+
+	/**
+	 * Converts the entered dataString, in the format of the converters with the name fromName, to
+	 * the format of the converters with the name toName and writes the result to the entered
+	 * appendable. The result is the same as converting the dataString to an ExternallyConvertible
+	 * and that to a String, without links.
+	 * <p>
+	 * If the {@link ConverterFactory} for both names supports data events, see
+	 * {@link ConverterFactory#supportsDataEvents()}, is the dataString transcoded directly using a
+	 * {@link DataEventReader} and a {@link DataEventWriter}, without building an
+	 * ExternallyConvertible in between. Otherwise is it converted in two steps using converters
+	 * from this provider.
+	 * <p>
+	 * If no implementation is found for one of the names, a
+	 * {@link ConverterInitializationException} is thrown. If unable to convert a
+	 * {@link ConverterException} is thrown.
+	 * 
+	 * @param fromName
+	 *            String with a name that identifies the Converter for the format of the dataString
+	 * @param toName
+	 *            String with a name that identifies the Converter for the format to convert to
+	 * @param dataString
+	 *            with the string representation of an element to convert from
+	 * @param appendable
+	 *            to write the result of the convertion to
+	 */
+	public static void transcode(String fromName, String toName, String dataString,
+			Appendable appendable) {
+		ConverterFactory fromFactory = getConverterFactory(fromName);
+		ConverterFactory toFactory = getConverterFactory(toName);
+		if (fromFactory.supportsDataEvents() && toFactory.supportsDataEvents()) {
+			DataEventWriter dataEventWriter = toFactory.factorDataEventWriter();
+			fromFactory.factorDataEventReader().read(dataString,
+					dataEventWriter.writeTo(appendable));
+		} else {
+			ExternallyConvertible externallyConvertible = fromFactory
+					.factorStringToExternallyConvertableConverter().convert(dataString);
+			toFactory.factorExternallyConvertableToStringConverter()
+					.convertTo(externallyConvertible, appendable);
+		}
+	}
+
+	/**
+	 * Starts all ConverterFactories and factors one converter of each kind from each of them, see
+	 * {@link #warmUp(List, int)}.
+	 */
+	public static void warmUp() {
+		warmUp(Collections.emptyList(), 0);
+	}
+
+	/**
+	 * Warms up the provider before the node starts to serve requests. All ConverterFactories are
+	 * started and one converter of each kind is factored from each of them. Then each of the
+	 * entered samples is converted noOfIterations times in both directions, see
+	 * {@link WarmUpSample}, so that the converter code paths are run, and compiled by the JVM,
+	 * before the first real request.
+	 * <p>
+	 * The samples are converted using converters from this provider, in the same way as requests.
+	 * They are thereby counted in conversion metrics and stored in output and parse result caches,
+	 * if those are used. The time taken by each step is logged.
+	 * <p>
+	 * If a factory can not be started or a sample can not be converted is the error logged and the
+	 * exception thrown on, so that the node does not report ready.
+	 * 
+	 * @param samples
+	 *            the samples to convert
+	 * @param noOfIterations
+	 *            the number of times to convert each sample, must be at least 0
+	 */
+	public static void warmUp(List<WarmUpSample> samples, int noOfIterations) {
+		if (noOfIterations < 0) {
+			throw new IllegalArgumentException(
+					"Number of iterations must be at least 0, was " + noOfIterations);
+		}
+		long start = System.nanoTime();
+		log.logInfoUsingMessage("ConverterProvider warm up starting...");
+		try {
+			factorConvertersFromAllFactories();
+			convertAllSamples(samples, noOfIterations);
+		} catch (RuntimeException e) {
+			log.logErrorUsingMessageAndException("ConverterProvider warm up failed", e);
+			throw e;
+		}
+		log.logInfoUsingMessage(
+				"ConverterProvider warm up finished in " + millisecondsSince(start) + " ms");
+	}
+
+	private static void factorConvertersFromAllFactories() {
+		Map<String, ConverterFactory> factories = new TreeMap<>(
+				ensureConverterFactoryIsSet().getActiveConverterFactories());
+		for (Map.Entry<String, ConverterFactory> entry : factories.entrySet()) {
+			long start = System.nanoTime();
+			entry.getValue().factorExternallyConvertableToStringConverter();
+			entry.getValue().factorStringToExternallyConvertableConverter();
+			log.logInfoUsingMessage("Converters for " + entry.getKey() + " factored in "
+					+ millisecondsSince(start) + " ms");
+		}
+	}
+
+	private static void convertAllSamples(List<WarmUpSample> samples, int noOfIterations) {
+		for (WarmUpSample sample : samples) {
+			long start = System.nanoTime();
+			for (int i = 0; i < noOfIterations; i++) {
+				convertSample(sample);
+			}
+			log.logInfoUsingMessage("Warm up sample for " + sample.getConverterName()
+					+ " converted " + noOfIterations + " times in " + millisecondsSince(start)
+					+ " ms");
+		}
+	}
+
+	private static void convertSample(WarmUpSample sample) {
+		ExternallyConvertible externallyConvertible = getStringToExternallyConvertibleConverter(
+				sample.getConverterName()).convert(sample.getDataString());
+		ExternallyConvertibleToStringConverter toStringConverter = getExternallyConvertibleToStringConverter(
+				sample.getConverterName());
+		toStringConverter.convert(externallyConvertible);
+		if (sample.hasExternalUrls()) {
+			toStringConverter.convertWithLinks(externallyConvertible, sample.getExternalUrls());
+		}
+	}
+
+	private static long millisecondsSince(long startNanos) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+	}
+
 	/**
 	 * Sets a ConverterFactory that will be used to factor converters. This possibility to set a
 	 * ConverterFactory is provided to enable testing of converting in other classes and is not
 	 * intented to be used in production. The ConverterFactory to use should be provided through an
 	 * implementation of ConverterFactory in a seperate java module.
+	 * <p>
+	 * If converterName or converterFactory is null is a {@link NullPointerException} thrown, and
+	 * the previously set ConverterFactories are kept.
 	 * 
+	 * @param converterName
+	 *            String with the name to use the ConverterFactory for, must not be null
 	 * @param converterFactory
-	 *            A ConverterFactory to use to create converters for testing
+	 *            A ConverterFactory to use to create converters for testing, must not be null
 	 */
-	public static void setConverterFactory(String converterName,
+	public static synchronized void setConverterFactory(String converterName,
 			ConverterFactory converterFactory) {
-		ConverterProvider.converterFactories.put(converterName, converterFactory);
+		Objects.requireNonNull(converterName, "Converter name must not be null");
+		Objects.requireNonNull(converterFactory,
+				"ConverterFactory for " + converterName + " must not be null");
+		Map<String, ConverterFactory> factories = new HashMap<>(registry.getConverterFactories());
+		factories.put(converterName, converterFactory);
+		publishConverterFactories(factories);
+	}
+
+	/**
+	 * Sets if converters should be cached and reused instead of factored for each call to get a
+	 * converter. The default is to not use cached converters.
+	 * <p>
+	 * When cached converters are used is one converter instance per name shared by all threads if
+	 * the {@link ConverterFactory} declares that it factors thread safe converters, see
+	 * {@link ConverterFactory#factorsThreadSafeConverters()}. Otherwise is one converter instance
+	 * per name shared by all threads, which borrows a factored converter from a bounded pool for
+	 * each call, so that no factored converter is used by more than one thread at a time.
+	 * 
+	 * @param useCachedConverters
+	 *            true if converters should be cached, false if a new converter should be factored
+	 *            for each call
+	 */
+	public static synchronized void setUseCachedConverters(boolean useCachedConverters) {
+		publishSettings(registry.getSettings().withUseCachedConverters(useCachedConverters));
+	}
+
+	/**
+	 * Sets if metrics should be collected for all conversions done by converters from this
+	 * provider. The default is to not collect metrics.
+	 * <p>
+	 * When metrics are collected are the converters factored by each {@link ConverterFactory}
+	 * wrapped, without changing the implementations, so that call counts, failure counts, latencies
+	 * and sizes are recorded per converter name and {@link ConversionDirection}. Converters already
+	 * fetched from the provider are not affected by a change of this setting. Collected metrics are
+	 * kept when collection is turned off.
+	 * 
+	 * @param collectConversionMetrics
+	 *            true if metrics should be collected, otherwise false
+	 */
+	public static synchronized void setCollectConversionMetrics(boolean collectConversionMetrics) {
+		publishSettings(
+				registry.getSettings().withCollectConversionMetrics(collectConversionMetrics));
+	}
+
+	/**
+	 * Sets a {@link ResourceAccounting} that collects the bytes allocated and CPU time used by all
+	 * conversions done by converters from this provider. The default is to not collect resource
+	 * usage, and setting null turns collection off.
+	 * <p>
+	 * When resource usage is collected are the converters factored by each
+	 * {@link ConverterFactory} wrapped, in the same way as when collecting metrics. Resources are
+	 * measured closest to the converter, so that the work of other observers is not included.
+	 * Converters already fetched from the provider are not affected by a change of this setting.
+	 * 
+	 * @param resourceAccounting
+	 *            the ResourceAccounting to collect resource usage in, or null to not collect
+	 */
+	public static synchronized void setResourceAccounting(ResourceAccounting resourceAccounting) {
+		publishSettings(registry.getSettings().withResourceAccounting(resourceAccounting));
+	}
+
+	/**
+	 * Sets an {@link OutputCache} to use for the ExternallyConvertibleToStringConverters with the
+	 * entered name. Output from conversions to String of records that the cache can identify is
+	 * then kept in the cache and returned for later conversions of the same version of the record.
+	 * Converters already fetched from the provider are not affected.
+	 * <p>
+	 * The default is to not cache any output. Setting null removes a previously set cache.
+	 * 
+	 * @param converterName
+	 *            String with a name that identifies the Converter to cache output for.
+	 * @param outputCache
+	 *            the OutputCache to use, or null to not cache output
+	 */
+	public static synchronized void setOutputCache(String converterName,
+			OutputCache outputCache) {
+		publishSettings(registry.getSettings().withOutputCache(converterName, outputCache));
+	}
+
+	/**
+	 * Sets a {@link ParseResultCache} to use for the StringToExternallyConvertibleConverters with
+	 * the entered name. Results from conversions from String are then kept in the cache and copies
+	 * of them are returned for later conversions of equal dataStrings. Converters already fetched
+	 * from the provider are not affected.
+	 * <p>
+	 * The default is to not cache any results. Setting null removes a previously set cache.
+	 * 
+	 * @param converterName
+	 *            String with a name that identifies the Converter to cache results for.
+	 * @param parseResultCache
+	 *            the ParseResultCache to use, or null to not cache results
+	 */
+	public static synchronized void setParseResultCache(String converterName,
+			ParseResultCache parseResultCache) {
+		publishSettings(
+				registry.getSettings().withParseResultCache(converterName, parseResultCache));
+	}
+
+	/**
+	 * Sets an {@link OutputSizeEstimator} to use for the ExternallyConvertibleToStringConverters
+	 * with the entered name. The sizes of the results of conversions to String are then added to
+	 * the estimator, and the current estimate for the type of record is given to the converters as
+	 * an output size hint, see
+	 * {@link ExternallyConvertibleToStringConverter#convert(ExternallyConvertible, int)}. Converters
+	 * already fetched from the provider are not affected.
+	 * <p>
+	 * The default is to not give any hints. Setting null removes a previously set estimator.
+	 * 
+	 * @param converterName
+	 *            String with a name that identifies the Converter to give hints to.
+	 * @param outputSizeEstimator
+	 *            the OutputSizeEstimator to use, or null to not give hints
+	 */
+	public static synchronized void setOutputSizeEstimator(String converterName,
+			OutputSizeEstimator outputSizeEstimator) {
+		publishSettings(registry.getSettings().withOutputSizeEstimator(converterName,
+				outputSizeEstimator));
+	}
+
+	/**
+	 * Sets a {@link ConversionBudget} for the converters with the entered name. Conversions by
+	 * those converters that take longer than the maximum duration of the budget, or have a larger
+	 * payload than its maximum size, are then logged as warnings. Converters already fetched from
+	 * the provider are not affected.
+	 * <p>
+	 * The default is to not check conversions against a budget. Setting null removes a previously
+	 * set budget.
+	 * 
+	 * @param converterName
+	 *            String with a name that identifies the Converters to check.
+	 * @param conversionBudget
+	 *            the ConversionBudget to use, or null to not check conversions
+	 */
+	public static synchronized void setConversionBudget(String converterName,
+			ConversionBudget conversionBudget) {
+		publishSettings(
+				registry.getSettings().withConversionBudget(converterName, conversionBudget));
+	}
+
+	/**
+	 * Returns the {@link OutputBufferPool} that ExternallyConvertibleToStringConverter
+	 * implementations can borrow buffers from to build their output in.
+	 * <p>
+	 * The default pool keeps buffers with a capacity of up to 64K characters, and twice as many
+	 * buffers as there are available processors.
+	 * 
+	 * @return the OutputBufferPool to use
+	 */
+	public static OutputBufferPool getOutputBufferPool() {
+		return outputBufferPool;
+	}
+
+	/**
+	 * Sets the {@link OutputBufferPool} returned by {@link #getOutputBufferPool()}. Converters that
+	 * have already fetched the pool continue to use the previous pool.
+	 * 
+	 * @param outputBufferPool
+	 *            the OutputBufferPool to use
+	 */
+	public static void setOutputBufferPool(OutputBufferPool outputBufferPool) {
+		ConverterProvider.outputBufferPool = Objects.requireNonNull(outputBufferPool);
+	}
+
+	private static OutputBufferPool createDefaultOutputBufferPool() {
+		return new OutputBufferPool(DEFAULT_MAX_RETAINED_BUFFER_CAPACITY,
+				2 * Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Returns snapshots of the metrics collected so far, one for each converter name and
+	 * {@link ConversionDirection} that has been used while metrics were collected, see
+	 * {@link #setCollectConversionMetrics(boolean)}.
+	 * 
+	 * @return a list of metrics snapshots sorted by converter name and direction
+	 */
+	public static List<ConversionMetricsSnapshot> getConversionMetrics() {
+		return conversionMetrics.getSnapshots();
+	}
+
+	/**
+	 * Returns information and statistics for each registered converter, sorted by converter name.
+	 * The same information is available through JMX, see {@link ConverterProviderMXBean}.
+	 * 
+	 * @return a list with one ConverterStatistics for each converter name
+	 */
+	public static List<ConverterStatistics> getConverterStatistics() {
+		ConverterRegistry current = registry;
+		ConverterSettings settings = current.getSettings();
+		Map<String, ConverterFactory> factories = new TreeMap<>(current.getConverterFactories());
+		List<ConversionMetricsSnapshot> metrics = conversionMetrics.getSnapshots();
+		List<ConverterStatistics> statistics = new ArrayList<>();
+		for (Map.Entry<String, ConverterFactory> entry : factories.entrySet()) {
+			String converterName = entry.getKey();
+			statistics.add(new ConverterStatistics(converterName,
+					getImplementationName(entry.getValue()),
+					current.getConverterCounters(converterName),
+					getCacheStatistics(settings.getOutputCache(converterName)),
+					getCacheStatistics(settings.getParseResultCache(converterName)),
+					findMetrics(metrics, converterName, ConversionDirection.TO_STRING),
+					findMetrics(metrics, converterName, ConversionDirection.FROM_STRING)));
+		}
+		return statistics;
+	}
+
+	private static String getImplementationName(ConverterFactory converterFactory) {
+		if (converterFactory instanceof ImplementationNamed implementationNamed) {
+			return implementationNamed.getImplementationName();
+		}
+		return converterFactory.getClass().getSimpleName();
+	}
+
+	private static CacheStatistics getCacheStatistics(OutputCache outputCache) {
+		return outputCache == null ? null : outputCache.getStatistics();
+	}
+
+	private static CacheStatistics getCacheStatistics(ParseResultCache parseResultCache) {
+		return parseResultCache == null ? null : parseResultCache.getStatistics();
+	}
+
+	private static ConversionMetricsSnapshot findMetrics(List<ConversionMetricsSnapshot> metrics,
+			String converterName, ConversionDirection direction) {
+		for (ConversionMetricsSnapshot snapshot : metrics) {
+			if (snapshot.getConverterName().equals(converterName)
+					&& snapshot.getDirection() == direction) {
+				return snapshot;
+			}
+		}
+		return null;
+	}
+
+	static long getStartTimeMillis() {
+		return startTimeMillis;
+	}
+
+	static long getStartupDurationMillis() {
+		return startupDurationMillis;
+	}
+
+	static boolean isCollectConversionMetrics() {
+		return registry.getSettings().collectConversionMetrics();
+	}
+
+	static synchronized void resetConversionCaches() {
+		publishSettings(registry.getSettings().withoutConversionCaches());
+	}
+
+	static synchronized void resetConversionBudgets() {
+		publishSettings(registry.getSettings().withoutConversionBudgets());
+	}
+
+	static void resetOutputBufferPool() {
+		outputBufferPool = createDefaultOutputBufferPool();
+	}
+
+	static void resetConversionMetrics() {
+		conversionMetrics.reset();
 	}
 
 	static void setStarter(ConverterModuleStarter starter) {
 		ConverterProvider.starter = starter;
 	}
 
-	static void resetConverterFactories() {
-		converterFactories.clear();
+	static synchronized void resetConverterFactories() {
+		ConverterRegistry current = registry;
+		registry = new ConverterRegistry(current.getSettings(), Collections.emptyMap(),
+				Collections.emptyMap(), Collections.emptyMap(),
+				current.getConverterHandlesByName());
+		updateConverterHandles();
+	}
+
+	static synchronized void resetConverterHandles() {
+		registry = registry.withoutConverterHandles();
 	}
 
 	static ConverterModuleStarter getStarter() {
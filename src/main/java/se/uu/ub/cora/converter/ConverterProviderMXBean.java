@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.List;
+
+/**
+ * ConverterProviderMXBean is the management interface of {@link ConverterProvider}, registered in
+ * the platform MBeanServer when the provider starts, with the name returned by
+ * {@link ConverterProvider#getMXBeanObjectName()}, and unregistered by
+ * {@link ConverterProvider#shutdown()}. It lets the converter registry and its statistics be
+ * inspected in a running node using standard JMX tools, such as jconsole.
+ */
+public interface ConverterProviderMXBean {
+	/**
+	 * The domain and type of the name the MXBean is registered with, the registered name also has
+	 * a loader key, see {@link ConverterProvider#getMXBeanObjectName()}.
+	 */
+	String OBJECT_NAME = "se.uu.ub.cora.converter:type=ConverterProvider";
+
+	/**
+	 * Returns the names of the registered converters, sorted by name.
+	 * 
+	 * @return a list with converter names
+	 */
+	List<String> getConverterNames();
+
+	/**
+	 * Returns information and statistics for each registered converter, sorted by converter name.
+	 * 
+	 * @return a list with one ConverterStatistics for each converter name
+	 */
+	List<ConverterStatistics> getConverterStatistics();
+
+	/**
+	 * Returns the time the provider was started, in milliseconds since the epoch, or 0 if the
+	 * provider has not been started by looking up its ConverterFactory implementations.
+	 * 
+	 * @return the start time in milliseconds since the epoch
+	 */
+	long getStartTimeMillis();
+
+	/**
+	 * Returns the time it took to start the provider, in milliseconds.
+	 * 
+	 * @return the startup duration in milliseconds
+	 */
+	long getStartupDurationMillis();
+
+	/**
+	 * Returns if conversion metrics are collected, see
+	 * {@link ConverterProvider#setCollectConversionMetrics(boolean)}.
+	 * 
+	 * @return true if metrics are collected, otherwise false
+	 */
+	boolean isCollectConversionMetrics();
+
+	/**
+	 * Sets if conversion metrics should be collected, see
+	 * {@link ConverterProvider#setCollectConversionMetrics(boolean)}.
+	 * 
+	 * @param collectConversionMetrics
+	 *            true if metrics should be collected, otherwise false
+	 */
+	void setCollectConversionMetrics(boolean collectConversionMetrics);
+}
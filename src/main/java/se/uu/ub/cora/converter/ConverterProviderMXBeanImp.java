@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ConverterProviderMXBeanImp implements {@link ConverterProviderMXBean} by reading from
+ * {@link ConverterProvider}.
+ */
+final class ConverterProviderMXBeanImp implements ConverterProviderMXBean {
+
+	@Override
+	public List<String> getConverterNames() {
+		List<String> converterNames = new ArrayList<>();
+		for (ConverterStatistics statistics : ConverterProvider.getConverterStatistics()) {
+			converterNames.add(statistics.getConverterName());
+		}
+		return converterNames;
+	}
+
+	@Override
+	public List<ConverterStatistics> getConverterStatistics() {
+		return ConverterProvider.getConverterStatistics();
+	}
+
+	@Override
+	public long getStartTimeMillis() {
+		return ConverterProvider.getStartTimeMillis();
+	}
+
+	@Override
+	public long getStartupDurationMillis() {
+		return ConverterProvider.getStartupDurationMillis();
+	}
+
+	@Override
+	public boolean isCollectConversionMetrics() {
+		return ConverterProvider.isCollectConversionMetrics();
+	}
+
+	@Override
+	public void setCollectConversionMetrics(boolean collectConversionMetrics) {
+		ConverterProvider.setCollectConversionMetrics(collectConversionMetrics);
+	}
+}
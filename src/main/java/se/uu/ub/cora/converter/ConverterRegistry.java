@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ConverterRegistry holds all state of {@link ConverterProvider}, the registered
+ * ConverterFactories, the decorated factories handing out converters, the counters and handles per
+ * converter name and the {@link ConverterSettings} the factories are decorated according to.
+ * <p>
+ * It is immutable and published as a whole through one volatile field, so that a reader always sees
+ * factories, counters, handles and settings from the same change, without locking. A change gives
+ * a new ConverterRegistry.
+ */
+final class ConverterRegistry {
+	static final ConverterRegistry EMPTY = new ConverterRegistry(ConverterSettings.DEFAULT,
+			Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+			Collections.emptyMap());
+
+	private final ConverterSettings settings;
+	private final Map<String, ConverterFactory> converterFactories;
+	private final Map<String, ConverterFactory> activeConverterFactories;
+	private final Map<String, ConverterCounters> converterCounters;
+	private final Map<String, ConverterHandle> converterHandles;
+
+	ConverterRegistry(ConverterSettings settings, Map<String, ConverterFactory> converterFactories,
+			Map<String, ConverterFactory> activeConverterFactories,
+			Map<String, ConverterCounters> converterCounters,
+			Map<String, ConverterHandle> converterHandles) {
+		this.settings = settings;
+		this.converterFactories = Map.copyOf(converterFactories);
+		this.activeConverterFactories = Map.copyOf(activeConverterFactories);
+		this.converterCounters = Map.copyOf(converterCounters);
+		this.converterHandles = Map.copyOf(converterHandles);
+	}
+
+	ConverterSettings getSettings() {
+		return settings;
+	}
+
+	Map<String, ConverterFactory> getConverterFactories() {
+		return converterFactories;
+	}
+
+	boolean hasActiveConverterFactories() {
+		return !activeConverterFactories.isEmpty();
+	}
+
+	Map<String, ConverterFactory> getActiveConverterFactories() {
+		return activeConverterFactories;
+	}
+
+	ConverterFactory getActiveConverterFactory(String converterName) {
+		return activeConverterFactories.get(converterName);
+	}
+
+	ConverterCounters getConverterCounters(String converterName) {
+		return converterCounters.get(converterName);
+	}
+
+	ConverterHandle getConverterHandle(String converterName) {
+		return converterHandles.get(converterName);
+	}
+
+	Iterable<ConverterHandle> getConverterHandles() {
+		return converterHandles.values();
+	}
+
+	Map<String, ConverterHandle> getConverterHandlesByName() {
+		return converterHandles;
+	}
+
+	ConverterRegistry withConverterHandle(ConverterHandle converterHandle) {
+		Map<String, ConverterHandle> handles = new HashMap<>(converterHandles);
+		handles.put(converterHandle.getConverterName(), converterHandle);
+		return new ConverterRegistry(settings, converterFactories, activeConverterFactories,
+				converterCounters, handles);
+	}
+
+	ConverterRegistry withoutConverterHandles() {
+		return new ConverterRegistry(settings, converterFactories, activeConverterFactories,
+				converterCounters, Collections.emptyMap());
+	}
+}
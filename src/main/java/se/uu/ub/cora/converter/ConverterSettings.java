@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ConverterSettings holds the settings of {@link ConverterProvider} that decide how the
+ * registered ConverterFactories are decorated. It is immutable, a changed setting gives a new
+ * ConverterSettings.
+ */
+final class ConverterSettings {
+	static final ConverterSettings DEFAULT = new ConverterSettings(false, false, false, null,
+			Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+			Collections.emptyMap());
+
+	private final boolean useCachedConverters;
+	private final boolean collectConversionMetrics;
+	private final boolean observeConversionEvents;
+	private final ResourceAccounting resourceAccounting;
+	private final Map<String, OutputCache> outputCaches;
+	private final Map<String, ParseResultCache> parseResultCaches;
+	private final Map<String, OutputSizeEstimator> outputSizeEstimators;
+	private final Map<String, ConversionBudget> conversionBudgets;
+
+	private ConverterSettings(boolean useCachedConverters, boolean collectConversionMetrics,
+			boolean observeConversionEvents, ResourceAccounting resourceAccounting,
+			Map<String, OutputCache> outputCaches,
+			Map<String, ParseResultCache> parseResultCaches,
+			Map<String, OutputSizeEstimator> outputSizeEstimators,
+			Map<String, ConversionBudget> conversionBudgets) {
+		this.useCachedConverters = useCachedConverters;
+		this.collectConversionMetrics = collectConversionMetrics;
+		this.observeConversionEvents = observeConversionEvents;
+		this.resourceAccounting = resourceAccounting;
+		this.outputCaches = outputCaches;
+		this.parseResultCaches = parseResultCaches;
+		this.outputSizeEstimators = outputSizeEstimators;
+		this.conversionBudgets = conversionBudgets;
+	}
+
+	boolean useCachedConverters() {
+		return useCachedConverters;
+	}
+
+	boolean collectConversionMetrics() {
+		return collectConversionMetrics;
+	}
+
+	/**
+	 * Returns if the converters are decorated to emit {@link ConversionEvent}s, which they are
+	 * while a running Java Flight Recorder recording has the event enabled.
+	 */
+	boolean observeConversionEvents() {
+		return observeConversionEvents;
+	}
+
+	ResourceAccounting getResourceAccounting() {
+		return resourceAccounting;
+	}
+
+	OutputCache getOutputCache(String converterName) {
+		return outputCaches.get(converterName);
+	}
+
+	ParseResultCache getParseResultCache(String converterName) {
+		return parseResultCaches.get(converterName);
+	}
+
+	OutputSizeEstimator getOutputSizeEstimator(String converterName) {
+		return outputSizeEstimators.get(converterName);
+	}
+
+	ConversionBudget getConversionBudget(String converterName) {
+		return conversionBudgets.get(converterName);
+	}
+
+	ConverterSettings withUseCachedConverters(boolean useCachedConverters) {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting, outputCaches, parseResultCaches,
+				outputSizeEstimators, conversionBudgets);
+	}
+
+	ConverterSettings withCollectConversionMetrics(boolean collectConversionMetrics) {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting, outputCaches, parseResultCaches,
+				outputSizeEstimators, conversionBudgets);
+	}
+
+	ConverterSettings withObserveConversionEvents(boolean observeConversionEvents) {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting, outputCaches, parseResultCaches,
+				outputSizeEstimators, conversionBudgets);
+	}
+
+	ConverterSettings withResourceAccounting(ResourceAccounting resourceAccounting) {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting, outputCaches, parseResultCaches,
+				outputSizeEstimators, conversionBudgets);
+	}
+
+	ConverterSettings withOutputCache(String converterName, OutputCache outputCache) {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting,
+				withEntry(outputCaches, converterName, outputCache), parseResultCaches,
+				outputSizeEstimators, conversionBudgets);
+	}
+
+	ConverterSettings withParseResultCache(String converterName,
+			ParseResultCache parseResultCache) {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting, outputCaches,
+				withEntry(parseResultCaches, converterName, parseResultCache),
+				outputSizeEstimators, conversionBudgets);
+	}
+
+	ConverterSettings withOutputSizeEstimator(String converterName,
+			OutputSizeEstimator outputSizeEstimator) {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting, outputCaches, parseResultCaches,
+				withEntry(outputSizeEstimators, converterName, outputSizeEstimator),
+				conversionBudgets);
+	}
+
+	ConverterSettings withConversionBudget(String converterName,
+			ConversionBudget conversionBudget) {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting, outputCaches, parseResultCaches,
+				outputSizeEstimators,
+				withEntry(conversionBudgets, converterName, conversionBudget));
+	}
+
+	ConverterSettings withoutConversionCaches() {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting, Collections.emptyMap(),
+				Collections.emptyMap(), Collections.emptyMap(), conversionBudgets);
+	}
+
+	ConverterSettings withoutConversionBudgets() {
+		return new ConverterSettings(useCachedConverters, collectConversionMetrics,
+				observeConversionEvents, resourceAccounting, outputCaches, parseResultCaches,
+				outputSizeEstimators, Collections.emptyMap());
+	}
+
+	private static <T> Map<String, T> withEntry(Map<String, T> map, String converterName,
+			T value) {
+		Map<String, T> changed = new HashMap<>(map);
+		if (value == null) {
+			changed.remove(converterName);
+		} else {
+			changed.put(converterName, value);
+		}
+		return Map.copyOf(changed);
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * ConverterStatistics holds information about the ConverterFactory registered for one converter
+ * name in {@link ConverterProvider}, and the statistics collected for it, at the time it was read.
+ * <p>
+ * Lookups and factored converters are always counted. The number of conversions and their total
+ * duration are only collected while conversion metrics are collected, see
+ * {@link ConverterProvider#setCollectConversionMetrics(boolean)}, and are otherwise the values
+ * collected so far. Cache statistics are only present if a cache is set for the name.
+ */
+public final class ConverterStatistics {
+	private final String converterName;
+	private final String implementationName;
+	private final long noOfLookups;
+	private final long noOfToStringConvertersFactored;
+	private final long noOfFromStringConvertersFactored;
+	private final CacheStatistics outputCacheStatistics;
+	private final CacheStatistics parseResultCacheStatistics;
+	private final long noOfToStringConversions;
+	private final long totalToStringDurationNanos;
+	private final long noOfFromStringConversions;
+	private final long totalFromStringDurationNanos;
+
+	ConverterStatistics(String converterName, String implementationName,
+			ConverterCounters counters, CacheStatistics outputCacheStatistics,
+			CacheStatistics parseResultCacheStatistics, ConversionMetricsSnapshot toStringMetrics,
+			ConversionMetricsSnapshot fromStringMetrics) {
+		this.converterName = converterName;
+		this.implementationName = implementationName;
+		this.noOfLookups = counters.noOfLookups.sum();
+		this.noOfToStringConvertersFactored = counters.noOfToStringConvertersFactored.sum();
+		this.noOfFromStringConvertersFactored = counters.noOfFromStringConvertersFactored.sum();
+		this.outputCacheStatistics = outputCacheStatistics;
+		this.parseResultCacheStatistics = parseResultCacheStatistics;
+		this.noOfToStringConversions = toStringMetrics == null ? 0 : toStringMetrics.getNoOfCalls();
+		this.totalToStringDurationNanos = toStringMetrics == null ? 0
+				: toStringMetrics.getTotalDurationNanos();
+		this.noOfFromStringConversions = fromStringMetrics == null ? 0
+				: fromStringMetrics.getNoOfCalls();
+		this.totalFromStringDurationNanos = fromStringMetrics == null ? 0
+				: fromStringMetrics.getTotalDurationNanos();
+	}
+
+	public String getConverterName() {
+		return converterName;
+	}
+
+	/**
+	 * Returns the simple class name of the ConverterFactory implementation.
+	 */
+	public String getImplementationName() {
+		return implementationName;
+	}
+
+	/**
+	 * Returns the number of times the ConverterFactory has been looked up by name, to get a
+	 * converter or a {@link ConverterHandle}, or to transcode.
+	 */
+	public long getNoOfLookups() {
+		return noOfLookups;
+	}
+
+	/**
+	 * Returns the number of ExternallyConvertibleToStringConverters factored by the
+	 * ConverterFactory. Converters reused from cached converters are not counted again.
+	 */
+	public long getNoOfToStringConvertersFactored() {
+		return noOfToStringConvertersFactored;
+	}
+
+	/**
+	 * Returns the number of StringToExternallyConvertibleConverters factored by the
+	 * ConverterFactory. Converters reused from cached converters are not counted again.
+	 */
+	public long getNoOfFromStringConvertersFactored() {
+		return noOfFromStringConvertersFactored;
+	}
+
+	/**
+	 * Returns the statistics of the output cache for the name, or null if no output cache is set.
+	 */
+	public CacheStatistics getOutputCacheStatistics() {
+		return outputCacheStatistics;
+	}
+
+	/**
+	 * Returns the statistics of the parse result cache for the name, or null if no parse result
+	 * cache is set.
+	 */
+	public CacheStatistics getParseResultCacheStatistics() {
+		return parseResultCacheStatistics;
+	}
+
+	public long getNoOfToStringConversions() {
+		return noOfToStringConversions;
+	}
+
+	public long getTotalToStringDurationNanos() {
+		return totalToStringDurationNanos;
+	}
+
+	public long getNoOfFromStringConversions() {
+		return noOfFromStringConversions;
+	}
+
+	public long getTotalFromStringDurationNanos() {
+		return totalFromStringDurationNanos;
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.IOException;
+
+/**
+ * CountingAppendable forwards all appended characters to another Appendable and counts them.
+ */
+final class CountingAppendable implements Appendable {
+	private final Appendable appendable;
+	private long count = 0;
+
+	CountingAppendable(Appendable appendable) {
+		this.appendable = appendable;
+	}
+
+	@Override
+	public Appendable append(CharSequence csq) throws IOException {
+		appendable.append(csq);
+		count += csq == null ? "null".length() : csq.length();
+		return this;
+	}
+
+	@Override
+	public Appendable append(CharSequence csq, int start, int end) throws IOException {
+		appendable.append(csq, start, end);
+		count += end - start;
+		return this;
+	}
+
+	@Override
+	public Appendable append(char c) throws IOException {
+		appendable.append(c);
+		count++;
+		return this;
+	}
+
+	long getCount() {
+		return count;
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * CountingConverterFactory wraps a {@link ConverterFactory} and counts the converters it factors
+ * in a {@link ConverterCounters}.
+ */
+final class CountingConverterFactory implements ConverterFactory {
+	private final ConverterFactory converterFactory;
+	private final ConverterCounters converterCounters;
+
+	CountingConverterFactory(ConverterFactory converterFactory,
+			ConverterCounters converterCounters) {
+		this.converterFactory = converterFactory;
+		this.converterCounters = converterCounters;
+	}
+
+	@Override
+	public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+		converterCounters.noOfToStringConvertersFactored.increment();
+		return converterFactory.factorExternallyConvertableToStringConverter();
+	}
+
+	@Override
+	public StringToExternallyConvertibleConverter factorStringToExternallyConvertableConverter() {
+		converterCounters.noOfFromStringConvertersFactored.increment();
+		return converterFactory.factorStringToExternallyConvertableConverter();
+	}
+
+	@Override
+	public String getName() {
+		return converterFactory.getName();
+	}
+
+	@Override
+	public boolean factorsThreadSafeConverters() {
+		return converterFactory.factorsThreadSafeConverters();
+	}
+
+	@Override
+	public boolean supportsDataEvents() {
+		return converterFactory.supportsDataEvents();
+	}
+
+	@Override
+	public DataEventReader factorDataEventReader() {
+		return converterFactory.factorDataEventReader();
+	}
+
+	@Override
+	public DataEventWriter factorDataEventWriter() {
+		return converterFactory.factorDataEventWriter();
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * CountingOutputStream forwards all written bytes to another OutputStream and counts them.
+ */
+final class CountingOutputStream extends OutputStream {
+	private final OutputStream outputStream;
+	private long count = 0;
+
+	CountingOutputStream(OutputStream outputStream) {
+		this.outputStream = outputStream;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		outputStream.write(b);
+		count++;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		outputStream.write(b, off, len);
+		count += len;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		outputStream.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		outputStream.close();
+	}
+
+	long getCount() {
+		return count;
+	}
+}
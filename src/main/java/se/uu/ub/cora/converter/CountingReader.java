@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * CountingReader forwards all reads to another Reader and counts the read characters.
+ */
+final class CountingReader extends Reader {
+	private final Reader reader;
+	private long count = 0;
+
+	CountingReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		int read = reader.read(cbuf, off, len);
+		if (read > 0) {
+			count += read;
+		}
+		return read;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	long getCount() {
+		return count;
+	}
+}
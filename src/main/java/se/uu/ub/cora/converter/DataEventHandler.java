@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * DataEventHandler receives the parts of an element as a stream of events, in document order. It
+ * is used to transcode directly from one format to another without building an
+ * ExternallyConvertible in between, see
+ * {@link ConverterProvider#transcode(String, String, String)}.
+ * <p>
+ * Each element, group or atomic, starts with {@link #startElement(String)} and ends with
+ * {@link #endElement()}. The attributes and repeatId of an element are sent directly after it is
+ * started, before any children or value. A group then has its children as nested elements, and an
+ * atomic has its value sent using {@link #value(String)}.
+ * <p>
+ * If unable to handle an event a {@link ConverterException} MUST be thrown.
+ */
+public interface DataEventHandler {
+	/**
+	 * Starts a new element with the entered name in data, as a child of the current element.
+	 * 
+	 * @param nameInData
+	 *            the name in data of the element
+	 */
+	void startElement(String nameInData);
+
+	/**
+	 * Adds an attribute to the element just started.
+	 * 
+	 * @param nameInData
+	 *            the name in data of the attribute
+	 * @param value
+	 *            the value of the attribute
+	 */
+	void attribute(String nameInData, String value);
+
+	/**
+	 * Sets the repeatId of the element just started.
+	 * 
+	 * @param repeatId
+	 *            the repeatId of the element
+	 */
+	void repeatId(String repeatId);
+
+	/**
+	 * Sets the value of the current element, which is then an atomic.
+	 * 
+	 * @param value
+	 *            the value of the element
+	 */
+	void value(String value);
+
+	/**
+	 * Ends the current element.
+	 */
+	void endElement();
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * DataEventReader reads a String in the format of a converter and sends its content as events to a
+ * {@link DataEventHandler}, without building an ExternallyConvertible. DataEventReaders are
+ * factored by {@link ConverterFactory#factorDataEventReader()}.
+ * <p>
+ * Implementations of DataEventReader are not expected to be thread safe.
+ */
+public interface DataEventReader {
+	/**
+	 * Reads the entered dataString and sends its content as events to the entered handler.
+	 * <p>
+	 * If unable to read the dataString a {@link ConverterException} MUST be thrown.
+	 * 
+	 * @param dataString
+	 *            with the string representation of an element to read
+	 * @param dataEventHandler
+	 *            the DataEventHandler to send the events to
+	 */
+	void read(String dataString, DataEventHandler dataEventHandler);
+}
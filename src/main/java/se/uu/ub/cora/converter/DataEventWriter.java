@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * DataEventWriter writes events in the format of a converter, without an ExternallyConvertible.
+ * DataEventWriters are factored by {@link ConverterFactory#factorDataEventWriter()}.
+ * <p>
+ * Implementations of DataEventWriter are not expected to be thread safe.
+ */
+public interface DataEventWriter {
+	/**
+	 * Returns a DataEventHandler that writes the events it receives to the entered appendable. The
+	 * written output is complete when the outermost element has been ended.
+	 * <p>
+	 * If unable to write to the appendable MUST the handler throw a {@link ConverterException}.
+	 * 
+	 * @param appendable
+	 *            to write the output to
+	 * @return a DataEventHandler writing to the appendable
+	 */
+	DataEventHandler writeTo(Appendable appendable);
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ExternallyConvertibleCopier is used by {@link ParseResultCache} to make sure that cached parse
+ * results are never shared with callers that might change them.
+ * <p>
+ * Implementations MUST be thread safe.
+ */
+public interface ExternallyConvertibleCopier {
+	/**
+	 * Returns a copy of the entered externallyConvertible that shares no changeable state with it.
+	 * 
+	 * @param externallyConvertible
+	 *            to copy
+	 * @return a copy of externallyConvertible
+	 */
+	ExternallyConvertible copy(ExternallyConvertible externallyConvertible);
+
+	/**
+	 * Returns an ExternallyConvertibleCopier that returns the entered instance without copying it.
+	 * It MUST only be used with converters that return immutable ExternallyConvertibles.
+	 * 
+	 * @return an ExternallyConvertibleCopier for immutable results
+	 */
+	static ExternallyConvertibleCopier immutableResults() {
+		return externallyConvertible -> externallyConvertible;
+	}
+}
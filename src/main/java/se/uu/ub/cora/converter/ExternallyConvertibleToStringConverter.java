@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2021 Uppsala University Library
+ * Copyright 2019, 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -18,6 +18,15 @@
  */
 package se.uu.ub.cora.converter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 import se.uu.ub.cora.data.ExternallyConvertible;
 
 /**
@@ -25,6 +34,20 @@ import se.uu.ub.cora.data.ExternallyConvertible;
  * format.
  * <p>
  * Implementations of ExternallyConvertibleToStringConverter are not expected to be thread safe.
+ * <p>
+ * The methods writing the result to an {@link Appendable} or an {@link OutputStream} have default
+ * implementations that use the String returning methods. Implementations that can write their
+ * result incrementally SHOULD override the Appendable methods, as the OutputStream methods use them.
+ * Each kind of sink has methods of its own name, so that a sink of more than one kind, such as a
+ * PrintStream, or a null sink never makes a call ambiguous.
+ * <p>
+ * The methods returning UTF-8 encoded bytes or writing them to a {@link ByteBuffer} also have
+ * default implementations that use the String returning methods. Implementations that can encode
+ * directly to UTF-8 SHOULD override them, to avoid the extra pass and copy of encoding the String.
+ * <p>
+ * The methods converting only the parts of an element selected by a {@link Projection} can only be
+ * implemented by the converters themselves, as the projection must be applied while the element is
+ * traversed. Their default implementations only handle projections including everything.
  */
 public interface ExternallyConvertibleToStringConverter {
 	/**
@@ -59,4 +82,362 @@ public interface ExternallyConvertibleToStringConverter {
 	String convertWithLinks(ExternallyConvertible externallyConvertible,
 			ExternalUrls externalUrls);
 
+	/**
+	 * Returns a String containing the result of the convertion from the entered
+	 * externallyConvertible, in the same way as
+	 * {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)}, using the urls in the entered
+	 * {@link ImmutableExternalUrls}. Implementations building links to records SHOULD override
+	 * this method and build the links using the prefixes kept by the ImmutableExternalUrls, such as
+	 * with {@link ImmutableExternalUrls#appendRecordUrl(StringBuilder, String, String)}.
+	 * <p>
+	 * The default implementation uses
+	 * {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)} with an ExternalUrls created
+	 * using {@link ImmutableExternalUrls#toExternalUrls()}.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param externalUrls
+	 *            An ImmutableExternalUrls that holds external urls such as baseUrl and iiifUrl.
+	 * @return result of the convertion as a String with links for actions
+	 */
+	default String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ImmutableExternalUrls externalUrls) {
+		return convertWithLinks(externallyConvertible, externalUrls.toExternalUrls());
+	}
+
+	/**
+	 * Returns a String containing the result of the convertion from the entered
+	 * externallyConvertible, in the same way as {@link #convert(ExternallyConvertible)}. The
+	 * entered outputSizeHint is the expected length of the result, or 0 if not known, so that the
+	 * converter can size its output buffer once instead of growing it while converting. The hint
+	 * is an estimate, the result can be both shorter and longer.
+	 * <p>
+	 * The default implementation ignores the hint and uses
+	 * {@link #convert(ExternallyConvertible)}. Implementations building the result in a buffer
+	 * SHOULD override this method and {@link #convertWithLinks(ExternallyConvertible,
+	 * ExternalUrls, int)}.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param outputSizeHint
+	 *            the expected number of characters in the result, or 0 if not known
+	 * @return result of the convertion as a String
+	 */
+	default String convert(ExternallyConvertible externallyConvertible, int outputSizeHint) {
+		return convert(externallyConvertible);
+	}
+
+	/**
+	 * Returns a String containing the result of the convertion from the entered
+	 * externallyConvertible, in the same way as
+	 * {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)}, using the entered
+	 * outputSizeHint in the same way as {@link #convert(ExternallyConvertible, int)}.
+	 * <p>
+	 * The default implementation ignores the hint and uses
+	 * {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)}.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @param outputSizeHint
+	 *            the expected number of characters in the result, or 0 if not known
+	 * @return result of the convertion as a String with links for actions
+	 */
+	default String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, int outputSizeHint) {
+		return convertWithLinks(externallyConvertible, externalUrls);
+	}
+
+	/**
+	 * Returns if this converter supports converting parts of elements selected by a
+	 * {@link Projection}, see {@link #convert(ExternallyConvertible, Projection)}. The default is
+	 * false.
+	 * 
+	 * @return true if projections are supported, otherwise false
+	 */
+	default boolean supportsProjections() {
+		return false;
+	}
+
+	/**
+	 * Returns a String containing the result of the convertion of the parts of the entered
+	 * externallyConvertible that are selected by the entered projection, otherwise in the same way
+	 * as {@link #convert(ExternallyConvertible)}.
+	 * <p>
+	 * Implementations MUST apply the projection while traversing the element, so that children not
+	 * included by the projection are skipped without being traversed, see {@link Projection}.
+	 * <p>
+	 * The default implementation converts using {@link #convert(ExternallyConvertible)} if the
+	 * projection includes everything, otherwise is a {@link ConverterException} thrown.
+	 * Implementations that support projections MUST override this method and
+	 * {@link #supportsProjections()}.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param projection
+	 *            the Projection selecting the parts to convert
+	 * @return result of the convertion as a String
+	 */
+	default String convert(ExternallyConvertible externallyConvertible, Projection projection) {
+		ensureProjectionIncludesAll(projection);
+		return convert(externallyConvertible);
+	}
+
+	/**
+	 * Returns a String containing the result of the convertion of the parts of the entered
+	 * externallyConvertible that are selected by the entered projection, otherwise in the same way
+	 * as {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)}. Links are only converted
+	 * for the included parts.
+	 * <p>
+	 * Implementations MUST apply the projection while traversing the element, so that children not
+	 * included by the projection are skipped without being traversed, see {@link Projection}.
+	 * <p>
+	 * The default implementation converts using
+	 * {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)} if the projection includes
+	 * everything, otherwise is a {@link ConverterException} thrown. Implementations that support
+	 * projections MUST override this method and {@link #supportsProjections()}.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @param projection
+	 *            the Projection selecting the parts to convert
+	 * @return result of the convertion as a String with links for actions
+	 */
+	default String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Projection projection) {
+		ensureProjectionIncludesAll(projection);
+		return convertWithLinks(externallyConvertible, externalUrls);
+	}
+
+	private static void ensureProjectionIncludesAll(Projection projection) {
+		if (!projection.includesAll()) {
+			throw new ConverterException("Projections are not supported by this converter");
+		}
+	}
+
+	/**
+	 * Writes the result of the convertion from the entered externallyConvertible to the entered
+	 * appendable, in the same way as {@link #convert(ExternallyConvertible)}.
+	 * <p>
+	 * If unable to convert or write the result a {@link ConverterException} MUST be thrown.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param appendable
+	 *            to write the result of the convertion to
+	 */
+	default void convertTo(ExternallyConvertible externallyConvertible, Appendable appendable) {
+		appendConverted(appendable, convert(externallyConvertible));
+	}
+
+	/**
+	 * Writes the result of the convertion from the entered externallyConvertible to the entered
+	 * appendable, in the same way as {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)}.
+	 * <p>
+	 * If unable to convert or write the result a {@link ConverterException} MUST be thrown.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @param appendable
+	 *            to write the result of the convertion to
+	 */
+	default void convertWithLinksTo(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Appendable appendable) {
+		appendConverted(appendable, convertWithLinks(externallyConvertible, externalUrls));
+	}
+
+	private static void appendConverted(Appendable appendable, String converted) {
+		try {
+			appendable.append(converted);
+		} catch (IOException e) {
+			throw new ConverterException("Unable to write converted data", e);
+		}
+	}
+
+	/**
+	 * Writes the result of the convertion from the entered externallyConvertible as UTF-8 to the
+	 * entered outputStream, in the same way as {@link #convert(ExternallyConvertible)}. The
+	 * outputStream is flushed but not closed.
+	 * <p>
+	 * If unable to convert or write the result a {@link ConverterException} MUST be thrown.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param outputStream
+	 *            to write the result of the convertion to
+	 */
+	default void convertToStream(ExternallyConvertible externallyConvertible,
+			OutputStream outputStream) {
+		Writer writer = createUtf8Writer(outputStream);
+		convertTo(externallyConvertible, writer);
+		flushWriter(writer);
+	}
+
+	/**
+	 * Writes the result of the convertion from the entered externallyConvertible as UTF-8 to the
+	 * entered outputStream, in the same way as
+	 * {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)}. The outputStream is flushed
+	 * but not closed.
+	 * <p>
+	 * If unable to convert or write the result a {@link ConverterException} MUST be thrown.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @param outputStream
+	 *            to write the result of the convertion to
+	 */
+	default void convertWithLinksToStream(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, OutputStream outputStream) {
+		Writer writer = createUtf8Writer(outputStream);
+		convertWithLinksTo(externallyConvertible, externalUrls, writer);
+		flushWriter(writer);
+	}
+
+	/**
+	 * Returns the result of the convertion from the entered externallyConvertible as UTF-8 encoded
+	 * bytes, in the same way as {@link #convert(ExternallyConvertible)}.
+	 * <p>
+	 * If unable to convert a {@link ConverterException} MUST be thrown.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @return result of the convertion as UTF-8 encoded bytes
+	 */
+	default byte[] convertToUtf8(ExternallyConvertible externallyConvertible) {
+		return convert(externallyConvertible).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the result of the convertion from the entered externallyConvertible as UTF-8 encoded
+	 * bytes, in the same way as {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)}.
+	 * <p>
+	 * If unable to convert a {@link ConverterException} MUST be thrown.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @return result of the convertion as UTF-8 encoded bytes with links for actions
+	 */
+	default byte[] convertWithLinksToUtf8(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		return convertWithLinks(externallyConvertible, externalUrls)
+				.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes the result of the convertion from the entered externallyConvertible as UTF-8 to the
+	 * entered buffer, in the same way as {@link #convert(ExternallyConvertible)}. The bytes are
+	 * written from the current position of the buffer, which is advanced past them. Both heap and
+	 * direct buffers are supported.
+	 * <p>
+	 * If unable to convert, or if the remaining space in the buffer is not enough for the result, a
+	 * {@link ConverterException} MUST be thrown and the position of the buffer left unchanged.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param buffer
+	 *            to write the result of the convertion to
+	 * @return the number of bytes written
+	 */
+	default int convertToBuffer(ExternallyConvertible externallyConvertible, ByteBuffer buffer) {
+		return putConverted(buffer, convertToUtf8(externallyConvertible));
+	}
+
+	/**
+	 * Writes the result of the convertion from the entered externallyConvertible as UTF-8 to the
+	 * entered buffer, in the same way as
+	 * {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)}. The bytes are written from
+	 * the current position of the buffer, which is advanced past them. Both heap and direct buffers
+	 * are supported.
+	 * <p>
+	 * If unable to convert, or if the remaining space in the buffer is not enough for the result, a
+	 * {@link ConverterException} MUST be thrown and the position of the buffer left unchanged.
+	 * 
+	 * @param externallyConvertible
+	 *            to convert from
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @param buffer
+	 *            to write the result of the convertion to
+	 * @return the number of bytes written
+	 */
+	default int convertWithLinksToBuffer(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, ByteBuffer buffer) {
+		return putConverted(buffer, convertWithLinksToUtf8(externallyConvertible, externalUrls));
+	}
+
+	private static int putConverted(ByteBuffer buffer, byte[] converted) {
+		if (converted.length > buffer.remaining()) {
+			throw new ConverterException("Unable to write converted data, " + converted.length
+					+ " bytes needed but only " + buffer.remaining() + " remaining in buffer");
+		}
+		buffer.put(converted);
+		return converted.length;
+	}
+
+	/**
+	 * Returns a list of Strings containing the results of the convertions from the entered
+	 * externallyConvertibles, in the same order as the entered list. Each element is converted in
+	 * the same way as {@link #convert(ExternallyConvertible)}.
+	 * <p>
+	 * To spread the conversion of a large list over several threads use {@link BatchConverter}.
+	 * <p>
+	 * If unable to convert an element a {@link ConverterException} MUST be thrown.
+	 * 
+	 * @param externallyConvertibles
+	 *            to convert from
+	 * @return results of the convertions as Strings
+	 */
+	default List<String> convertAll(List<? extends ExternallyConvertible> externallyConvertibles) {
+		List<String> converted = new ArrayList<>(externallyConvertibles.size());
+		for (ExternallyConvertible externallyConvertible : externallyConvertibles) {
+			converted.add(convert(externallyConvertible));
+		}
+		return converted;
+	}
+
+	/**
+	 * Returns a list of Strings containing the results of the convertions from the entered
+	 * externallyConvertibles, in the same order as the entered list. Each element is converted in
+	 * the same way as {@link #convertWithLinks(ExternallyConvertible, ExternalUrls)}.
+	 * <p>
+	 * To spread the conversion of a large list over several threads use {@link BatchConverter}.
+	 * <p>
+	 * If unable to convert an element a {@link ConverterException} MUST be thrown.
+	 * 
+	 * @param externallyConvertibles
+	 *            to convert from
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @return results of the convertions as Strings with links for actions
+	 */
+	default List<String> convertAllWithLinks(
+			List<? extends ExternallyConvertible> externallyConvertibles,
+			ExternalUrls externalUrls) {
+		List<String> converted = new ArrayList<>(externallyConvertibles.size());
+		for (ExternallyConvertible externallyConvertible : externallyConvertibles) {
+			converted.add(convertWithLinks(externallyConvertible, externalUrls));
+		}
+		return converted;
+	}
+
+	private static Writer createUtf8Writer(OutputStream outputStream) {
+		return new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+	}
+
+	private static void flushWriter(Writer writer) {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new ConverterException("Unable to write converted data", e);
+		}
+	}
 }
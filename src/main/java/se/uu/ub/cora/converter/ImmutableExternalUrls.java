@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ImmutableExternalUrls holds the same urls as {@link ExternalUrls} but can not be changed after it
+ * is created, intended to be created once per deployment or host and then shared by all
+ * conversions with links. It is passed on to converters using
+ * {@link ExternallyConvertibleToStringConverter#convertWithLinks(ExternallyConvertible, ImmutableExternalUrls)}.
+ * It has no setters, an {@link ExternalUrls} with the same urls is created using
+ * {@link #toExternalUrls()}.
+ * <p>
+ * It also builds links to records, on the form baseUrl + "record/" + recordType + "/" + recordId.
+ * The prefix for each record type, as a String and as UTF-8 encoded bytes, is computed the first
+ * time it is used and then reused, so that building a link only costs appending the recordId to
+ * the prefix. Prefixes are kept for at most {@value #MAX_NO_OF_RECORD_TYPE_URLS} record types,
+ * prefixes for record types used after that are computed for each link, so that record types
+ * taken from input can not make the kept prefixes grow without bound.
+ * <p>
+ * ImmutableExternalUrls is thread safe.
+ */
+public final class ImmutableExternalUrls {
+	static final int MAX_NO_OF_RECORD_TYPE_URLS = 256;
+	private static final String RECORD_PATH = "record/";
+	private final String baseUrl;
+	private final String iiifUrl;
+	private final ConcurrentMap<String, RecordTypeUrl> recordTypeUrls = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an ImmutableExternalUrls with the entered urls.
+	 * 
+	 * @param baseUrl
+	 *            the baseUrl, or null if there is none
+	 * @param iiifUrl
+	 *            the iiifUrl, or null if there is none
+	 */
+	public ImmutableExternalUrls(String baseUrl, String iiifUrl) {
+		this.baseUrl = baseUrl;
+		this.iiifUrl = iiifUrl;
+	}
+
+	/**
+	 * Returns an ImmutableExternalUrls with the urls currently set in the entered externalUrls.
+	 * 
+	 * @param externalUrls
+	 *            to copy the urls from
+	 * @return an ImmutableExternalUrls with the same urls as externalUrls
+	 */
+	public static ImmutableExternalUrls copyOf(ExternalUrls externalUrls) {
+		return new ImmutableExternalUrls(externalUrls.getBaseUrl(), externalUrls.getIfffUrl());
+	}
+
+	/**
+	 * Returns a new {@link ExternalUrls} with the urls in this ImmutableExternalUrls. Changing the
+	 * returned ExternalUrls does not change this ImmutableExternalUrls.
+	 * 
+	 * @return a new ExternalUrls with the same urls
+	 */
+	public ExternalUrls toExternalUrls() {
+		ExternalUrls externalUrls = new ExternalUrls();
+		externalUrls.setBaseUrl(baseUrl);
+		externalUrls.setIfffUrl(iiifUrl);
+		return externalUrls;
+	}
+
+	public String getBaseUrl() {
+		return baseUrl;
+	}
+
+	public String getIfffUrl() {
+		return iiifUrl;
+	}
+
+	public boolean hasBaseUrl() {
+		return baseUrl != null;
+	}
+
+	public boolean hasIfffUrl() {
+		return iiifUrl != null;
+	}
+
+	/**
+	 * Returns the url to the entered recordType, baseUrl + "record/" + recordType.
+	 * <p>
+	 * If no baseUrl is set an {@link IllegalStateException} is thrown.
+	 * 
+	 * @param recordType
+	 *            the type of records
+	 * @return the url to the recordType
+	 */
+	public String getRecordTypeUrl(String recordType) {
+		return getRecordTypeUrlInfo(recordType).url;
+	}
+
+	/**
+	 * Returns the url to the entered record, baseUrl + "record/" + recordType + "/" + recordId.
+	 * <p>
+	 * If no baseUrl is set an {@link IllegalStateException} is thrown.
+	 * 
+	 * @param recordType
+	 *            the type of the record
+	 * @param recordId
+	 *            the id of the record
+	 * @return the url to the record
+	 */
+	public String getRecordUrl(String recordType, String recordId) {
+		return getRecordTypeUrlInfo(recordType).recordPrefix.concat(recordId);
+	}
+
+	/**
+	 * Appends the url to the entered record, as returned by
+	 * {@link #getRecordUrl(String, String)}, to the entered builder without creating the url as a
+	 * separate String.
+	 * <p>
+	 * If no baseUrl is set an {@link IllegalStateException} is thrown.
+	 * 
+	 * @param builder
+	 *            to append the url to
+	 * @param recordType
+	 *            the type of the record
+	 * @param recordId
+	 *            the id of the record
+	 */
+	public void appendRecordUrl(StringBuilder builder, String recordType, String recordId) {
+		builder.append(getRecordTypeUrlInfo(recordType).recordPrefix).append(recordId);
+	}
+
+	/**
+	 * Writes the url to the entered record, as returned by {@link #getRecordUrl(String, String)},
+	 * as UTF-8 to the entered buffer from its current position, using the precomputed bytes of the
+	 * prefix. Both heap and direct buffers are supported.
+	 * <p>
+	 * If no baseUrl is set an {@link IllegalStateException} is thrown. If the remaining space in
+	 * the buffer is not enough for the url a {@link ConverterException} is thrown and the position
+	 * of the buffer is left unchanged.
+	 * 
+	 * @param buffer
+	 *            to write the url to
+	 * @param recordType
+	 *            the type of the record
+	 * @param recordId
+	 *            the id of the record
+	 * @return the number of bytes written
+	 */
+	public int putRecordUrl(ByteBuffer buffer, String recordType, String recordId) {
+		byte[] recordPrefixUtf8 = getRecordTypeUrlInfo(recordType).recordPrefixUtf8;
+		if (isAscii(recordId)) {
+			ensureRemaining(buffer, recordPrefixUtf8.length + recordId.length());
+			buffer.put(recordPrefixUtf8);
+			putAscii(buffer, recordId);
+			return recordPrefixUtf8.length + recordId.length();
+		}
+		byte[] recordIdUtf8 = recordId.getBytes(StandardCharsets.UTF_8);
+		ensureRemaining(buffer, recordPrefixUtf8.length + recordIdUtf8.length);
+		buffer.put(recordPrefixUtf8).put(recordIdUtf8);
+		return recordPrefixUtf8.length + recordIdUtf8.length;
+	}
+
+	private static boolean isAscii(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void ensureRemaining(ByteBuffer buffer, int noOfBytesNeeded) {
+		if (noOfBytesNeeded > buffer.remaining()) {
+			throw new ConverterException("Unable to write url, " + noOfBytesNeeded
+					+ " bytes needed but only " + buffer.remaining() + " remaining in buffer");
+		}
+	}
+
+	private static void putAscii(ByteBuffer buffer, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			buffer.put((byte) value.charAt(i));
+		}
+	}
+
+	private RecordTypeUrl getRecordTypeUrlInfo(String recordType) {
+		RecordTypeUrl recordTypeUrl = recordTypeUrls.get(recordType);
+		if (recordTypeUrl != null) {
+			return recordTypeUrl;
+		}
+		if (recordTypeUrls.size() >= MAX_NO_OF_RECORD_TYPE_URLS) {
+			return createRecordTypeUrl(recordType);
+		}
+		return recordTypeUrls.computeIfAbsent(recordType, this::createRecordTypeUrl);
+	}
+
+	int getNoOfRecordTypeUrls() {
+		return recordTypeUrls.size();
+	}
+
+	private RecordTypeUrl createRecordTypeUrl(String recordType) {
+		if (baseUrl == null) {
+			throw new IllegalStateException("No baseUrl to build record urls from");
+		}
+		return new RecordTypeUrl(baseUrl + RECORD_PATH + recordType);
+	}
+
+	private static final class RecordTypeUrl {
+		private final String url;
+		private final String recordPrefix;
+		private final byte[] recordPrefixUtf8;
+
+		RecordTypeUrl(String url) {
+			this.url = url;
+			this.recordPrefix = url + "/";
+			this.recordPrefixUtf8 = recordPrefix.getBytes(StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * ListEnvelope holds the text written around and between the converted records when a list is
+ * streamed, see {@link StreamingListConverter}. The envelope depends on the format and on the list,
+ * for instance on the total number of records, and is created by the caller or by the
+ * implementation module for the format.
+ * <p>
+ * ListEnvelope is immutable and thread safe.
+ */
+public final class ListEnvelope {
+	private final String start;
+	private final String separator;
+	private final String end;
+
+	/**
+	 * Creates a ListEnvelope with the entered texts.
+	 * 
+	 * @param start
+	 *            the text to write before the first record
+	 * @param separator
+	 *            the text to write between two records
+	 * @param end
+	 *            the text to write after the last record
+	 */
+	public ListEnvelope(String start, String separator, String end) {
+		this.start = start;
+		this.separator = separator;
+		this.end = end;
+	}
+
+	/**
+	 * Returns the text to write before the first record.
+	 * 
+	 * @return the start of the list
+	 */
+	public String getStart() {
+		return start;
+	}
+
+	/**
+	 * Returns the text to write between two records.
+	 * 
+	 * @return the separator between records
+	 */
+	public String getSeparator() {
+		return separator;
+	}
+
+	/**
+	 * Returns the text to write after the last record.
+	 * 
+	 * @return the end of the list
+	 */
+	public String getEnd() {
+		return end;
+	}
+}
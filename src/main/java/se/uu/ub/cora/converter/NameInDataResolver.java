@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * NameInDataResolver is used by {@link ConversionBudget} to find the name in data of the top level
+ * element of an ExternallyConvertible, so that warnings about conversions over budget can tell
+ * which kind of data was converted.
+ * <p>
+ * Implementations MUST be thread safe.
+ */
+public interface NameInDataResolver {
+	/**
+	 * Returns the name in data of the top level element of the entered externallyConvertible, or
+	 * null if it is not known.
+	 * 
+	 * @param externallyConvertible
+	 *            to get the name in data for
+	 * @return the name in data, or null if not known
+	 */
+	String getNameInData(ExternallyConvertible externallyConvertible);
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+import se.uu.ub.cora.converter.ConversionObservers.ConversionCall;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ObservingFromStringConverter forwards all calls to a
+ * {@link StringToExternallyConvertibleConverter} and reports them to {@link ConversionObserver}s.
+ */
+final class ObservingFromStringConverter implements StringToExternallyConvertibleConverter {
+	private final String converterName;
+	private final StringToExternallyConvertibleConverter converter;
+	private final ConversionObservers observers;
+
+	ObservingFromStringConverter(String converterName,
+			StringToExternallyConvertibleConverter converter, ConversionObservers observers) {
+		this.converterName = converterName;
+		this.converter = converter;
+		this.observers = observers;
+	}
+
+	@Override
+	public ExternallyConvertible convert(String dataString) {
+		if (!observers.isObserving()) {
+			return converter.convert(dataString);
+		}
+		return observe(conversion -> {
+			conversion.setInputSize(dataString == null ? Conversion.UNKNOWN_SIZE
+					: dataString.length());
+			return converter.convert(dataString);
+		});
+	}
+
+	@Override
+	public ExternallyConvertible convert(Reader reader) {
+		if (!observers.isObserving()) {
+			return converter.convert(reader);
+		}
+		return observe(conversion -> {
+			CountingReader countingReader = new CountingReader(reader);
+			try {
+				return converter.convert(countingReader);
+			} finally {
+				conversion.setInputSize(countingReader.getCount());
+			}
+		});
+	}
+
+	@Override
+	public ExternallyConvertible convert(InputStream inputStream, Charset charset) {
+		if (!observers.isObserving()) {
+			return converter.convert(inputStream, charset);
+		}
+		return observe(conversion -> {
+			CountingInputStream countingStream = new CountingInputStream(inputStream);
+			try {
+				return converter.convert(countingStream, charset);
+			} finally {
+				conversion.setInputBytes(countingStream.getCount());
+			}
+		});
+	}
+
+	private ExternallyConvertible observe(ConversionCall<ExternallyConvertible> call) {
+		Conversion conversion = new Conversion(converterName, ConversionDirection.FROM_STRING,
+				false);
+		return observers.observe(conversion, observedConversion -> {
+			ExternallyConvertible converted = call.call(observedConversion);
+			observedConversion.setExternallyConvertible(converted);
+			return converted;
+		});
+	}
+
+	StringToExternallyConvertibleConverter getConverter() {
+		return converter;
+	}
+}
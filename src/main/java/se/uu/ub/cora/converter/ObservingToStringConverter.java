@@ -0,0 +1,272 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import se.uu.ub.cora.converter.ConversionObservers.ConversionCall;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ObservingToStringConverter forwards all calls to an {@link ExternallyConvertibleToStringConverter}
+ * and reports them to {@link ConversionObserver}s.
+ */
+final class ObservingToStringConverter implements ExternallyConvertibleToStringConverter {
+	private final String converterName;
+	private final ExternallyConvertibleToStringConverter converter;
+	private final ConversionObservers observers;
+
+	ObservingToStringConverter(String converterName,
+			ExternallyConvertibleToStringConverter converter, ConversionObservers observers) {
+		this.converterName = converterName;
+		this.converter = converter;
+		this.observers = observers;
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible) {
+		if (!observers.isObserving()) {
+			return converter.convert(externallyConvertible);
+		}
+		return observe(false, externallyConvertible, conversion -> setOutputSize(conversion,
+				converter.convert(externallyConvertible)));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		if (!observers.isObserving()) {
+			return converter.convertWithLinks(externallyConvertible, externalUrls);
+		}
+		return observe(true, externallyConvertible, conversion -> setOutputSize(conversion,
+				converter.convertWithLinks(externallyConvertible, externalUrls)));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ImmutableExternalUrls externalUrls) {
+		if (!observers.isObserving()) {
+			return converter.convertWithLinks(externallyConvertible, externalUrls);
+		}
+		return observe(true, externallyConvertible, conversion -> setOutputSize(conversion,
+				converter.convertWithLinks(externallyConvertible, externalUrls)));
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, int outputSizeHint) {
+		if (!observers.isObserving()) {
+			return converter.convert(externallyConvertible, outputSizeHint);
+		}
+		return observe(false, externallyConvertible, conversion -> setOutputSize(conversion,
+				converter.convert(externallyConvertible, outputSizeHint)));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, int outputSizeHint) {
+		if (!observers.isObserving()) {
+			return converter.convertWithLinks(externallyConvertible, externalUrls, outputSizeHint);
+		}
+		return observe(true, externallyConvertible, conversion -> setOutputSize(conversion,
+				converter.convertWithLinks(externallyConvertible, externalUrls, outputSizeHint)));
+	}
+
+	@Override
+	public boolean supportsProjections() {
+		return converter.supportsProjections();
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, Projection projection) {
+		if (!observers.isObserving()) {
+			return converter.convert(externallyConvertible, projection);
+		}
+		return observe(false, externallyConvertible, conversion -> setOutputSize(conversion,
+				converter.convert(externallyConvertible, projection)));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Projection projection) {
+		if (!observers.isObserving()) {
+			return converter.convertWithLinks(externallyConvertible, externalUrls, projection);
+		}
+		return observe(true, externallyConvertible, conversion -> setOutputSize(conversion,
+				converter.convertWithLinks(externallyConvertible, externalUrls, projection)));
+	}
+
+	@Override
+	public void convertTo(ExternallyConvertible externallyConvertible, Appendable appendable) {
+		if (!observers.isObserving()) {
+			converter.convertTo(externallyConvertible, appendable);
+			return;
+		}
+		observe(false, externallyConvertible, conversion -> {
+			CountingAppendable countingAppendable = new CountingAppendable(appendable);
+			converter.convertTo(externallyConvertible, countingAppendable);
+			conversion.setOutputSize(countingAppendable.getCount());
+			return null;
+		});
+	}
+
+	@Override
+	public void convertWithLinksTo(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Appendable appendable) {
+		if (!observers.isObserving()) {
+			converter.convertWithLinksTo(externallyConvertible, externalUrls, appendable);
+			return;
+		}
+		observe(true, externallyConvertible, conversion -> {
+			CountingAppendable countingAppendable = new CountingAppendable(appendable);
+			converter.convertWithLinksTo(externallyConvertible, externalUrls, countingAppendable);
+			conversion.setOutputSize(countingAppendable.getCount());
+			return null;
+		});
+	}
+
+	@Override
+	public void convertToStream(ExternallyConvertible externallyConvertible,
+			OutputStream outputStream) {
+		if (!observers.isObserving()) {
+			converter.convertToStream(externallyConvertible, outputStream);
+			return;
+		}
+		observe(false, externallyConvertible, conversion -> {
+			CountingOutputStream countingStream = new CountingOutputStream(outputStream);
+			converter.convertToStream(externallyConvertible, countingStream);
+			conversion.setOutputBytes(countingStream.getCount());
+			return null;
+		});
+	}
+
+	@Override
+	public void convertWithLinksToStream(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, OutputStream outputStream) {
+		if (!observers.isObserving()) {
+			converter.convertWithLinksToStream(externallyConvertible, externalUrls, outputStream);
+			return;
+		}
+		observe(true, externallyConvertible, conversion -> {
+			CountingOutputStream countingStream = new CountingOutputStream(outputStream);
+			converter.convertWithLinksToStream(externallyConvertible, externalUrls, countingStream);
+			conversion.setOutputBytes(countingStream.getCount());
+			return null;
+		});
+	}
+
+	@Override
+	public byte[] convertToUtf8(ExternallyConvertible externallyConvertible) {
+		if (!observers.isObserving()) {
+			return converter.convertToUtf8(externallyConvertible);
+		}
+		return observe(false, externallyConvertible, conversion -> setOutputBytes(conversion,
+				converter.convertToUtf8(externallyConvertible)));
+	}
+
+	@Override
+	public byte[] convertWithLinksToUtf8(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		if (!observers.isObserving()) {
+			return converter.convertWithLinksToUtf8(externallyConvertible, externalUrls);
+		}
+		return observe(true, externallyConvertible, conversion -> setOutputBytes(conversion,
+				converter.convertWithLinksToUtf8(externallyConvertible, externalUrls)));
+	}
+
+	@Override
+	public int convertToBuffer(ExternallyConvertible externallyConvertible, ByteBuffer buffer) {
+		if (!observers.isObserving()) {
+			return converter.convertToBuffer(externallyConvertible, buffer);
+		}
+		return observe(false, externallyConvertible, conversion -> setOutputBytes(conversion,
+				converter.convertToBuffer(externallyConvertible, buffer)));
+	}
+
+	@Override
+	public int convertWithLinksToBuffer(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, ByteBuffer buffer) {
+		if (!observers.isObserving()) {
+			return converter.convertWithLinksToBuffer(externallyConvertible, externalUrls, buffer);
+		}
+		return observe(true, externallyConvertible, conversion -> setOutputBytes(conversion,
+				converter.convertWithLinksToBuffer(externallyConvertible, externalUrls, buffer)));
+	}
+
+	@Override
+	public List<String> convertAll(List<? extends ExternallyConvertible> externallyConvertibles) {
+		if (!observers.isObserving()) {
+			return converter.convertAll(externallyConvertibles);
+		}
+		return observe(false, null, conversion -> setOutputSize(conversion,
+				converter.convertAll(externallyConvertibles)));
+	}
+
+	@Override
+	public List<String> convertAllWithLinks(
+			List<? extends ExternallyConvertible> externallyConvertibles,
+			ExternalUrls externalUrls) {
+		if (!observers.isObserving()) {
+			return converter.convertAllWithLinks(externallyConvertibles, externalUrls);
+		}
+		return observe(true, null, conversion -> setOutputSize(conversion,
+				converter.convertAllWithLinks(externallyConvertibles, externalUrls)));
+	}
+
+	private <T> T observe(boolean withLinks, ExternallyConvertible externallyConvertible,
+			ConversionCall<T> call) {
+		Conversion conversion = new Conversion(converterName, ConversionDirection.TO_STRING,
+				withLinks);
+		conversion.setExternallyConvertible(externallyConvertible);
+		return observers.observe(conversion, call);
+	}
+
+	private static String setOutputSize(Conversion conversion, String converted) {
+		if (converted != null) {
+			conversion.setOutputSize(converted.length());
+		}
+		return converted;
+	}
+
+	private static byte[] setOutputBytes(Conversion conversion, byte[] converted) {
+		if (converted != null) {
+			conversion.setOutputBytes(converted.length);
+		}
+		return converted;
+	}
+
+	private static int setOutputBytes(Conversion conversion, int noOfBytesWritten) {
+		conversion.setOutputBytes(noOfBytesWritten);
+		return noOfBytesWritten;
+	}
+
+	private static List<String> setOutputSize(Conversion conversion, List<String> converted) {
+		long outputSize = 0;
+		for (String convertedElement : converted) {
+			outputSize += convertedElement == null ? 0 : convertedElement.length();
+		}
+		conversion.setOutputSize(outputSize);
+		return converted;
+	}
+
+	ExternallyConvertibleToStringConverter getConverter() {
+		return converter;
+	}
+}
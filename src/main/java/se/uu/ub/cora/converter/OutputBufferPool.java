@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * OutputBufferPool keeps StringBuilders that implementations of
+ * {@link ExternallyConvertibleToStringConverter} can borrow to build their output in, and return
+ * when done, instead of allocating new builders for each conversion.
+ * <p>
+ * Returned buffers are kept in a bounded number of buffers shared by all threads, so the memory
+ * retained by the pool is at most the maximum number of buffers times the maximum retained
+ * capacity, no matter how many threads use it. Buffers that have grown larger than the maximum
+ * retained capacity are not kept when returned, so that one very large output does not keep its
+ * buffer in memory.
+ * <p>
+ * A borrowed buffer MUST NOT be used after it has been returned. The easiest way to make sure of
+ * this is to use {@link #buildString(int, Consumer)}, which returns the buffer when the String is
+ * built.
+ * <p>
+ * The pool used by default is available from {@link ConverterProvider#getOutputBufferPool()}.
+ * OutputBufferPool is thread safe.
+ */
+public final class OutputBufferPool {
+	private final int maxRetainedCapacity;
+	private final BlockingQueue<StringBuilder> buffers;
+	private final LongAdder noOfHits = new LongAdder();
+	private final LongAdder noOfMisses = new LongAdder();
+	private final LongAdder noOfDiscarded = new LongAdder();
+
+	/**
+	 * Creates an OutputBufferPool keeping buffers up to the entered capacity.
+	 * 
+	 * @param maxRetainedCapacity
+	 *            the largest capacity, in characters, of a buffer kept when returned, must be at
+	 *            least 1
+	 * @param maxNoOfBuffers
+	 *            the maximum number of buffers kept, must be at least 1
+	 */
+	public OutputBufferPool(int maxRetainedCapacity, int maxNoOfBuffers) {
+		if (maxRetainedCapacity < 1) {
+			throw new IllegalArgumentException(
+					"Max retained capacity must be at least 1, was " + maxRetainedCapacity);
+		}
+		if (maxNoOfBuffers < 1) {
+			throw new IllegalArgumentException(
+					"Max number of buffers must be at least 1, was " + maxNoOfBuffers);
+		}
+		this.maxRetainedCapacity = maxRetainedCapacity;
+		buffers = new ArrayBlockingQueue<>(maxNoOfBuffers);
+	}
+
+	/**
+	 * Returns an empty StringBuilder with a capacity of at least the entered minCapacity. The
+	 * StringBuilder SHOULD be returned using {@link #release(StringBuilder)} when it is no longer
+	 * used.
+	 * 
+	 * @param minCapacity
+	 *            the minimum capacity needed, such as an output size hint, or 0 if not known
+	 * @return an empty StringBuilder
+	 */
+	public StringBuilder borrow(int minCapacity) {
+		StringBuilder buffer = buffers.poll();
+		if (buffer == null) {
+			noOfMisses.increment();
+			return new StringBuilder(Math.max(16, minCapacity));
+		}
+		noOfHits.increment();
+		buffer.ensureCapacity(minCapacity);
+		return buffer;
+	}
+
+	/**
+	 * Returns a borrowed StringBuilder to the pool. The StringBuilder is emptied, and kept for
+	 * reuse if its capacity is not larger than the maximum retained capacity and there is room for
+	 * it in the pool.
+	 * 
+	 * @param buffer
+	 *            the StringBuilder to return
+	 */
+	public void release(StringBuilder buffer) {
+		if (buffer.capacity() > maxRetainedCapacity) {
+			noOfDiscarded.increment();
+			return;
+		}
+		buffer.setLength(0);
+		if (!buffers.offer(buffer)) {
+			noOfDiscarded.increment();
+		}
+	}
+
+	/**
+	 * Borrows a buffer with a capacity of at least the entered minCapacity, lets the entered
+	 * builder write to it and returns its content as a String. The buffer is returned to the pool
+	 * also if the builder throws an exception.
+	 * 
+	 * @param minCapacity
+	 *            the minimum capacity needed, such as an output size hint, or 0 if not known
+	 * @param builder
+	 *            a Consumer writing the String to build to the buffer
+	 * @return the content of the buffer as a String
+	 */
+	public String buildString(int minCapacity, Consumer<StringBuilder> builder) {
+		StringBuilder buffer = borrow(minCapacity);
+		try {
+			builder.accept(buffer);
+			return buffer.toString();
+		} finally {
+			release(buffer);
+		}
+	}
+
+	/**
+	 * Returns the statistics for this pool.
+	 * 
+	 * @return statistics for this pool
+	 */
+	public BufferPoolStatistics getStatistics() {
+		return new BufferPoolStatistics(noOfHits.sum(), noOfMisses.sum(), noOfDiscarded.sum(),
+				buffers.size());
+	}
+}
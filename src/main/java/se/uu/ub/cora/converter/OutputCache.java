@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * OutputCache keeps the output of conversions to String, so that converting the same version of a
+ * record again returns the previous output instead of converting it again. An OutputCache is used
+ * for the converters with one name by setting it in {@link ConverterProvider}, see
+ * {@link ConverterProvider#setOutputCache(String, OutputCache)}.
+ * <p>
+ * Output is cached per converter name, record identity, version, whether links are used and the
+ * values of the {@link ExternalUrls}, so that one OutputCache can be shared by converters with
+ * different names without returning output in the format of another converter. Identities and
+ * versions are found using a {@link RecordVersionResolver}. When a record is converted in a
+ * version that differs from the cached one, is the cached output replaced. Cached output can also
+ * be removed explicitly, using {@link #invalidate(String)} and {@link #invalidateAll()}.
+ * <p>
+ * The total size, in characters, of the cached output is bounded, the least recently used output
+ * is removed when the bound is exceeded. Output larger than the bound is never cached.
+ * <p>
+ * OutputCache is thread safe. Conversions are done outside of the cache lock, so two threads
+ * converting the same uncached record at the same time will both convert it.
+ */
+public final class OutputCache {
+	private final long maxSize;
+	private final RecordVersionResolver recordVersionResolver;
+	private final LinkedHashMap<CacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f,
+			true);
+	private long size = 0;
+	private long noOfHits = 0;
+	private long noOfMisses = 0;
+	private long noOfEvictions = 0;
+	private long noOfInvalidations = 0;
+
+	/**
+	 * Creates an OutputCache holding at most maxSize characters of output.
+	 * 
+	 * @param maxSize
+	 *            the maximum total size in characters of the cached output, must be at least 1
+	 * @param recordVersionResolver
+	 *            used to find the identity and version of the records to cache output for
+	 */
+	public OutputCache(long maxSize, RecordVersionResolver recordVersionResolver) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Max size must be at least 1, was " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.recordVersionResolver = recordVersionResolver;
+	}
+
+	String getOrConvert(String converterName, ExternallyConvertible externallyConvertible,
+			boolean withLinks, ExternalUrls externalUrls, Supplier<String> conversion) {
+		return getOrConvert(converterName, externallyConvertible, withLinks,
+				externalUrls == null ? null : externalUrls.getBaseUrl(),
+				externalUrls == null ? null : externalUrls.getIfffUrl(), conversion);
+	}
+
+	String getOrConvert(String converterName, ExternallyConvertible externallyConvertible,
+			ImmutableExternalUrls externalUrls, Supplier<String> conversion) {
+		return getOrConvert(converterName, externallyConvertible, true, externalUrls.getBaseUrl(),
+				externalUrls.getIfffUrl(), conversion);
+	}
+
+	private String getOrConvert(String converterName, ExternallyConvertible externallyConvertible,
+			boolean withLinks, String baseUrl, String iiifUrl, Supplier<String> conversion) {
+		String identity = recordVersionResolver.getIdentity(externallyConvertible);
+		if (identity == null) {
+			return conversion.get();
+		}
+		String version = recordVersionResolver.getVersion(externallyConvertible);
+		CacheKey key = new CacheKey(converterName, identity, withLinks, baseUrl, iiifUrl);
+		String cached = lookup(key, version);
+		if (cached != null) {
+			return cached;
+		}
+		String converted = conversion.get();
+		store(key, version, converted);
+		return converted;
+	}
+
+	boolean isCacheable(ExternallyConvertible externallyConvertible) {
+		return recordVersionResolver.getIdentity(externallyConvertible) != null;
+	}
+
+	private synchronized String lookup(CacheKey key, String version) {
+		CacheEntry entry = entries.get(key);
+		if (entry != null) {
+			if (Objects.equals(entry.version, version)) {
+				noOfHits++;
+				return entry.output;
+			}
+			remove(key, entry);
+			noOfInvalidations++;
+		}
+		noOfMisses++;
+		return null;
+	}
+
+	private synchronized void store(CacheKey key, String version, String output) {
+		if (output == null || output.length() > maxSize) {
+			return;
+		}
+		CacheEntry replaced = entries.put(key, new CacheEntry(version, output));
+		if (replaced != null) {
+			size -= replaced.output.length();
+		}
+		size += output.length();
+		evictLeastRecentlyUsedUntilWithinMaxSize();
+	}
+
+	private void evictLeastRecentlyUsedUntilWithinMaxSize() {
+		Iterator<CacheEntry> leastRecentlyUsedFirst = entries.values().iterator();
+		while (size > maxSize) {
+			CacheEntry evicted = leastRecentlyUsedFirst.next();
+			leastRecentlyUsedFirst.remove();
+			size -= evicted.output.length();
+			noOfEvictions++;
+		}
+	}
+
+	private void remove(CacheKey key, CacheEntry entry) {
+		entries.remove(key);
+		size -= entry.output.length();
+	}
+
+	/**
+	 * Removes all cached output for the record with the entered identity, in all versions, for all
+	 * converter names and for all external urls.
+	 * 
+	 * @param identity
+	 *            the identity of the record, as returned by the {@link RecordVersionResolver}
+	 */
+	public synchronized void invalidate(String identity) {
+		Iterator<Map.Entry<CacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<CacheKey, CacheEntry> entry = iterator.next();
+			if (entry.getKey().identity.equals(identity)) {
+				iterator.remove();
+				size -= entry.getValue().output.length();
+				noOfInvalidations++;
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached output.
+	 */
+	public synchronized void invalidateAll() {
+		noOfInvalidations += entries.size();
+		entries.clear();
+		size = 0;
+	}
+
+	/**
+	 * Returns the current statistics for this cache.
+	 * 
+	 * @return statistics for this cache
+	 */
+	public synchronized CacheStatistics getStatistics() {
+		return new CacheStatistics(noOfHits, noOfMisses, noOfEvictions, noOfInvalidations,
+				entries.size(), size);
+	}
+
+	private static final class CacheKey {
+		private final String converterName;
+		private final String identity;
+		private final boolean withLinks;
+		private final String baseUrl;
+		private final String iiifUrl;
+		private final int hashCode;
+
+		CacheKey(String converterName, String identity, boolean withLinks, String baseUrl,
+				String iiifUrl) {
+			this.converterName = converterName;
+			this.identity = identity;
+			this.withLinks = withLinks;
+			this.baseUrl = baseUrl;
+			this.iiifUrl = iiifUrl;
+			this.hashCode = Objects.hash(converterName, identity, withLinks, baseUrl, iiifUrl);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return converterName.equals(other.converterName) && identity.equals(other.identity)
+					&& withLinks == other.withLinks
+					&& Objects.equals(baseUrl, other.baseUrl)
+					&& Objects.equals(iiifUrl, other.iiifUrl);
+		}
+	}
+
+	private static final class CacheEntry {
+		private final String version;
+		private final String output;
+
+		CacheEntry(String version, String output) {
+			this.version = version;
+			this.output = output;
+		}
+	}
+}
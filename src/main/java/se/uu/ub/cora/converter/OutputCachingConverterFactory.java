@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * OutputCachingConverterFactory wraps a {@link ConverterFactory} and wraps the
+ * ExternallyConvertibleToStringConverters it factors so that their output is cached in an
+ * {@link OutputCache}.
+ */
+final class OutputCachingConverterFactory implements ConverterFactory {
+	private final String converterName;
+	private final ConverterFactory converterFactory;
+	private final OutputCache outputCache;
+
+	OutputCachingConverterFactory(String converterName, ConverterFactory converterFactory,
+			OutputCache outputCache) {
+		this.converterName = converterName;
+		this.converterFactory = converterFactory;
+		this.outputCache = outputCache;
+	}
+
+	@Override
+	public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+		return new OutputCachingToStringConverter(converterName,
+				converterFactory.factorExternallyConvertableToStringConverter(), outputCache);
+	}
+
+	@Override
+	public StringToExternallyConvertibleConverter factorStringToExternallyConvertableConverter() {
+		return converterFactory.factorStringToExternallyConvertableConverter();
+	}
+
+	@Override
+	public String getName() {
+		return converterFactory.getName();
+	}
+
+	@Override
+	public boolean factorsThreadSafeConverters() {
+		return converterFactory.factorsThreadSafeConverters();
+	}
+
+	@Override
+	public boolean supportsDataEvents() {
+		return converterFactory.supportsDataEvents();
+	}
+
+	@Override
+	public DataEventReader factorDataEventReader() {
+		return converterFactory.factorDataEventReader();
+	}
+
+	@Override
+	public DataEventWriter factorDataEventWriter() {
+		return converterFactory.factorDataEventWriter();
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * OutputCachingToStringConverter returns cached output from an {@link OutputCache} when there is
+ * one, and otherwise converts using another {@link ExternallyConvertibleToStringConverter} and
+ * caches the result.
+ * <p>
+ * Cacheable records are always converted to a String, also when the output is written to an
+ * Appendable, OutputStream or ByteBuffer or returned as bytes, so that the output can be cached.
+ * Records that are not cacheable are passed on to the matching method of the wrapped converter.
+ * Only output of whole records is cached, conversions using a {@link Projection} that does not
+ * include everything are always passed on.
+ */
+final class OutputCachingToStringConverter implements ExternallyConvertibleToStringConverter {
+	private final String converterName;
+	private final ExternallyConvertibleToStringConverter converter;
+	private final OutputCache outputCache;
+
+	OutputCachingToStringConverter(String converterName,
+			ExternallyConvertibleToStringConverter converter, OutputCache outputCache) {
+		this.converterName = converterName;
+		this.converter = converter;
+		this.outputCache = outputCache;
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible) {
+		return outputCache.getOrConvert(converterName, externallyConvertible, false, null,
+				() -> converter.convert(externallyConvertible));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		return outputCache.getOrConvert(converterName, externallyConvertible, true, externalUrls,
+				() -> converter.convertWithLinks(externallyConvertible, externalUrls));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ImmutableExternalUrls externalUrls) {
+		return outputCache.getOrConvert(converterName, externallyConvertible, externalUrls,
+				() -> converter.convertWithLinks(externallyConvertible, externalUrls));
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, int outputSizeHint) {
+		return outputCache.getOrConvert(converterName, externallyConvertible, false, null,
+				() -> converter.convert(externallyConvertible, outputSizeHint));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, int outputSizeHint) {
+		return outputCache.getOrConvert(converterName, externallyConvertible, true, externalUrls,
+				() -> converter.convertWithLinks(externallyConvertible, externalUrls,
+						outputSizeHint));
+	}
+
+	@Override
+	public boolean supportsProjections() {
+		return converter.supportsProjections();
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, Projection projection) {
+		if (projection.includesAll()) {
+			return convert(externallyConvertible);
+		}
+		return converter.convert(externallyConvertible, projection);
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Projection projection) {
+		if (projection.includesAll()) {
+			return convertWithLinks(externallyConvertible, externalUrls);
+		}
+		return converter.convertWithLinks(externallyConvertible, externalUrls, projection);
+	}
+
+	@Override
+	public void convertTo(ExternallyConvertible externallyConvertible, Appendable appendable) {
+		if (outputCache.isCacheable(externallyConvertible)) {
+			ExternallyConvertibleToStringConverter.super.convertTo(externallyConvertible,
+					appendable);
+		} else {
+			converter.convertTo(externallyConvertible, appendable);
+		}
+	}
+
+	@Override
+	public void convertWithLinksTo(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Appendable appendable) {
+		if (outputCache.isCacheable(externallyConvertible)) {
+			ExternallyConvertibleToStringConverter.super.convertWithLinksTo(externallyConvertible,
+					externalUrls, appendable);
+		} else {
+			converter.convertWithLinksTo(externallyConvertible, externalUrls, appendable);
+		}
+	}
+
+	@Override
+	public void convertToStream(ExternallyConvertible externallyConvertible,
+			OutputStream outputStream) {
+		if (outputCache.isCacheable(externallyConvertible)) {
+			ExternallyConvertibleToStringConverter.super.convertToStream(externallyConvertible,
+					outputStream);
+		} else {
+			converter.convertToStream(externallyConvertible, outputStream);
+		}
+	}
+
+	@Override
+	public void convertWithLinksToStream(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, OutputStream outputStream) {
+		if (outputCache.isCacheable(externallyConvertible)) {
+			ExternallyConvertibleToStringConverter.super.convertWithLinksToStream(
+					externallyConvertible, externalUrls, outputStream);
+		} else {
+			converter.convertWithLinksToStream(externallyConvertible, externalUrls, outputStream);
+		}
+	}
+
+	@Override
+	public byte[] convertToUtf8(ExternallyConvertible externallyConvertible) {
+		if (outputCache.isCacheable(externallyConvertible)) {
+			return ExternallyConvertibleToStringConverter.super.convertToUtf8(
+					externallyConvertible);
+		}
+		return converter.convertToUtf8(externallyConvertible);
+	}
+
+	@Override
+	public byte[] convertWithLinksToUtf8(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		if (outputCache.isCacheable(externallyConvertible)) {
+			return ExternallyConvertibleToStringConverter.super.convertWithLinksToUtf8(
+					externallyConvertible, externalUrls);
+		}
+		return converter.convertWithLinksToUtf8(externallyConvertible, externalUrls);
+	}
+
+	@Override
+	public int convertToBuffer(ExternallyConvertible externallyConvertible, ByteBuffer buffer) {
+		if (outputCache.isCacheable(externallyConvertible)) {
+			return ExternallyConvertibleToStringConverter.super.convertToBuffer(
+					externallyConvertible, buffer);
+		}
+		return converter.convertToBuffer(externallyConvertible, buffer);
+	}
+
+	@Override
+	public int convertWithLinksToBuffer(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, ByteBuffer buffer) {
+		if (outputCache.isCacheable(externallyConvertible)) {
+			return ExternallyConvertibleToStringConverter.super.convertWithLinksToBuffer(
+					externallyConvertible, externalUrls, buffer);
+		}
+		return converter.convertWithLinksToBuffer(externallyConvertible, externalUrls, buffer);
+	}
+
+	@Override
+	public List<String> convertAll(List<? extends ExternallyConvertible> externallyConvertibles) {
+		List<String> converted = new ArrayList<>(externallyConvertibles.size());
+		for (ExternallyConvertible externallyConvertible : externallyConvertibles) {
+			converted.add(convert(externallyConvertible));
+		}
+		return converted;
+	}
+
+	@Override
+	public List<String> convertAllWithLinks(
+			List<? extends ExternallyConvertible> externallyConvertibles,
+			ExternalUrls externalUrls) {
+		List<String> converted = new ArrayList<>(externallyConvertibles.size());
+		for (ExternallyConvertible externallyConvertible : externallyConvertibles) {
+			converted.add(convertWithLinks(externallyConvertible, externalUrls));
+		}
+		return converted;
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * OutputSizeEstimator keeps a rolling estimate of the size of the output from conversions to
+ * String, per record type and with or without links. The estimate is given to converters as an
+ * output size hint, see
+ * {@link ExternallyConvertibleToStringConverter#convert(ExternallyConvertible, int)}, so that they
+ * can size their output buffers once instead of growing and copying them while converting.
+ * <p>
+ * The estimate is an exponentially weighted moving average of the observed sizes, where each new
+ * size has a weight of 1/8, so that it follows slow changes in record sizes without being thrown
+ * off by single large or small records. The hint is the estimate with 1/8 added, so that most
+ * records fit in a buffer of the hinted size.
+ * <p>
+ * Estimates are kept for at most maxNoOfRecordTypes record types, the estimates for the least
+ * recently used record type are removed when the bound is exceeded, so that record types taken
+ * from input can not make the kept estimates grow without bound.
+ * <p>
+ * An OutputSizeEstimator is set for a converter name, see
+ * {@link ConverterProvider#setOutputSizeEstimator(String, OutputSizeEstimator)}. It is thread safe.
+ * Finding the estimates for a record type is done holding a short lock, while the estimates are
+ * updated without locking, each sample is added to the estimate with a compare and set, so that
+ * concurrent samples, also the first ones, are never lost or overwritten.
+ */
+public final class OutputSizeEstimator {
+	static final int DEFAULT_MAX_NO_OF_RECORD_TYPES = 1024;
+	private static final int WEIGHT_SHIFT = 3;
+
+	private final RecordTypeResolver recordTypeResolver;
+	private final Map<String, TypeEstimates> estimatesByType;
+	private final TypeEstimates unknownTypeEstimates = new TypeEstimates(null);
+
+	/**
+	 * Creates an OutputSizeEstimator keeping estimates for at most
+	 * {@value #DEFAULT_MAX_NO_OF_RECORD_TYPES} of the record types found by the entered resolver.
+	 * 
+	 * @param recordTypeResolver
+	 *            the RecordTypeResolver used to find the type of the converted records
+	 */
+	public OutputSizeEstimator(RecordTypeResolver recordTypeResolver) {
+		this(recordTypeResolver, DEFAULT_MAX_NO_OF_RECORD_TYPES);
+	}
+
+	/**
+	 * Creates an OutputSizeEstimator keeping estimates for at most maxNoOfRecordTypes of the record
+	 * types found by the entered resolver.
+	 * 
+	 * @param recordTypeResolver
+	 *            the RecordTypeResolver used to find the type of the converted records
+	 * @param maxNoOfRecordTypes
+	 *            the maximum number of record types to keep estimates for, must be at least 1
+	 */
+	public OutputSizeEstimator(RecordTypeResolver recordTypeResolver, int maxNoOfRecordTypes) {
+		if (maxNoOfRecordTypes < 1) {
+			throw new IllegalArgumentException(
+					"Max no of record types must be at least 1, was " + maxNoOfRecordTypes);
+		}
+		this.recordTypeResolver = recordTypeResolver;
+		this.estimatesByType = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, TypeEstimates> eldest) {
+				return size() > maxNoOfRecordTypes;
+			}
+		};
+	}
+
+	Estimate getEstimate(ExternallyConvertible externallyConvertible, boolean withLinks) {
+		TypeEstimates typeEstimates = getTypeEstimates(externallyConvertible);
+		return withLinks ? typeEstimates.withLinks : typeEstimates.withoutLinks;
+	}
+
+	private TypeEstimates getTypeEstimates(ExternallyConvertible externallyConvertible) {
+		String recordType = externallyConvertible == null ? null
+				: recordTypeResolver.getRecordType(externallyConvertible);
+		if (recordType == null) {
+			return unknownTypeEstimates;
+		}
+		synchronized (estimatesByType) {
+			return estimatesByType.computeIfAbsent(recordType, TypeEstimates::new);
+		}
+	}
+
+	/**
+	 * Returns the current estimates, for each record type with or without links that has been
+	 * converted, sorted by record type with the estimates for records of unknown type last.
+	 * 
+	 * @return a list of statistics for the estimates
+	 */
+	public List<OutputSizeStatistics> getStatistics() {
+		List<OutputSizeStatistics> statistics = new ArrayList<>();
+		for (TypeEstimates typeEstimates : getKeptTypeEstimates()) {
+			typeEstimates.addStatistics(statistics);
+		}
+		unknownTypeEstimates.addStatistics(statistics);
+		statistics.sort(Comparator
+				.comparing(OutputSizeStatistics::getRecordType,
+						Comparator.nullsLast(Comparator.naturalOrder()))
+				.thenComparing(OutputSizeStatistics::isWithLinks));
+		return statistics;
+	}
+
+	private List<TypeEstimates> getKeptTypeEstimates() {
+		synchronized (estimatesByType) {
+			return new ArrayList<>(estimatesByType.values());
+		}
+	}
+
+	private static final class TypeEstimates {
+		private final String recordType;
+		private final Estimate withoutLinks = new Estimate();
+		private final Estimate withLinks = new Estimate();
+
+		TypeEstimates(String recordType) {
+			this.recordType = recordType;
+		}
+
+		void addStatistics(List<OutputSizeStatistics> statistics) {
+			withoutLinks.addStatistics(statistics, recordType, false);
+			withLinks.addStatistics(statistics, recordType, true);
+		}
+	}
+
+	static final class Estimate {
+		private static final long NO_ESTIMATE = -1;
+		private final AtomicLong averageSize = new AtomicLong(NO_ESTIMATE);
+		private final AtomicLong noOfSamples = new AtomicLong();
+
+		int getOutputSizeHint() {
+			return toOutputSizeHint(averageSize.get());
+		}
+
+		private static int toOutputSizeHint(long average) {
+			if (average == NO_ESTIMATE) {
+				return 0;
+			}
+			return (int) Math.min(Integer.MAX_VALUE, average + (average >> WEIGHT_SHIFT));
+		}
+
+		void addSample(long size) {
+			long average;
+			long newAverage;
+			do {
+				average = averageSize.get();
+				newAverage = average == NO_ESTIMATE ? size
+						: average + ((size - average) >> WEIGHT_SHIFT);
+			} while (!averageSize.compareAndSet(average, newAverage));
+			noOfSamples.incrementAndGet();
+		}
+
+		void addStatistics(List<OutputSizeStatistics> statistics, String recordType,
+				boolean withLinks) {
+			long samples = noOfSamples.get();
+			if (samples > 0) {
+				long average = averageSize.get();
+				statistics.add(new OutputSizeStatistics(recordType, withLinks, samples, average,
+						toOutputSizeHint(average)));
+			}
+		}
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * OutputSizeStatistics holds the output size estimate for one record type, with or without links,
+ * in an {@link OutputSizeEstimator} at the time it was read.
+ */
+public final class OutputSizeStatistics {
+	private final String recordType;
+	private final boolean withLinks;
+	private final long noOfSamples;
+	private final long averageSize;
+	private final int outputSizeHint;
+
+	OutputSizeStatistics(String recordType, boolean withLinks, long noOfSamples,
+			long averageSize, int outputSizeHint) {
+		this.recordType = recordType;
+		this.withLinks = withLinks;
+		this.noOfSamples = noOfSamples;
+		this.averageSize = averageSize;
+		this.outputSizeHint = outputSizeHint;
+	}
+
+	/**
+	 * Returns the record type, or null for records of unknown type.
+	 */
+	public String getRecordType() {
+		return recordType;
+	}
+
+	public boolean isWithLinks() {
+		return withLinks;
+	}
+
+	public long getNoOfSamples() {
+		return noOfSamples;
+	}
+
+	/**
+	 * Returns the rolling average of the observed output sizes, in characters.
+	 */
+	public long getAverageSize() {
+		return averageSize;
+	}
+
+	/**
+	 * Returns the output size hint currently given to converters, in characters.
+	 */
+	public int getOutputSizeHint() {
+		return outputSizeHint;
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ParseResultCache keeps the results of conversions from String, so that converting a
+ * dataString equal to a previously converted one costs a hash and a lookup instead of a new
+ * parse. A ParseResultCache is used for the converters with one name by setting it in
+ * {@link ConverterProvider}, see {@link ConverterProvider#setParseResultCache(String,
+ * ParseResultCache)}.
+ * <p>
+ * Results are looked up using the hash code of the dataString and, to never return the result of
+ * another input with the same hash, a full comparison with the cached dataString. The cached
+ * instances are never returned to callers. A copy made by an {@link ExternallyConvertibleCopier}
+ * is kept when a result is cached and a new copy is returned for each hit, so a caller changing
+ * its result does not change the result returned to others. Converters returning immutable
+ * results can use {@link ExternallyConvertibleCopier#immutableResults()} to avoid the copies.
+ * <p>
+ * The size of the cache is bounded in two ways, and the least recently used result is removed when
+ * either bound is exceeded. The total length, in characters, of the cached dataStrings is bounded,
+ * as an estimate of the memory held by the cached results, which grows with the length of the
+ * dataString they were parsed from. Each result also holds memory that does not depend on the
+ * length of its dataString, so the number of cached results is bounded as well, to keep many short
+ * dataStrings from holding more memory than the length bound suggests. Results for dataStrings
+ * longer than the length bound are never cached.
+ * <p>
+ * ParseResultCache is thread safe. Conversions are done outside of the cache lock, so two threads
+ * converting the same uncached dataString at the same time will both convert it.
+ */
+public final class ParseResultCache {
+	private final long maxSize;
+	private final int maxNoOfEntries;
+	private final ExternallyConvertibleCopier copier;
+	private final LinkedHashMap<String, ExternallyConvertible> entries = new LinkedHashMap<>(16,
+			0.75f, true);
+	private long size = 0;
+	private long noOfHits = 0;
+	private long noOfMisses = 0;
+	private long noOfEvictions = 0;
+	private long noOfInvalidations = 0;
+
+	/**
+	 * Creates a ParseResultCache holding at most maxNoOfEntries results, for dataStrings with a
+	 * total length of at most maxSize characters.
+	 * 
+	 * @param maxSize
+	 *            the maximum total length in characters of the cached dataStrings, must be at
+	 *            least 1
+	 * @param maxNoOfEntries
+	 *            the maximum number of cached results, must be at least 1
+	 * @param copier
+	 *            used to copy results so that cached instances are never shared with callers
+	 */
+	public ParseResultCache(long maxSize, int maxNoOfEntries, ExternallyConvertibleCopier copier) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Max size must be at least 1, was " + maxSize);
+		}
+		if (maxNoOfEntries < 1) {
+			throw new IllegalArgumentException(
+					"Max no of entries must be at least 1, was " + maxNoOfEntries);
+		}
+		this.maxSize = maxSize;
+		this.maxNoOfEntries = maxNoOfEntries;
+		this.copier = copier;
+	}
+
+	ExternallyConvertible getOrConvert(String dataString,
+			Supplier<ExternallyConvertible> conversion) {
+		if (dataString == null || dataString.length() > maxSize) {
+			return conversion.get();
+		}
+		ExternallyConvertible cached = lookup(dataString);
+		if (cached != null) {
+			return copier.copy(cached);
+		}
+		ExternallyConvertible converted = conversion.get();
+		if (converted != null) {
+			store(dataString, copier.copy(converted));
+		}
+		return converted;
+	}
+
+	private synchronized ExternallyConvertible lookup(String dataString) {
+		ExternallyConvertible cached = entries.get(dataString);
+		if (cached != null) {
+			noOfHits++;
+		} else {
+			noOfMisses++;
+		}
+		return cached;
+	}
+
+	private synchronized void store(String dataString, ExternallyConvertible converted) {
+		if (entries.put(dataString, converted) == null) {
+			size += dataString.length();
+		}
+		evictLeastRecentlyUsedUntilWithinBounds();
+	}
+
+	private void evictLeastRecentlyUsedUntilWithinBounds() {
+		Iterator<String> leastRecentlyUsedFirst = entries.keySet().iterator();
+		while (size > maxSize || entries.size() > maxNoOfEntries) {
+			String evicted = leastRecentlyUsedFirst.next();
+			leastRecentlyUsedFirst.remove();
+			size -= evicted.length();
+			noOfEvictions++;
+		}
+	}
+
+	/**
+	 * Removes all cached results.
+	 */
+	public synchronized void invalidateAll() {
+		noOfInvalidations += entries.size();
+		entries.clear();
+		size = 0;
+	}
+
+	/**
+	 * Returns the current statistics for this cache, the size is the total length of the cached
+	 * dataStrings.
+	 * 
+	 * @return statistics for this cache
+	 */
+	public synchronized CacheStatistics getStatistics() {
+		return new CacheStatistics(noOfHits, noOfMisses, noOfEvictions, noOfInvalidations,
+				entries.size(), size);
+	}
+}
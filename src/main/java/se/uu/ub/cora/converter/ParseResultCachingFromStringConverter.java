@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ParseResultCachingFromStringConverter returns a copy of a cached result from a
+ * {@link ParseResultCache} when there is one, and otherwise converts using another
+ * {@link StringToExternallyConvertibleConverter} and caches the result.
+ * <p>
+ * Data read from a Reader or InputStream is read into a String before it is converted, so that it
+ * can be looked up in the cache.
+ */
+final class ParseResultCachingFromStringConverter
+		implements StringToExternallyConvertibleConverter {
+	private final StringToExternallyConvertibleConverter converter;
+	private final ParseResultCache parseResultCache;
+
+	ParseResultCachingFromStringConverter(StringToExternallyConvertibleConverter converter,
+			ParseResultCache parseResultCache) {
+		this.converter = converter;
+		this.parseResultCache = parseResultCache;
+	}
+
+	@Override
+	public ExternallyConvertible convert(String dataString) {
+		return parseResultCache.getOrConvert(dataString, () -> converter.convert(dataString));
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * PoolingFromStringConverter forwards each call to a {@link StringToExternallyConvertibleConverter}
+ * borrowed from a {@link ConverterPool} for the duration of the call, so that one instance can be
+ * shared by all threads even if the pooled converters are not thread safe.
+ */
+final class PoolingFromStringConverter implements StringToExternallyConvertibleConverter {
+	private final ConverterPool<StringToExternallyConvertibleConverter> pool;
+
+	PoolingFromStringConverter(ConverterPool<StringToExternallyConvertibleConverter> pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public ExternallyConvertible convert(String dataString) {
+		return pool.use(converter -> converter.convert(dataString));
+	}
+
+	@Override
+	public ExternallyConvertible convert(Reader reader) {
+		return pool.use(converter -> converter.convert(reader));
+	}
+
+	@Override
+	public ExternallyConvertible convert(InputStream inputStream, Charset charset) {
+		return pool.use(converter -> converter.convert(inputStream, charset));
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * PoolingToStringConverter forwards each call to an {@link ExternallyConvertibleToStringConverter}
+ * borrowed from a {@link ConverterPool} for the duration of the call, so that one instance can be
+ * shared by all threads even if the pooled converters are not thread safe.
+ */
+final class PoolingToStringConverter implements ExternallyConvertibleToStringConverter {
+	private final ConverterPool<ExternallyConvertibleToStringConverter> pool;
+
+	PoolingToStringConverter(ConverterPool<ExternallyConvertibleToStringConverter> pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible) {
+		return pool.use(converter -> converter.convert(externallyConvertible));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		return pool.use(converter -> converter.convertWithLinks(externallyConvertible,
+				externalUrls));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ImmutableExternalUrls externalUrls) {
+		return pool.use(converter -> converter.convertWithLinks(externallyConvertible,
+				externalUrls));
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, int outputSizeHint) {
+		return pool.use(converter -> converter.convert(externallyConvertible, outputSizeHint));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, int outputSizeHint) {
+		return pool.use(converter -> converter.convertWithLinks(externallyConvertible,
+				externalUrls, outputSizeHint));
+	}
+
+	@Override
+	public boolean supportsProjections() {
+		return pool.use(ExternallyConvertibleToStringConverter::supportsProjections);
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, Projection projection) {
+		return pool.use(converter -> converter.convert(externallyConvertible, projection));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Projection projection) {
+		return pool.use(converter -> converter.convertWithLinks(externallyConvertible,
+				externalUrls, projection));
+	}
+
+	@Override
+	public void convertTo(ExternallyConvertible externallyConvertible, Appendable appendable) {
+		pool.use(converter -> {
+			converter.convertTo(externallyConvertible, appendable);
+			return null;
+		});
+	}
+
+	@Override
+	public void convertWithLinksTo(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Appendable appendable) {
+		pool.use(converter -> {
+			converter.convertWithLinksTo(externallyConvertible, externalUrls, appendable);
+			return null;
+		});
+	}
+
+	@Override
+	public void convertToStream(ExternallyConvertible externallyConvertible,
+			OutputStream outputStream) {
+		pool.use(converter -> {
+			converter.convertToStream(externallyConvertible, outputStream);
+			return null;
+		});
+	}
+
+	@Override
+	public void convertWithLinksToStream(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, OutputStream outputStream) {
+		pool.use(converter -> {
+			converter.convertWithLinksToStream(externallyConvertible, externalUrls, outputStream);
+			return null;
+		});
+	}
+
+	@Override
+	public byte[] convertToUtf8(ExternallyConvertible externallyConvertible) {
+		return pool.use(converter -> converter.convertToUtf8(externallyConvertible));
+	}
+
+	@Override
+	public byte[] convertWithLinksToUtf8(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		return pool.use(converter -> converter.convertWithLinksToUtf8(externallyConvertible,
+				externalUrls));
+	}
+
+	@Override
+	public int convertToBuffer(ExternallyConvertible externallyConvertible, ByteBuffer buffer) {
+		return pool.use(converter -> converter.convertToBuffer(externallyConvertible, buffer));
+	}
+
+	@Override
+	public int convertWithLinksToBuffer(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, ByteBuffer buffer) {
+		return pool.use(converter -> converter.convertWithLinksToBuffer(externallyConvertible,
+				externalUrls, buffer));
+	}
+
+	@Override
+	public List<String> convertAll(List<? extends ExternallyConvertible> externallyConvertibles) {
+		return pool.use(converter -> converter.convertAll(externallyConvertibles));
+	}
+
+	@Override
+	public List<String> convertAllWithLinks(
+			List<? extends ExternallyConvertible> externallyConvertibles,
+			ExternalUrls externalUrls) {
+		return pool.use(converter -> converter.convertAllWithLinks(externallyConvertibles,
+				externalUrls));
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Projection selects the parts of an element to convert, when converting using the methods taking a
+ * projection in {@link ExternallyConvertibleToStringConverter}.
+ * <p>
+ * A projection is used by converters while they traverse the element. Before a child is
+ * converted the converter asks for the projection of that child using {@link #forChild(String)}.
+ * If that projection {@link #includesNothing()} is the child, and everything below it, skipped
+ * without being traversed. If it {@link #includesAll()} can the child be converted without asking
+ * the projection any further. Otherwise is the child converted using its projection for its own
+ * children.
+ * <p>
+ * Name paths are names in data separated by "/", relative to the element being converted, such
+ * as "recordInfo/id". The converted element itself is always included.
+ * <p>
+ * Projections are immutable and thread safe, as long as an entered filter is.
+ */
+public final class Projection {
+	private static final String PATH_SEPARATOR = "/";
+	private static final Projection ALL = new Projection(new AllSelector());
+	private static final Projection NOTHING = new Projection(new NothingSelector());
+
+	private final Selector selector;
+
+	private Projection(Selector selector) {
+		this.selector = selector;
+	}
+
+	/**
+	 * Returns a projection including all parts of an element, converting with it gives the same
+	 * result as converting without a projection.
+	 * 
+	 * @return a Projection including everything
+	 */
+	public static Projection all() {
+		return ALL;
+	}
+
+	/**
+	 * Returns a projection including the entered name paths. A child is included if its name path
+	 * is one of the entered paths, is above one of them or is below one of them. Everything below
+	 * an entered path is included.
+	 * <p>
+	 * If a path is empty or has an empty name is an {@link IllegalArgumentException} thrown.
+	 * 
+	 * @param namePaths
+	 *            the name paths to include, such as "recordInfo/id"
+	 * @return a Projection including the entered name paths
+	 */
+	public static Projection ofNamePaths(Collection<String> namePaths) {
+		PathNode root = new PathNode();
+		for (String namePath : namePaths) {
+			root.add(splitNamePath(namePath));
+		}
+		return root.toProjection();
+	}
+
+	private static String[] splitNamePath(String namePath) {
+		String[] names = namePath.split(PATH_SEPARATOR, -1);
+		for (String name : names) {
+			if (name.isEmpty()) {
+				throw new IllegalArgumentException(
+						"Name path must be names separated by " + PATH_SEPARATOR + ", was: "
+								+ namePath);
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Returns a projection including the children whose name paths are accepted by the entered
+	 * filter. The filter is called with the name path of each child before the child is traversed,
+	 * as a list of names in data from below the converted element down to the child. If the filter
+	 * does not accept the name path is the child and everything below it skipped, otherwise is the
+	 * filter called for each of the children of the child.
+	 * 
+	 * @param filter
+	 *            a Predicate accepting the name paths to include
+	 * @return a Projection including the name paths accepted by the filter
+	 */
+	public static Projection ofFilter(Predicate<List<String>> filter) {
+		return new Projection(new FilterSelector(filter, Collections.emptyList()));
+	}
+
+	/**
+	 * Returns the projection for the child with the entered name in data.
+	 * 
+	 * @param nameInData
+	 *            the name in data of the child
+	 * @return the Projection to convert the child with
+	 */
+	public Projection forChild(String nameInData) {
+		return selector.forChild(nameInData);
+	}
+
+	/**
+	 * Returns if everything is included, so that the element can be converted without asking the
+	 * projection any further.
+	 * 
+	 * @return true if everything is included, otherwise false
+	 */
+	public boolean includesAll() {
+		return selector == ALL.selector;
+	}
+
+	/**
+	 * Returns if nothing is included, so that the element can be skipped without being traversed.
+	 * 
+	 * @return true if nothing is included, otherwise false
+	 */
+	public boolean includesNothing() {
+		return selector == NOTHING.selector;
+	}
+
+	private interface Selector {
+		Projection forChild(String nameInData);
+	}
+
+	private static final class AllSelector implements Selector {
+		@Override
+		public Projection forChild(String nameInData) {
+			return ALL;
+		}
+	}
+
+	private static final class NothingSelector implements Selector {
+		@Override
+		public Projection forChild(String nameInData) {
+			return NOTHING;
+		}
+	}
+
+	private static final class PathSelector implements Selector {
+		private final Map<String, Projection> children;
+
+		PathSelector(Map<String, Projection> children) {
+			this.children = children;
+		}
+
+		@Override
+		public Projection forChild(String nameInData) {
+			return children.getOrDefault(nameInData, NOTHING);
+		}
+	}
+
+	private static final class FilterSelector implements Selector {
+		private final Predicate<List<String>> filter;
+		private final List<String> namePath;
+
+		FilterSelector(Predicate<List<String>> filter, List<String> namePath) {
+			this.filter = filter;
+			this.namePath = namePath;
+		}
+
+		@Override
+		public Projection forChild(String nameInData) {
+			List<String> childNamePath = new ArrayList<>(namePath.size() + 1);
+			childNamePath.addAll(namePath);
+			childNamePath.add(nameInData);
+			childNamePath = Collections.unmodifiableList(childNamePath);
+			if (filter.test(childNamePath)) {
+				return new Projection(new FilterSelector(filter, childNamePath));
+			}
+			return NOTHING;
+		}
+	}
+
+	private static final class PathNode {
+		private final Map<String, PathNode> children = new HashMap<>();
+		private boolean includesAll = false;
+
+		void add(String[] names) {
+			PathNode node = this;
+			for (String name : names) {
+				node = node.children.computeIfAbsent(name, key -> new PathNode());
+			}
+			node.includesAll = true;
+		}
+
+		Projection toProjection() {
+			if (includesAll) {
+				return ALL;
+			}
+			Map<String, Projection> childProjections = new HashMap<>();
+			for (Map.Entry<String, PathNode> child : children.entrySet()) {
+				childProjections.put(child.getKey(), child.getValue().toProjection());
+			}
+			return new Projection(new PathSelector(Map.copyOf(childProjections)));
+		}
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * RecordTypeResolver is used by {@link OutputSizeEstimator} to find out which type of record an
+ * ExternallyConvertible represents, so that output sizes can be estimated per record type.
+ * <p>
+ * Implementations MUST be thread safe.
+ */
+public interface RecordTypeResolver {
+	/**
+	 * Returns the type of record the entered externallyConvertible represents, or null if the type
+	 * is not known.
+	 * 
+	 * @param externallyConvertible
+	 *            to get the record type for
+	 * @return the record type, or null if not known
+	 */
+	String getRecordType(ExternallyConvertible externallyConvertible);
+}
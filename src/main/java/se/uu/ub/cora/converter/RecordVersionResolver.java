@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * RecordVersionResolver is used by {@link OutputCache} to find out which record, and which version
+ * of it, an ExternallyConvertible represents.
+ * <p>
+ * The identity MUST capture everything in the ExternallyConvertible, apart from the version, that
+ * affects the converted output. If the output depends on for instance the actions or permissions
+ * of the user the record was read by, MUST these be part of the identity.
+ * <p>
+ * Implementations MUST be thread safe.
+ */
+public interface RecordVersionResolver {
+	/**
+	 * Returns a String identifying the record the entered externallyConvertible represents, or null
+	 * if the result of converting it should not be cached.
+	 * 
+	 * @param externallyConvertible
+	 *            to get the identity for
+	 * @return the identity of the record, or null if not cacheable
+	 */
+	String getIdentity(ExternallyConvertible externallyConvertible);
+
+	/**
+	 * Returns a String identifying the version of the record the entered externallyConvertible
+	 * represents, such as the time it was last updated.
+	 * 
+	 * @param externallyConvertible
+	 *            to get the version for
+	 * @return the version of the record
+	 */
+	String getVersion(ExternallyConvertible externallyConvertible);
+}
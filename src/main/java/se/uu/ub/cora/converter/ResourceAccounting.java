@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * ResourceAccounting collects the number of bytes allocated and the CPU time used by calls to
+ * converters, per converter name, {@link ConversionDirection} and record type, to be used for
+ * capacity planning.
+ * <p>
+ * The resources are measured as the difference in the allocated bytes and CPU time of the calling
+ * thread, read from the platform ThreadMXBean, before and after each call. Measuring adds a small
+ * cost to each call, so accounting is only done when a ResourceAccounting is set, see
+ * {@link ConverterProvider#setResourceAccounting(ResourceAccounting)}.
+ * <p>
+ * ResourceAccounting is thread safe.
+ */
+public final class ResourceAccounting {
+	private final RecordTypeResolver recordTypeResolver;
+	private final ThreadResourceMeter threadResourceMeter;
+	private final Map<UsageKey, Usage> usages = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a ResourceAccounting collecting resource usage for the record types found by the
+	 * entered resolver.
+	 * 
+	 * @param recordTypeResolver
+	 *            the RecordTypeResolver used to find the type of the converted records
+	 */
+	public ResourceAccounting(RecordTypeResolver recordTypeResolver) {
+		this(recordTypeResolver, new ThreadMXBeanResourceMeter());
+	}
+
+	ResourceAccounting(RecordTypeResolver recordTypeResolver,
+			ThreadResourceMeter threadResourceMeter) {
+		this.recordTypeResolver = recordTypeResolver;
+		this.threadResourceMeter = threadResourceMeter;
+	}
+
+	long[] readStartValues() {
+		long[] startValues = new long[2];
+		startValues[0] = threadResourceMeter.getAllocatedBytes();
+		startValues[1] = threadResourceMeter.getCpuTimeNanos();
+		return startValues;
+	}
+
+	void addConversion(Conversion conversion, long[] startValues) {
+		long cpuTimeNanos = difference(startValues[1], threadResourceMeter.getCpuTimeNanos());
+		long allocatedBytes = difference(startValues[0], threadResourceMeter.getAllocatedBytes());
+		UsageKey key = new UsageKey(conversion.getConverterName(), conversion.getDirection(),
+				getRecordType(conversion));
+		usages.computeIfAbsent(key, Usage::new).add(allocatedBytes, cpuTimeNanos);
+	}
+
+	private static long difference(long startValue, long endValue) {
+		if (startValue == ThreadResourceMeter.UNKNOWN || endValue == ThreadResourceMeter.UNKNOWN) {
+			return ThreadResourceMeter.UNKNOWN;
+		}
+		return endValue - startValue;
+	}
+
+	private String getRecordType(Conversion conversion) {
+		ExternallyConvertible externallyConvertible = conversion.getExternallyConvertible();
+		return externallyConvertible == null ? null
+				: recordTypeResolver.getRecordType(externallyConvertible);
+	}
+
+	/**
+	 * Returns snapshots of the resource usage collected so far, one for each converter name,
+	 * direction and record type that has been converted, sorted in that order with unknown record
+	 * types last.
+	 * 
+	 * @return a list of resource usage snapshots
+	 */
+	public List<ResourceUsageSnapshot> getSnapshots() {
+		List<ResourceUsageSnapshot> snapshots = new ArrayList<>();
+		for (Usage usage : usages.values()) {
+			snapshots.add(usage.createSnapshot());
+		}
+		snapshots.sort(Comparator.comparing(ResourceUsageSnapshot::getConverterName)
+				.thenComparing(ResourceUsageSnapshot::getDirection)
+				.thenComparing(ResourceUsageSnapshot::getRecordType,
+						Comparator.nullsLast(Comparator.naturalOrder())));
+		return snapshots;
+	}
+
+	/**
+	 * Removes all resource usage collected so far.
+	 */
+	public void reset() {
+		usages.clear();
+	}
+
+	private static final class UsageKey {
+		private final String converterName;
+		private final ConversionDirection direction;
+		private final String recordType;
+
+		UsageKey(String converterName, ConversionDirection direction, String recordType) {
+			this.converterName = converterName;
+			this.direction = direction;
+			this.recordType = recordType;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof UsageKey key && converterName.equals(key.converterName)
+					&& direction == key.direction && Objects.equals(recordType, key.recordType);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(converterName, direction, recordType);
+		}
+	}
+
+	private static final class Usage {
+		private final UsageKey key;
+		private final LongAdder noOfCalls = new LongAdder();
+		private final LongAdder noOfAllocationMeasurements = new LongAdder();
+		private final LongAdder totalAllocatedBytes = new LongAdder();
+		private final LongAdder noOfCpuTimeMeasurements = new LongAdder();
+		private final LongAdder totalCpuTimeNanos = new LongAdder();
+
+		Usage(UsageKey key) {
+			this.key = key;
+		}
+
+		void add(long allocatedBytes, long cpuTimeNanos) {
+			noOfCalls.increment();
+			if (allocatedBytes != ThreadResourceMeter.UNKNOWN) {
+				noOfAllocationMeasurements.increment();
+				totalAllocatedBytes.add(allocatedBytes);
+			}
+			if (cpuTimeNanos != ThreadResourceMeter.UNKNOWN) {
+				noOfCpuTimeMeasurements.increment();
+				totalCpuTimeNanos.add(cpuTimeNanos);
+			}
+		}
+
+		ResourceUsageSnapshot createSnapshot() {
+			return new ResourceUsageSnapshot(key.converterName, key.direction, key.recordType,
+					noOfCalls.sum(), noOfAllocationMeasurements.sum(), totalAllocatedBytes.sum(),
+					noOfCpuTimeMeasurements.sum(), totalCpuTimeNanos.sum());
+		}
+	}
+}
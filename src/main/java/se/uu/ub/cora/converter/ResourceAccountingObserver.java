@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * ResourceAccountingObserver measures the resources used by each call to a converter and adds them
+ * to a {@link ResourceAccounting}.
+ */
+final class ResourceAccountingObserver implements ConversionObserver {
+	private final ResourceAccounting resourceAccounting;
+
+	ResourceAccountingObserver(ResourceAccounting resourceAccounting) {
+		this.resourceAccounting = resourceAccounting;
+	}
+
+	@Override
+	public Object conversionStarted(Conversion conversion) {
+		return resourceAccounting.readStartValues();
+	}
+
+	@Override
+	public void conversionEnded(Conversion conversion, Object startState) {
+		resourceAccounting.addConversion(conversion, (long[]) startState);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * ResourceUsageSnapshot holds the resources used by conversions of one record type, done by
+ * converters with one converter name in one {@link ConversionDirection}, as collected by a
+ * {@link ResourceAccounting} at the time the snapshot was created.
+ * <p>
+ * Allocated bytes and CPU time are measured for the converting thread, and can not be measured
+ * for all calls, for instance not for calls from virtual threads. Totals and averages only include
+ * the calls where they could be measured.
+ */
+public final class ResourceUsageSnapshot {
+	private final String converterName;
+	private final ConversionDirection direction;
+	private final String recordType;
+	private final long noOfCalls;
+	private final long noOfAllocationMeasurements;
+	private final long totalAllocatedBytes;
+	private final long noOfCpuTimeMeasurements;
+	private final long totalCpuTimeNanos;
+
+	ResourceUsageSnapshot(String converterName, ConversionDirection direction, String recordType,
+			long noOfCalls, long noOfAllocationMeasurements, long totalAllocatedBytes,
+			long noOfCpuTimeMeasurements, long totalCpuTimeNanos) {
+		this.converterName = converterName;
+		this.direction = direction;
+		this.recordType = recordType;
+		this.noOfCalls = noOfCalls;
+		this.noOfAllocationMeasurements = noOfAllocationMeasurements;
+		this.totalAllocatedBytes = totalAllocatedBytes;
+		this.noOfCpuTimeMeasurements = noOfCpuTimeMeasurements;
+		this.totalCpuTimeNanos = totalCpuTimeNanos;
+	}
+
+	public String getConverterName() {
+		return converterName;
+	}
+
+	public ConversionDirection getDirection() {
+		return direction;
+	}
+
+	/**
+	 * Returns the record type, or null for conversions of data of unknown type.
+	 */
+	public String getRecordType() {
+		return recordType;
+	}
+
+	public long getNoOfCalls() {
+		return noOfCalls;
+	}
+
+	/**
+	 * Returns the number of calls where allocated bytes could be measured.
+	 */
+	public long getNoOfAllocationMeasurements() {
+		return noOfAllocationMeasurements;
+	}
+
+	public long getTotalAllocatedBytes() {
+		return totalAllocatedBytes;
+	}
+
+	/**
+	 * Returns the average number of bytes allocated per measured call, or 0 if no call was
+	 * measured.
+	 */
+	public long getAverageAllocatedBytes() {
+		return average(totalAllocatedBytes, noOfAllocationMeasurements);
+	}
+
+	/**
+	 * Returns the number of calls where CPU time could be measured.
+	 */
+	public long getNoOfCpuTimeMeasurements() {
+		return noOfCpuTimeMeasurements;
+	}
+
+	public long getTotalCpuTimeNanos() {
+		return totalCpuTimeNanos;
+	}
+
+	/**
+	 * Returns the average CPU time in nanoseconds per measured call, or 0 if no call was measured.
+	 */
+	public long getAverageCpuTimeNanos() {
+		return average(totalCpuTimeNanos, noOfCpuTimeMeasurements);
+	}
+
+	private static long average(long total, long noOfMeasurements) {
+		return noOfMeasurements == 0 ? 0 : total / noOfMeasurements;
+	}
+}
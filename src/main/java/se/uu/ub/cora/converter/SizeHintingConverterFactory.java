@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * SizeHintingConverterFactory wraps a {@link ConverterFactory} and wraps the
+ * ExternallyConvertibleToStringConverters it factors so that they are given output size hints from
+ * an {@link OutputSizeEstimator}.
+ */
+final class SizeHintingConverterFactory implements ConverterFactory {
+	private final ConverterFactory converterFactory;
+	private final OutputSizeEstimator outputSizeEstimator;
+
+	SizeHintingConverterFactory(ConverterFactory converterFactory,
+			OutputSizeEstimator outputSizeEstimator) {
+		this.converterFactory = converterFactory;
+		this.outputSizeEstimator = outputSizeEstimator;
+	}
+
+	@Override
+	public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+		return new SizeHintingToStringConverter(
+				converterFactory.factorExternallyConvertableToStringConverter(),
+				outputSizeEstimator);
+	}
+
+	@Override
+	public StringToExternallyConvertibleConverter factorStringToExternallyConvertableConverter() {
+		return converterFactory.factorStringToExternallyConvertableConverter();
+	}
+
+	@Override
+	public String getName() {
+		return converterFactory.getName();
+	}
+
+	@Override
+	public boolean factorsThreadSafeConverters() {
+		return converterFactory.factorsThreadSafeConverters();
+	}
+
+	@Override
+	public boolean supportsDataEvents() {
+		return converterFactory.supportsDataEvents();
+	}
+
+	@Override
+	public DataEventReader factorDataEventReader() {
+		return converterFactory.factorDataEventReader();
+	}
+
+	@Override
+	public DataEventWriter factorDataEventWriter() {
+		return converterFactory.factorDataEventWriter();
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import se.uu.ub.cora.converter.OutputSizeEstimator.Estimate;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * SizeHintingToStringConverter converts using another {@link ExternallyConvertibleToStringConverter},
+ * giving it an output size hint from an {@link OutputSizeEstimator} and adding the size of the
+ * result to the estimate.
+ * <p>
+ * Hints are given to conversions returning a String, sizes are also taken from conversions written
+ * to an Appendable. Conversions to bytes and conversions using a {@link Projection} are passed on
+ * to the matching method of the wrapped converter without affecting the estimates, as their sizes
+ * are not comparable to whole records converted to characters. Lists are converted one element at
+ * a time, so that each element gets a hint.
+ */
+final class SizeHintingToStringConverter implements ExternallyConvertibleToStringConverter {
+	private final ExternallyConvertibleToStringConverter converter;
+	private final OutputSizeEstimator outputSizeEstimator;
+
+	SizeHintingToStringConverter(ExternallyConvertibleToStringConverter converter,
+			OutputSizeEstimator outputSizeEstimator) {
+		this.converter = converter;
+		this.outputSizeEstimator = outputSizeEstimator;
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible) {
+		Estimate estimate = outputSizeEstimator.getEstimate(externallyConvertible, false);
+		return addSample(estimate,
+				converter.convert(externallyConvertible, estimate.getOutputSizeHint()));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		Estimate estimate = outputSizeEstimator.getEstimate(externallyConvertible, true);
+		return addSample(estimate, converter.convertWithLinks(externallyConvertible,
+				externalUrls, estimate.getOutputSizeHint()));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ImmutableExternalUrls externalUrls) {
+		Estimate estimate = outputSizeEstimator.getEstimate(externallyConvertible, true);
+		return addSample(estimate, converter.convertWithLinks(externallyConvertible, externalUrls));
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, int outputSizeHint) {
+		Estimate estimate = outputSizeEstimator.getEstimate(externallyConvertible, false);
+		return addSample(estimate, converter.convert(externallyConvertible, outputSizeHint));
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, int outputSizeHint) {
+		Estimate estimate = outputSizeEstimator.getEstimate(externallyConvertible, true);
+		return addSample(estimate, converter.convertWithLinks(externallyConvertible,
+				externalUrls, outputSizeHint));
+	}
+
+	private static String addSample(Estimate estimate, String converted) {
+		if (converted != null) {
+			estimate.addSample(converted.length());
+		}
+		return converted;
+	}
+
+	@Override
+	public void convertTo(ExternallyConvertible externallyConvertible, Appendable appendable) {
+		CountingAppendable countingAppendable = new CountingAppendable(appendable);
+		converter.convertTo(externallyConvertible, countingAppendable);
+		outputSizeEstimator.getEstimate(externallyConvertible, false)
+				.addSample(countingAppendable.getCount());
+	}
+
+	@Override
+	public void convertWithLinksTo(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Appendable appendable) {
+		CountingAppendable countingAppendable = new CountingAppendable(appendable);
+		converter.convertWithLinksTo(externallyConvertible, externalUrls, countingAppendable);
+		outputSizeEstimator.getEstimate(externallyConvertible, true)
+				.addSample(countingAppendable.getCount());
+	}
+
+	@Override
+	public void convertToStream(ExternallyConvertible externallyConvertible,
+			OutputStream outputStream) {
+		converter.convertToStream(externallyConvertible, outputStream);
+	}
+
+	@Override
+	public void convertWithLinksToStream(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, OutputStream outputStream) {
+		converter.convertWithLinksToStream(externallyConvertible, externalUrls, outputStream);
+	}
+
+	@Override
+	public byte[] convertToUtf8(ExternallyConvertible externallyConvertible) {
+		return converter.convertToUtf8(externallyConvertible);
+	}
+
+	@Override
+	public byte[] convertWithLinksToUtf8(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls) {
+		return converter.convertWithLinksToUtf8(externallyConvertible, externalUrls);
+	}
+
+	@Override
+	public int convertToBuffer(ExternallyConvertible externallyConvertible, ByteBuffer buffer) {
+		return converter.convertToBuffer(externallyConvertible, buffer);
+	}
+
+	@Override
+	public int convertWithLinksToBuffer(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, ByteBuffer buffer) {
+		return converter.convertWithLinksToBuffer(externallyConvertible, externalUrls, buffer);
+	}
+
+	@Override
+	public boolean supportsProjections() {
+		return converter.supportsProjections();
+	}
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, Projection projection) {
+		return converter.convert(externallyConvertible, projection);
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, Projection projection) {
+		return converter.convertWithLinks(externallyConvertible, externalUrls, projection);
+	}
+
+	@Override
+	public List<String> convertAll(List<? extends ExternallyConvertible> externallyConvertibles) {
+		List<String> converted = new ArrayList<>(externallyConvertibles.size());
+		for (ExternallyConvertible externallyConvertible : externallyConvertibles) {
+			converted.add(convert(externallyConvertible));
+		}
+		return converted;
+	}
+
+	@Override
+	public List<String> convertAllWithLinks(
+			List<? extends ExternallyConvertible> externallyConvertibles,
+			ExternalUrls externalUrls) {
+		List<String> converted = new ArrayList<>(externallyConvertibles.size());
+		for (ExternallyConvertible externallyConvertible : externallyConvertibles) {
+			converted.add(convertWithLinks(externallyConvertible, externalUrls));
+		}
+		return converted;
+	}
+}
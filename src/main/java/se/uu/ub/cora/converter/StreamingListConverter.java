@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+/**
+ * StreamingListConverter converts lists of records to Strings incrementally, using the
+ * {@link ExternallyConvertibleToStringConverter} with a given name from {@link ConverterProvider}.
+ * <p>
+ * The records are read one at a time from an {@link Iterator} or a {@link Flow.Publisher}, and each
+ * record is written to the output as soon as it is converted, surrounded by a {@link ListEnvelope}.
+ * Neither the whole list nor the whole output is ever kept in memory, so memory use stays the same
+ * regardless of the size of the list, as long as the output is not collected in memory. Each record
+ * is written using {@link ExternallyConvertibleToStringConverter#convertTo(ExternallyConvertible,
+ * Appendable)}, so converters that write incrementally do not build a String per record either.
+ * <p>
+ * Records from a Publisher are requested one at a time, so that a slow output slows down the
+ * publisher instead of records being queued. The converter is fetched once, when subscribing, and
+ * used for all published records. A Publisher signals its subscriber one signal at a time, so the
+ * converter is never used by two threads at once.
+ * <p>
+ * StreamingListConverter is thread safe.
+ */
+public final class StreamingListConverter {
+	private final String converterName;
+	private final ListEnvelope listEnvelope;
+
+	/**
+	 * Creates a StreamingListConverter using the converters with the entered name and the entered
+	 * envelope.
+	 * 
+	 * @param converterName
+	 *            String with a name that identifies the desired Converter.
+	 * @param listEnvelope
+	 *            the ListEnvelope to write around and between the records
+	 */
+	public StreamingListConverter(String converterName, ListEnvelope listEnvelope) {
+		this.converterName = converterName;
+		this.listEnvelope = listEnvelope;
+	}
+
+	/**
+	 * Converts the records from the entered iterator, in the same way as
+	 * {@link ExternallyConvertibleToStringConverter#convert(ExternallyConvertible)}, and writes them
+	 * inside the envelope to the entered appendable. The iterator is read in the calling thread.
+	 * <p>
+	 * If unable to convert a record or write the result a {@link ConverterException} is thrown. The
+	 * records converted before the failure have then already been written.
+	 * 
+	 * @param records
+	 *            an Iterator with the records to convert
+	 * @param appendable
+	 *            to write the converted list to
+	 * @return the number of converted records
+	 */
+	public long convertAll(Iterator<? extends ExternallyConvertible> records,
+			Appendable appendable) {
+		return convertAllFromIterator(records, false, null, appendable);
+	}
+
+	/**
+	 * Converts the records from the entered iterator, in the same way as
+	 * {@link ExternallyConvertibleToStringConverter#convertWithLinks(ExternallyConvertible, ExternalUrls)},
+	 * and writes them inside the envelope to the entered appendable. The iterator is read in the
+	 * calling thread.
+	 * <p>
+	 * If unable to convert a record or write the result a {@link ConverterException} is thrown. The
+	 * records converted before the failure have then already been written.
+	 * 
+	 * @param records
+	 *            an Iterator with the records to convert
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @param appendable
+	 *            to write the converted list to
+	 * @return the number of converted records
+	 */
+	public long convertAllWithLinks(Iterator<? extends ExternallyConvertible> records,
+			ExternalUrls externalUrls, Appendable appendable) {
+		return convertAllFromIterator(records, true, externalUrls, appendable);
+	}
+
+	private long convertAllFromIterator(Iterator<? extends ExternallyConvertible> records,
+			boolean withLinks, ExternalUrls externalUrls, Appendable appendable) {
+		ConverterHandle converterHandle = ConverterProvider.handle(converterName);
+		RecordWriter recordWriter = new RecordWriter(withLinks, externalUrls, appendable);
+		ExternallyConvertibleToStringConverter converter = converterHandle
+				.getExternallyConvertibleToStringConverter();
+		recordWriter.writeStart();
+		while (records.hasNext()) {
+			recordWriter.writeRecord(converter, records.next());
+		}
+		recordWriter.writeEnd();
+		return recordWriter.noOfRecords;
+	}
+
+	/**
+	 * Subscribes to the entered publisher and converts the published records, in the same way as
+	 * {@link ExternallyConvertibleToStringConverter#convert(ExternallyConvertible)}, and writes them
+	 * inside the envelope to the entered appendable. The records are converted and written in the
+	 * threads the publisher signals the subscriber in.
+	 * <p>
+	 * The returned future is completed with the number of converted records when the publisher
+	 * completes. If the publisher fails, or if unable to convert a record or write the result, is
+	 * the subscription cancelled and the future completed exceptionally with a
+	 * {@link ConverterException}. Cancelling the returned future cancels the subscription.
+	 * <p>
+	 * If no implementation is found with the given converter name is a
+	 * {@link ConverterInitializationException} thrown, before subscribing.
+	 * 
+	 * @param records
+	 *            a Publisher of the records to convert
+	 * @param appendable
+	 *            to write the converted list to
+	 * @return a CompletableFuture completed with the number of converted records
+	 */
+	public CompletableFuture<Long> convertAll(
+			Flow.Publisher<? extends ExternallyConvertible> records, Appendable appendable) {
+		return subscribe(records, false, null, appendable);
+	}
+
+	/**
+	 * Subscribes to the entered publisher and converts the published records, in the same way as
+	 * {@link ExternallyConvertibleToStringConverter#convertWithLinks(ExternallyConvertible, ExternalUrls)},
+	 * and writes them inside the envelope to the entered appendable, see
+	 * {@link #convertAll(java.util.concurrent.Flow.Publisher, Appendable)}.
+	 * 
+	 * @param records
+	 *            a Publisher of the records to convert
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 * @param appendable
+	 *            to write the converted list to
+	 * @return a CompletableFuture completed with the number of converted records
+	 */
+	public CompletableFuture<Long> convertAllWithLinks(
+			Flow.Publisher<? extends ExternallyConvertible> records, ExternalUrls externalUrls,
+			Appendable appendable) {
+		return subscribe(records, true, externalUrls, appendable);
+	}
+
+	private CompletableFuture<Long> subscribe(
+			Flow.Publisher<? extends ExternallyConvertible> records, boolean withLinks,
+			ExternalUrls externalUrls, Appendable appendable) {
+		ConverterHandle converterHandle = ConverterProvider.handle(converterName);
+		RecordSubscriber subscriber = new RecordSubscriber(converterHandle,
+				new RecordWriter(withLinks, externalUrls, appendable));
+		records.subscribe(subscriber);
+		return subscriber.future;
+	}
+
+	private final class RecordWriter {
+		private final boolean withLinks;
+		private final ExternalUrls externalUrls;
+		private final Appendable appendable;
+		private long noOfRecords = 0;
+
+		RecordWriter(boolean withLinks, ExternalUrls externalUrls, Appendable appendable) {
+			this.withLinks = withLinks;
+			this.externalUrls = externalUrls;
+			this.appendable = appendable;
+		}
+
+		void writeStart() {
+			write(listEnvelope.getStart());
+		}
+
+		void writeRecord(ExternallyConvertibleToStringConverter converter,
+				ExternallyConvertible externallyConvertible) {
+			if (noOfRecords > 0) {
+				write(listEnvelope.getSeparator());
+			}
+			if (withLinks) {
+				converter.convertWithLinksTo(externallyConvertible, externalUrls, appendable);
+			} else {
+				converter.convertTo(externallyConvertible, appendable);
+			}
+			noOfRecords++;
+		}
+
+		void writeEnd() {
+			write(listEnvelope.getEnd());
+		}
+
+		private void write(String text) {
+			try {
+				appendable.append(text);
+			} catch (IOException e) {
+				throw new ConverterException("Unable to write converted data", e);
+			}
+		}
+	}
+
+	private static final class RecordSubscriber
+			implements Flow.Subscriber<ExternallyConvertible> {
+		private final ConverterHandle converterHandle;
+		private final RecordWriter recordWriter;
+		private final CompletableFuture<Long> future = new CompletableFuture<>();
+		private Flow.Subscription subscription;
+		private ExternallyConvertibleToStringConverter converter;
+
+		RecordSubscriber(ConverterHandle converterHandle, RecordWriter recordWriter) {
+			this.converterHandle = converterHandle;
+			this.recordWriter = recordWriter;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			if (this.subscription != null) {
+				subscription.cancel();
+				return;
+			}
+			this.subscription = subscription;
+			future.whenComplete((noOfRecords, throwable) -> cancelIfCancelled());
+			runAndRequestNext(this::fetchConverterAndWriteStart);
+		}
+
+		private void fetchConverterAndWriteStart() {
+			converter = converterHandle.getExternallyConvertibleToStringConverter();
+			recordWriter.writeStart();
+		}
+
+		private void cancelIfCancelled() {
+			if (future.isCancelled()) {
+				subscription.cancel();
+			}
+		}
+
+		@Override
+		public void onNext(ExternallyConvertible externallyConvertible) {
+			if (future.isDone()) {
+				return;
+			}
+			runAndRequestNext(() -> recordWriter.writeRecord(converter, externallyConvertible));
+		}
+
+		private void runAndRequestNext(Runnable step) {
+			try {
+				step.run();
+				subscription.request(1);
+			} catch (ConverterException e) {
+				fail(e);
+			} catch (RuntimeException e) {
+				fail(new ConverterException(e.getMessage(), e));
+			}
+		}
+
+		private void fail(ConverterException exception) {
+			subscription.cancel();
+			future.completeExceptionally(exception);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			if (throwable instanceof Exception exception) {
+				future.completeExceptionally(
+						new ConverterException("Publisher of records failed", exception));
+			} else {
+				future.completeExceptionally(throwable);
+			}
+		}
+
+		@Override
+		public void onComplete() {
+			if (future.isDone()) {
+				return;
+			}
+			try {
+				recordWriter.writeEnd();
+				future.complete(recordWriter.noOfRecords);
+			} catch (ConverterException e) {
+				future.completeExceptionally(e);
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2021 Uppsala University Library
+ * Copyright 2019, 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -18,6 +18,13 @@
  */
 package se.uu.ub.cora.converter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+
 import se.uu.ub.cora.data.ExternallyConvertible;
 
 /**
@@ -25,6 +32,10 @@ import se.uu.ub.cora.data.ExternallyConvertible;
  * ExternallyConvertible.
  * <p>
  * Implementations of StringToDataElementConverter are not expected to be thread safe.
+ * <p>
+ * The methods reading from a {@link Reader} or an {@link InputStream} have default implementations
+ * that read all data into a String and use {@link #convert(String)}. Implementations that can parse
+ * incrementally SHOULD override {@link #convert(Reader)}, as the InputStream method uses it.
  */
 public interface StringToExternallyConvertibleConverter {
 	/**
@@ -38,4 +49,45 @@ public interface StringToExternallyConvertibleConverter {
 	 * @return result of the convertion as a ExternallyConvertible
 	 */
 	ExternallyConvertible convert(String dataString);
+
+	/**
+	 * Returns a ExternallyConvertible containing the result of the convertion from the data read
+	 * from the entered reader. The reader is read to its end but not closed.
+	 * <p>
+	 * If reading or conversion fails MUST a {@link ConverterException} be thrown.
+	 * 
+	 * @param reader
+	 *            to read the string representation of an element to convert from
+	 * @return result of the convertion as a ExternallyConvertible
+	 */
+	default ExternallyConvertible convert(Reader reader) {
+		return convert(readAll(reader));
+	}
+
+	private static String readAll(Reader reader) {
+		try {
+			StringWriter dataString = new StringWriter();
+			reader.transferTo(dataString);
+			return dataString.toString();
+		} catch (IOException e) {
+			throw new ConverterException("Unable to read data to convert", e);
+		}
+	}
+
+	/**
+	 * Returns a ExternallyConvertible containing the result of the convertion from the data read
+	 * from the entered inputStream, decoded using the entered charset. The inputStream is read to
+	 * its end but not closed.
+	 * <p>
+	 * If reading or conversion fails MUST a {@link ConverterException} be thrown.
+	 * 
+	 * @param inputStream
+	 *            to read the string representation of an element to convert from
+	 * @param charset
+	 *            used to decode the data read from the inputStream
+	 * @return result of the convertion as a ExternallyConvertible
+	 */
+	default ExternallyConvertible convert(InputStream inputStream, Charset charset) {
+		return convert(new InputStreamReader(inputStream, charset));
+	}
 }
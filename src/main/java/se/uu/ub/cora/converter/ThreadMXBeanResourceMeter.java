@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * ThreadMXBeanResourceMeter reads the resources used by the current thread from the platform
+ * {@link java.lang.management.ThreadMXBean}. Allocated bytes are only measurable if the JVM
+ * provides the {@link com.sun.management.ThreadMXBean} extension, as HotSpot does. Neither is
+ * measurable for virtual threads, or if the measurement is turned off in the JVM.
+ */
+final class ThreadMXBeanResourceMeter implements ThreadResourceMeter {
+	private final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory
+			.getThreadMXBean();
+	private final com.sun.management.ThreadMXBean allocationMXBean = getAllocationMXBean();
+
+	private com.sun.management.ThreadMXBean getAllocationMXBean() {
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean extendedThreadMXBean
+				&& extendedThreadMXBean.isThreadAllocatedMemorySupported()) {
+			return extendedThreadMXBean;
+		}
+		return null;
+	}
+
+	@Override
+	public long getAllocatedBytes() {
+		if (allocationMXBean == null || !allocationMXBean.isThreadAllocatedMemoryEnabled()) {
+			return UNKNOWN;
+		}
+		return allocationMXBean.getCurrentThreadAllocatedBytes();
+	}
+
+	@Override
+	public long getCpuTimeNanos() {
+		if (!threadMXBean.isCurrentThreadCpuTimeSupported()
+				|| !threadMXBean.isThreadCpuTimeEnabled()) {
+			return UNKNOWN;
+		}
+		return threadMXBean.getCurrentThreadCpuTime();
+	}
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * ThreadResourceMeter reads the resources used so far by the current thread.
+ */
+interface ThreadResourceMeter {
+	long UNKNOWN = -1;
+
+	/**
+	 * Returns the number of bytes allocated so far by the current thread, or {@link #UNKNOWN} if
+	 * not measurable.
+	 */
+	long getAllocatedBytes();
+
+	/**
+	 * Returns the CPU time used so far by the current thread in nanoseconds, or {@link #UNKNOWN}
+	 * if not measurable.
+	 */
+	long getCpuTimeNanos();
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+/**
+ * WarmUpSample holds a sample payload used by {@link ConverterProvider#warmUp(java.util.List, int)}
+ * to run the converters with one name in both directions before the node starts to serve requests.
+ * <p>
+ * The dataString is converted to an ExternallyConvertible, which is then converted back to a
+ * String, and also with links if the sample has ExternalUrls.
+ */
+public final class WarmUpSample {
+	private final String converterName;
+	private final String dataString;
+	private final ExternalUrls externalUrls;
+
+	/**
+	 * Creates a WarmUpSample that is converted without links.
+	 * 
+	 * @param converterName
+	 *            String with a name that identifies the Converter to warm up.
+	 * @param dataString
+	 *            a representative dataString in the format of the converter
+	 */
+	public WarmUpSample(String converterName, String dataString) {
+		this(converterName, dataString, null);
+	}
+
+	/**
+	 * Creates a WarmUpSample that is converted both without and with links.
+	 * 
+	 * @param converterName
+	 *            String with a name that identifies the Converter to warm up.
+	 * @param dataString
+	 *            a representative dataString in the format of the converter
+	 * @param externalUrls
+	 *            An object that holds external urls such as baseUrl and iiifUrl.
+	 */
+	public WarmUpSample(String converterName, String dataString, ExternalUrls externalUrls) {
+		this.converterName = converterName;
+		this.dataString = dataString;
+		this.externalUrls = externalUrls;
+	}
+
+	public String getConverterName() {
+		return converterName;
+	}
+
+	public String getDataString() {
+		return dataString;
+	}
+
+	public ExternalUrls getExternalUrls() {
+		return externalUrls;
+	}
+
+	public boolean hasExternalUrls() {
+		return externalUrls != null;
+	}
+}
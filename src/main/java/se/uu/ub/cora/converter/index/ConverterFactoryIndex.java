@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.module.ModuleDescriptor;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import se.uu.ub.cora.converter.ConverterFactory;
+import se.uu.ub.cora.converter.ConverterInitializationException;
+
+/**
+ * ConverterFactoryIndex reads the converter indexes written at build time by
+ * {@link ConverterFactoryIndexProcessor}, mapping each ConverterFactory name to the binary name of
+ * its implementation class.
+ * <p>
+ * All indexes visible to the entered ClassLoader are read, one per jar or module built with the
+ * processor. If the same name is found in more than one index a
+ * {@link ConverterInitializationException} is thrown.
+ * <p>
+ * An index is complete if every ConverterFactory registered as a service, in a service
+ * configuration file visible to the ClassLoader or in the descriptor of a module in the boot layer,
+ * is indexed. The registered implementations are found by reading their class names, without
+ * loading any classes.
+ */
+public final class ConverterFactoryIndex {
+	/**
+	 * The name of the resource the converter index is written to and read from.
+	 */
+	public static final String RESOURCE_NAME = "META-INF/se.uu.ub.cora.converter/converter-factories.properties";
+	private static final String SERVICE_RESOURCE_NAME = "META-INF/services/"
+			+ ConverterFactory.class.getName();
+
+	private final Map<String, String> implementations;
+	private final boolean complete;
+
+	private ConverterFactoryIndex(Map<String, String> implementations, boolean complete) {
+		this.implementations = implementations;
+		this.complete = complete;
+	}
+
+	/**
+	 * Reads all converter indexes visible to the entered classLoader.
+	 * 
+	 * @param classLoader
+	 *            the ClassLoader to read the indexes with
+	 * @return a ConverterFactoryIndex, that is empty if no index is found
+	 */
+	public static ConverterFactoryIndex readUsingClassLoader(ClassLoader classLoader) {
+		Map<String, String> implementations = new LinkedHashMap<>();
+		for (URL indexUrl : Collections.list(findResources(classLoader, RESOURCE_NAME))) {
+			addIndex(implementations, indexUrl);
+		}
+		boolean complete = !implementations.isEmpty() && implementations.values()
+				.containsAll(findRegisteredImplementations(classLoader));
+		return new ConverterFactoryIndex(Collections.unmodifiableMap(implementations), complete);
+	}
+
+	private static Enumeration<URL> findResources(ClassLoader classLoader, String resourceName) {
+		try {
+			return classLoader.getResources(resourceName);
+		} catch (IOException e) {
+			throw new ConverterInitializationException("Unable to find converter indexes", e);
+		}
+	}
+
+	private static Set<String> findRegisteredImplementations(ClassLoader classLoader) {
+		Set<String> registered = new HashSet<>();
+		for (URL serviceUrl : Collections.list(findResources(classLoader, SERVICE_RESOURCE_NAME))) {
+			addServiceConfiguration(registered, serviceUrl);
+		}
+		for (Module module : ModuleLayer.boot().modules()) {
+			addModuleProviders(registered, module.getDescriptor());
+		}
+		return registered;
+	}
+
+	private static void addServiceConfiguration(Set<String> registered, URL serviceUrl) {
+		try (InputStream inputStream = serviceUrl.openStream();
+				BufferedReader reader = new BufferedReader(
+						new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+			reader.lines().map(ConverterFactoryIndex::removeComment).map(String::strip)
+					.filter(line -> !line.isEmpty()).forEach(registered::add);
+		} catch (IOException e) {
+			throw new ConverterInitializationException(
+					"Unable to read service configuration " + serviceUrl, e);
+		}
+	}
+
+	private static String removeComment(String line) {
+		int commentStart = line.indexOf('#');
+		return commentStart < 0 ? line : line.substring(0, commentStart);
+	}
+
+	private static void addModuleProviders(Set<String> registered, ModuleDescriptor descriptor) {
+		for (ModuleDescriptor.Provides provides : descriptor.provides()) {
+			if (provides.service().equals(ConverterFactory.class.getName())) {
+				registered.addAll(provides.providers());
+			}
+		}
+	}
+
+	private static void addIndex(Map<String, String> implementations, URL indexUrl) {
+		Properties index = readIndex(indexUrl);
+		for (String name : index.stringPropertyNames()) {
+			throwErrorIfNameAlreadyIndexed(implementations, name);
+			implementations.put(name, index.getProperty(name));
+		}
+	}
+
+	private static Properties readIndex(URL indexUrl) {
+		Properties index = new Properties();
+		try (InputStream inputStream = indexUrl.openStream();
+				Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+			index.load(reader);
+		} catch (IOException e) {
+			throw new ConverterInitializationException(
+					"Unable to read converter index " + indexUrl, e);
+		}
+		return index;
+	}
+
+	private static void throwErrorIfNameAlreadyIndexed(Map<String, String> implementations,
+			String name) {
+		if (implementations.containsKey(name)) {
+			throw new ConverterInitializationException(
+					"More than one implementations found for ConverterFactory with name " + name);
+		}
+	}
+
+	/**
+	 * Returns true if no indexed ConverterFactory was found.
+	 * 
+	 * @return true if the index is empty
+	 */
+	public boolean isEmpty() {
+		return implementations.isEmpty();
+	}
+
+	/**
+	 * Returns true if the index is not empty and every ConverterFactory registered as a service is
+	 * indexed, so that the ConverterFactories can be resolved from the index alone.
+	 * 
+	 * @return true if the index is complete
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * Returns the indexed ConverterFactories, as a map from name to the binary name of the
+	 * implementation class, in the order they were read.
+	 * 
+	 * @return an unmodifiable map from name to implementation class name
+	 */
+	public Map<String, String> getImplementations() {
+		return implementations;
+	}
+}
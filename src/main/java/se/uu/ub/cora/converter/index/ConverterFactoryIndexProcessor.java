@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.index;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import se.uu.ub.cora.converter.ConverterFactory;
+import se.uu.ub.cora.converter.ConverterFactoryName;
+
+/**
+ * ConverterFactoryIndexProcessor is an annotation processor that writes a converter index, with
+ * the name and implementation class of every ConverterFactory annotated with
+ * {@link ConverterFactoryName} in the compiled module, to {@link ConverterFactoryIndex#RESOURCE_NAME}.
+ * <p>
+ * When converter indexes are found at startup are the ConverterFactories resolved from them,
+ * instead of by scanning with the ServiceLoader. Every ConverterFactory implementation to use MUST
+ * then be built with this processor, which is done by adding the converter artifact to the
+ * annotation processor path and this class to the annotation processors of the compiler.
+ * <p>
+ * An error is reported if an annotated type is not a public, non abstract class implementing
+ * ConverterFactory, or if two annotated types have the same name.
+ */
+@SupportedAnnotationTypes("se.uu.ub.cora.converter.ConverterFactoryName")
+public class ConverterFactoryIndexProcessor extends AbstractProcessor {
+	private final Map<String, String> implementations = new TreeMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(ConverterFactoryName.class)) {
+			indexElement(element);
+		}
+		if (roundEnv.processingOver() && !implementations.isEmpty()) {
+			writeIndex();
+		}
+		return false;
+	}
+
+	private void indexElement(Element element) {
+		if (!isPublicConcreteConverterFactory(element)) {
+			reportError(element, "@ConverterFactoryName must be used on a public, non abstract"
+					+ " class implementing ConverterFactory");
+			return;
+		}
+		String name = element.getAnnotation(ConverterFactoryName.class).value();
+		String implementation = processingEnv.getElementUtils()
+				.getBinaryName((TypeElement) element).toString();
+		String alreadyIndexed = implementations.putIfAbsent(name, implementation);
+		if (alreadyIndexed != null && !alreadyIndexed.equals(implementation)) {
+			reportError(element,
+					"More than one implementations found for ConverterFactory with name " + name);
+		}
+	}
+
+	private boolean isPublicConcreteConverterFactory(Element element) {
+		return element.getKind() == ElementKind.CLASS
+				&& element.getModifiers().contains(Modifier.PUBLIC)
+				&& !element.getModifiers().contains(Modifier.ABSTRACT)
+				&& implementsConverterFactory(element);
+	}
+
+	private boolean implementsConverterFactory(Element element) {
+		TypeMirror converterFactory = processingEnv.getElementUtils()
+				.getTypeElement(ConverterFactory.class.getCanonicalName()).asType();
+		return processingEnv.getTypeUtils().isAssignable(element.asType(), converterFactory);
+	}
+
+	private void reportError(Element element, String message) {
+		processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+	}
+
+	private void writeIndex() {
+		try {
+			FileObject index = processingEnv.getFiler().createResource(
+					StandardLocation.CLASS_OUTPUT, "", ConverterFactoryIndex.RESOURCE_NAME);
+			try (Writer writer = new OutputStreamWriter(index.openOutputStream(),
+					StandardCharsets.UTF_8)) {
+				writeImplementations(writer);
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR,
+					"Unable to write converter index: " + e.getMessage());
+		}
+	}
+
+	private void writeImplementations(Writer writer) throws IOException {
+		writer.write("# Written by " + ConverterFactoryIndexProcessor.class.getSimpleName()
+				+ ", do not edit\n");
+		for (Map.Entry<String, String> entry : implementations.entrySet()) {
+			writer.write(escape(entry.getKey()) + "=" + entry.getValue() + "\n");
+		}
+	}
+
+	private static String escape(String name) {
+		StringBuilder escaped = new StringBuilder(name.length());
+		for (char c : name.toCharArray()) {
+			if ("\\=: #!".indexOf(c) >= 0) {
+				escaped.append('\\');
+			}
+			escaped.append(c);
+		}
+		return escaped.toString();
+	}
+}
@@ -20,13 +20,38 @@
 package se.uu.ub.cora.converter.starter;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
+import java.util.function.Supplier;
 
 import se.uu.ub.cora.converter.ConverterFactory;
+import se.uu.ub.cora.converter.ConverterFactoryName;
 import se.uu.ub.cora.converter.ConverterInitializationException;
+import se.uu.ub.cora.converter.index.ConverterFactoryIndex;
+import se.uu.ub.cora.converter.index.ConverterFactoryIndexProcessor;
 import se.uu.ub.cora.logger.Logger;
 import se.uu.ub.cora.logger.LoggerProvider;
 
+/**
+ * ConverterModuleStarterImp finds the ConverterFactory implementations to use, and makes sure that
+ * there is at least one and that no two have the same name.
+ * <p>
+ * If the implementations are entered as a {@link ServiceLoader} are the converter indexes, written
+ * at build time by {@link ConverterFactoryIndexProcessor}, read first. If the indexes are complete,
+ * see {@link ConverterFactoryIndex#isComplete()}, are the ConverterFactories resolved from the
+ * indexes alone, without going through the providers of the ServiceLoader at start. Otherwise are
+ * the providers, found using {@link ServiceLoader#stream()} which does not instantiate them,
+ * merged with the indexes, so that jars with and without an index can be used together.
+ * <p>
+ * The names of indexed implementations are taken from the indexes, and the names of annotated
+ * implementations from their {@link ConverterFactoryName} annotation, so that only
+ * implementations that are neither indexed nor annotated are instantiated at start. Indexed and
+ * annotated implementations are instantiated through their ServiceLoader provider the first time
+ * they are used, so that only the factories for the requested names are instantiated. An indexed
+ * implementation that is not registered as a service can therefore not be used.
+ */
 public class ConverterModuleStarterImp implements ConverterModuleStarter {
 	private Logger loggerForClass = LoggerProvider
 			.getLoggerForClass(ConverterModuleStarterImp.class);
@@ -35,12 +60,136 @@ public class ConverterModuleStarterImp implements ConverterModuleStarter {
 	@Override
 	public Map<String, ConverterFactory> startUsingConverterFactoryImplementations(
 			Iterable<ConverterFactory> converterFactoryImplementations) {
+		if (converterFactoryImplementations instanceof ServiceLoader<ConverterFactory> loader) {
+			return startUsingServiceLoader(loader);
+		}
 		foundConverterFactories = new HashMap<>();
 		addFoundFactories(converterFactoryImplementations);
 		throwErrorIfNotOne();
 		return foundConverterFactories;
 	}
 
+	private Map<String, ConverterFactory> startUsingServiceLoader(
+			ServiceLoader<ConverterFactory> loader) {
+		ConverterFactoryIndex index = ConverterFactoryIndex
+				.readUsingClassLoader(getContextClassLoader());
+		if (index.isComplete()) {
+			return startUsingConverterFactoryIndex(index, loader.stream()::iterator);
+		}
+		return startUsingConverterFactoryIndexAndProviders(index, loader.stream()::iterator);
+	}
+
+	private ClassLoader getContextClassLoader() {
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if (classLoader == null) {
+			return ClassLoader.getSystemClassLoader();
+		}
+		return classLoader;
+	}
+
+	/**
+	 * Resolves the ConverterFactories from the entered index alone. The entered providers are
+	 * only gone through when an indexed implementation is used for the first time, to find the
+	 * provider to instantiate it with.
+	 */
+	Map<String, ConverterFactory> startUsingConverterFactoryIndex(ConverterFactoryIndex index,
+			Iterable<Provider<ConverterFactory>> converterFactoryProviders) {
+		foundConverterFactories = new HashMap<>();
+		for (Map.Entry<String, String> entry : index.getImplementations().entrySet()) {
+			String className = entry.getValue();
+			addIndexedFactory(entry.getKey(), className,
+					() -> findProvider(converterFactoryProviders, className));
+		}
+		throwErrorIfNotOne();
+		return foundConverterFactories;
+	}
+
+	private static ConverterFactory findProvider(
+			Iterable<Provider<ConverterFactory>> converterFactoryProviders, String className) {
+		synchronized (converterFactoryProviders) {
+			for (Provider<ConverterFactory> provider : converterFactoryProviders) {
+				if (provider.type().getName().equals(className)) {
+					return provider.get();
+				}
+			}
+		}
+		throw createNotRegisteredError(className);
+	}
+
+	private static ConverterInitializationException createNotRegisteredError(String className) {
+		return new ConverterInitializationException("Unable to instantiate ConverterFactory "
+				+ className + ", it is not registered as a service");
+	}
+
+	Map<String, ConverterFactory> startUsingConverterFactoryIndexAndProviders(
+			ConverterFactoryIndex index,
+			Iterable<Provider<ConverterFactory>> converterFactoryProviders) {
+		foundConverterFactories = new HashMap<>();
+		Map<String, Provider<ConverterFactory>> providersByClassName = collectProvidersByClassName(
+				converterFactoryProviders);
+		for (Map.Entry<String, String> entry : index.getImplementations().entrySet()) {
+			String className = entry.getValue();
+			addIndexedFactory(entry.getKey(), className,
+					createInstantiator(providersByClassName.remove(className), className));
+		}
+		addFoundProviders(providersByClassName.values());
+		throwErrorIfNotOne();
+		return foundConverterFactories;
+	}
+
+	private static Supplier<ConverterFactory> createInstantiator(
+			Provider<ConverterFactory> provider, String className) {
+		if (provider == null) {
+			return () -> {
+				throw createNotRegisteredError(className);
+			};
+		}
+		return provider::get;
+	}
+
+	private Map<String, Provider<ConverterFactory>> collectProvidersByClassName(
+			Iterable<Provider<ConverterFactory>> converterFactoryProviders) {
+		Map<String, Provider<ConverterFactory>> providersByClassName = new LinkedHashMap<>();
+		for (Provider<ConverterFactory> provider : converterFactoryProviders) {
+			providersByClassName.put(provider.type().getName(), provider);
+		}
+		return providersByClassName;
+	}
+
+	private void addIndexedFactory(String name, String className,
+			Supplier<ConverterFactory> instantiator) {
+		String implementationName = className.substring(
+				Math.max(className.lastIndexOf('.'), className.lastIndexOf('$')) + 1);
+		addFoundFactory(implementationName,
+				new LazyConverterFactory(name, implementationName, instantiator));
+	}
+
+	Map<String, ConverterFactory> startUsingConverterFactoryProviders(
+			Iterable<Provider<ConverterFactory>> converterFactoryProviders) {
+		foundConverterFactories = new HashMap<>();
+		addFoundProviders(converterFactoryProviders);
+		throwErrorIfNotOne();
+		return foundConverterFactories;
+	}
+
+	private void addFoundProviders(Iterable<Provider<ConverterFactory>> converterFactoryProviders) {
+		for (Provider<ConverterFactory> provider : converterFactoryProviders) {
+			addFoundProvider(provider);
+		}
+	}
+
+	private void addFoundProvider(Provider<ConverterFactory> provider) {
+		ConverterFactoryName annotatedName = provider.type()
+				.getAnnotation(ConverterFactoryName.class);
+		if (annotatedName == null) {
+			addFoundFactory(provider.get());
+		} else {
+			String implementationName = provider.type().getSimpleName();
+			addFoundFactory(implementationName, new LazyConverterFactory(annotatedName.value(),
+					implementationName, provider::get));
+		}
+	}
+
 	private void throwErrorIfNotOne() {
 		logAndThrowErrorIfNone();
 	}
@@ -52,14 +201,18 @@ public class ConverterModuleStarterImp implements ConverterModuleStarter {
 	}
 
 	private void addFoundFactory(ConverterFactory converterFactory) {
+		addFoundFactory(converterFactory.getClass().getSimpleName(), converterFactory);
+	}
+
+	private void addFoundFactory(String implementationName, ConverterFactory converterFactory) {
 		String converterFactoryName = converterFactory.getName();
-		logInfoMessage(converterFactory, converterFactoryName);
+		logInfoMessage(implementationName, converterFactoryName);
 		throwErrorIfMoreThanOneImplementationFoundForFactoryName(converterFactoryName);
 		foundConverterFactories.put(converterFactoryName, converterFactory);
 	}
 
-	private void logInfoMessage(ConverterFactory converterFactory, String converterFactoryName) {
-		loggerForClass.logInfoUsingMessage(converterFactory.getClass().getSimpleName()
+	private void logInfoMessage(String implementationName, String converterFactoryName) {
+		loggerForClass.logInfoUsingMessage(implementationName
 				+ " found as implementation for ConverterFactory with name "
 				+ converterFactoryName);
 	}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.starter;
+
+import java.util.function.Supplier;
+
+import se.uu.ub.cora.converter.ConverterFactory;
+import se.uu.ub.cora.converter.ConverterInitializationException;
+import se.uu.ub.cora.converter.DataEventReader;
+import se.uu.ub.cora.converter.DataEventWriter;
+import se.uu.ub.cora.converter.ExternallyConvertibleToStringConverter;
+import se.uu.ub.cora.converter.StringToExternallyConvertibleConverter;
+
+/**
+ * LazyConverterFactory is used for ConverterFactory implementations whose names are known without
+ * instantiating them, from a {@link se.uu.ub.cora.converter.ConverterFactoryName} annotation or a
+ * converter index. It instantiates the factory the first time any other method than
+ * {@link #getName()} is called.
+ */
+final class LazyConverterFactory implements ConverterFactory, ImplementationNamed {
+	private final String name;
+	private final String implementationName;
+	private final Supplier<ConverterFactory> instantiator;
+	private volatile ConverterFactory converterFactory;
+
+	LazyConverterFactory(String name, String implementationName,
+			Supplier<ConverterFactory> instantiator) {
+		this.name = name;
+		this.implementationName = implementationName;
+		this.instantiator = instantiator;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public String getImplementationName() {
+		return implementationName;
+	}
+
+	@Override
+	public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+		return getConverterFactory().factorExternallyConvertableToStringConverter();
+	}
+
+	@Override
+	public StringToExternallyConvertibleConverter factorStringToExternallyConvertableConverter() {
+		return getConverterFactory().factorStringToExternallyConvertableConverter();
+	}
+
+	@Override
+	public boolean factorsThreadSafeConverters() {
+		return getConverterFactory().factorsThreadSafeConverters();
+	}
+
+	@Override
+	public boolean supportsDataEvents() {
+		return getConverterFactory().supportsDataEvents();
+	}
+
+	@Override
+	public DataEventReader factorDataEventReader() {
+		return getConverterFactory().factorDataEventReader();
+	}
+
+	@Override
+	public DataEventWriter factorDataEventWriter() {
+		return getConverterFactory().factorDataEventWriter();
+	}
+
+	ConverterFactory getConverterFactory() {
+		ConverterFactory current = converterFactory;
+		if (current == null) {
+			return instantiateConverterFactory();
+		}
+		return current;
+	}
+
+	private synchronized ConverterFactory instantiateConverterFactory() {
+		if (converterFactory == null) {
+			ConverterFactory instantiated = instantiator.get();
+			throwErrorIfNameDiffers(instantiated);
+			converterFactory = instantiated;
+		}
+		return converterFactory;
+	}
+
+	private void throwErrorIfNameDiffers(ConverterFactory instantiated) {
+		if (!name.equals(instantiated.getName())) {
+			throw new ConverterInitializationException(implementationName
+					+ " is registered with name " + name + " but has name "
+					+ instantiated.getName());
+		}
+	}
+}
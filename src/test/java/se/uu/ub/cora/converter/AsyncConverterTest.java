@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.StringToExternallyConvertibleConverterSpy;
+import se.uu.ub.cora.converter.spy.log.LoggerFactorySpy;
+import se.uu.ub.cora.data.ExternallyConvertible;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+public class AsyncConverterTest {
+	private static final String CONVERTER_NAME = "async";
+	private ConverterFactorySpy converterFactory;
+	private ExternallyConvertibleSpy externallyConvertible;
+	private ExternalUrls externalUrls;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		LoggerProvider.setLoggerFactory(LoggerFactorySpy.getInstance());
+		ConverterProvider.setUseCachedConverters(false);
+		ConverterProvider.resetConverterFactories();
+		converterFactory = new ConverterFactorySpy(CONVERTER_NAME);
+		ConverterProvider.setConverterFactory(CONVERTER_NAME, converterFactory);
+		externallyConvertible = new ExternallyConvertibleSpy();
+		externalUrls = new ExternalUrls();
+	}
+
+	@Test
+	public void testConvert() throws Exception {
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME);
+
+		CompletableFuture<String> future = asyncConverter.convert(externallyConvertible);
+
+		assertEquals(future.get(1, TimeUnit.SECONDS), "someConvertedString");
+	}
+
+	@Test
+	public void testConvertWithLinks() throws Exception {
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME);
+
+		CompletableFuture<String> future = asyncConverter.convertWithLinks(externallyConvertible,
+				externalUrls);
+
+		assertEquals(future.get(1, TimeUnit.SECONDS), "someConvertedWithLinksString");
+	}
+
+	@Test
+	public void testConvertFromString() throws Exception {
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME);
+		RecordingConverterFactory recordingFactory = new RecordingConverterFactory();
+		ConverterProvider.setConverterFactory(CONVERTER_NAME, recordingFactory);
+
+		CompletableFuture<ExternallyConvertible> future = asyncConverter
+				.convert("someDataString");
+
+		ExternallyConvertible result = future.get(1, TimeUnit.SECONDS);
+		assertEquals(recordingFactory.stringToConverter.dataStrings.get(0), "someDataString");
+		assertSame(result, recordingFactory.stringToConverter.returnedExternallyConvertibles.get(0));
+	}
+
+	@Test
+	public void testDefaultExecutorUsesVirtualThreads() throws Exception {
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME);
+		RecordingConverterFactory recordingFactory = new RecordingConverterFactory();
+		ConverterProvider.setConverterFactory(CONVERTER_NAME, recordingFactory);
+
+		asyncConverter.convert(externallyConvertible).get(1, TimeUnit.SECONDS);
+
+		assertTrue(recordingFactory.factoredInThread.isVirtual());
+		assertTrue(recordingFactory.factoredInThread.getName().startsWith("converter-"));
+	}
+
+	@Test
+	public void testConversionsUseEnteredExecutor() throws Exception {
+		RecordingExecutor executor = new RecordingExecutor();
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME, executor);
+
+		CompletableFuture<String> future = asyncConverter.convert(externallyConvertible);
+
+		assertEquals(executor.noOfExecutedTasks, 1);
+		assertTrue(future.isDone());
+		assertEquals(future.get(), "someConvertedString");
+	}
+
+	@Test
+	public void testConverterExceptionFailsFuture() throws Exception {
+		ConverterException converterException = new ConverterException("someError");
+		ConverterProvider.setConverterFactory(CONVERTER_NAME,
+				new FailingConverterFactory(converterException));
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME);
+
+		Throwable cause = getCauseOfFailure(asyncConverter.convert(externallyConvertible));
+
+		assertSame(cause, converterException);
+	}
+
+	@Test
+	public void testOtherExceptionsAreWrappedInConverterException() throws Exception {
+		AsyncConverter asyncConverter = new AsyncConverter("unknownName");
+
+		Throwable cause = getCauseOfFailure(asyncConverter.convert("someDataString"));
+
+		assertTrue(cause instanceof ConverterException);
+		assertEquals(cause.getMessage(), "No implementations found for unknownName converter.");
+		assertTrue(cause.getCause() instanceof ConverterInitializationException);
+	}
+
+	@Test
+	public void testErrorFailsFutureAndIsRethrown() throws Exception {
+		Error error = new StackOverflowError();
+		ConverterProvider.setConverterFactory(CONVERTER_NAME, new FailingConverterFactory(error));
+		RecordingExecutor executor = new RecordingExecutor();
+		executor.runTasks = false;
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME, executor);
+		CompletableFuture<String> future = asyncConverter.convert(externallyConvertible);
+
+		Error caughtError = null;
+		try {
+			executor.lastTask.run();
+		} catch (Error e) {
+			caughtError = e;
+		}
+
+		assertSame(caughtError, error);
+		assertSame(getCauseOfFailure(future), error);
+	}
+
+	@Test
+	public void testRejectedExecutionFailsFuture() throws Exception {
+		RejectedExecutionException rejected = new RejectedExecutionException();
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME, command -> {
+			throw rejected;
+		});
+
+		Throwable cause = getCauseOfFailure(asyncConverter.convert(externallyConvertible));
+
+		assertTrue(cause instanceof ConverterException);
+		assertEquals(cause.getMessage(), "Unable to start conversion");
+		assertSame(cause.getCause(), rejected);
+	}
+
+	private Throwable getCauseOfFailure(CompletableFuture<?> future) throws Exception {
+		try {
+			future.get(1, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			return e.getCause();
+		}
+		throw new AssertionError("future did not fail");
+	}
+
+	@Test
+	public void testCancelInterruptsRunningConversion() throws Exception {
+		BlockingConverterFactory blockingFactory = new BlockingConverterFactory();
+		ConverterProvider.setConverterFactory(CONVERTER_NAME, blockingFactory);
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME);
+
+		CompletableFuture<String> future = asyncConverter.convert(externallyConvertible);
+		assertTrue(blockingFactory.converter.started.await(1, TimeUnit.SECONDS));
+		assertTrue(future.cancel(true));
+
+		assertTrue(blockingFactory.converter.interrupted.await(1, TimeUnit.SECONDS));
+		assertTrue(future.isCancelled());
+	}
+
+	@Test
+	public void testCancelledConversionIsNotStarted() throws Exception {
+		RecordingExecutor executor = new RecordingExecutor();
+		executor.runTasks = false;
+		AsyncConverter asyncConverter = new AsyncConverter(CONVERTER_NAME, executor);
+		CompletableFuture<String> future = asyncConverter.convert(externallyConvertible);
+
+		future.cancel(true);
+		executor.lastTask.run();
+
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 0);
+		assertFalse(Thread.currentThread().isInterrupted());
+	}
+
+	private static class RecordingExecutor implements Executor {
+		int noOfExecutedTasks = 0;
+		boolean runTasks = true;
+		Runnable lastTask;
+
+		@Override
+		public void execute(Runnable command) {
+			noOfExecutedTasks++;
+			lastTask = command;
+			if (runTasks) {
+				command.run();
+			}
+		}
+	}
+
+	private static class RecordingConverterFactory extends ConverterFactorySpy {
+		Thread factoredInThread;
+		StringToExternallyConvertibleConverterSpy stringToConverter;
+
+		RecordingConverterFactory() {
+			super(CONVERTER_NAME);
+		}
+
+		@Override
+		public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+			factoredInThread = Thread.currentThread();
+			return super.factorExternallyConvertableToStringConverter();
+		}
+
+		@Override
+		public StringToExternallyConvertibleConverter factorStringToExternallyConvertableConverter() {
+			stringToConverter = (StringToExternallyConvertibleConverterSpy) super.factorStringToExternallyConvertableConverter();
+			return stringToConverter;
+		}
+	}
+
+	private static class FailingConverterFactory extends ConverterFactorySpy {
+		private Throwable failure;
+
+		FailingConverterFactory(Throwable failure) {
+			super(CONVERTER_NAME);
+			this.failure = failure;
+		}
+
+		@Override
+		public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+			return new ExternallyConvertibleToStringConverterSpy() {
+				@Override
+				public String convert(ExternallyConvertible externallyConvertible) {
+					if (failure instanceof Error error) {
+						throw error;
+					}
+					throw (RuntimeException) failure;
+				}
+			};
+		}
+	}
+
+	private static class BlockingConverterFactory extends ConverterFactorySpy {
+		BlockingConverter converter = new BlockingConverter();
+
+		BlockingConverterFactory() {
+			super(CONVERTER_NAME);
+		}
+
+		@Override
+		public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+			return converter;
+		}
+	}
+
+	private static class BlockingConverter extends ExternallyConvertibleToStringConverterSpy {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+
+		@Override
+		public String convert(ExternallyConvertible externallyConvertible) {
+			started.countDown();
+			try {
+				new CountDownLatch(1).await();
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return "";
+		}
+	}
+}
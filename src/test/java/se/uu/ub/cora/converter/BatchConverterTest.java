@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+import se.uu.ub.cora.converter.spy.log.LoggerFactorySpy;
+import se.uu.ub.cora.data.ExternallyConvertible;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+public class BatchConverterTest {
+	private static final String CONVERTER_NAME = "batch";
+	private NumberingConverterFactory converterFactory;
+	private ExternalUrls externalUrls;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		LoggerProvider.setLoggerFactory(LoggerFactorySpy.getInstance());
+		ConverterProvider.setUseCachedConverters(false);
+		ConverterProvider.resetConverterFactories();
+		converterFactory = new NumberingConverterFactory();
+		ConverterProvider.setConverterFactory(CONVERTER_NAME, converterFactory);
+		externalUrls = new ExternalUrls();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class, expectedExceptionsMessageRegExp = ""
+			+ "Parallelism must be at least 1, was 0")
+	public void testParallelismMustBeAtLeastOne() throws Exception {
+		new BatchConverter(CONVERTER_NAME, 0);
+	}
+
+	@Test
+	public void testConvertAllEmptyList() throws Exception {
+		BatchConverter batchConverter = new BatchConverter(CONVERTER_NAME, 4);
+
+		assertTrue(batchConverter.convertAll(Collections.emptyList()).isEmpty());
+	}
+
+	@Test
+	public void testConvertAllKeepsOrder() throws Exception {
+		BatchConverter batchConverter = new BatchConverter(CONVERTER_NAME, 4);
+
+		List<String> converted = batchConverter.convertAll(createList(1000));
+
+		assertConvertedInOrder(converted, 1000, "");
+		assertEquals(converterFactory.noOfFactoredConverters, 4);
+	}
+
+	@Test
+	public void testConvertAllWithLinksKeepsOrder() throws Exception {
+		BatchConverter batchConverter = new BatchConverter(CONVERTER_NAME, 3);
+
+		List<String> converted = batchConverter.convertAllWithLinks(createList(100),
+				externalUrls);
+
+		assertConvertedInOrder(converted, 100, "withLinks:");
+		assertEquals(converterFactory.noOfFactoredConverters, 3);
+		for (NumberingConverter converter : converterFactory.converters) {
+			assertSame(converter.externalUrls, externalUrls);
+		}
+	}
+
+	@Test
+	public void testNoMorePartsThanElements() throws Exception {
+		BatchConverter batchConverter = new BatchConverter(CONVERTER_NAME, 8);
+
+		List<String> converted = batchConverter.convertAll(createList(3));
+
+		assertConvertedInOrder(converted, 3, "");
+		assertEquals(converterFactory.noOfFactoredConverters, 3);
+	}
+
+	@Test
+	public void testParallelismOneConvertsInCallingThread() throws Exception {
+		BatchConverter batchConverter = new BatchConverter(CONVERTER_NAME, 1);
+
+		batchConverter.convertAll(createList(10));
+
+		assertEquals(converterFactory.threadNames, Set.of(Thread.currentThread().getName()));
+	}
+
+	@Test
+	public void testDefaultParallelismIsAvailableProcessors() throws Exception {
+		BatchConverter batchConverter = new BatchConverter(CONVERTER_NAME);
+
+		batchConverter.convertAll(createList(1000));
+
+		assertEquals(converterFactory.noOfFactoredConverters,
+				Runtime.getRuntime().availableProcessors());
+	}
+
+	@Test
+	public void testConverterExceptionIsPassedOn() throws Exception {
+		BatchConverter batchConverter = new BatchConverter(CONVERTER_NAME, 4);
+		List<ExternallyConvertible> list = createList(100);
+		list.set(77, new ExternallyConvertibleSpy());
+		Exception caughtException = null;
+		try {
+			batchConverter.convertAll(list);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(), "Unable to convert, thrown by SPY");
+	}
+
+	@Test
+	public void testUnknownConverterNameThrowsInitializationException() throws Exception {
+		ConverterProvider.setConverterFactory("other", new ConverterFactorySpy("other"));
+		BatchConverter batchConverter = new BatchConverter("unknown", 2);
+		Exception caughtException = null;
+		try {
+			batchConverter.convertAll(createList(10));
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+	}
+
+	private List<ExternallyConvertible> createList(int size) {
+		List<ExternallyConvertible> list = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			list.add(new NumberedConvertible(i));
+		}
+		return list;
+	}
+
+	private void assertConvertedInOrder(List<String> converted, int size, String prefix) {
+		assertEquals(converted.size(), size);
+		for (int i = 0; i < size; i++) {
+			assertEquals(converted.get(i), prefix + i);
+		}
+	}
+
+	private static class NumberedConvertible implements ExternallyConvertible {
+		private int number;
+
+		NumberedConvertible(int number) {
+			this.number = number;
+		}
+	}
+
+	private static class NumberingConverterFactory extends ConverterFactorySpy {
+		int noOfFactoredConverters = 0;
+		List<NumberingConverter> converters = Collections.synchronizedList(new ArrayList<>());
+		Set<String> threadNames = ConcurrentHashMap.newKeySet();
+
+		NumberingConverterFactory() {
+			super(CONVERTER_NAME);
+		}
+
+		@Override
+		public synchronized ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+			noOfFactoredConverters++;
+			threadNames.add(Thread.currentThread().getName());
+			NumberingConverter converter = new NumberingConverter();
+			converters.add(converter);
+			return converter;
+		}
+	}
+
+	private static class NumberingConverter implements ExternallyConvertibleToStringConverter {
+		ExternalUrls externalUrls;
+
+		@Override
+		public String convert(ExternallyConvertible externallyConvertible) {
+			if (!(externallyConvertible instanceof NumberedConvertible)) {
+				throw new ConverterException("Unable to convert, thrown by SPY");
+			}
+			return String.valueOf(((NumberedConvertible) externallyConvertible).number);
+		}
+
+		@Override
+		public String convertWithLinks(ExternallyConvertible externallyConvertible,
+				ExternalUrls externalUrls) {
+			this.externalUrls = externalUrls;
+			return "withLinks:" + convert(externallyConvertible);
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.DataEventConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+
+public class CachingConverterFactoryTest {
+	private ConverterFactorySpy converterFactory;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		converterFactory = new ConverterFactorySpy("someName");
+	}
+
+	@Test
+	public void testGetName() throws Exception {
+		CachingConverterFactory cachingFactory = new CachingConverterFactory(converterFactory);
+
+		assertEquals(cachingFactory.getName(), "someName");
+	}
+
+	@Test
+	public void testFactorsThreadSafeConvertersIsTakenFromFactory() throws Exception {
+		assertFalse(new CachingConverterFactory(converterFactory).factorsThreadSafeConverters());
+		converterFactory.threadSafe = true;
+		assertTrue(new CachingConverterFactory(converterFactory).factorsThreadSafeConverters());
+	}
+
+	@Test
+	public void testConvertersAreNotFactoredUntilRequested() throws Exception {
+		new CachingConverterFactory(converterFactory);
+
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 0);
+		assertEquals(converterFactory.noOfFactoredStringToConverters, 0);
+		assertEquals(converterFactory.noOfFactorsThreadSafeConvertersCalls, 0);
+	}
+
+	@Test
+	public void testThreadSafeConvertersAreSharedBetweenThreads() throws Exception {
+		converterFactory.threadSafe = true;
+		CachingConverterFactory cachingFactory = new CachingConverterFactory(converterFactory);
+
+		ExternallyConvertibleToStringConverter toString = cachingFactory
+				.factorExternallyConvertableToStringConverter();
+		StringToExternallyConvertibleConverter stringTo = cachingFactory
+				.factorStringToExternallyConvertableConverter();
+
+		assertSame(cachingFactory.factorExternallyConvertableToStringConverter(), toString);
+		assertSame(cachingFactory.factorStringToExternallyConvertableConverter(), stringTo);
+		assertSame(factorToStringInOtherThread(cachingFactory), toString);
+		assertSame(factorStringToInOtherThread(cachingFactory), stringTo);
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+		assertEquals(converterFactory.noOfFactoredStringToConverters, 1);
+	}
+
+	@Test
+	public void testNotThreadSafeConvertersAreSharedThroughPool() throws Exception {
+		CachingConverterFactory cachingFactory = new CachingConverterFactory(converterFactory);
+
+		ExternallyConvertibleToStringConverter toString = cachingFactory
+				.factorExternallyConvertableToStringConverter();
+		StringToExternallyConvertibleConverter stringTo = cachingFactory
+				.factorStringToExternallyConvertableConverter();
+
+		assertTrue(toString instanceof PoolingToStringConverter);
+		assertTrue(stringTo instanceof PoolingFromStringConverter);
+		assertSame(cachingFactory.factorExternallyConvertableToStringConverter(), toString);
+		assertSame(cachingFactory.factorStringToExternallyConvertableConverter(), stringTo);
+		assertSame(factorToStringInOtherThread(cachingFactory), toString);
+		assertSame(factorStringToInOtherThread(cachingFactory), stringTo);
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+		assertEquals(converterFactory.noOfFactoredStringToConverters, 1);
+	}
+
+	@Test
+	public void testPooledConverterIsReusedBetweenVirtualThreads() throws Exception {
+		CachingConverterFactory cachingFactory = new CachingConverterFactory(converterFactory);
+		ExternallyConvertibleToStringConverter toString = cachingFactory
+				.factorExternallyConvertableToStringConverter();
+		StringToExternallyConvertibleConverter stringTo = cachingFactory
+				.factorStringToExternallyConvertableConverter();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 10; i++) {
+				assertEquals(executor.submit(() -> toString.convert(new ExternallyConvertibleSpy()))
+						.get(), "someConvertedString");
+				assertTrue(executor.submit(() -> stringTo.convert("someString"))
+						.get() instanceof ExternallyConvertibleSpy);
+			}
+		}
+
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+		assertEquals(converterFactory.noOfFactoredStringToConverters, 1);
+	}
+
+	@Test
+	public void testConvertFromManyVirtualThreadsIsBoundedByPool() throws Exception {
+		CachingConverterFactory cachingFactory = new CachingConverterFactory(converterFactory);
+		ExternallyConvertibleToStringConverter toString = cachingFactory
+				.factorExternallyConvertableToStringConverter();
+		List<Future<String>> results = new ArrayList<>();
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < 1000; i++) {
+				results.add(
+						executor.submit(() -> toString.convert(new ExternallyConvertibleSpy())));
+			}
+		}
+
+		for (Future<String> result : results) {
+			assertEquals(result.get(), "someConvertedString");
+		}
+		assertTrue(converterFactory.noOfFactoredToStringConverters <= 1
+				+ CachingConverterFactory.POOL_CAPACITY);
+	}
+
+	private ExternallyConvertibleToStringConverter factorToStringInOtherThread(
+			CachingConverterFactory cachingFactory) throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			return executor.submit(cachingFactory::factorExternallyConvertableToStringConverter)
+					.get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private StringToExternallyConvertibleConverter factorStringToInOtherThread(
+			CachingConverterFactory cachingFactory) throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			return executor.submit(cachingFactory::factorStringToExternallyConvertableConverter)
+					.get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testDataEventsAreTakenFromFactory() throws Exception {
+		DataEventConverterFactorySpy dataEventFactory = new DataEventConverterFactorySpy(
+				"someName");
+		ConverterFactory factory = new CachingConverterFactory(dataEventFactory);
+
+		assertTrue(factory.supportsDataEvents());
+		assertSame(factory.factorDataEventReader(), dataEventFactory.reader);
+		assertSame(factory.factorDataEventWriter(), dataEventFactory.writer);
+	}
+}
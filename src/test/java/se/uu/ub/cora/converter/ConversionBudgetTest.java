@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Duration;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+
+public class ConversionBudgetTest {
+	private static final long MILLIS = 1_000_000;
+	private long nanoTime;
+	private ConversionBudget budget;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		nanoTime = 5000 * MILLIS;
+		budget = createBudget(Duration.ofMillis(100), 1000, Duration.ofSeconds(1));
+	}
+
+	private ConversionBudget createBudget(Duration maxDuration, long maxSize,
+			Duration minTimeBetweenWarnings) {
+		return new ConversionBudget(maxDuration, maxSize, minTimeBetweenWarnings,
+				externallyConvertible -> "book", () -> nanoTime);
+	}
+
+	@Test
+	public void testMaxDurationMustBePositive() throws Exception {
+		Exception caughtException = null;
+		try {
+			createBudget(Duration.ZERO, 1000, Duration.ofSeconds(1));
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(), "Max duration must be positive, was PT0S");
+	}
+
+	@Test
+	public void testMaxSizeMustBeAtLeastOne() throws Exception {
+		Exception caughtException = null;
+		try {
+			createBudget(Duration.ofMillis(100), 0, Duration.ofSeconds(1));
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(), "Max size must be at least 1, was 0");
+	}
+
+	@Test
+	public void testMinTimeBetweenWarningsMustNotBeNegative() throws Exception {
+		Exception caughtException = null;
+		try {
+			createBudget(Duration.ofMillis(100), 1000, Duration.ofSeconds(-1));
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(),
+				"Min time between warnings must not be negative, was PT-1S");
+	}
+
+	@Test
+	public void testConversionWithinBudget() throws Exception {
+		Conversion conversion = createConversion(ConversionDirection.TO_STRING, 100, 1000);
+
+		assertNull(budget.checkConversion(conversion));
+		assertEquals(budget.getNoOfOverBudget(), 0);
+	}
+
+	@Test
+	public void testConversionOverDuration() throws Exception {
+		Conversion conversion = createConversion(ConversionDirection.TO_STRING, 250, 1000);
+
+		assertEquals(budget.checkConversion(conversion), "Conversion over budget, exceeded: "
+				+ "duration, converterName: xml, direction: TO_STRING, nameInData: book, "
+				+ "withLinks: false, durationMillis: 250, inputSize: -1, outputSize: 1000, "
+				+ "inputBytes: -1, outputBytes: -1, failed: false, suppressedWarnings: 0");
+		assertEquals(budget.getNoOfOverBudget(), 1);
+	}
+
+	@Test
+	public void testConversionToStringOverSize() throws Exception {
+		Conversion conversion = createConversion(ConversionDirection.TO_STRING, 10, 1001);
+
+		assertTrue(budget.checkConversion(conversion)
+				.startsWith("Conversion over budget, exceeded: size,"));
+	}
+
+	@Test
+	public void testConversionToStreamOverSizeUsesOutputBytes() throws Exception {
+		Conversion conversion = createConversion(ConversionDirection.TO_STRING, 10,
+				Conversion.UNKNOWN_SIZE);
+		conversion.setOutputBytes(1001);
+
+		assertTrue(budget.checkConversion(conversion)
+				.startsWith("Conversion over budget, exceeded: size,"));
+	}
+
+	@Test
+	public void testConversionFromStringOverSizeUsesInputSize() throws Exception {
+		Conversion conversion = createConversion(ConversionDirection.FROM_STRING, 10, 10);
+		conversion.setInputSize(1001);
+
+		assertTrue(budget.checkConversion(conversion)
+				.startsWith("Conversion over budget, exceeded: size,"));
+	}
+
+	@Test
+	public void testConversionOverDurationAndSize() throws Exception {
+		Conversion conversion = createConversion(ConversionDirection.TO_STRING, 250, 1001);
+
+		assertTrue(budget.checkConversion(conversion)
+				.startsWith("Conversion over budget, exceeded: duration and size,"));
+	}
+
+	@Test
+	public void testUnknownNameInData() throws Exception {
+		Conversion conversion = createConversion(ConversionDirection.FROM_STRING, 250, 10);
+		conversion.setExternallyConvertible(null);
+		conversion.setFailure(new ConverterException("some error"));
+
+		String warning = budget.checkConversion(conversion);
+
+		assertTrue(warning.contains(", nameInData: unknown,"));
+		assertTrue(warning.contains(", failed: true,"));
+	}
+
+	@Test
+	public void testWarningsAreRateLimited() throws Exception {
+		Conversion conversion = createConversion(ConversionDirection.TO_STRING, 250, 10);
+
+		assertTrue(budget.checkConversion(conversion).endsWith("suppressedWarnings: 0"));
+		nanoTime += 999 * MILLIS;
+		assertNull(budget.checkConversion(conversion));
+		assertNull(budget.checkConversion(conversion));
+		assertEquals(budget.getNoOfSuppressedWarnings(), 2);
+
+		nanoTime += 1 * MILLIS;
+		assertTrue(budget.checkConversion(conversion).endsWith("suppressedWarnings: 2"));
+		assertEquals(budget.getNoOfSuppressedWarnings(), 0);
+		assertEquals(budget.getNoOfOverBudget(), 4);
+	}
+
+	@Test
+	public void testNoRateLimitWithZeroTimeBetweenWarnings() throws Exception {
+		budget = createBudget(Duration.ofMillis(100), 1000, Duration.ZERO);
+		Conversion conversion = createConversion(ConversionDirection.TO_STRING, 250, 10);
+
+		budget.checkConversion(conversion);
+
+		assertTrue(budget.checkConversion(conversion).endsWith("suppressedWarnings: 0"));
+	}
+
+	private Conversion createConversion(ConversionDirection direction, long durationMillis,
+			long outputSize) {
+		Conversion conversion = new Conversion("xml", direction, false);
+		conversion.setExternallyConvertible(new ExternallyConvertibleSpy());
+		conversion.setDurationNanos(durationMillis * MILLIS);
+		conversion.setOutputSize(outputSize);
+		return conversion;
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class ConversionEventObserverTest {
+	private ConversionEventObserver observer;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		observer = new ConversionEventObserver();
+	}
+
+	@Test
+	public void testNoEventCreatedWithoutRecording() throws Exception {
+		Conversion conversion = new Conversion("xml", ConversionDirection.TO_STRING, false);
+
+		Object startState = observer.conversionStarted(conversion);
+		observer.conversionEnded(conversion, startState);
+
+		assertNull(startState);
+	}
+
+	@Test
+	public void testIsObservingOnlyWhileEventIsEnabledInARecording() throws Exception {
+		assertFalse(observer.isObserving());
+
+		try (Recording recording = new Recording()) {
+			recording.enable(ConversionEvent.NAME);
+			recording.start();
+			assertTrue(observer.isObserving());
+			recording.stop();
+		}
+
+		assertFalse(observer.isObserving());
+	}
+
+	@Test
+	public void testSucceededConversionIsRecorded() throws Exception {
+		Conversion conversion = new Conversion("xml", ConversionDirection.FROM_STRING, true);
+		conversion.setInputSize(100);
+		conversion.setOutputSize(200);
+
+		List<RecordedEvent> events = recordConversions(conversion);
+
+		assertEquals(events.size(), 1);
+		RecordedEvent event = events.get(0);
+		assertEquals(event.getString("converterName"), "xml");
+		assertEquals(event.getString("direction"), "FROM_STRING");
+		assertTrue(event.getBoolean("withLinks"));
+		assertEquals(event.getLong("inputSize"), 100);
+		assertEquals(event.getLong("outputSize"), 200);
+		assertEquals(event.getLong("inputBytes"), Conversion.UNKNOWN_SIZE);
+		assertEquals(event.getLong("outputBytes"), Conversion.UNKNOWN_SIZE);
+		assertEquals(event.getString("outcome"), "SUCCEEDED");
+		assertNull(event.getClass("exceptionClass"));
+	}
+
+	@Test
+	public void testFailedConversionIsRecorded() throws Exception {
+		Conversion conversion = new Conversion("json", ConversionDirection.TO_STRING, false);
+		conversion.setFailure(new ConverterException("some error"));
+
+		List<RecordedEvent> events = recordConversions(conversion);
+
+		RecordedEvent event = events.get(0);
+		assertEquals(event.getString("converterName"), "json");
+		assertEquals(event.getString("direction"), "TO_STRING");
+		assertFalse(event.getBoolean("withLinks"));
+		assertEquals(event.getLong("inputSize"), Conversion.UNKNOWN_SIZE);
+		assertEquals(event.getString("outcome"), "FAILED");
+		assertEquals(event.getClass("exceptionClass").getName(),
+				ConverterException.class.getName());
+	}
+
+	@Test
+	public void testSizesInBytesAreRecorded() throws Exception {
+		Conversion conversion = new Conversion("xml", ConversionDirection.FROM_STRING, false);
+		conversion.setInputBytes(300);
+
+		List<RecordedEvent> events = recordConversions(conversion);
+
+		assertEquals(events.get(0).getLong("inputSize"), Conversion.UNKNOWN_SIZE);
+		assertEquals(events.get(0).getLong("inputBytes"), 300);
+	}
+
+	@Test
+	public void testNoEventRecordedWhenEventIsDisabled() throws Exception {
+		Conversion conversion = new Conversion("xml", ConversionDirection.TO_STRING, false);
+
+		List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.disable(ConversionEvent.NAME);
+			recording.start();
+			observer.conversionEnded(conversion, observer.conversionStarted(conversion));
+			recording.stop();
+			events = readConversionEvents(recording);
+		}
+
+		assertTrue(events.isEmpty());
+	}
+
+	private List<RecordedEvent> recordConversions(Conversion... conversions) throws Exception {
+		try (Recording recording = new Recording()) {
+			recording.enable(ConversionEvent.NAME);
+			recording.start();
+			for (Conversion conversion : conversions) {
+				observer.conversionEnded(conversion, observer.conversionStarted(conversion));
+			}
+			recording.stop();
+			return readConversionEvents(recording);
+		}
+	}
+
+	private List<RecordedEvent> readConversionEvents(Recording recording) throws Exception {
+		Path file = Files.createTempFile("conversionEvents", ".jfr");
+		try {
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+					.filter(event -> event.getEventType().getName().equals(ConversionEvent.NAME))
+					.toList();
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.ConversionMetricsSnapshot.SizeSnapshot;
+
+public class ConversionMetricsObserverTest {
+	private ConversionMetricsObserver observer;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		observer = new ConversionMetricsObserver();
+	}
+
+	@Test
+	public void testNoSnapshotsBeforeConversions() throws Exception {
+		assertTrue(observer.getSnapshots().isEmpty());
+	}
+
+	@Test
+	public void testConversionsAreCountedPerNameAndDirection() throws Exception {
+		observer.conversionEnded(createConversion("xml", ConversionDirection.TO_STRING, 1000),
+				null);
+		observer.conversionEnded(createConversion("xml", ConversionDirection.TO_STRING, 3000),
+				null);
+		observer.conversionEnded(createConversion("json", ConversionDirection.TO_STRING, 1000),
+				null);
+		observer.conversionEnded(createConversion("xml", ConversionDirection.FROM_STRING, 1000),
+				null);
+
+		List<ConversionMetricsSnapshot> snapshots = observer.getSnapshots();
+
+		assertEquals(snapshots.size(), 3);
+		assertSnapshot(snapshots.get(0), "json", ConversionDirection.TO_STRING, 1);
+		assertSnapshot(snapshots.get(1), "xml", ConversionDirection.TO_STRING, 2);
+		assertSnapshot(snapshots.get(2), "xml", ConversionDirection.FROM_STRING, 1);
+		assertEquals(snapshots.get(1).getTotalDurationNanos(), 4000);
+		assertEquals(snapshots.get(1).getMaxDurationNanos(), 3000);
+	}
+
+	private Conversion createConversion(String name, ConversionDirection direction,
+			long durationNanos) {
+		Conversion conversion = new Conversion(name, direction, false);
+		conversion.setDurationNanos(durationNanos);
+		return conversion;
+	}
+
+	private void assertSnapshot(ConversionMetricsSnapshot snapshot, String name,
+			ConversionDirection direction, long noOfCalls) {
+		assertEquals(snapshot.getConverterName(), name);
+		assertEquals(snapshot.getDirection(), direction);
+		assertEquals(snapshot.getNoOfCalls(), noOfCalls);
+	}
+
+	@Test
+	public void testFailuresAreCounted() throws Exception {
+		Conversion failed = createConversion("xml", ConversionDirection.TO_STRING, 1000);
+		failed.setFailure(new ConverterException("someError"));
+		observer.conversionEnded(failed, null);
+		observer.conversionEnded(createConversion("xml", ConversionDirection.TO_STRING, 1000),
+				null);
+
+		ConversionMetricsSnapshot snapshot = observer.getSnapshots().get(0);
+
+		assertEquals(snapshot.getNoOfCalls(), 2);
+		assertEquals(snapshot.getNoOfFailures(), 1);
+	}
+
+	@Test
+	public void testSizesAreOnlyRecordedWhenKnown() throws Exception {
+		Conversion first = createConversion("xml", ConversionDirection.TO_STRING, 1000);
+		first.setOutputSize(100);
+		observer.conversionEnded(first, null);
+		Conversion second = createConversion("xml", ConversionDirection.TO_STRING, 1000);
+		second.setOutputSize(300);
+		observer.conversionEnded(second, null);
+		observer.conversionEnded(createConversion("xml", ConversionDirection.TO_STRING, 1000),
+				null);
+
+		ConversionMetricsSnapshot snapshot = observer.getSnapshots().get(0);
+
+		assertSize(snapshot.getInputSize(), 0, 0, 0);
+		assertSize(snapshot.getOutputSize(), 2, 400, 300);
+	}
+
+	@Test
+	public void testSizesInCharactersAndBytesAreRecordedSeparately() throws Exception {
+		Conversion inCharacters = createConversion("xml", ConversionDirection.FROM_STRING, 1000);
+		inCharacters.setInputSize(100);
+		observer.conversionEnded(inCharacters, null);
+		Conversion inBytes = createConversion("xml", ConversionDirection.FROM_STRING, 1000);
+		inBytes.setInputBytes(250);
+		observer.conversionEnded(inBytes, null);
+		Conversion outBytes = createConversion("xml", ConversionDirection.TO_STRING, 1000);
+		outBytes.setOutputBytes(400);
+		observer.conversionEnded(outBytes, null);
+
+		List<ConversionMetricsSnapshot> snapshots = observer.getSnapshots();
+
+		assertSize(snapshots.get(0).getOutputSize(), 0, 0, 0);
+		assertSize(snapshots.get(0).getOutputBytes(), 1, 400, 400);
+		assertSize(snapshots.get(1).getInputSize(), 1, 100, 100);
+		assertSize(snapshots.get(1).getInputBytes(), 1, 250, 250);
+	}
+
+	private void assertSize(SizeSnapshot size, long noOfMeasurements, long total, long max) {
+		assertEquals(size.getNoOfMeasurements(), noOfMeasurements);
+		assertEquals(size.getTotal(), total);
+		assertEquals(size.getMax(), max);
+	}
+
+	@Test
+	public void testLatencyBuckets() throws Exception {
+		assertEquals(ConversionMetricsObserver.getLatencyBucketIndex(0), 0);
+		assertEquals(ConversionMetricsObserver.getLatencyBucketIndex(1000), 0);
+		assertEquals(ConversionMetricsObserver.getLatencyBucketIndex(1001), 1);
+		assertEquals(ConversionMetricsObserver.getLatencyBucketIndex(2000), 1);
+		assertEquals(ConversionMetricsObserver.getLatencyBucketIndex(3000), 2);
+		assertEquals(ConversionMetricsObserver.getLatencyBucketIndex(4000), 2);
+		assertEquals(ConversionMetricsObserver.getLatencyBucketIndex(1_000_000), 10);
+		assertEquals(ConversionMetricsObserver.getLatencyBucketIndex(Long.MAX_VALUE), 25);
+	}
+
+	@Test
+	public void testLatencyHistogramInSnapshot() throws Exception {
+		observer.conversionEnded(createConversion("xml", ConversionDirection.TO_STRING, 500),
+				null);
+		observer.conversionEnded(createConversion("xml", ConversionDirection.TO_STRING, 3000),
+				null);
+		observer.conversionEnded(createConversion("xml", ConversionDirection.TO_STRING, 4000),
+				null);
+
+		ConversionMetricsSnapshot snapshot = observer.getSnapshots().get(0);
+
+		long[] bounds = snapshot.getLatencyBucketUpperBoundsMicros();
+		long[] counts = snapshot.getLatencyBucketCounts();
+		assertEquals(bounds.length, 26);
+		assertEquals(counts.length, 26);
+		assertEquals(bounds[0], 1);
+		assertEquals(bounds[2], 4);
+		assertEquals(bounds[25], Long.MAX_VALUE);
+		assertEquals(counts[0], 1);
+		assertEquals(counts[2], 2);
+	}
+
+	@Test
+	public void testReset() throws Exception {
+		observer.conversionEnded(createConversion("xml", ConversionDirection.TO_STRING, 500),
+				null);
+
+		observer.reset();
+
+		assertTrue(observer.getSnapshots().isEmpty());
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConversionObserverSpy implements ConversionObserver {
+	public List<Conversion> startedConversions = new ArrayList<>();
+	public List<Conversion> endedConversions = new ArrayList<>();
+	public List<Object> endedStartStates = new ArrayList<>();
+	public List<Long> outputSizesAtStart = new ArrayList<>();
+	public Object startStateToReturn = new Object();
+	public List<String> callOrder;
+	public String name = "spy";
+	public boolean observing = true;
+
+	@Override
+	public boolean isObserving() {
+		return observing;
+	}
+
+	@Override
+	public Object conversionStarted(Conversion conversion) {
+		startedConversions.add(conversion);
+		outputSizesAtStart.add(conversion.getOutputSize());
+		addToCallOrder("started:" + name);
+		return startStateToReturn;
+	}
+
+	@Override
+	public void conversionEnded(Conversion conversion, Object startState) {
+		endedConversions.add(conversion);
+		endedStartStates.add(startState);
+		addToCallOrder("ended:" + name);
+	}
+
+	private void addToCallOrder(String call) {
+		if (callOrder != null) {
+			callOrder.add(call);
+		}
+	}
+}
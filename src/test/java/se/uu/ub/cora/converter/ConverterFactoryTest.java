@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+
+public class ConverterFactoryTest {
+	private ConverterFactory converterFactory = new ConverterFactorySpy("someName");
+
+	@Test
+	public void testDataEventsAreNotSupportedByDefault() throws Exception {
+		assertFalse(converterFactory.supportsDataEvents());
+	}
+
+	@Test
+	public void testFactorDataEventReaderThrowsErrorByDefault() throws Exception {
+		Exception caughtException = null;
+		try {
+			converterFactory.factorDataEventReader();
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertDataEventsNotSupported(caughtException);
+	}
+
+	private void assertDataEventsNotSupported(Exception caughtException) {
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(),
+				"Data events are not supported by someName converter.");
+	}
+
+	@Test
+	public void testFactorDataEventWriterThrowsErrorByDefault() throws Exception {
+		Exception caughtException = null;
+		try {
+			converterFactory.factorDataEventWriter();
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertDataEventsNotSupported(caughtException);
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ConverterPoolTest {
+	private int noOfFactoredConverters;
+	private ConverterPool<Object> pool;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		noOfFactoredConverters = 0;
+		pool = new ConverterPool<>(this::factorConverter, 2);
+	}
+
+	private Object factorConverter() {
+		noOfFactoredConverters++;
+		return new Object();
+	}
+
+	@Test
+	public void testCapacityMustBeAtLeastOne() throws Exception {
+		Exception caughtException = null;
+		try {
+			new ConverterPool<>(Object::new, 0);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(), "Capacity must be at least 1, was 0");
+	}
+
+	@Test
+	public void testBorrowFactorsConverterWhenNoneIsKept() throws Exception {
+		Object first = pool.borrow();
+		Object second = pool.borrow();
+
+		assertNotSame(first, second);
+		assertEquals(noOfFactoredConverters, 2);
+	}
+
+	@Test
+	public void testReleasedConverterIsReused() throws Exception {
+		Object converter = pool.borrow();
+		pool.release(converter);
+
+		assertSame(pool.borrow(), converter);
+		assertEquals(noOfFactoredConverters, 1);
+	}
+
+	@Test
+	public void testConvertersOverCapacityAreDropped() throws Exception {
+		Object first = pool.borrow();
+		Object second = pool.borrow();
+		Object third = pool.borrow();
+
+		pool.release(first);
+		pool.release(second);
+		pool.release(third);
+
+		assertEquals(pool.getNoOfIdleConverters(), 2);
+		assertSame(pool.borrow(), first);
+		assertSame(pool.borrow(), second);
+		pool.borrow();
+		assertEquals(noOfFactoredConverters, 4);
+	}
+
+	@Test
+	public void testUseReturnsConverterAfterCall() throws Exception {
+		Object usedConverter = pool.use(converter -> converter);
+
+		assertEquals(pool.getNoOfIdleConverters(), 1);
+		assertSame(pool.borrow(), usedConverter);
+	}
+
+	@Test
+	public void testUseReturnsConverterAlsoOnException() throws Exception {
+		Exception caughtException = null;
+		try {
+			pool.use(converter -> {
+				throw new ConverterException("someError");
+			});
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(pool.getNoOfIdleConverters(), 1);
+		assertEquals(noOfFactoredConverters, 1);
+	}
+}
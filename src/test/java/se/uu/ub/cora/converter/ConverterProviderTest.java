@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2021 Uppsala University Library
+ * Copyright 2019, 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -21,21 +21,51 @@ package se.uu.ub.cora.converter;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.ServiceLoader;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Test;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
 import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.DataEventConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
 import se.uu.ub.cora.converter.spy.ExternallyConvertibleToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.LinkBuildingToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.RecordVersionResolverSpy;
+import se.uu.ub.cora.converter.spy.SizeHintedToStringConverterSpy;
 import se.uu.ub.cora.converter.spy.StringToExternallyConvertibleConverterSpy;
 import se.uu.ub.cora.converter.spy.log.LoggerFactorySpy;
 import se.uu.ub.cora.converter.starter.ConverterModuleStarter;
@@ -63,7 +93,17 @@ public class ConverterProviderTest {
 		loggerFactorySpy = LoggerFactorySpy.getInstance();
 		loggerFactorySpy.resetLogs(testedClassName);
 		LoggerProvider.setLoggerFactory(loggerFactorySpy);
+		ConverterProvider.setUseCachedConverters(false);
+		ConverterProvider.setCollectConversionMetrics(false);
+		ConverterProvider.resetConversionMetrics();
+		ConverterProvider.resetConversionCaches();
 		ConverterProvider.resetConverterFactories();
+		ConverterProvider.resetConverterHandles();
+		ConverterProvider.resetOutputBufferPool();
+		ConverterProvider.resetConversionBudgets();
+		ConverterProvider.setResourceAccounting(null);
+		ConverterProvider.shutdown();
+		loggerFactorySpy.resetLogs("ConversionBudget");
 	}
 
 	@Test
@@ -85,11 +125,129 @@ public class ConverterProviderTest {
 
 	@Test
 	public void testStartingOfProviderFactoryCanOnlyBeDoneByOneThreadAtATime() throws Exception {
+		Method declaredMethod = ConverterProvider.class
+				.getDeclaredMethod("startConverterFactories");
+		assertTrue(Modifier.isSynchronized(declaredMethod.getModifiers()));
+	}
+
+	@Test
+	public void testLookupAfterStartupIsNotSynchronized() throws Exception {
 		Method declaredMethod = ConverterProvider.class
 				.getDeclaredMethod("ensureConverterFactoryIsSet");
+		assertFalse(Modifier.isSynchronized(declaredMethod.getModifiers()));
+	}
+
+	@Test
+	public void testSetConverterFactoryIsSynchronized() throws Exception {
+		Method declaredMethod = ConverterProvider.class.getDeclaredMethod("setConverterFactory",
+				String.class, ConverterFactory.class);
 		assertTrue(Modifier.isSynchronized(declaredMethod.getModifiers()));
 	}
 
+	@Test
+	public void testSetConverterFactoryWithNullNameThrowsError() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		Exception caughtException = null;
+		try {
+			ConverterProvider.setConverterFactory(null, new ConverterFactorySpy("xml1"));
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof NullPointerException);
+		assertEquals(caughtException.getMessage(), "Converter name must not be null");
+		assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+				"xml0") instanceof ExternallyConvertibleToStringConverterSpy);
+	}
+
+	@Test
+	public void testSetConverterFactoryWithNullFactoryThrowsError() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		Exception caughtException = null;
+		try {
+			ConverterProvider.setConverterFactory("xml0", null);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof NullPointerException);
+		assertEquals(caughtException.getMessage(), "ConverterFactory for xml0 must not be null");
+		assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+				"xml0") instanceof ExternallyConvertibleToStringConverterSpy);
+	}
+
+	@Test
+	public void testManyThreadsLookingUpConvertersStartsFactoriesOnlyOnce() throws Exception {
+		ConverterModuleStarterSpy starter = startAndSetConverterModuleStarterSpy(4);
+
+		runInManyThreadsAtTheSameTime(() -> {
+			for (int i = 0; i < 100; i++) {
+				assertEquals(((ExternallyConvertibleToStringConverterSpy) ConverterProvider
+						.getExternallyConvertibleToStringConverter("xml" + (i % 4))).factoryName,
+						"xml" + (i % 4));
+				ConverterProvider.getStringToExternallyConvertibleConverter("xml" + (i % 4));
+			}
+			return null;
+		});
+
+		assertEquals(starter.noOfStartCalls, 1);
+		assertEquals(loggerFactorySpy.getNoOfInfoLogMessagesUsingClassName(testedClassName), 2);
+	}
+
+	@Test
+	public void testManyThreadsSettingConverterFactoriesKeepsAllFactories() throws Exception {
+		ConverterModuleStarterSpy starter = startAndSetConverterModuleStarterSpy(1);
+		int noOfThreads = 50;
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int i = 0; i < noOfThreads; i++) {
+			String name = "set" + i;
+			tasks.add(() -> {
+				ConverterProvider.setConverterFactory(name, new ConverterFactorySpy(name));
+				ConverterProvider.getExternallyConvertibleToStringConverter(name);
+				return null;
+			});
+		}
+
+		runAllAtTheSameTime(tasks);
+
+		for (int i = 0; i < noOfThreads; i++) {
+			ExternallyConvertibleToStringConverterSpy converter = (ExternallyConvertibleToStringConverterSpy) ConverterProvider
+					.getExternallyConvertibleToStringConverter("set" + i);
+			assertEquals(converter.factoryName, "set" + i);
+		}
+		assertFalse(starter.startWasCalled);
+	}
+
+	private void runInManyThreadsAtTheSameTime(Callable<Void> task) throws Exception {
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			tasks.add(task);
+		}
+		runAllAtTheSameTime(tasks);
+	}
+
+	private void runAllAtTheSameTime(List<Callable<Void>> tasks) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+		try {
+			CountDownLatch startSignal = new CountDownLatch(1);
+			List<Future<Void>> futures = new ArrayList<>();
+			for (Callable<Void> task : tasks) {
+				futures.add(executor.submit(() -> {
+					startSignal.await();
+					return task.call();
+				}));
+			}
+			startSignal.countDown();
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void testConverterFactoriesAreLoadedOnlyOnce() throws Exception {
 		ConverterModuleStarterSpy startAndSetConverterModuleStarterSpy = startAndSetConverterModuleStarterSpy(
@@ -280,4 +438,872 @@ public class ConverterProviderTest {
 
 	}
 
+	@Test
+	public void testNewConvertersAreFactoredForEachCallByDefault() throws Exception {
+		ConverterFactorySpy converterFactory = new ConverterFactorySpy("xml0");
+		converterFactory.threadSafe = true;
+		ConverterProvider.setConverterFactory("xml0", converterFactory);
+
+		assertNotSame(ConverterProvider.getExternallyConvertibleToStringConverter("xml0"),
+				ConverterProvider.getExternallyConvertibleToStringConverter("xml0"));
+		assertNotSame(ConverterProvider.getStringToExternallyConvertibleConverter("xml0"),
+				ConverterProvider.getStringToExternallyConvertibleConverter("xml0"));
+	}
+
+	@Test
+	public void testCachedConvertersAreReused() throws Exception {
+		ConverterProvider.setUseCachedConverters(true);
+		ConverterFactorySpy converterFactory = new ConverterFactorySpy("xml0");
+		ConverterProvider.setConverterFactory("xml0", converterFactory);
+
+		assertSame(ConverterProvider.getExternallyConvertibleToStringConverter("xml0"),
+				ConverterProvider.getExternallyConvertibleToStringConverter("xml0"));
+		assertSame(ConverterProvider.getStringToExternallyConvertibleConverter("xml0"),
+				ConverterProvider.getStringToExternallyConvertibleConverter("xml0"));
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+		assertEquals(converterFactory.noOfFactoredStringToConverters, 1);
+	}
+
+	@Test
+	public void testCachedConvertersCanBeTurnedOnAfterStartup() throws Exception {
+		startAndSetConverterModuleStarterSpy(1);
+		ConverterProvider.getExternallyConvertibleToStringConverter(converterName);
+
+		ConverterProvider.setUseCachedConverters(true);
+
+		assertSame(ConverterProvider.getExternallyConvertibleToStringConverter(converterName),
+				ConverterProvider.getExternallyConvertibleToStringConverter(converterName));
+	}
+
+	@Test
+	public void testCachedConvertersCanBeTurnedOff() throws Exception {
+		ConverterProvider.setUseCachedConverters(true);
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		ConverterProvider.setUseCachedConverters(false);
+
+		assertNotSame(ConverterProvider.getExternallyConvertibleToStringConverter("xml0"),
+				ConverterProvider.getExternallyConvertibleToStringConverter("xml0"));
+	}
+
+	@Test
+	public void testCachedConvertersUseSetConverterFactory() throws Exception {
+		ConverterProvider.setUseCachedConverters(true);
+		ConverterFactorySpy firstFactory = new ConverterFactorySpy("first");
+		ConverterProvider.setConverterFactory("xml0", firstFactory);
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+
+		ConverterFactorySpy secondFactory = new ConverterFactorySpy("second");
+		ConverterProvider.setConverterFactory("xml0", secondFactory);
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+		assertEquals(firstFactory.noOfFactoredToStringConverters, 1);
+		assertEquals(secondFactory.noOfFactoredToStringConverters, 1);
+	}
+
+	@Test
+	public void testNoConversionMetricsByDefault() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+
+		assertTrue(ConverterProvider.getConversionMetrics().isEmpty());
+	}
+
+	@Test
+	public void testConversionMetricsAreCollectedWhenTurnedOn() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setCollectConversionMetrics(true);
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convertWithLinks(new ExternallyConvertibleSpy(), new ExternalUrls());
+		ConverterProvider.getStringToExternallyConvertibleConverter("xml0").convert("someData");
+
+		List<ConversionMetricsSnapshot> metrics = ConverterProvider.getConversionMetrics();
+		assertEquals(metrics.size(), 2);
+		assertEquals(metrics.get(0).getConverterName(), "xml0");
+		assertEquals(metrics.get(0).getDirection(), ConversionDirection.TO_STRING);
+		assertEquals(metrics.get(0).getNoOfCalls(), 2);
+		assertEquals(metrics.get(1).getDirection(), ConversionDirection.FROM_STRING);
+		assertEquals(metrics.get(1).getNoOfCalls(), 1);
+		assertEquals(metrics.get(1).getInputSize().getTotal(), "someData".length());
+	}
+
+	@Test
+	public void testConvertersNotWrappedForConversionEventsByDefault() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+				"xml0") instanceof ExternallyConvertibleToStringConverterSpy);
+	}
+
+	@Test
+	public void testConvertersAreWrappedForConversionEventsOnlyWhileRecording() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterHandle handle = ConverterProvider.handle("xml0");
+
+		try (Recording recording = new Recording()) {
+			recording.enable(ConversionEvent.NAME);
+			recording.start();
+			assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+					"xml0") instanceof ObservingToStringConverter);
+			assertTrue(handle
+					.getStringToExternallyConvertibleConverter() instanceof ObservingFromStringConverter);
+			recording.stop();
+		}
+
+		assertTrue(handle
+				.getExternallyConvertibleToStringConverter() instanceof ExternallyConvertibleToStringConverterSpy);
+		assertTrue(ConverterProvider.getStringToExternallyConvertibleConverter(
+				"xml0") instanceof StringToExternallyConvertibleConverterSpy);
+	}
+
+	@Test
+	public void testConversionEventsAreRecordedWhileRecording() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		List<RecordedEvent> events;
+		try (Recording recording = new Recording()) {
+			recording.enable(ConversionEvent.NAME);
+			recording.start();
+			ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+					.convertWithLinks(new ExternallyConvertibleSpy(), new ExternalUrls());
+			ConverterProvider.getStringToExternallyConvertibleConverter("xml0").convert("someData");
+			recording.stop();
+			Path file = Files.createTempFile("conversionEvents", ".jfr");
+			recording.dump(file);
+			events = RecordingFile.readAllEvents(file).stream()
+					.filter(event -> event.getEventType().getName().equals(ConversionEvent.NAME))
+					.toList();
+			Files.delete(file);
+		}
+
+		assertEquals(events.size(), 2);
+		assertEquals(events.get(0).getString("direction"), "TO_STRING");
+		assertTrue(events.get(0).getBoolean("withLinks"));
+		assertEquals(events.get(0).getLong("outputSize"),
+				"someConvertedWithLinksString".length());
+		assertEquals(events.get(1).getString("direction"), "FROM_STRING");
+		assertEquals(events.get(1).getLong("inputSize"), "someData".length());
+	}
+
+	@Test
+	public void testConversionMetricsWorkWithCachedConverters() throws Exception {
+		ConverterFactorySpy converterFactory = new ConverterFactorySpy("xml0");
+		ConverterProvider.setConverterFactory("xml0", converterFactory);
+		ConverterProvider.setCollectConversionMetrics(true);
+		ConverterProvider.setUseCachedConverters(true);
+
+		ExternallyConvertibleToStringConverter converter = ConverterProvider
+				.getExternallyConvertibleToStringConverter("xml0");
+		converter.convert(new ExternallyConvertibleSpy());
+		assertSame(ConverterProvider.getExternallyConvertibleToStringConverter("xml0"), converter);
+		converter.convert(new ExternallyConvertibleSpy());
+
+		assertEquals(ConverterProvider.getConversionMetrics().get(0).getNoOfCalls(), 2);
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+	}
+
+	@Test
+	public void testConversionMetricsAreKeptWhenTurnedOff() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setCollectConversionMetrics(true);
+		ConverterProvider.getStringToExternallyConvertibleConverter("xml0").convert("someData");
+
+		ConverterProvider.setCollectConversionMetrics(false);
+		ConverterProvider.getStringToExternallyConvertibleConverter("xml0").convert("someData");
+
+		assertEquals(ConverterProvider.getConversionMetrics().get(0).getNoOfCalls(), 1);
+	}
+
+	@Test
+	public void testOutputIsNotCachedByDefault() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+				"xml0") instanceof ExternallyConvertibleToStringConverterSpy);
+	}
+
+	@Test
+	public void testOutputCacheIsUsedForConverterName() throws Exception {
+		OutputCache outputCache = new OutputCache(1000, new RecordVersionResolverSpy());
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setConverterFactory("xml1", new ConverterFactorySpy("xml1"));
+		ConverterProvider.setOutputCache("xml0", outputCache);
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+
+		assertEquals(outputCache.getStatistics().getNoOfHits(), 1);
+		assertEquals(outputCache.getStatistics().getNoOfMisses(), 1);
+		assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+				"xml1") instanceof ExternallyConvertibleToStringConverterSpy);
+	}
+
+	@Test
+	public void testOutputCacheIsRemovedWhenSetToNull() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setOutputCache("xml0",
+				new OutputCache(1000, new RecordVersionResolverSpy()));
+
+		ConverterProvider.setOutputCache("xml0", null);
+
+		assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+				"xml0") instanceof ExternallyConvertibleToStringConverterSpy);
+	}
+
+	@Test
+	public void testConversionMetricsCountCachedOutput() throws Exception {
+		OutputCache outputCache = new OutputCache(1000, new RecordVersionResolverSpy());
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setOutputCache("xml0", outputCache);
+		ConverterProvider.setCollectConversionMetrics(true);
+		ConverterProvider.setUseCachedConverters(true);
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+
+		assertEquals(ConverterProvider.getConversionMetrics().get(0).getNoOfCalls(), 2);
+		assertEquals(outputCache.getStatistics().getNoOfHits(), 1);
+	}
+
+	@Test
+	public void testParseResultCacheIsUsedForConverterName() throws Exception {
+		ParseResultCache parseResultCache = new ParseResultCache(1000, 100,
+				ExternallyConvertibleCopier.immutableResults());
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setConverterFactory("xml1", new ConverterFactorySpy("xml1"));
+		ConverterProvider.setParseResultCache("xml0", parseResultCache);
+
+		ConverterProvider.getStringToExternallyConvertibleConverter("xml0").convert("someData");
+		ConverterProvider.getStringToExternallyConvertibleConverter("xml0").convert("someData");
+
+		assertEquals(parseResultCache.getStatistics().getNoOfHits(), 1);
+		assertEquals(parseResultCache.getStatistics().getNoOfMisses(), 1);
+		assertTrue(ConverterProvider.getStringToExternallyConvertibleConverter(
+				"xml1") instanceof StringToExternallyConvertibleConverterSpy);
+	}
+
+	@Test
+	public void testParseResultCacheIsRemovedWhenSetToNull() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setParseResultCache("xml0",
+				new ParseResultCache(1000, 100, ExternallyConvertibleCopier.immutableResults()));
+
+		ConverterProvider.setParseResultCache("xml0", null);
+
+		assertTrue(ConverterProvider.getStringToExternallyConvertibleConverter(
+				"xml0") instanceof StringToExternallyConvertibleConverterSpy);
+	}
+
+	@Test
+	public void testWarmUpStartsFactoriesAndFactorsConverters() throws Exception {
+		ConverterModuleStarterSpy starter = startAndSetConverterModuleStarterSpy(2);
+
+		ConverterProvider.warmUp();
+
+		assertEquals(starter.noOfStartCalls, 1);
+		for (ConverterFactory converterFactory : starter.converterFactories.values()) {
+			ConverterFactorySpy converterFactorySpy = (ConverterFactorySpy) converterFactory;
+			assertEquals(converterFactorySpy.noOfFactoredToStringConverters, 1);
+			assertEquals(converterFactorySpy.noOfFactoredStringToConverters, 1);
+		}
+		assertInfoLogMatches(0, "ConverterProvider warm up starting...");
+		assertInfoLogMatches(1, "ConverterProvider starting...");
+		assertInfoLogMatches(2, "ConverterProvider started");
+		assertInfoLogMatches(3, "Converters for xml0 factored in \\d+ ms");
+		assertInfoLogMatches(4, "Converters for xml1 factored in \\d+ ms");
+		assertInfoLogMatches(5, "ConverterProvider warm up finished in \\d+ ms");
+	}
+
+	private void assertInfoLogMatches(int messageNo, String regex) {
+		String message = loggerFactorySpy.getInfoLogMessageUsingClassNameAndNo(testedClassName,
+				messageNo);
+		assertTrue(message.matches(regex), message);
+	}
+
+	@Test
+	public void testWarmUpConvertsSamplesInBothDirections() throws Exception {
+		ConverterFactorySpy converterFactory = new ConverterFactorySpy("xml0");
+		ConverterProvider.setConverterFactory("xml0", converterFactory);
+		ConverterProvider.setUseCachedConverters(true);
+		ExternalUrls externalUrls = new ExternalUrls();
+		WarmUpSample sample = new WarmUpSample("xml0", "someData");
+		WarmUpSample sampleWithLinks = new WarmUpSample("xml0", "otherData", externalUrls);
+
+		ConverterProvider.warmUp(List.of(sample, sampleWithLinks), 3);
+
+		assertEquals(converterFactory.noOfFactoredStringToConverters, 1);
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+		StringToExternallyConvertibleConverterSpy stringTo = converterFactory.lastFactoredStringToConverter;
+		ExternallyConvertibleToStringConverterSpy toString = converterFactory.lastFactoredToStringConverter;
+		assertEquals(stringTo.dataStrings, List.of("someData", "someData", "someData",
+				"otherData", "otherData", "otherData"));
+		assertEquals(toString.noOfConvertCalls, 9);
+		assertSame(toString.externalUrls, externalUrls);
+		assertSame(toString.externallyConvertible, stringTo.returnedExternallyConvertibles.get(5));
+		assertInfoLogMatches(2, "Warm up sample for xml0 converted 3 times in \\d+ ms");
+	}
+
+	@Test
+	public void testWarmUpWithNegativeIterationsThrowsError() throws Exception {
+		Exception caughtException = null;
+		try {
+			ConverterProvider.warmUp(List.of(), -1);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(),
+				"Number of iterations must be at least 0, was -1");
+	}
+
+	@Test
+	public void testWarmUpWithUnknownConverterNameThrowsError() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		Exception caughtException = null;
+		try {
+			ConverterProvider.warmUp(List.of(new WarmUpSample("unknown", "someData")), 1);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(), "No implementations found for unknown converter.");
+		assertEquals(loggerFactorySpy.getNoOfInfoLogMessagesUsingClassName(testedClassName), 2);
+	}
+
+	@Test
+	public void testHandleReturnsConvertersFromFactoryWithName() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		ConverterHandle handle = ConverterProvider.handle("xml0");
+
+		assertEquals(handle.getConverterName(), "xml0");
+		assertEquals(((ExternallyConvertibleToStringConverterSpy) handle
+				.getExternallyConvertibleToStringConverter()).factoryName, "xml0");
+		assertEquals(((StringToExternallyConvertibleConverterSpy) handle
+				.getStringToExternallyConvertibleConverter()).factoryName, "xml0");
+	}
+
+	@Test
+	public void testHandleIsSameForSameName() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		assertSame(ConverterProvider.handle("xml0"), ConverterProvider.handle("xml0"));
+	}
+
+	@Test
+	public void testHandleStartsFactories() throws Exception {
+		ConverterModuleStarterSpy starter = startAndSetConverterModuleStarterSpy(1);
+
+		ConverterProvider.handle(converterName);
+
+		assertTrue(starter.startWasCalled);
+	}
+
+	@Test
+	public void testHandleWithUnknownNameThrowsError() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		Exception caughtException = null;
+		try {
+			ConverterProvider.handle("unknownHandle");
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(),
+				"No implementations found for unknownHandle converter.");
+	}
+
+	@Test
+	public void testHandleUsesFactoryWithoutLookupByName() throws Exception {
+		ConverterFactorySpy converterFactory = new ConverterFactorySpy("xml0");
+		ConverterProvider.setConverterFactory("xml0", converterFactory);
+		ConverterHandle handle = ConverterProvider.handle("xml0");
+
+		handle.getExternallyConvertibleToStringConverter();
+		handle.getStringToExternallyConvertibleConverter();
+
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+		assertEquals(converterFactory.noOfFactoredStringToConverters, 1);
+	}
+
+	@Test
+	public void testHandleFollowsReplacedFactory() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterHandle handle = ConverterProvider.handle("xml0");
+
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("replaced"));
+
+		assertEquals(((ExternallyConvertibleToStringConverterSpy) handle
+				.getExternallyConvertibleToStringConverter()).factoryName, "replaced");
+	}
+
+	@Test
+	public void testHandleFollowsChangedProviderSettings() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterHandle handle = ConverterProvider.handle("xml0");
+
+		ConverterProvider.setUseCachedConverters(true);
+
+		assertSame(handle.getExternallyConvertibleToStringConverter(),
+				handle.getExternallyConvertibleToStringConverter());
+	}
+
+	@Test
+	public void testHandleStaysValidWhenFactoriesAreReset() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterHandle handle = ConverterProvider.handle("xml0");
+		ConverterProvider.resetConverterFactories();
+		ConverterModuleStarterSpy starter = startAndSetConverterModuleStarterSpy(1);
+
+		ExternallyConvertibleToStringConverterSpy converter = (ExternallyConvertibleToStringConverterSpy) handle
+				.getExternallyConvertibleToStringConverter();
+
+		assertTrue(starter.startWasCalled);
+		assertEquals(converter.factoryName, "xml0");
+		assertSame(ConverterProvider.handle("xml0"), handle);
+	}
+
+	@Test
+	public void testTranscodeUsesDataEventsWhenBothFactoriesSupportThem() throws Exception {
+		DataEventConverterFactorySpy fromFactory = new DataEventConverterFactorySpy("from");
+		DataEventConverterFactorySpy toFactory = new DataEventConverterFactorySpy("to");
+		ConverterProvider.setConverterFactory("from", fromFactory);
+		ConverterProvider.setConverterFactory("to", toFactory);
+
+		String transcoded = ConverterProvider.transcode("from", "to", "someData");
+
+		assertEquals(transcoded, "start:someGroup;attribute:type=someType;repeatId:1;"
+				+ "start:someAtomic;value:someData;end;end;");
+		assertEquals(fromFactory.reader.dataString, "someData");
+		assertEquals(fromFactory.noOfFactoredReaders, 1);
+		assertEquals(toFactory.noOfFactoredWriters, 1);
+		assertEquals(fromFactory.noOfFactoredStringToConverters, 0);
+		assertEquals(toFactory.noOfFactoredToStringConverters, 0);
+	}
+
+	@Test
+	public void testTranscodeToAppendable() throws Exception {
+		DataEventConverterFactorySpy toFactory = new DataEventConverterFactorySpy("to");
+		ConverterProvider.setConverterFactory("from", new DataEventConverterFactorySpy("from"));
+		ConverterProvider.setConverterFactory("to", toFactory);
+		StringBuilder output = new StringBuilder("start:");
+
+		ConverterProvider.transcode("from", "to", "someData", output);
+
+		assertSame(toFactory.writer.appendable, output);
+		assertTrue(output.toString().startsWith("start:start:someGroup;"));
+	}
+
+	@Test
+	public void testTranscodeUsesDataEventsThroughDecoratedFactories() throws Exception {
+		ConverterProvider.setUseCachedConverters(true);
+		ConverterProvider.setCollectConversionMetrics(true);
+		DataEventConverterFactorySpy fromFactory = new DataEventConverterFactorySpy("from");
+		ConverterProvider.setConverterFactory("from", fromFactory);
+		ConverterProvider.setConverterFactory("to", new DataEventConverterFactorySpy("to"));
+
+		ConverterProvider.transcode("from", "to", "someData");
+
+		assertEquals(fromFactory.noOfFactoredReaders, 1);
+	}
+
+	@Test
+	public void testTranscodeInTwoStepsWhenFromFactoryDoesNotSupportDataEvents()
+			throws Exception {
+		ConverterFactorySpy fromFactory = new ConverterFactorySpy("from");
+		DataEventConverterFactorySpy toFactory = new DataEventConverterFactorySpy("to");
+		ConverterProvider.setConverterFactory("from", fromFactory);
+		ConverterProvider.setConverterFactory("to", toFactory);
+
+		String transcoded = ConverterProvider.transcode("from", "to", "someData");
+
+		assertEquals(transcoded, "someConvertedString");
+		assertEquals(fromFactory.noOfFactoredStringToConverters, 1);
+		assertEquals(toFactory.noOfFactoredToStringConverters, 1);
+		assertEquals(toFactory.noOfFactoredWriters, 0);
+	}
+
+	@Test
+	public void testTranscodeInTwoStepsWhenToFactoryDoesNotSupportDataEvents() throws Exception {
+		DataEventConverterFactorySpy fromFactory = new DataEventConverterFactorySpy("from");
+		ConverterProvider.setConverterFactory("from", fromFactory);
+		ConverterProvider.setConverterFactory("to", new ConverterFactorySpy("to"));
+
+		String transcoded = ConverterProvider.transcode("from", "to", "someData");
+
+		assertEquals(transcoded, "someConvertedString");
+		assertEquals(fromFactory.noOfFactoredStringToConverters, 1);
+		assertEquals(fromFactory.noOfFactoredReaders, 0);
+	}
+
+	@Test
+	public void testTranscodeWithUnknownNameThrowsError() throws Exception {
+		ConverterProvider.setConverterFactory("from", new DataEventConverterFactorySpy("from"));
+
+		Exception caughtException = null;
+		try {
+			ConverterProvider.transcode("from", "unknownTo", "someData");
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(),
+				"No implementations found for unknownTo converter.");
+	}
+
+	@Test
+	public void testOutputSizeEstimatorGivesHintsToConverters() throws Exception {
+		HintedConverterFactorySpy converterFactory = new HintedConverterFactorySpy();
+		ConverterProvider.setConverterFactory("xml0", converterFactory);
+		OutputSizeEstimator outputSizeEstimator = new OutputSizeEstimator(
+				externallyConvertible -> "book");
+		ConverterProvider.setOutputSizeEstimator("xml0", outputSizeEstimator);
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+
+		assertEquals(converterFactory.converter.outputSizeHints,
+				List.of(0, "someConvertedString".length() + 2));
+		assertEquals(outputSizeEstimator.getStatistics().get(0).getNoOfSamples(), 2);
+	}
+
+	@Test
+	public void testOutputSizeEstimatorCanBeRemoved() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setOutputSizeEstimator("xml0",
+				new OutputSizeEstimator(externallyConvertible -> null));
+
+		ConverterProvider.setOutputSizeEstimator("xml0", null);
+
+		assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+				"xml0") instanceof ExternallyConvertibleToStringConverterSpy);
+	}
+
+	@Test
+	public void testDefaultOutputBufferPool() throws Exception {
+		OutputBufferPool outputBufferPool = ConverterProvider.getOutputBufferPool();
+
+		assertNotNull(outputBufferPool);
+		assertSame(ConverterProvider.getOutputBufferPool(), outputBufferPool);
+	}
+
+	@Test
+	public void testSetOutputBufferPool() throws Exception {
+		OutputBufferPool outputBufferPool = new OutputBufferPool(10, 1);
+
+		ConverterProvider.setOutputBufferPool(outputBufferPool);
+
+		assertSame(ConverterProvider.getOutputBufferPool(), outputBufferPool);
+	}
+
+	@Test(expectedExceptions = NullPointerException.class)
+	public void testSetOutputBufferPoolToNull() throws Exception {
+		ConverterProvider.setOutputBufferPool(null);
+	}
+
+	@Test
+	public void testConversionOverBudgetIsLogged() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setConversionBudget("xml0", new ConversionBudget(Duration.ofHours(1),
+				10, Duration.ofHours(1), externallyConvertible -> "book"));
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+
+		assertEquals(loggerFactorySpy.getNoOfWarnLogMessagesUsingClassName("ConversionBudget"), 1);
+		String warning = loggerFactorySpy.getWarnLogMessageUsingClassNameAndNo("ConversionBudget",
+				0);
+		assertTrue(warning.startsWith("Conversion over budget, exceeded: size, converterName: "
+				+ "xml0, direction: TO_STRING, nameInData: book, withLinks: false, "));
+		assertTrue(warning.endsWith(", inputSize: -1, outputSize: 19, inputBytes: -1, "
+				+ "outputBytes: -1, failed: false, suppressedWarnings: 0"));
+	}
+
+	@Test
+	public void testConversionBudgetCanBeRemoved() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setConversionBudget("xml0", new ConversionBudget(Duration.ofHours(1),
+				10, Duration.ofHours(1), externallyConvertible -> "book"));
+
+		ConverterProvider.setConversionBudget("xml0", null);
+
+		assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+				"xml0") instanceof ExternallyConvertibleToStringConverterSpy);
+	}
+
+	@Test
+	public void testResourceUsageIsCollectedWhenAccountingIsSet() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ResourceAccounting resourceAccounting = new ResourceAccounting(
+				externallyConvertible -> "book");
+		ConverterProvider.setResourceAccounting(resourceAccounting);
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+
+		List<ResourceUsageSnapshot> snapshots = resourceAccounting.getSnapshots();
+		assertEquals(snapshots.size(), 1);
+		assertEquals(snapshots.get(0).getConverterName(), "xml0");
+		assertEquals(snapshots.get(0).getDirection(), ConversionDirection.TO_STRING);
+		assertEquals(snapshots.get(0).getRecordType(), "book");
+		assertEquals(snapshots.get(0).getNoOfCalls(), 2);
+	}
+
+	@Test
+	public void testResourceAccountingCanBeTurnedOff() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider
+				.setResourceAccounting(new ResourceAccounting(externallyConvertible -> null));
+
+		ConverterProvider.setResourceAccounting(null);
+
+		assertTrue(ConverterProvider.getExternallyConvertibleToStringConverter(
+				"xml0") instanceof ExternallyConvertibleToStringConverterSpy);
+	}
+
+	@Test
+	public void testConverterStatistics() throws Exception {
+		ConverterProvider.setConverterFactory("xml1", new ConverterFactorySpy("xml1"));
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+		ConverterProvider.getStringToExternallyConvertibleConverter("xml0");
+
+		List<ConverterStatistics> statistics = ConverterProvider.getConverterStatistics();
+		assertEquals(statistics.size(), 2);
+		ConverterStatistics xml0 = statistics.get(0);
+		assertEquals(xml0.getConverterName(), "xml0");
+		assertEquals(xml0.getImplementationName(), "ConverterFactorySpy");
+		assertEquals(xml0.getNoOfLookups(), 3);
+		assertEquals(xml0.getNoOfToStringConvertersFactored(), 2);
+		assertEquals(xml0.getNoOfFromStringConvertersFactored(), 1);
+		assertNull(xml0.getOutputCacheStatistics());
+		assertNull(xml0.getParseResultCacheStatistics());
+		assertEquals(xml0.getNoOfToStringConversions(), 0);
+		assertEquals(statistics.get(1).getConverterName(), "xml1");
+		assertEquals(statistics.get(1).getNoOfLookups(), 0);
+	}
+
+	@Test
+	public void testLookupsAndStatisticsSeeConsistentStateWhileFactoriesChange()
+			throws Exception {
+		List<RuntimeException> unexpectedErrors = new CopyOnWriteArrayList<>();
+		Thread changer = Thread.ofPlatform().start(() -> {
+			for (int i = 0; i < 2000; i++) {
+				ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+				ConverterProvider.resetConverterFactories();
+			}
+		});
+
+		while (changer.isAlive()) {
+			try {
+				ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+				ConverterProvider.getConverterStatistics();
+			} catch (ConverterInitializationException e) {
+				// factories were reset between calls
+			} catch (RuntimeException e) {
+				unexpectedErrors.add(e);
+			}
+		}
+		changer.join();
+
+		assertEquals(unexpectedErrors, Collections.emptyList());
+	}
+
+	@Test
+	public void testConverterStatisticsCountFactoringOnceWithCachedConverters()
+			throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setUseCachedConverters(true);
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+
+		ConverterStatistics statistics = ConverterProvider.getConverterStatistics().get(0);
+		assertEquals(statistics.getNoOfLookups(), 2);
+		assertEquals(statistics.getNoOfToStringConvertersFactored(), 1);
+	}
+
+	@Test
+	public void testConverterStatisticsAreKeptWhenSettingsChange() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+
+		ConverterProvider.setCollectConversionMetrics(true);
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+
+		ConverterStatistics statistics = ConverterProvider.getConverterStatistics().get(0);
+		assertEquals(statistics.getNoOfLookups(), 2);
+		assertEquals(statistics.getNoOfToStringConvertersFactored(), 2);
+		assertEquals(statistics.getNoOfToStringConversions(), 1);
+	}
+
+	@Test
+	public void testConverterStatisticsWithCaches() throws Exception {
+		ConverterProvider.setConverterFactory("xml0", new ConverterFactorySpy("xml0"));
+		ConverterProvider.setOutputCache("xml0",
+				new OutputCache(10, new RecordVersionResolverSpy()));
+		ConverterProvider.setParseResultCache("xml0",
+				new ParseResultCache(10, 100, ExternallyConvertibleCopier.immutableResults()));
+
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+
+		ConverterStatistics statistics = ConverterProvider.getConverterStatistics().get(0);
+		assertEquals(statistics.getOutputCacheStatistics().getNoOfMisses(), 1);
+		assertEquals(statistics.getParseResultCacheStatistics().getNoOfMisses(), 0);
+	}
+
+	@Test
+	public void testMXBeanIsRegisteredWhenStarted() throws Exception {
+		startAndSetConverterModuleStarterSpy(2);
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml1");
+
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = new ObjectName(ConverterProvider.getMXBeanObjectName());
+		assertEquals(mBeanServer.getAttribute(objectName, "ConverterNames"),
+				new String[] { "xml0", "xml1" });
+		CompositeData[] statistics = (CompositeData[]) mBeanServer.getAttribute(objectName,
+				"ConverterStatistics");
+		assertEquals(statistics[1].get("converterName"), "xml1");
+		assertEquals(statistics[1].get("implementationName"), "ConverterFactorySpy");
+		assertEquals(statistics[1].get("noOfLookups"), 1L);
+		assertEquals(statistics[1].get("noOfToStringConvertersFactored"), 1L);
+		assertTrue((Long) mBeanServer.getAttribute(objectName, "StartTimeMillis") > 0);
+		assertTrue((Long) mBeanServer.getAttribute(objectName, "StartupDurationMillis") >= 0);
+	}
+
+	@Test
+	public void testMXBeanNameIsUniquePerClassLoader() throws Exception {
+		assertEquals(ConverterProvider.getMXBeanObjectName(),
+				ConverterProviderMXBean.OBJECT_NAME + ",loader=" + Integer.toHexString(
+						System.identityHashCode(ConverterProvider.class.getClassLoader())));
+	}
+
+	@Test
+	public void testShutdownUnregistersMXBean() throws Exception {
+		startAndSetConverterModuleStarterSpy(1);
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = new ObjectName(ConverterProvider.getMXBeanObjectName());
+		assertTrue(mBeanServer.isRegistered(objectName));
+
+		ConverterProvider.shutdown();
+
+		assertFalse(mBeanServer.isRegistered(objectName));
+	}
+
+	@Test
+	public void testMXBeanNameTakenByOtherIsNotTreatedAsRegistered() throws Exception {
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = new ObjectName(ConverterProvider.getMXBeanObjectName());
+		mBeanServer.registerMBean(new ConverterProviderMXBeanImp(), objectName);
+		try {
+			startAndSetConverterModuleStarterSpy(1);
+			ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+
+			assertEquals(loggerFactorySpy.getWarnLogMessageUsingClassNameAndNo(testedClassName, 0),
+					"ConverterProvider MXBean could not be registered");
+			ConverterProvider.shutdown();
+			assertTrue(mBeanServer.isRegistered(objectName));
+		} finally {
+			mBeanServer.unregisterMBean(objectName);
+		}
+	}
+
+	@Test
+	public void testConversionMetricsCanBeTurnedOnThroughMXBean() throws Exception {
+		startAndSetConverterModuleStarterSpy(1);
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0");
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = new ObjectName(ConverterProvider.getMXBeanObjectName());
+
+		mBeanServer.setAttribute(objectName, new Attribute("CollectConversionMetrics", true));
+
+		assertEquals(mBeanServer.getAttribute(objectName, "CollectConversionMetrics"), true);
+		ConverterProvider.getExternallyConvertibleToStringConverter("xml0")
+				.convert(new ExternallyConvertibleSpy());
+		assertEquals(ConverterProvider.getConverterStatistics().get(0).getNoOfToStringConversions(),
+				1);
+	}
+
+	@Test
+	public void testImmutableExternalUrlsArePassedThroughDecoratedConverters() throws Exception {
+		LinkBuildingConverterFactorySpy factory = new LinkBuildingConverterFactorySpy();
+		ConverterProvider.setConverterFactory("xml0", factory);
+		OutputCache outputCache = new OutputCache(1000, new RecordVersionResolverSpy());
+		ConverterProvider.setOutputCache("xml0", outputCache);
+		ConverterProvider.setOutputSizeEstimator("xml0",
+				new OutputSizeEstimator(externallyConvertible -> "book"));
+		ConverterProvider.setCollectConversionMetrics(true);
+		ConverterProvider.setUseCachedConverters(true);
+		ImmutableExternalUrls externalUrls = new ImmutableExternalUrls("https://some.host/", null);
+		ExternallyConvertibleToStringConverter converter = ConverterProvider
+				.getExternallyConvertibleToStringConverter("xml0");
+
+		String first = converter.convertWithLinks(new ExternallyConvertibleSpy("1", "v1"),
+				externalUrls);
+		String second = converter.convertWithLinks(new ExternallyConvertibleSpy("2", "v1"),
+				externalUrls);
+		String cached = converter.convertWithLinks(new ExternallyConvertibleSpy("1", "v1"),
+				externalUrls);
+
+		assertEquals(first, "https://some.host/record/book/1");
+		assertEquals(second, "https://some.host/record/book/2");
+		assertEquals(cached, first);
+		assertSame(factory.converter.immutableExternalUrls, externalUrls);
+		assertEquals(factory.converter.noOfConvertCalls, 2);
+		assertEquals(externalUrls.getNoOfRecordTypeUrls(), 1);
+		assertEquals(outputCache.getStatistics().getNoOfHits(), 1);
+		assertEquals(ConverterProvider.getConversionMetrics().get(0).getNoOfCalls(), 3);
+	}
+
+	private static class LinkBuildingConverterFactorySpy extends ConverterFactorySpy {
+		LinkBuildingToStringConverterSpy converter = new LinkBuildingToStringConverterSpy();
+
+		LinkBuildingConverterFactorySpy() {
+			super("xml0");
+		}
+
+		@Override
+		public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+			return converter;
+		}
+	}
+
+	private static class HintedConverterFactorySpy extends ConverterFactorySpy {
+		SizeHintedToStringConverterSpy converter = new SizeHintedToStringConverterSpy();
+
+		HintedConverterFactorySpy() {
+			super("xml0");
+		}
+
+		@Override
+		public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+			return converter;
+		}
+	}
 }
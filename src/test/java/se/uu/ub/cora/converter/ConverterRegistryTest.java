@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.RecordVersionResolverSpy;
+
+public class ConverterRegistryTest {
+
+	@Test
+	public void testEmptyRegistry() throws Exception {
+		ConverterRegistry registry = ConverterRegistry.EMPTY;
+
+		assertSame(registry.getSettings(), ConverterSettings.DEFAULT);
+		assertTrue(registry.getConverterFactories().isEmpty());
+		assertFalse(registry.hasActiveConverterFactories());
+		assertNull(registry.getConverterCounters("xml0"));
+		assertNull(registry.getConverterHandle("xml0"));
+	}
+
+	@Test
+	public void testRegistryKeepsCopiesOfEnteredMaps() throws Exception {
+		Map<String, ConverterFactory> factories = new HashMap<>();
+		ConverterFactorySpy converterFactory = new ConverterFactorySpy("xml0");
+		factories.put("xml0", converterFactory);
+		Map<String, ConverterCounters> counters = new HashMap<>();
+		ConverterCounters converterCounters = new ConverterCounters();
+		counters.put("xml0", converterCounters);
+
+		ConverterRegistry registry = new ConverterRegistry(ConverterSettings.DEFAULT, factories,
+				factories, counters, Map.of());
+		factories.clear();
+		counters.clear();
+
+		assertSame(registry.getConverterFactories().get("xml0"), converterFactory);
+		assertSame(registry.getActiveConverterFactory("xml0"), converterFactory);
+		assertSame(registry.getConverterCounters("xml0"), converterCounters);
+	}
+
+	@Test
+	public void testWithConverterHandleReturnsNewRegistry() throws Exception {
+		ConverterHandle converterHandle = new ConverterHandle("xml0", null);
+
+		ConverterRegistry registry = ConverterRegistry.EMPTY.withConverterHandle(converterHandle);
+
+		assertNull(ConverterRegistry.EMPTY.getConverterHandle("xml0"));
+		assertSame(registry.getConverterHandle("xml0"), converterHandle);
+		assertNull(registry.withoutConverterHandles().getConverterHandle("xml0"));
+	}
+
+	@Test
+	public void testSettingsAreChangedInNewSettings() throws Exception {
+		OutputCache outputCache = new OutputCache(10, new RecordVersionResolverSpy());
+
+		ConverterSettings settings = ConverterSettings.DEFAULT.withUseCachedConverters(true)
+				.withOutputCache("xml0", outputCache);
+
+		assertFalse(ConverterSettings.DEFAULT.useCachedConverters());
+		assertNull(ConverterSettings.DEFAULT.getOutputCache("xml0"));
+		assertTrue(settings.useCachedConverters());
+		assertSame(settings.getOutputCache("xml0"), outputCache);
+		assertNull(settings.withOutputCache("xml0", null).getOutputCache("xml0"));
+		assertNull(settings.withoutConversionCaches().getOutputCache("xml0"));
+		assertEquals(settings.withoutConversionCaches().useCachedConverters(), true);
+	}
+}
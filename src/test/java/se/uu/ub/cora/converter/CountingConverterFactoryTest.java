@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.DataEventConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.StringToExternallyConvertibleConverterSpy;
+
+public class CountingConverterFactoryTest {
+	private DataEventConverterFactorySpy converterFactory;
+	private ConverterCounters counters;
+	private CountingConverterFactory countingFactory;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		converterFactory = new DataEventConverterFactorySpy("someName");
+		counters = new ConverterCounters();
+		countingFactory = new CountingConverterFactory(converterFactory, counters);
+	}
+
+	@Test
+	public void testFactoredConvertersAreCounted() throws Exception {
+		countingFactory.factorExternallyConvertableToStringConverter();
+		countingFactory.factorExternallyConvertableToStringConverter();
+		countingFactory.factorStringToExternallyConvertableConverter();
+
+		assertEquals(counters.noOfToStringConvertersFactored.sum(), 2);
+		assertEquals(counters.noOfFromStringConvertersFactored.sum(), 1);
+		assertEquals(counters.noOfLookups.sum(), 0);
+	}
+
+	@Test
+	public void testConvertersAreReturnedUnwrapped() throws Exception {
+		assertTrue(countingFactory
+				.factorExternallyConvertableToStringConverter() instanceof ExternallyConvertibleToStringConverterSpy);
+		assertTrue(countingFactory
+				.factorStringToExternallyConvertableConverter() instanceof StringToExternallyConvertibleConverterSpy);
+	}
+
+	@Test
+	public void testFactoryMethodsAreForwarded() throws Exception {
+		assertEquals(countingFactory.getName(), "someName");
+		assertFalse(countingFactory.factorsThreadSafeConverters());
+		converterFactory.threadSafe = true;
+		assertTrue(countingFactory.factorsThreadSafeConverters());
+		assertTrue(countingFactory.supportsDataEvents());
+		assertSame(countingFactory.factorDataEventReader(), converterFactory.reader);
+		assertSame(countingFactory.factorDataEventWriter(), converterFactory.writer);
+	}
+}
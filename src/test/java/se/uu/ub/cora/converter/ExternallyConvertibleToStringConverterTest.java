@@ -0,0 +1,349 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleToStringConverterSpy;
+
+public class ExternallyConvertibleToStringConverterTest {
+	private ExternallyConvertibleToStringConverterSpy converter;
+	private ExternallyConvertibleSpy externallyConvertible;
+	private ExternalUrls externalUrls;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		converter = new ExternallyConvertibleToStringConverterSpy();
+		externallyConvertible = new ExternallyConvertibleSpy();
+		externalUrls = new ExternalUrls();
+	}
+
+	@Test
+	public void testConvertToAppendable() throws Exception {
+		StringWriter writer = new StringWriter();
+
+		converter.convertTo(externallyConvertible, writer);
+
+		assertSame(converter.externallyConvertible, externallyConvertible);
+		assertEquals(writer.toString(), "someConvertedString");
+	}
+
+	@Test
+	public void testConvertWithLinksToAppendable() throws Exception {
+		StringBuilder builder = new StringBuilder("start:");
+
+		converter.convertWithLinksTo(externallyConvertible, externalUrls, builder);
+
+		assertSame(converter.externallyConvertible, externallyConvertible);
+		assertSame(converter.externalUrls, externalUrls);
+		assertEquals(builder.toString(), "start:someConvertedWithLinksString");
+	}
+
+	@Test
+	public void testConvertToOutputStreamIsWrittenAsUtf8() throws Exception {
+		converter.convertedString = "åäö";
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		converter.convertToStream(externallyConvertible, outputStream);
+
+		assertSame(converter.externallyConvertible, externallyConvertible);
+		assertEquals(outputStream.toByteArray(), "åäö".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testConvertWithLinksToOutputStreamIsWrittenAsUtf8() throws Exception {
+		converter.convertedWithLinksString = "åäö";
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		converter.convertWithLinksToStream(externallyConvertible, externalUrls, outputStream);
+
+		assertSame(converter.externallyConvertible, externallyConvertible);
+		assertSame(converter.externalUrls, externalUrls);
+		assertEquals(outputStream.toByteArray(), "åäö".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testPrintStreamCanBeUsedAsAppendableOrOutputStream() throws Exception {
+		converter.convertedString = "åäö";
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		PrintStream printStream = new PrintStream(outputStream, true, StandardCharsets.UTF_8);
+
+		converter.convertTo(externallyConvertible, printStream);
+		converter.convertToStream(externallyConvertible, printStream);
+
+		assertEquals(outputStream.toByteArray(), "åäöåäö".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testConvertToUtf8() throws Exception {
+		converter.convertedString = "åäö";
+
+		byte[] converted = converter.convertToUtf8(externallyConvertible);
+
+		assertSame(converter.externallyConvertible, externallyConvertible);
+		assertEquals(converted, "åäö".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testConvertWithLinksToUtf8() throws Exception {
+		converter.convertedWithLinksString = "åäö";
+
+		byte[] converted = converter.convertWithLinksToUtf8(externallyConvertible, externalUrls);
+
+		assertSame(converter.externallyConvertible, externallyConvertible);
+		assertSame(converter.externalUrls, externalUrls);
+		assertEquals(converted, "åäö".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testConvertToHeapByteBuffer() throws Exception {
+		converter.convertedString = "åäö";
+		ByteBuffer buffer = ByteBuffer.allocate(10);
+		buffer.put((byte) 1);
+
+		int noOfBytesWritten = converter.convertToBuffer(externallyConvertible, buffer);
+
+		assertEquals(noOfBytesWritten, 6);
+		assertEquals(buffer.position(), 7);
+		assertEquals(readBytes(buffer, 1, 6), "åäö".getBytes(StandardCharsets.UTF_8));
+	}
+
+	private byte[] readBytes(ByteBuffer buffer, int from, int length) {
+		byte[] bytes = new byte[length];
+		buffer.get(from, bytes);
+		return bytes;
+	}
+
+	@Test
+	public void testConvertWithLinksToDirectByteBuffer() throws Exception {
+		converter.convertedWithLinksString = "åäö";
+		ByteBuffer buffer = ByteBuffer.allocateDirect(6);
+
+		int noOfBytesWritten = converter.convertWithLinksToBuffer(externallyConvertible,
+				externalUrls, buffer);
+
+		assertEquals(noOfBytesWritten, 6);
+		assertSame(converter.externalUrls, externalUrls);
+		assertEquals(buffer.position(), 6);
+		assertEquals(readBytes(buffer, 0, 6), "åäö".getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testConvertToTooSmallByteBufferThrowsConverterException() throws Exception {
+		converter.convertedString = "åäö";
+		ByteBuffer buffer = ByteBuffer.allocate(6);
+		buffer.put((byte) 1);
+
+		Exception caughtException = null;
+		try {
+			converter.convertToBuffer(externallyConvertible, buffer);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(),
+				"Unable to write converted data, 6 bytes needed but only 5 remaining in buffer");
+		assertEquals(buffer.position(), 1);
+	}
+
+	@Test
+	public void testConvertAll() throws Exception {
+		ExternallyConvertibleSpy second = new ExternallyConvertibleSpy();
+
+		List<String> converted = converter.convertAll(List.of(externallyConvertible, second));
+
+		assertEquals(converted, List.of("someConvertedString", "someConvertedString"));
+		assertSame(converter.externallyConvertible, second);
+	}
+
+	@Test
+	public void testConvertAllWithLinks() throws Exception {
+		ExternallyConvertibleSpy second = new ExternallyConvertibleSpy();
+
+		List<String> converted = converter
+				.convertAllWithLinks(List.of(externallyConvertible, second), externalUrls);
+
+		assertEquals(converted,
+				List.of("someConvertedWithLinksString", "someConvertedWithLinksString"));
+		assertSame(converter.externallyConvertible, second);
+		assertSame(converter.externalUrls, externalUrls);
+	}
+
+	@Test
+	public void testConvertToAppendableWriteErrorThrowsConverterException() throws Exception {
+		IOException ioException = new IOException();
+		Appendable failingAppendable = new FailingAppendable(ioException);
+		Exception caughtException = null;
+		try {
+			converter.convertTo(externallyConvertible, failingAppendable);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(), "Unable to write converted data");
+		assertSame(caughtException.getCause(), ioException);
+	}
+
+	@Test
+	public void testConvertWithLinksToOutputStreamWriteErrorThrowsConverterException()
+			throws Exception {
+		OutputStream failingStream = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				throw new IOException("someError");
+			}
+		};
+		Exception caughtException = null;
+		try {
+			converter.convertWithLinksToStream(externallyConvertible, externalUrls, failingStream);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(), "Unable to write converted data");
+		assertTrue(caughtException.getCause() instanceof IOException);
+	}
+
+	private static class FailingAppendable implements Appendable {
+		private IOException ioException;
+
+		FailingAppendable(IOException ioException) {
+			this.ioException = ioException;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq) throws IOException {
+			throw ioException;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) throws IOException {
+			throw ioException;
+		}
+
+		@Override
+		public Appendable append(char c) throws IOException {
+			throw ioException;
+		}
+	}
+
+	@Test
+	public void testProjectionsAreNotSupportedByDefault() throws Exception {
+		assertFalse(converter.supportsProjections());
+	}
+
+	@Test
+	public void testConvertWithProjectionIncludingAllUsesConvert() throws Exception {
+		String converted = converter.convert(externallyConvertible, Projection.all());
+
+		assertSame(converter.externallyConvertible, externallyConvertible);
+		assertEquals(converted, "someConvertedString");
+	}
+
+	@Test
+	public void testConvertWithLinksWithProjectionIncludingAllUsesConvertWithLinks()
+			throws Exception {
+		String converted = converter.convertWithLinks(externallyConvertible, externalUrls,
+				Projection.all());
+
+		assertSame(converter.externalUrls, externalUrls);
+		assertEquals(converted, "someConvertedWithLinksString");
+	}
+
+	@Test
+	public void testConvertWithPartialProjectionThrowsErrorByDefault() throws Exception {
+		Exception caughtException = null;
+		try {
+			converter.convert(externallyConvertible, Projection.ofNamePaths(List.of("title")));
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertProjectionsNotSupported(caughtException);
+	}
+
+	private void assertProjectionsNotSupported(Exception caughtException) {
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(),
+				"Projections are not supported by this converter");
+		assertEquals(converter.noOfConvertCalls, 0);
+	}
+
+	@Test
+	public void testConvertWithLinksWithPartialProjectionThrowsErrorByDefault() throws Exception {
+		Exception caughtException = null;
+		try {
+			converter.convertWithLinks(externallyConvertible, externalUrls,
+					Projection.ofNamePaths(List.of("title")));
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertProjectionsNotSupported(caughtException);
+	}
+
+	@Test
+	public void testConvertWithOutputSizeHintIgnoresHintByDefault() throws Exception {
+		String converted = converter.convert(externallyConvertible, 100);
+
+		assertSame(converter.externallyConvertible, externallyConvertible);
+		assertEquals(converted, "someConvertedString");
+	}
+
+	@Test
+	public void testConvertWithLinksWithOutputSizeHintIgnoresHintByDefault() throws Exception {
+		String converted = converter.convertWithLinks(externallyConvertible, externalUrls, 100);
+
+		assertSame(converter.externalUrls, externalUrls);
+		assertEquals(converted, "someConvertedWithLinksString");
+	}
+
+	@Test
+	public void testConvertWithLinksWithImmutableExternalUrlsUsesExternalUrlsByDefault()
+			throws Exception {
+		ImmutableExternalUrls immutableExternalUrls = new ImmutableExternalUrls("someBaseUrl",
+				"someIiifUrl");
+
+		String converted = converter.convertWithLinks(externallyConvertible,
+				immutableExternalUrls);
+
+		assertEquals(converter.externalUrls.getBaseUrl(), "someBaseUrl");
+		assertEquals(converter.externalUrls.getIfffUrl(), "someIiifUrl");
+		assertEquals(converted, "someConvertedWithLinksString");
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ImmutableExternalUrlsTest {
+	private static final String SOME_BASE_URL = "https://some.domain/rest/";
+	private static final String SOME_IFFF_URL = "someIfffUrl";
+	private ImmutableExternalUrls eUrls;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		eUrls = new ImmutableExternalUrls(SOME_BASE_URL, SOME_IFFF_URL);
+	}
+
+	@Test
+	public void testGetUrls() throws Exception {
+		assertTrue(eUrls.hasBaseUrl());
+		assertEquals(eUrls.getBaseUrl(), SOME_BASE_URL);
+		assertTrue(eUrls.hasIfffUrl());
+		assertEquals(eUrls.getIfffUrl(), SOME_IFFF_URL);
+	}
+
+	@Test
+	public void testNoUrls() throws Exception {
+		ImmutableExternalUrls noUrls = new ImmutableExternalUrls(null, null);
+
+		assertFalse(noUrls.hasBaseUrl());
+		assertFalse(noUrls.hasIfffUrl());
+	}
+
+	@Test
+	public void testCopyOf() throws Exception {
+		ExternalUrls externalUrls = new ExternalUrls();
+		externalUrls.setBaseUrl(SOME_BASE_URL);
+		externalUrls.setIfffUrl(SOME_IFFF_URL);
+
+		ImmutableExternalUrls copy = ImmutableExternalUrls.copyOf(externalUrls);
+		externalUrls.setBaseUrl("otherUrl");
+
+		assertEquals(copy.getBaseUrl(), SOME_BASE_URL);
+		assertEquals(copy.getIfffUrl(), SOME_IFFF_URL);
+	}
+
+	@Test
+	public void testToExternalUrlsReturnsNewCopy() throws Exception {
+		ExternalUrls externalUrls = eUrls.toExternalUrls();
+		externalUrls.setBaseUrl("otherUrl");
+
+		assertEquals(eUrls.toExternalUrls().getBaseUrl(), SOME_BASE_URL);
+		assertEquals(externalUrls.getIfffUrl(), SOME_IFFF_URL);
+		assertEquals(eUrls.getBaseUrl(), SOME_BASE_URL);
+	}
+
+	@Test
+	public void testGetRecordTypeUrl() throws Exception {
+		assertEquals(eUrls.getRecordTypeUrl("book"), SOME_BASE_URL + "record/book");
+		assertSame(eUrls.getRecordTypeUrl("book"), eUrls.getRecordTypeUrl("book"));
+	}
+
+	@Test
+	public void testKeptRecordTypeUrlsAreBounded() throws Exception {
+		for (int i = 0; i < ImmutableExternalUrls.MAX_NO_OF_RECORD_TYPE_URLS + 10; i++) {
+			eUrls.getRecordUrl("type" + i, "id");
+		}
+
+		assertEquals(eUrls.getNoOfRecordTypeUrls(),
+				ImmutableExternalUrls.MAX_NO_OF_RECORD_TYPE_URLS);
+		assertEquals(eUrls.getRecordUrl("otherType", "id"),
+				SOME_BASE_URL + "record/otherType/id");
+		assertEquals(eUrls.getNoOfRecordTypeUrls(),
+				ImmutableExternalUrls.MAX_NO_OF_RECORD_TYPE_URLS);
+	}
+
+	@Test
+	public void testGetRecordUrl() throws Exception {
+		assertEquals(eUrls.getRecordUrl("book", "book:1"), SOME_BASE_URL + "record/book/book:1");
+		assertEquals(eUrls.getRecordUrl("person", "p1"), SOME_BASE_URL + "record/person/p1");
+	}
+
+	@Test
+	public void testAppendRecordUrl() throws Exception {
+		StringBuilder builder = new StringBuilder("url:");
+
+		eUrls.appendRecordUrl(builder, "book", "book:1");
+
+		assertEquals(builder.toString(), "url:" + SOME_BASE_URL + "record/book/book:1");
+	}
+
+	@Test
+	public void testRecordUrlWithoutBaseUrlThrowsIllegalStateException() throws Exception {
+		ImmutableExternalUrls noBaseUrl = new ImmutableExternalUrls(null, SOME_IFFF_URL);
+		Exception caughtException = null;
+		try {
+			noBaseUrl.getRecordUrl("book", "book:1");
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalStateException);
+		assertEquals(caughtException.getMessage(), "No baseUrl to build record urls from");
+	}
+
+	@Test
+	public void testPutRecordUrlToHeapBuffer() throws Exception {
+		ByteBuffer buffer = ByteBuffer.allocate(100);
+		buffer.put((byte) 1);
+
+		int noOfBytesWritten = eUrls.putRecordUrl(buffer, "book", "book:1");
+
+		byte[] expected = (SOME_BASE_URL + "record/book/book:1").getBytes(StandardCharsets.UTF_8);
+		assertEquals(noOfBytesWritten, expected.length);
+		assertEquals(buffer.position(), expected.length + 1);
+		assertEquals(readBytes(buffer, 1, expected.length), expected);
+	}
+
+	private byte[] readBytes(ByteBuffer buffer, int from, int length) {
+		byte[] bytes = new byte[length];
+		buffer.get(from, bytes);
+		return bytes;
+	}
+
+	@Test
+	public void testPutNonAsciiRecordUrlToDirectBuffer() throws Exception {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+
+		int noOfBytesWritten = eUrls.putRecordUrl(buffer, "bok", "bok:åäö");
+
+		byte[] expected = (SOME_BASE_URL + "record/bok/bok:åäö").getBytes(StandardCharsets.UTF_8);
+		assertEquals(noOfBytesWritten, expected.length);
+		assertEquals(readBytes(buffer, 0, expected.length), expected);
+	}
+
+	@Test
+	public void testPutRecordUrlToTooSmallBufferThrowsConverterException() throws Exception {
+		ByteBuffer buffer = ByteBuffer.allocate(10);
+		buffer.put((byte) 1);
+		Exception caughtException = null;
+		try {
+			eUrls.putRecordUrl(buffer, "book", "book:1");
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(),
+				"Unable to write url, 43 bytes needed but only 9 remaining in buffer");
+		assertEquals(buffer.position(), 1);
+	}
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.DataEventConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.ProjectingToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.SizeHintedToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.StringToExternallyConvertibleConverterSpy;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+public class ObservingConverterFactoryTest {
+	private ConverterFactorySpy converterFactory;
+	private ConversionObserverSpy observer;
+	private ObservingConverterFactory observingFactory;
+	private ExternallyConvertibleSpy externallyConvertible;
+	private ExternalUrls externalUrls;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		converterFactory = new ConverterFactorySpy("factoryName");
+		observer = new ConversionObserverSpy();
+		observingFactory = new ObservingConverterFactory("someName", converterFactory,
+				new ConversionObservers(List.of(observer)));
+		externallyConvertible = new ExternallyConvertibleSpy();
+		externalUrls = new ExternalUrls();
+	}
+
+	@Test
+	public void testGetNameAndThreadSafetyAreTakenFromFactory() throws Exception {
+		assertEquals(observingFactory.getName(), "factoryName");
+		assertFalse(observingFactory.factorsThreadSafeConverters());
+		converterFactory.threadSafe = true;
+		assertTrue(observingFactory.factorsThreadSafeConverters());
+	}
+
+	@Test
+	public void testFactoredConvertersWrapFactoredConverters() throws Exception {
+		ObservingToStringConverter toString = (ObservingToStringConverter) observingFactory
+				.factorExternallyConvertableToStringConverter();
+		ObservingFromStringConverter fromString = (ObservingFromStringConverter) observingFactory
+				.factorStringToExternallyConvertableConverter();
+
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+		assertEquals(converterFactory.noOfFactoredStringToConverters, 1);
+		assertEquals(
+				((ExternallyConvertibleToStringConverterSpy) toString.getConverter()).factoryName,
+				"factoryName");
+		assertEquals(
+				((StringToExternallyConvertibleConverterSpy) fromString.getConverter()).factoryName,
+				"factoryName");
+	}
+
+	@Test
+	public void testConvertIsObserved() throws Exception {
+		String converted = toStringConverter().convert(externallyConvertible);
+
+		assertEquals(converted, "someConvertedString");
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, false);
+		assertSame(conversion.getExternallyConvertible(), externallyConvertible);
+		assertEquals(conversion.getInputSize(), Conversion.UNKNOWN_SIZE);
+		assertEquals(conversion.getOutputSize(), "someConvertedString".length());
+		assertSame(observer.endedStartStates.get(0), observer.startStateToReturn);
+		assertEquals(observer.outputSizesAtStart.get(0), Long.valueOf(Conversion.UNKNOWN_SIZE));
+	}
+
+	private ExternallyConvertibleToStringConverter toStringConverter() {
+		return observingFactory.factorExternallyConvertableToStringConverter();
+	}
+
+	private Conversion assertOneObservedConversion(ConversionDirection direction,
+			boolean withLinks) {
+		assertEquals(observer.startedConversions.size(), 1);
+		assertEquals(observer.endedConversions.size(), 1);
+		Conversion conversion = observer.endedConversions.get(0);
+		assertSame(observer.startedConversions.get(0), conversion);
+		assertEquals(conversion.getConverterName(), "someName");
+		assertEquals(conversion.getDirection(), direction);
+		assertEquals(conversion.isWithLinks(), withLinks);
+		assertFalse(conversion.isFailed());
+		assertTrue(conversion.getDurationNanos() >= 0);
+		return conversion;
+	}
+
+	@Test
+	public void testNoConversionObservedWhenNoObserverIsObserving() throws Exception {
+		observer.observing = false;
+
+		String converted = toStringConverter().convertWithLinks(externallyConvertible,
+				externalUrls);
+		ExternallyConvertible parsed = observingFactory
+				.factorStringToExternallyConvertableConverter().convert("someDataString");
+
+		assertEquals(converted, "someConvertedWithLinksString");
+		assertSame(parsed,
+				converterFactory.lastFactoredStringToConverter.returnedExternallyConvertibles.get(0));
+		assertTrue(observer.startedConversions.isEmpty());
+		assertTrue(observer.endedConversions.isEmpty());
+	}
+
+	@Test
+	public void testObserversAreObservingIfAnyObserverIsObserving() throws Exception {
+		ConversionObserverSpy notObserving = new ConversionObserverSpy();
+		notObserving.observing = false;
+
+		assertFalse(new ConversionObservers(List.of(notObserving)).isObserving());
+		assertTrue(new ConversionObservers(List.of(notObserving, observer)).isObserving());
+	}
+
+	@Test
+	public void testConvertWithLinksIsObserved() throws Exception {
+		String converted = toStringConverter().convertWithLinks(externallyConvertible,
+				externalUrls);
+
+		assertEquals(converted, "someConvertedWithLinksString");
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, true);
+		assertEquals(conversion.getOutputSize(), "someConvertedWithLinksString".length());
+	}
+
+	@Test
+	public void testConvertToAppendableIsObserved() throws Exception {
+		StringWriter writer = new StringWriter();
+
+		toStringConverter().convertTo(externallyConvertible, writer);
+
+		assertEquals(writer.toString(), "someConvertedString");
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, false);
+		assertEquals(conversion.getOutputSize(), "someConvertedString".length());
+	}
+
+	@Test
+	public void testConvertWithLinksToAppendableIsObserved() throws Exception {
+		StringBuilder builder = new StringBuilder();
+
+		toStringConverter().convertWithLinksTo(externallyConvertible, externalUrls, builder);
+
+		assertEquals(builder.toString(), "someConvertedWithLinksString");
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, true);
+		assertEquals(conversion.getOutputSize(), "someConvertedWithLinksString".length());
+	}
+
+	@Test
+	public void testConvertToOutputStreamCountsBytes() throws Exception {
+		ExternallyConvertibleToStringConverter converter = toStringConverterWithOutput("åäö");
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		converter.convertToStream(externallyConvertible, outputStream);
+
+		assertEquals(outputStream.toString(StandardCharsets.UTF_8), "åäö");
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, false);
+		assertEquals(conversion.getOutputBytes(), 6);
+		assertEquals(conversion.getOutputSize(), Conversion.UNKNOWN_SIZE);
+	}
+
+	private ExternallyConvertibleToStringConverter toStringConverterWithOutput(String output) {
+		ObservingToStringConverter converter = (ObservingToStringConverter) toStringConverter();
+		ExternallyConvertibleToStringConverterSpy spy = (ExternallyConvertibleToStringConverterSpy) converter
+				.getConverter();
+		spy.convertedString = output;
+		spy.convertedWithLinksString = output;
+		return converter;
+	}
+
+	private ExternallyConvertibleToStringConverter observingConverterFor(
+			ExternallyConvertibleToStringConverter converter) {
+		return new ObservingToStringConverter("someName", converter,
+				new ConversionObservers(List.of(observer)));
+	}
+
+	@Test
+	public void testConvertWithLinksToOutputStreamCountsBytes() throws Exception {
+		ExternallyConvertibleToStringConverter converter = toStringConverterWithOutput("åäö");
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		converter.convertWithLinksToStream(externallyConvertible, externalUrls, outputStream);
+
+		assertEquals(outputStream.toString(StandardCharsets.UTF_8), "åäö");
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, true);
+		assertEquals(conversion.getOutputBytes(), 6);
+		assertEquals(conversion.getOutputSize(), Conversion.UNKNOWN_SIZE);
+	}
+
+	@Test
+	public void testConvertToUtf8CountsBytes() throws Exception {
+		ExternallyConvertibleToStringConverter converter = toStringConverterWithOutput("åäö");
+
+		byte[] converted = converter.convertToUtf8(externallyConvertible);
+
+		assertEquals(converted, "åäö".getBytes(StandardCharsets.UTF_8));
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, false);
+		assertEquals(conversion.getOutputBytes(), 6);
+		assertEquals(conversion.getOutputSize(), Conversion.UNKNOWN_SIZE);
+	}
+
+	@Test
+	public void testConvertWithLinksToUtf8CountsBytes() throws Exception {
+		ExternallyConvertibleToStringConverter converter = toStringConverterWithOutput("åäö");
+
+		converter.convertWithLinksToUtf8(externallyConvertible, externalUrls);
+
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, true);
+		assertEquals(conversion.getOutputBytes(), 6);
+		assertEquals(conversion.getOutputSize(), Conversion.UNKNOWN_SIZE);
+	}
+
+	@Test
+	public void testConvertToByteBufferCountsBytes() throws Exception {
+		ExternallyConvertibleToStringConverter converter = toStringConverterWithOutput("åäö");
+		ByteBuffer buffer = ByteBuffer.allocateDirect(10);
+
+		int noOfBytesWritten = converter.convertToBuffer(externallyConvertible, buffer);
+
+		assertEquals(noOfBytesWritten, 6);
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, false);
+		assertEquals(conversion.getOutputBytes(), 6);
+		assertEquals(conversion.getOutputSize(), Conversion.UNKNOWN_SIZE);
+	}
+
+	@Test
+	public void testConvertWithLinksToByteBufferCountsBytes() throws Exception {
+		ExternallyConvertibleToStringConverter converter = toStringConverterWithOutput("åäö");
+		ByteBuffer buffer = ByteBuffer.allocate(10);
+
+		converter.convertWithLinksToBuffer(externallyConvertible, externalUrls, buffer);
+
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, true);
+		assertEquals(conversion.getOutputBytes(), 6);
+		assertEquals(conversion.getOutputSize(), Conversion.UNKNOWN_SIZE);
+	}
+
+	@Test
+	public void testConvertAllIsObservedAsOneConversion() throws Exception {
+		List<String> converted = toStringConverter()
+				.convertAll(List.of(externallyConvertible, externallyConvertible));
+
+		assertEquals(converted.size(), 2);
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, false);
+		assertNull(conversion.getExternallyConvertible());
+		assertEquals(conversion.getOutputSize(), 2 * "someConvertedString".length());
+	}
+
+	@Test
+	public void testConvertAllWithLinksIsObservedAsOneConversion() throws Exception {
+		toStringConverter().convertAllWithLinks(List.of(externallyConvertible), externalUrls);
+
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, true);
+		assertEquals(conversion.getOutputSize(), "someConvertedWithLinksString".length());
+	}
+
+	@Test
+	public void testFailedConversionIsObservedAndExceptionPassedOn() throws Exception {
+		ConverterException converterException = new ConverterException("someError");
+		ExternallyConvertibleToStringConverter failingConverter = new ExternallyConvertibleToStringConverterSpy() {
+			@Override
+			public String convert(ExternallyConvertible externallyConvertible) {
+				throw converterException;
+			}
+		};
+		Exception caughtException = null;
+		try {
+			observingConverterFor(failingConverter).convert(externallyConvertible);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertSame(caughtException, converterException);
+		Conversion conversion = observer.endedConversions.get(0);
+		assertTrue(conversion.isFailed());
+		assertSame(conversion.getFailure(), converterException);
+		assertEquals(conversion.getOutputSize(), Conversion.UNKNOWN_SIZE);
+	}
+
+	@Test
+	public void testConvertFromStringIsObserved() throws Exception {
+		StringToExternallyConvertibleConverter converter = observingFactory
+				.factorStringToExternallyConvertableConverter();
+
+		ExternallyConvertible converted = converter.convert("someDataString");
+
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.FROM_STRING,
+				false);
+		assertSame(conversion.getExternallyConvertible(), converted);
+		assertEquals(conversion.getInputSize(), "someDataString".length());
+		assertEquals(conversion.getOutputSize(), Conversion.UNKNOWN_SIZE);
+	}
+
+	@Test
+	public void testConvertFromReaderCountsCharacters() throws Exception {
+		StringToExternallyConvertibleConverter converter = observingFactory
+				.factorStringToExternallyConvertableConverter();
+
+		ExternallyConvertible converted = converter.convert(new StringReader("åäö"));
+
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.FROM_STRING,
+				false);
+		assertSame(conversion.getExternallyConvertible(), converted);
+		assertEquals(conversion.getInputSize(), 3);
+	}
+
+	@Test
+	public void testConvertFromInputStreamCountsBytes() throws Exception {
+		StringToExternallyConvertibleConverter converter = observingFactory
+				.factorStringToExternallyConvertableConverter();
+
+		converter.convert(new ByteArrayInputStream("åäö".getBytes(StandardCharsets.UTF_8)),
+				StandardCharsets.UTF_8);
+
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.FROM_STRING,
+				false);
+		assertEquals(conversion.getInputBytes(), 6);
+		assertEquals(conversion.getInputSize(), Conversion.UNKNOWN_SIZE);
+		StringToExternallyConvertibleConverterSpy spy = (StringToExternallyConvertibleConverterSpy) ((ObservingFromStringConverter) converter)
+				.getConverter();
+		assertEquals(spy.dataStrings.get(0), "åäö");
+	}
+
+	@Test
+	public void testObserversAreNotifiedInOrderAndEndedInReverseOrder() throws Exception {
+		List<String> callOrder = new ArrayList<>();
+		ConversionObserverSpy first = new ConversionObserverSpy();
+		first.name = "first";
+		first.callOrder = callOrder;
+		ConversionObserverSpy second = new ConversionObserverSpy();
+		second.name = "second";
+		second.callOrder = callOrder;
+		ConversionObservers observers = new ConversionObservers(List.of(first, second));
+
+		observers.observe(new Conversion("someName", ConversionDirection.TO_STRING, false),
+				conversion -> null);
+
+		assertEquals(callOrder,
+				List.of("started:first", "started:second", "ended:second", "ended:first"));
+	}
+
+	@Test
+	public void testConvertWithProjectionIsObserved() throws Exception {
+		ProjectingToStringConverterSpy converterSpy = new ProjectingToStringConverterSpy();
+		ObservingToStringConverter converter = createObservingConverter(converterSpy);
+		Projection projection = Projection.ofNamePaths(List.of("title"));
+
+		String converted = converter.convert(externallyConvertible, projection);
+
+		assertTrue(converter.supportsProjections());
+		assertEquals(converted, "someConvertedProjectionString");
+		assertSame(converterSpy.projection, projection);
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, false);
+		assertEquals(conversion.getOutputSize(), "someConvertedProjectionString".length());
+	}
+
+	private ObservingToStringConverter createObservingConverter(
+			ExternallyConvertibleToStringConverter converter) {
+		return new ObservingToStringConverter("someName", converter,
+				new ConversionObservers(List.of(observer)));
+	}
+
+	@Test
+	public void testConvertWithLinksWithProjectionIsObserved() throws Exception {
+		ProjectingToStringConverterSpy converterSpy = new ProjectingToStringConverterSpy();
+		ObservingToStringConverter converter = createObservingConverter(converterSpy);
+		Projection projection = Projection.ofNamePaths(List.of("title"));
+
+		converter.convertWithLinks(externallyConvertible, externalUrls, projection);
+
+		assertSame(converterSpy.externalUrls, externalUrls);
+		assertSame(converterSpy.projection, projection);
+		Conversion conversion = assertOneObservedConversion(ConversionDirection.TO_STRING, true);
+		assertEquals(conversion.getOutputSize(), "someConvertedProjectionString".length());
+	}
+
+	@Test
+	public void testDataEventsAreTakenFromFactory() throws Exception {
+		DataEventConverterFactorySpy dataEventFactory = new DataEventConverterFactorySpy(
+				"someName");
+		ConverterFactory factory = new ObservingConverterFactory("someName", dataEventFactory,
+				new ConversionObservers(List.of(observer)));
+
+		assertTrue(factory.supportsDataEvents());
+		assertSame(factory.factorDataEventReader(), dataEventFactory.reader);
+		assertSame(factory.factorDataEventWriter(), dataEventFactory.writer);
+	}
+
+	@Test
+	public void testConvertWithOutputSizeHintIsObserved() throws Exception {
+		SizeHintedToStringConverterSpy converterSpy = new SizeHintedToStringConverterSpy();
+		ObservingToStringConverter converter = createObservingConverter(converterSpy);
+
+		converter.convert(externallyConvertible, 10);
+		converter.convertWithLinks(externallyConvertible, externalUrls, 20);
+
+		assertEquals(converterSpy.outputSizeHints, List.of(10, 20));
+		assertEquals(observer.endedConversions.size(), 2);
+		assertEquals(observer.endedConversions.get(1).getOutputSize(),
+				"someConvertedWithLinksString".length());
+	}
+}
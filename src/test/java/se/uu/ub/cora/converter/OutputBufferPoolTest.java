@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class OutputBufferPoolTest {
+	private OutputBufferPool pool;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		pool = new OutputBufferPool(100, 2);
+	}
+
+	@Test
+	public void testMaxRetainedCapacityMustBeAtLeastOne() throws Exception {
+		Exception caughtException = null;
+		try {
+			new OutputBufferPool(0, 2);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(),
+				"Max retained capacity must be at least 1, was 0");
+	}
+
+	@Test
+	public void testMaxNoOfBuffersMustBeAtLeastOne() throws Exception {
+		Exception caughtException = null;
+		try {
+			new OutputBufferPool(100, 0);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(),
+				"Max number of buffers must be at least 1, was 0");
+	}
+
+	@Test
+	public void testBorrowFromEmptyPoolCreatesBuffer() throws Exception {
+		StringBuilder buffer = pool.borrow(50);
+
+		assertEquals(buffer.length(), 0);
+		assertTrue(buffer.capacity() >= 50);
+		assertStatistics(0, 1, 0, 0);
+	}
+
+	@Test
+	public void testReleasedBufferIsReusedEmptyBySameThread() throws Exception {
+		StringBuilder buffer = pool.borrow(0);
+		buffer.append("some output");
+		pool.release(buffer);
+
+		StringBuilder reused = pool.borrow(0);
+
+		assertSame(reused, buffer);
+		assertEquals(reused.length(), 0);
+		assertStatistics(1, 1, 0, 0);
+	}
+
+	@Test
+	public void testReusedBufferHasAtLeastMinCapacity() throws Exception {
+		pool.release(new StringBuilder(10));
+
+		StringBuilder buffer = pool.borrow(80);
+
+		assertTrue(buffer.capacity() >= 80);
+	}
+
+	@Test
+	public void testReleasedBuffersAreReusedInOrder() throws Exception {
+		StringBuilder first = pool.borrow(0);
+		StringBuilder second = pool.borrow(0);
+		pool.release(first);
+		pool.release(second);
+
+		assertSame(pool.borrow(0), first);
+		assertSame(pool.borrow(0), second);
+		assertStatistics(2, 2, 0, 0);
+	}
+
+	@Test
+	public void testBufferReleasedByOneThreadIsReusedByOtherThread() throws Exception {
+		StringBuilder buffer = new StringBuilder();
+		pool.release(buffer);
+
+		AtomicReference<StringBuilder> borrowedInOtherThread = new AtomicReference<>();
+		Thread thread = new Thread(() -> borrowedInOtherThread.set(pool.borrow(0)));
+		thread.start();
+		thread.join();
+
+		assertSame(borrowedInOtherThread.get(), buffer);
+		assertStatistics(1, 0, 0, 0);
+	}
+
+	@Test
+	public void testVirtualThreadUsesSameBuffers() throws Exception {
+		StringBuilder buffer = new StringBuilder();
+		AtomicReference<StringBuilder> borrowed = new AtomicReference<>();
+
+		Thread.ofVirtual().start(() -> {
+			pool.release(buffer);
+			borrowed.set(pool.borrow(0));
+		}).join();
+
+		assertSame(borrowed.get(), buffer);
+		assertStatistics(1, 0, 0, 0);
+	}
+
+	@Test
+	public void testRetainedBuffersAreBoundedRegardlessOfNumberOfThreads() throws Exception {
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			threads.add(new Thread(() -> pool.release(new StringBuilder())));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertStatistics(0, 0, 8, 2);
+	}
+
+	@Test
+	public void testOversizedBufferIsDiscarded() throws Exception {
+		StringBuilder buffer = pool.borrow(101);
+		pool.release(buffer);
+
+		assertNotSame(pool.borrow(0), buffer);
+		assertStatistics(0, 2, 1, 0);
+	}
+
+	@Test
+	public void testBufferIsDiscardedWhenPoolIsFull() throws Exception {
+		pool.release(new StringBuilder());
+		pool.release(new StringBuilder());
+		pool.release(new StringBuilder());
+		pool.release(new StringBuilder());
+
+		assertStatistics(0, 0, 2, 2);
+	}
+
+	@Test
+	public void testBuildString() throws Exception {
+		String built = pool.buildString(20, buffer -> buffer.append("some").append("String"));
+
+		assertEquals(built, "someString");
+		assertEquals(pool.borrow(0).length(), 0);
+		assertStatistics(1, 1, 0, 0);
+	}
+
+	@Test
+	public void testBuildStringReleasesBufferOnException() throws Exception {
+		Exception caughtException = null;
+		try {
+			pool.buildString(0, buffer -> {
+				throw new ConverterException("some error");
+			});
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertEquals(caughtException.getMessage(), "some error");
+		pool.borrow(0);
+		assertStatistics(1, 1, 0, 0);
+	}
+
+	@Test
+	public void testHitRatio() throws Exception {
+		assertEquals(pool.getStatistics().getHitRatio(), 0.0);
+
+		pool.release(pool.borrow(0));
+		pool.release(pool.borrow(0));
+		pool.release(pool.borrow(0));
+		pool.borrow(0);
+
+		assertEquals(pool.getStatistics().getHitRatio(), 0.75);
+	}
+
+	private void assertStatistics(long noOfHits, long noOfMisses, long noOfDiscarded,
+			int noOfBuffers) {
+		BufferPoolStatistics statistics = pool.getStatistics();
+		assertEquals(statistics.getNoOfHits(), noOfHits);
+		assertEquals(statistics.getNoOfMisses(), noOfMisses);
+		assertEquals(statistics.getNoOfDiscarded(), noOfDiscarded);
+		assertEquals(statistics.getNoOfBuffers(), noOfBuffers);
+	}
+}
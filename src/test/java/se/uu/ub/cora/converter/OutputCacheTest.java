@@ -0,0 +1,424 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.DataEventConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.ProjectingToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.RecordVersionResolverSpy;
+import se.uu.ub.cora.converter.spy.SizeHintedToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.StringToExternallyConvertibleConverterSpy;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+public class OutputCacheTest {
+	private OutputCache outputCache;
+	private ExternallyConvertibleToStringConverterSpy converterSpy;
+	private OutputCachingToStringConverter converter;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		outputCache = new OutputCache(100, new RecordVersionResolverSpy());
+		converterSpy = new ExternallyConvertibleToStringConverterSpy();
+		converter = new OutputCachingToStringConverter("json", converterSpy, outputCache);
+	}
+
+	@Test
+	public void testMaxSizeMustBeAtLeastOne() throws Exception {
+		Exception caughtException = null;
+		try {
+			new OutputCache(0, new RecordVersionResolverSpy());
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(), "Max size must be at least 1, was 0");
+	}
+
+	@Test
+	public void testConverterNamesSharingCacheGetTheirOwnOutput() throws Exception {
+		ExternallyConvertibleToStringConverterSpy xmlConverterSpy = new ExternallyConvertibleToStringConverterSpy();
+		xmlConverterSpy.convertedString = "someXmlString";
+		OutputCachingToStringConverter xmlConverter = new OutputCachingToStringConverter("xml",
+				xmlConverterSpy, outputCache);
+
+		assertEquals(converter.convert(new ExternallyConvertibleSpy("book:1", "v1")),
+				"someConvertedString");
+		assertEquals(xmlConverter.convert(new ExternallyConvertibleSpy("book:1", "v1")),
+				"someXmlString");
+		assertEquals(converter.convert(new ExternallyConvertibleSpy("book:1", "v1")),
+				"someConvertedString");
+		assertEquals(xmlConverter.convert(new ExternallyConvertibleSpy("book:1", "v1")),
+				"someXmlString");
+
+		assertEquals(converterSpy.noOfConvertCalls, 1);
+		assertEquals(xmlConverterSpy.noOfConvertCalls, 1);
+		assertStatistics(2, 2, 0, 0, 2, 32);
+	}
+
+	@Test
+	public void testInvalidateRemovesOutputForAllConverterNames() throws Exception {
+		OutputCachingToStringConverter xmlConverter = new OutputCachingToStringConverter("xml",
+				new ExternallyConvertibleToStringConverterSpy(), outputCache);
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		xmlConverter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+
+		outputCache.invalidate("book:1");
+
+		assertEquals(outputCache.getStatistics().getNoOfEntries(), 0);
+	}
+
+	@Test
+	public void testSameVersionIsConvertedOnce() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy("book:1", "v1");
+
+		assertEquals(converter.convert(record), "someConvertedString");
+		assertEquals(converter.convert(new ExternallyConvertibleSpy("book:1", "v1")),
+				"someConvertedString");
+
+		assertEquals(converterSpy.noOfConvertCalls, 1);
+		assertStatistics(1, 1, 0, 0, 1, 19);
+	}
+
+	@Test
+	public void testNewVersionIsConvertedAndReplacesOldOutput() throws Exception {
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		converterSpy.convertedString = "newOutput";
+
+		assertEquals(converter.convert(new ExternallyConvertibleSpy("book:1", "v2")),
+				"newOutput");
+		assertEquals(converter.convert(new ExternallyConvertibleSpy("book:1", "v2")),
+				"newOutput");
+
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+		assertStatistics(1, 2, 0, 1, 1, 9);
+	}
+
+	@Test
+	public void testRecordWithoutIdentityIsNotCached() throws Exception {
+		converter.convert(new ExternallyConvertibleSpy());
+		converter.convert(new ExternallyConvertibleSpy());
+
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+		assertStatistics(0, 0, 0, 0, 0, 0);
+	}
+
+	@Test
+	public void testOutputWithAndWithoutLinksIsCachedSeparately() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy("book:1", "v1");
+		ExternalUrls externalUrls = createExternalUrls("someBaseUrl");
+
+		assertEquals(converter.convert(record), "someConvertedString");
+		assertEquals(converter.convertWithLinks(record, externalUrls),
+				"someConvertedWithLinksString");
+		assertEquals(converter.convertWithLinks(record, createExternalUrls("someBaseUrl")),
+				"someConvertedWithLinksString");
+
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+		assertSame(converterSpy.externalUrls, externalUrls);
+	}
+
+	@Test
+	public void testOutputIsCachedPerExternalUrls() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy("book:1", "v1");
+
+		converter.convertWithLinks(record, createExternalUrls("someBaseUrl"));
+		converter.convertWithLinks(record, createExternalUrls("otherBaseUrl"));
+
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+		assertStatistics(0, 2, 0, 0, 2, 56);
+	}
+
+	private ExternalUrls createExternalUrls(String baseUrl) {
+		ExternalUrls externalUrls = new ExternalUrls();
+		externalUrls.setBaseUrl(baseUrl);
+		externalUrls.setIfffUrl("someIiifUrl");
+		return externalUrls;
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvictedWhenMaxSizeIsExceeded() throws Exception {
+		outputCache = new OutputCache(40, new RecordVersionResolverSpy());
+		converter = new OutputCachingToStringConverter("json", converterSpy, outputCache);
+
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:2", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:3", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:2", "v1"));
+
+		assertEquals(converterSpy.noOfConvertCalls, 4);
+		assertStatistics(2, 4, 2, 0, 2, 38);
+	}
+
+	@Test
+	public void testOutputLargerThanMaxSizeIsNotCached() throws Exception {
+		outputCache = new OutputCache(10, new RecordVersionResolverSpy());
+		converter = new OutputCachingToStringConverter("json", converterSpy, outputCache);
+
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+		assertStatistics(0, 2, 0, 0, 0, 0);
+	}
+
+	@Test
+	public void testInvalidateRemovesAllOutputForIdentity() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy("book:1", "v1");
+		converter.convert(record);
+		converter.convertWithLinks(record, createExternalUrls("someBaseUrl"));
+		converter.convert(new ExternallyConvertibleSpy("book:2", "v1"));
+
+		outputCache.invalidate("book:1");
+		converter.convert(record);
+		converter.convert(new ExternallyConvertibleSpy("book:2", "v1"));
+
+		assertEquals(converterSpy.noOfConvertCalls, 4);
+		assertStatistics(1, 4, 0, 2, 2, 38);
+	}
+
+	@Test
+	public void testInvalidateAll() throws Exception {
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:2", "v1"));
+
+		outputCache.invalidateAll();
+
+		assertStatistics(0, 2, 0, 2, 0, 0);
+	}
+
+	@Test
+	public void testHitRatio() throws Exception {
+		assertEquals(outputCache.getStatistics().getHitRatio(), 0.0);
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+		converter.convert(new ExternallyConvertibleSpy("book:2", "v1"));
+
+		assertEquals(outputCache.getStatistics().getHitRatio(), 0.5);
+	}
+
+	@Test
+	public void testCacheableRecordWrittenToAppendableUsesCache() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy("book:1", "v1");
+		StringBuilder first = new StringBuilder();
+		StringBuilder second = new StringBuilder();
+
+		converter.convertTo(record, first);
+		converter.convertWithLinksTo(record, createExternalUrls("someBaseUrl"), second);
+		converter.convertWithLinksTo(record, createExternalUrls("someBaseUrl"), second);
+
+		assertEquals(first.toString(), "someConvertedString");
+		assertEquals(second.toString(),
+				"someConvertedWithLinksStringsomeConvertedWithLinksString");
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+	}
+
+	@Test
+	public void testCacheableRecordWrittenToOutputStreamUsesCache() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy("book:1", "v1");
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		converter.convertToStream(record, outputStream);
+		converter.convertWithLinksToStream(record, createExternalUrls("someBaseUrl"), outputStream);
+		converter.convertToStream(record, outputStream);
+
+		assertEquals(outputStream.toString(StandardCharsets.UTF_8),
+				"someConvertedStringsomeConvertedWithLinksStringsomeConvertedString");
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+	}
+
+	@Test
+	public void testRecordWithoutIdentityIsWrittenByConverter() throws Exception {
+		StringBuilder appendable = new StringBuilder();
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy();
+
+		converter.convertTo(record, appendable);
+		converter.convertWithLinksTo(record, createExternalUrls("someBaseUrl"), appendable);
+		converter.convertToStream(record, outputStream);
+		converter.convertWithLinksToStream(record, createExternalUrls("someBaseUrl"), outputStream);
+
+		assertEquals(appendable.toString(), "someConvertedStringsomeConvertedWithLinksString");
+		assertEquals(outputStream.toString(StandardCharsets.UTF_8),
+				"someConvertedStringsomeConvertedWithLinksString");
+		assertEquals(converterSpy.noOfConvertCalls, 4);
+	}
+
+	@Test
+	public void testCacheableRecordConvertedToBytesUsesCache() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy("book:1", "v1");
+		ExternalUrls externalUrls = createExternalUrls("someBaseUrl");
+		ByteBuffer buffer = ByteBuffer.allocate(100);
+
+		converter.convertToUtf8(record);
+		converter.convertToBuffer(record, buffer);
+		converter.convertWithLinksToUtf8(record, externalUrls);
+		converter.convertWithLinksToBuffer(record, externalUrls, buffer);
+
+		assertEquals(buffer.position(), 47);
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+	}
+
+	@Test
+	public void testRecordWithoutIdentityIsConvertedToBytesByConverter() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy();
+		ExternalUrls externalUrls = createExternalUrls("someBaseUrl");
+		ByteBuffer buffer = ByteBuffer.allocate(100);
+
+		converter.convertToUtf8(record);
+		converter.convertToBuffer(record, buffer);
+		converter.convertWithLinksToUtf8(record, externalUrls);
+		converter.convertWithLinksToBuffer(record, externalUrls, buffer);
+
+		assertEquals(converterSpy.noOfConvertCalls, 4);
+	}
+
+	@Test
+	public void testConvertAllUsesCache() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy("book:1", "v1");
+
+		List<String> converted = converter.convertAll(List.of(record, record));
+		List<String> convertedWithLinks = converter.convertAllWithLinks(List.of(record, record),
+				createExternalUrls("someBaseUrl"));
+
+		assertEquals(converted, List.of("someConvertedString", "someConvertedString"));
+		assertEquals(convertedWithLinks,
+				List.of("someConvertedWithLinksString", "someConvertedWithLinksString"));
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+	}
+
+	@Test
+	public void testFailedConversionIsNotCached() throws Exception {
+		ExternallyConvertibleSpy record = new ExternallyConvertibleSpy("book:1", "v1");
+		ExternallyConvertibleToStringConverter failingConverter = new ExternallyConvertibleToStringConverterSpy() {
+			@Override
+			public String convert(ExternallyConvertible externallyConvertible) {
+				throw new ConverterException("someFailure");
+			}
+		};
+		converter = new OutputCachingToStringConverter("json", failingConverter, outputCache);
+
+		Exception caughtException = null;
+		try {
+			converter.convert(record);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterException);
+		assertStatistics(0, 1, 0, 0, 0, 0);
+	}
+
+	@Test
+	public void testFactoryCachesToStringConvertersOnly() throws Exception {
+		ConverterFactorySpy converterFactory = new ConverterFactorySpy("someName");
+		converterFactory.threadSafe = true;
+		OutputCachingConverterFactory factory = new OutputCachingConverterFactory(
+				"json", converterFactory, outputCache);
+
+		assertEquals(factory.getName(), "someName");
+		assertTrue(factory.factorsThreadSafeConverters());
+		assertTrue(factory
+				.factorExternallyConvertableToStringConverter() instanceof OutputCachingToStringConverter);
+		assertTrue(factory
+				.factorStringToExternallyConvertableConverter() instanceof StringToExternallyConvertibleConverterSpy);
+	}
+
+	private void assertStatistics(long hits, long misses, long evictions, long invalidations,
+			int entries, long size) {
+		CacheStatistics statistics = outputCache.getStatistics();
+		assertEquals(statistics.getNoOfHits(), hits);
+		assertEquals(statistics.getNoOfMisses(), misses);
+		assertEquals(statistics.getNoOfEvictions(), evictions);
+		assertEquals(statistics.getNoOfInvalidations(), invalidations);
+		assertEquals(statistics.getNoOfEntries(), entries);
+		assertEquals(statistics.getSize(), size);
+	}
+
+	@Test
+	public void testConvertWithPartialProjectionIsNotCached() throws Exception {
+		ProjectingToStringConverterSpy projectingSpy = new ProjectingToStringConverterSpy();
+		converter = new OutputCachingToStringConverter("json", projectingSpy, outputCache);
+		Projection projection = Projection.ofNamePaths(List.of("title"));
+
+		assertTrue(converter.supportsProjections());
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"), projection);
+		converter.convertWithLinks(new ExternallyConvertibleSpy("book:1", "v1"),
+				createExternalUrls("someUrl"), projection);
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"), projection);
+
+		assertEquals(projectingSpy.noOfProjectionCalls, 3);
+		assertSame(projectingSpy.projection, projection);
+		assertStatistics(0, 0, 0, 0, 0, 0);
+	}
+
+	@Test
+	public void testConvertWithProjectionIncludingAllIsCached() throws Exception {
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"), Projection.all());
+		converter.convertWithLinks(new ExternallyConvertibleSpy("book:1", "v1"),
+				createExternalUrls("someUrl"), Projection.all());
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"));
+
+		assertEquals(converterSpy.noOfConvertCalls, 2);
+		assertFalse(converter.supportsProjections());
+	}
+
+	@Test
+	public void testDataEventsAreTakenFromFactory() throws Exception {
+		DataEventConverterFactorySpy dataEventFactory = new DataEventConverterFactorySpy(
+				"someName");
+		ConverterFactory factory = new OutputCachingConverterFactory("json",
+				dataEventFactory, outputCache);
+
+		assertTrue(factory.supportsDataEvents());
+		assertSame(factory.factorDataEventReader(), dataEventFactory.reader);
+		assertSame(factory.factorDataEventWriter(), dataEventFactory.writer);
+	}
+
+	@Test
+	public void testConvertWithOutputSizeHintIsCached() throws Exception {
+		SizeHintedToStringConverterSpy hintedSpy = new SizeHintedToStringConverterSpy();
+		converter = new OutputCachingToStringConverter("json", hintedSpy, outputCache);
+
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"), 10);
+		converter.convert(new ExternallyConvertibleSpy("book:1", "v1"), 10);
+		converter.convertWithLinks(new ExternallyConvertibleSpy("book:1", "v1"),
+				createExternalUrls("someUrl"), 20);
+
+		assertEquals(hintedSpy.outputSizeHints, List.of(10, 20));
+		assertStatistics(1, 2, 0, 0, 2, 47);
+	}
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.OutputSizeEstimator.Estimate;
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+import se.uu.ub.cora.converter.spy.SizeHintedToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.StringToExternallyConvertibleConverterSpy;
+
+public class OutputSizeEstimatorTest {
+	private OutputSizeEstimator outputSizeEstimator;
+	private SizeHintedToStringConverterSpy converterSpy;
+	private SizeHintingToStringConverter converter;
+	private ExternalUrls externalUrls;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		outputSizeEstimator = new OutputSizeEstimator(
+				externallyConvertible -> ((ExternallyConvertibleSpy) externallyConvertible).identity);
+		converterSpy = new SizeHintedToStringConverterSpy();
+		converter = new SizeHintingToStringConverter(converterSpy, outputSizeEstimator);
+		externalUrls = new ExternalUrls();
+	}
+
+	@Test
+	public void testFirstConversionGetsNoHint() throws Exception {
+		String converted = converter.convert(record("book"));
+
+		assertEquals(converted, "someConvertedString");
+		assertEquals(converterSpy.outputSizeHints, List.of(0));
+	}
+
+	private ExternallyConvertibleSpy record(String recordType) {
+		return new ExternallyConvertibleSpy(recordType, "v1");
+	}
+
+	@Test
+	public void testFirstSizeIsUsedAsEstimate() throws Exception {
+		converterSpy.convertedString = "x".repeat(800);
+
+		converter.convert(record("book"));
+		converter.convert(record("book"));
+
+		assertEquals(converterSpy.outputSizeHints, List.of(0, 900));
+		assertStatistics(0, "book", false, 2, 800, 900);
+	}
+
+	private void assertStatistics(int index, String recordType, boolean withLinks,
+			long noOfSamples, long averageSize, int outputSizeHint) {
+		OutputSizeStatistics statistics = outputSizeEstimator.getStatistics().get(index);
+		assertEquals(statistics.getRecordType(), recordType);
+		assertEquals(statistics.isWithLinks(), withLinks);
+		assertEquals(statistics.getNoOfSamples(), noOfSamples);
+		assertEquals(statistics.getAverageSize(), averageSize);
+		assertEquals(statistics.getOutputSizeHint(), outputSizeHint);
+	}
+
+	@Test
+	public void testConcurrentFirstSamplesAreAllAdded() throws Exception {
+		Estimate estimate = outputSizeEstimator.getEstimate(record("book"), false);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger noOfOtherHints = new AtomicInteger();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			threads.add(Thread.ofPlatform().start(() -> {
+				awaitStart(start);
+				for (int j = 0; j < 1000; j++) {
+					estimate.addSample(800);
+					if (estimate.getOutputSizeHint() != 900) {
+						noOfOtherHints.incrementAndGet();
+					}
+				}
+			}));
+		}
+
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(noOfOtherHints.get(), 0);
+		assertStatistics(0, "book", false, 8000, 800, 900);
+	}
+
+	private void awaitStart(CountDownLatch start) {
+		try {
+			start.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Test
+	public void testEstimateMovesAnEighthTowardsNewSizes() throws Exception {
+		converterSpy.convertedString = "x".repeat(800);
+		converter.convert(record("book"));
+		converterSpy.convertedString = "x".repeat(1600);
+
+		converter.convert(record("book"));
+		converter.convert(record("book"));
+
+		assertEquals(converterSpy.outputSizeHints, List.of(0, 900, 1012));
+		assertStatistics(0, "book", false, 3, 987, 1110);
+	}
+
+	@Test
+	public void testEstimatesAreKeptPerRecordTypeAndLinks() throws Exception {
+		converterSpy.convertedString = "x".repeat(80);
+		converterSpy.convertedWithLinksString = "x".repeat(160);
+
+		converter.convert(record("person"));
+		converter.convertWithLinks(record("book"), externalUrls);
+		converter.convert(record("book"));
+		converter.convert(new ExternallyConvertibleSpy());
+		converter.convertWithLinks(record("book"), externalUrls);
+
+		assertEquals(converterSpy.outputSizeHints, List.of(0, 0, 0, 0, 180));
+		List<OutputSizeStatistics> statistics = outputSizeEstimator.getStatistics();
+		assertEquals(statistics.size(), 4);
+		assertStatistics(0, "book", false, 1, 80, 90);
+		assertStatistics(1, "book", true, 2, 160, 180);
+		assertStatistics(2, "person", false, 1, 80, 90);
+		assertStatistics(3, null, false, 1, 80, 90);
+	}
+
+	@Test
+	public void testNoStatisticsBeforeConversions() throws Exception {
+		assertTrue(outputSizeEstimator.getStatistics().isEmpty());
+	}
+
+	@Test
+	public void testEnteredHintIsPassedOnAndSizeAdded() throws Exception {
+		converter.convert(record("book"), 17);
+		converter.convertWithLinks(record("book"), externalUrls, 4711);
+
+		assertEquals(converterSpy.outputSizeHints, List.of(17, 4711));
+		assertStatistics(0, "book", false, 1, "someConvertedString".length(), 21);
+		assertStatistics(1, "book", true, 1, "someConvertedWithLinksString".length(), 31);
+	}
+
+	@Test
+	public void testSizeOfOutputToAppendableIsAdded() throws Exception {
+		StringBuilder output = new StringBuilder();
+
+		converter.convertTo(record("book"), output);
+		converter.convertWithLinksTo(record("book"), externalUrls, output);
+
+		assertEquals(output.toString(), "someConvertedStringsomeConvertedWithLinksString");
+		assertStatistics(0, "book", false, 1, "someConvertedString".length(), 21);
+		assertStatistics(1, "book", true, 1, "someConvertedWithLinksString".length(), 31);
+	}
+
+	@Test
+	public void testByteAndProjectionConversionsDoNotAffectEstimates() throws Exception {
+		converter.convertToStream(record("book"), new ByteArrayOutputStream());
+		converter.convertWithLinksToStream(record("book"), externalUrls,
+				new ByteArrayOutputStream());
+		converter.convertToUtf8(record("book"));
+		converter.convertWithLinksToUtf8(record("book"), externalUrls);
+		converter.convertToBuffer(record("book"), ByteBuffer.allocate(100));
+		converter.convertWithLinksToBuffer(record("book"), externalUrls, ByteBuffer.allocate(100));
+		converter.convert(record("book"), Projection.all());
+		converter.convertWithLinks(record("book"), externalUrls, Projection.all());
+
+		assertFalse(converter.supportsProjections());
+		assertEquals(converterSpy.noOfConvertCalls, 8);
+		assertTrue(converterSpy.outputSizeHints.isEmpty());
+		assertTrue(outputSizeEstimator.getStatistics().isEmpty());
+	}
+
+	@Test
+	public void testListElementsAreHintedOneAtATime() throws Exception {
+		converter.convertAll(List.of(record("book"), record("book")));
+		converter.convertAllWithLinks(List.of(record("book")), externalUrls);
+
+		assertEquals(converterSpy.outputSizeHints, List.of(0, 21, 0));
+		assertStatistics(0, "book", false, 2, "someConvertedString".length(), 21);
+	}
+
+	@Test
+	public void testFactoryGivesHintsToToStringConvertersOnly() throws Exception {
+		ConverterFactorySpy converterFactory = new ConverterFactorySpy("someName");
+		converterFactory.threadSafe = true;
+		SizeHintingConverterFactory factory = new SizeHintingConverterFactory(converterFactory,
+				outputSizeEstimator);
+
+		assertEquals(factory.getName(), "someName");
+		assertTrue(factory.factorsThreadSafeConverters());
+		assertFalse(factory.supportsDataEvents());
+		assertTrue(factory
+				.factorExternallyConvertableToStringConverter() instanceof SizeHintingToStringConverter);
+		assertTrue(factory
+				.factorStringToExternallyConvertableConverter() instanceof StringToExternallyConvertibleConverterSpy);
+	}
+
+	@Test
+	public void testNullRecordTypeIsUnknownType() throws Exception {
+		OutputSizeEstimator estimator = new OutputSizeEstimator(externallyConvertible -> null);
+		converter = new SizeHintingToStringConverter(converterSpy, estimator);
+
+		converter.convert(record("book"));
+
+		assertNull(estimator.getStatistics().get(0).getRecordType());
+	}
+
+	@Test
+	public void testEstimatesForLeastRecentlyUsedRecordTypeAreRemovedAboveMax()
+			throws Exception {
+		OutputSizeEstimator estimator = new OutputSizeEstimator(
+				externallyConvertible -> ((ExternallyConvertibleSpy) externallyConvertible).identity,
+				2);
+		converter = new SizeHintingToStringConverter(converterSpy, estimator);
+
+		converter.convert(record("book"));
+		converter.convert(record("person"));
+		converter.convert(record("book"));
+		converter.convert(record("place"));
+
+		List<OutputSizeStatistics> statistics = estimator.getStatistics();
+		assertEquals(statistics.size(), 2);
+		assertEquals(statistics.get(0).getRecordType(), "book");
+		assertEquals(statistics.get(0).getNoOfSamples(), 2);
+		assertEquals(statistics.get(1).getRecordType(), "place");
+	}
+
+	@Test
+	public void testDefaultMaxNoOfRecordTypes() throws Exception {
+		for (int i = 0; i <= OutputSizeEstimator.DEFAULT_MAX_NO_OF_RECORD_TYPES; i++) {
+			converter.convert(record("type" + i));
+		}
+
+		assertEquals(outputSizeEstimator.getStatistics().size(),
+				OutputSizeEstimator.DEFAULT_MAX_NO_OF_RECORD_TYPES);
+	}
+
+	@Test
+	public void testMaxNoOfRecordTypesMustBeAtLeastOne() throws Exception {
+		Exception caughtException = null;
+		try {
+			new OutputSizeEstimator(externallyConvertible -> null, 0);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(),
+				"Max no of record types must be at least 1, was 0");
+	}
+}
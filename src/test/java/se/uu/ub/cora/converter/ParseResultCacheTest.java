@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.DataEventConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleCopierSpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleToStringConverterSpy;
+import se.uu.ub.cora.converter.spy.StringToExternallyConvertibleConverterSpy;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+public class ParseResultCacheTest {
+	private ExternallyConvertibleCopierSpy copier;
+	private ParseResultCache parseResultCache;
+	private StringToExternallyConvertibleConverterSpy converterSpy;
+	private ParseResultCachingFromStringConverter converter;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		copier = new ExternallyConvertibleCopierSpy();
+		setUpCacheWithMaxSize(100);
+	}
+
+	private void setUpCacheWithMaxSize(long maxSize) {
+		setUpCacheWithMaxSizeAndMaxNoOfEntries(maxSize, 100);
+	}
+
+	private void setUpCacheWithMaxSizeAndMaxNoOfEntries(long maxSize, int maxNoOfEntries) {
+		parseResultCache = new ParseResultCache(maxSize, maxNoOfEntries, copier);
+		converterSpy = new StringToExternallyConvertibleConverterSpy();
+		converter = new ParseResultCachingFromStringConverter(converterSpy, parseResultCache);
+	}
+
+	@Test
+	public void testMaxSizeMustBeAtLeastOne() throws Exception {
+		Exception caughtException = null;
+		try {
+			new ParseResultCache(0, 1, copier);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(), "Max size must be at least 1, was 0");
+	}
+
+	@Test
+	public void testMaxNoOfEntriesMustBeAtLeastOne() throws Exception {
+		Exception caughtException = null;
+		try {
+			new ParseResultCache(1, 0, copier);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(), "Max no of entries must be at least 1, was 0");
+	}
+
+	@Test
+	public void testFirstConversionIsParsedAndCopyIsCached() throws Exception {
+		ExternallyConvertible converted = converter.convert("someData");
+
+		assertSame(converted, converterSpy.returnedExternallyConvertibles.get(0));
+		assertSame(copier.copied.get(0), converted);
+		assertStatistics(0, 1, 0, 0, 1, 8);
+	}
+
+	@Test
+	public void testEqualDataStringReturnsCopyOfCachedResult() throws Exception {
+		ExternallyConvertible first = converter.convert("someData");
+
+		ExternallyConvertible second = converter.convert(new String("someData"));
+		ExternallyConvertible third = converter.convert("someData");
+
+		assertEquals(converterSpy.dataStrings.size(), 1);
+		assertSame(copier.copied.get(1), copier.returnedCopies.get(0));
+		assertSame(second, copier.returnedCopies.get(1));
+		assertSame(third, copier.returnedCopies.get(2));
+		assertNotSame(second, first);
+		assertNotSame(third, second);
+		assertStatistics(2, 1, 0, 0, 1, 8);
+	}
+
+	@Test
+	public void testImmutableResultsAreNotCopied() throws Exception {
+		parseResultCache = new ParseResultCache(100, 100,
+				ExternallyConvertibleCopier.immutableResults());
+		converter = new ParseResultCachingFromStringConverter(converterSpy, parseResultCache);
+
+		ExternallyConvertible first = converter.convert("someData");
+
+		assertSame(converter.convert("someData"), first);
+		assertEquals(converterSpy.dataStrings.size(), 1);
+	}
+
+	@Test
+	public void testDifferentDataStringsAreParsedSeparately() throws Exception {
+		converter.convert("Aa");
+		converter.convert("BB");
+
+		assertEquals(converterSpy.dataStrings.size(), 2);
+		assertStatistics(0, 2, 0, 0, 2, 4);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvictedWhenMaxSizeIsExceeded() throws Exception {
+		setUpCacheWithMaxSize(10);
+
+		converter.convert("someData1");
+		converter.convert("a");
+		converter.convert("someData1");
+		converter.convert("b");
+		converter.convert("a");
+
+		assertEquals(converterSpy.dataStrings, List.of("someData1", "a", "b", "a"));
+		assertStatistics(1, 4, 2, 0, 2, 2);
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvictedWhenMaxNoOfEntriesIsExceeded() throws Exception {
+		setUpCacheWithMaxSizeAndMaxNoOfEntries(100, 2);
+
+		converter.convert("a");
+		converter.convert("b");
+		converter.convert("a");
+		converter.convert("c");
+		converter.convert("b");
+
+		assertEquals(converterSpy.dataStrings, List.of("a", "b", "c", "b"));
+		assertStatistics(1, 4, 2, 0, 2, 2);
+	}
+
+	@Test
+	public void testDataStringLongerThanMaxSizeIsNotCached() throws Exception {
+		setUpCacheWithMaxSize(4);
+
+		converter.convert("someData");
+		converter.convert("someData");
+
+		assertEquals(converterSpy.dataStrings.size(), 2);
+		assertTrue(copier.copied.isEmpty());
+		assertStatistics(0, 0, 0, 0, 0, 0);
+	}
+
+	@Test
+	public void testNullDataStringIsNotCached() throws Exception {
+		converter.convert((String) null);
+
+		assertEquals(converterSpy.dataStrings.size(), 1);
+		assertStatistics(0, 0, 0, 0, 0, 0);
+	}
+
+	@Test
+	public void testFailedConversionIsNotCached() throws Exception {
+		converter = new ParseResultCachingFromStringConverter(
+				new StringToExternallyConvertibleConverterSpy() {
+					@Override
+					public ExternallyConvertible convert(String dataString) {
+						throw new ConverterException("someFailure");
+					}
+				}, parseResultCache);
+
+		Exception caughtException = null;
+		try {
+			converter.convert("someData");
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterException);
+		assertStatistics(0, 1, 0, 0, 0, 0);
+	}
+
+	@Test
+	public void testReaderAndInputStreamUseCache() throws Exception {
+		converter.convert("someData");
+
+		converter.convert(new StringReader("someData"));
+		converter.convert(new ByteArrayInputStream("someData".getBytes(StandardCharsets.UTF_8)),
+				StandardCharsets.UTF_8);
+
+		assertEquals(converterSpy.dataStrings.size(), 1);
+		assertStatistics(2, 1, 0, 0, 1, 8);
+	}
+
+	@Test
+	public void testInvalidateAll() throws Exception {
+		converter.convert("someData");
+		converter.convert("otherData");
+
+		parseResultCache.invalidateAll();
+		converter.convert("someData");
+
+		assertEquals(converterSpy.dataStrings.size(), 3);
+		assertStatistics(0, 3, 0, 2, 1, 8);
+	}
+
+	@Test
+	public void testFactoryCachesFromStringConvertersOnly() throws Exception {
+		ConverterFactorySpy converterFactory = new ConverterFactorySpy("someName");
+		ParseResultCachingConverterFactory factory = new ParseResultCachingConverterFactory(
+				converterFactory, parseResultCache);
+
+		assertEquals(factory.getName(), "someName");
+		assertEquals(factory.factorsThreadSafeConverters(), false);
+		assertTrue(factory
+				.factorExternallyConvertableToStringConverter() instanceof ExternallyConvertibleToStringConverterSpy);
+		assertTrue(factory
+				.factorStringToExternallyConvertableConverter() instanceof ParseResultCachingFromStringConverter);
+	}
+
+	private void assertStatistics(long hits, long misses, long evictions, long invalidations,
+			int entries, long size) {
+		CacheStatistics statistics = parseResultCache.getStatistics();
+		assertEquals(statistics.getNoOfHits(), hits);
+		assertEquals(statistics.getNoOfMisses(), misses);
+		assertEquals(statistics.getNoOfEvictions(), evictions);
+		assertEquals(statistics.getNoOfInvalidations(), invalidations);
+		assertEquals(statistics.getNoOfEntries(), entries);
+		assertEquals(statistics.getSize(), size);
+	}
+
+	@Test
+	public void testDataEventsAreTakenFromFactory() throws Exception {
+		DataEventConverterFactorySpy dataEventFactory = new DataEventConverterFactorySpy(
+				"someName");
+		ConverterFactory factory = new ParseResultCachingConverterFactory(
+				dataEventFactory, parseResultCache);
+
+		assertTrue(factory.supportsDataEvents());
+		assertSame(factory.factorDataEventReader(), dataEventFactory.reader);
+		assertSame(factory.factorDataEventWriter(), dataEventFactory.writer);
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+public class ProjectionTest {
+
+	@Test
+	public void testAllIncludesEverything() throws Exception {
+		Projection projection = Projection.all();
+
+		assertTrue(projection.includesAll());
+		assertFalse(projection.includesNothing());
+		assertSame(projection.forChild("recordInfo"), projection);
+	}
+
+	@Test
+	public void testNamePathsIncludeNamesOnPathsAndEverythingBelow() throws Exception {
+		Projection projection = Projection.ofNamePaths(List.of("recordInfo/id", "title"));
+
+		assertFalse(projection.includesAll());
+		assertFalse(projection.includesNothing());
+		Projection recordInfo = projection.forChild("recordInfo");
+		assertFalse(recordInfo.includesAll());
+		assertFalse(recordInfo.includesNothing());
+		assertTrue(recordInfo.forChild("id").includesAll());
+		assertTrue(recordInfo.forChild("id").forChild("anyChild").includesAll());
+		assertTrue(recordInfo.forChild("type").includesNothing());
+		assertTrue(projection.forChild("title").includesAll());
+		assertTrue(projection.forChild("abstract").includesNothing());
+		assertTrue(projection.forChild("abstract").forChild("any").includesNothing());
+	}
+
+	@Test
+	public void testShorterNamePathIncludesEverythingBelowLongerPath() throws Exception {
+		Projection projection = Projection.ofNamePaths(List.of("recordInfo/id", "recordInfo"));
+
+		assertTrue(projection.forChild("recordInfo").includesAll());
+	}
+
+	@Test
+	public void testNoNamePathsIncludesNoChildren() throws Exception {
+		Projection projection = Projection.ofNamePaths(List.of());
+
+		assertFalse(projection.includesAll());
+		assertTrue(projection.forChild("recordInfo").includesNothing());
+	}
+
+	@Test
+	public void testEmptyNamePathThrowsError() throws Exception {
+		assertNamePathThrowsError("");
+	}
+
+	private void assertNamePathThrowsError(String namePath) {
+		Exception caughtException = null;
+		try {
+			Projection.ofNamePaths(List.of(namePath));
+		} catch (Exception e) {
+			caughtException = e;
+		}
+		assertTrue(caughtException instanceof IllegalArgumentException);
+		assertEquals(caughtException.getMessage(),
+				"Name path must be names separated by /, was: " + namePath);
+	}
+
+	@Test
+	public void testNamePathWithEmptyNameThrowsError() throws Exception {
+		assertNamePathThrowsError("recordInfo//id");
+		assertNamePathThrowsError("/recordInfo");
+		assertNamePathThrowsError("recordInfo/");
+	}
+
+	@Test
+	public void testFilterIsCalledWithNamePathOfEachChild() throws Exception {
+		List<List<String>> testedNamePaths = new ArrayList<>();
+		Projection projection = Projection.ofFilter(namePath -> {
+			testedNamePaths.add(namePath);
+			return !namePath.contains("type");
+		});
+
+		Projection recordInfo = projection.forChild("recordInfo");
+		Projection id = recordInfo.forChild("id");
+		Projection type = recordInfo.forChild("type");
+
+		assertFalse(recordInfo.includesAll());
+		assertFalse(recordInfo.includesNothing());
+		assertFalse(id.includesNothing());
+		assertTrue(type.includesNothing());
+		assertEquals(testedNamePaths, List.of(List.of("recordInfo"),
+				List.of("recordInfo", "id"), List.of("recordInfo", "type")));
+	}
+
+	@Test
+	public void testFilterIsNotCalledBelowSkippedChild() throws Exception {
+		List<List<String>> testedNamePaths = new ArrayList<>();
+		Projection projection = Projection.ofFilter(namePath -> {
+			testedNamePaths.add(namePath);
+			return false;
+		});
+
+		projection.forChild("recordInfo").forChild("id");
+
+		assertEquals(testedNamePaths, List.of(List.of("recordInfo")));
+	}
+}
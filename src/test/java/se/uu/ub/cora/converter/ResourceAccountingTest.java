@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+
+public class ResourceAccountingTest {
+	private ThreadResourceMeterSpy meter;
+	private ResourceAccounting accounting;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		meter = new ThreadResourceMeterSpy();
+		accounting = new ResourceAccounting(
+				externallyConvertible -> ((ExternallyConvertibleSpy) externallyConvertible).identity,
+				meter);
+	}
+
+	@Test
+	public void testNoSnapshotsBeforeConversions() throws Exception {
+		assertTrue(accounting.getSnapshots().isEmpty());
+	}
+
+	@Test
+	public void testUsageIsMeasuredAsDifference() throws Exception {
+		convert("xml", ConversionDirection.TO_STRING, "book", 1000, 300);
+		convert("xml", ConversionDirection.TO_STRING, "book", 3000, 100);
+
+		List<ResourceUsageSnapshot> snapshots = accounting.getSnapshots();
+
+		assertEquals(snapshots.size(), 1);
+		ResourceUsageSnapshot snapshot = snapshots.get(0);
+		assertEquals(snapshot.getConverterName(), "xml");
+		assertEquals(snapshot.getDirection(), ConversionDirection.TO_STRING);
+		assertEquals(snapshot.getRecordType(), "book");
+		assertEquals(snapshot.getNoOfCalls(), 2);
+		assertEquals(snapshot.getNoOfAllocationMeasurements(), 2);
+		assertEquals(snapshot.getTotalAllocatedBytes(), 4000);
+		assertEquals(snapshot.getAverageAllocatedBytes(), 2000);
+		assertEquals(snapshot.getNoOfCpuTimeMeasurements(), 2);
+		assertEquals(snapshot.getTotalCpuTimeNanos(), 400);
+		assertEquals(snapshot.getAverageCpuTimeNanos(), 200);
+	}
+
+	@Test
+	public void testUsageIsCollectedPerNameDirectionAndRecordType() throws Exception {
+		convert("xml", ConversionDirection.FROM_STRING, "book", 1, 1);
+		convert("xml", ConversionDirection.TO_STRING, null, 1, 1);
+		convert("xml", ConversionDirection.TO_STRING, "person", 1, 1);
+		convert("json", ConversionDirection.TO_STRING, "book", 1, 1);
+		convert("xml", ConversionDirection.TO_STRING, "book", 1, 1);
+
+		List<ResourceUsageSnapshot> snapshots = accounting.getSnapshots();
+
+		assertEquals(snapshots.size(), 5);
+		assertSnapshot(snapshots.get(0), "json", ConversionDirection.TO_STRING, "book");
+		assertSnapshot(snapshots.get(1), "xml", ConversionDirection.TO_STRING, "book");
+		assertSnapshot(snapshots.get(2), "xml", ConversionDirection.TO_STRING, "person");
+		assertSnapshot(snapshots.get(3), "xml", ConversionDirection.TO_STRING, null);
+		assertSnapshot(snapshots.get(4), "xml", ConversionDirection.FROM_STRING, "book");
+	}
+
+	private void assertSnapshot(ResourceUsageSnapshot snapshot, String converterName,
+			ConversionDirection direction, String recordType) {
+		assertEquals(snapshot.getConverterName(), converterName);
+		assertEquals(snapshot.getDirection(), direction);
+		assertEquals(snapshot.getRecordType(), recordType);
+	}
+
+	@Test
+	public void testUnknownMeasurementsAreNotIncluded() throws Exception {
+		convert("xml", ConversionDirection.TO_STRING, "book", 1000, 300);
+		meter.allocatedBytes = ThreadResourceMeter.UNKNOWN;
+		meter.cpuTimeNanos = ThreadResourceMeter.UNKNOWN;
+		convert("xml", ConversionDirection.TO_STRING, "book", 0, 0);
+
+		ResourceUsageSnapshot snapshot = accounting.getSnapshots().get(0);
+
+		assertEquals(snapshot.getNoOfCalls(), 2);
+		assertEquals(snapshot.getNoOfAllocationMeasurements(), 1);
+		assertEquals(snapshot.getAverageAllocatedBytes(), 1000);
+		assertEquals(snapshot.getNoOfCpuTimeMeasurements(), 1);
+		assertEquals(snapshot.getAverageCpuTimeNanos(), 300);
+	}
+
+	@Test
+	public void testAveragesAreZeroWithoutMeasurements() throws Exception {
+		meter.allocatedBytes = ThreadResourceMeter.UNKNOWN;
+		meter.cpuTimeNanos = ThreadResourceMeter.UNKNOWN;
+		convert("xml", ConversionDirection.TO_STRING, "book", 0, 0);
+
+		ResourceUsageSnapshot snapshot = accounting.getSnapshots().get(0);
+
+		assertEquals(snapshot.getAverageAllocatedBytes(), 0);
+		assertEquals(snapshot.getAverageCpuTimeNanos(), 0);
+	}
+
+	@Test
+	public void testUnknownRecordTypeWhenNoExternallyConvertible() throws Exception {
+		Conversion conversion = new Conversion("xml", ConversionDirection.FROM_STRING, false);
+
+		accounting.addConversion(conversion, accounting.readStartValues());
+
+		assertNull(accounting.getSnapshots().get(0).getRecordType());
+	}
+
+	@Test
+	public void testReset() throws Exception {
+		convert("xml", ConversionDirection.TO_STRING, "book", 1, 1);
+
+		accounting.reset();
+
+		assertTrue(accounting.getSnapshots().isEmpty());
+	}
+
+	private void convert(String converterName, ConversionDirection direction, String recordType,
+			long allocatedBytes, long cpuTimeNanos) {
+		Conversion conversion = new Conversion(converterName, direction, false);
+		conversion.setExternallyConvertible(new ExternallyConvertibleSpy(recordType, "v1"));
+		long[] startValues = accounting.readStartValues();
+		if (meter.allocatedBytes != ThreadResourceMeter.UNKNOWN) {
+			meter.allocatedBytes += allocatedBytes;
+			meter.cpuTimeNanos += cpuTimeNanos;
+		}
+		accounting.addConversion(conversion, startValues);
+	}
+
+	private static class ThreadResourceMeterSpy implements ThreadResourceMeter {
+		long allocatedBytes = 10_000;
+		long cpuTimeNanos = 20_000;
+
+		@Override
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+
+		@Override
+		public long getCpuTimeNanos() {
+			return cpuTimeNanos;
+		}
+	}
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.ExternallyConvertibleSpy;
+import se.uu.ub.cora.converter.spy.log.LoggerFactorySpy;
+import se.uu.ub.cora.data.ExternallyConvertible;
+import se.uu.ub.cora.logger.LoggerProvider;
+
+public class StreamingListConverterTest {
+	private static final String CONVERTER_NAME = "streaming";
+	private IdentityConverterFactory converterFactory;
+	private StreamingListConverter streamingConverter;
+	private ExternalUrls externalUrls;
+	private StringBuilder output;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		LoggerProvider.setLoggerFactory(LoggerFactorySpy.getInstance());
+		ConverterProvider.setUseCachedConverters(false);
+		ConverterProvider.resetConverterFactories();
+		converterFactory = new IdentityConverterFactory();
+		ConverterProvider.setConverterFactory(CONVERTER_NAME, converterFactory);
+		streamingConverter = new StreamingListConverter(CONVERTER_NAME,
+				new ListEnvelope("[", ",", "]"));
+		externalUrls = new ExternalUrls();
+		output = new StringBuilder();
+	}
+
+	@Test
+	public void testConvertAllFromIterator() throws Exception {
+		long noOfRecords = streamingConverter.convertAll(createRecords(3).iterator(), output);
+
+		assertEquals(noOfRecords, 3);
+		assertEquals(output.toString(), "[record0,record1,record2]");
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+	}
+
+	@Test
+	public void testConvertAllFromEmptyIterator() throws Exception {
+		long noOfRecords = streamingConverter.convertAll(createRecords(0).iterator(), output);
+
+		assertEquals(noOfRecords, 0);
+		assertEquals(output.toString(), "[]");
+	}
+
+	@Test
+	public void testConvertAllWithLinksFromIterator() throws Exception {
+		streamingConverter.convertAllWithLinks(createRecords(2).iterator(), externalUrls, output);
+
+		assertEquals(output.toString(), "[withLinks:record0,withLinks:record1]");
+		assertSame(converterFactory.converter.externalUrls, externalUrls);
+	}
+
+	@Test
+	public void testRecordsAreReadFromIteratorOneAtATime() throws Exception {
+		CountingAppendable countingOutput = new CountingAppendable(new NullAppendable());
+		GeneratingIterator records = new GeneratingIterator(100000);
+
+		long noOfRecords = streamingConverter.convertAll(records, countingOutput);
+
+		assertEquals(noOfRecords, 100000);
+		assertEquals(records.maxNoOfRecordsAheadOfOutput, 0);
+	}
+
+	@Test
+	public void testErrorFromConverterIsThrownAfterEarlierRecordsAreWritten() throws Exception {
+		List<ExternallyConvertible> records = createRecords(3);
+		records.set(1, new ExternallyConvertibleSpy());
+		Exception caughtException = null;
+		try {
+			streamingConverter.convertAll(records.iterator(), output);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(), "Unable to convert, thrown by SPY");
+		assertEquals(output.toString(), "[record0,");
+	}
+
+	@Test
+	public void testErrorWritingEnvelopeIsThrownAsConverterException() throws Exception {
+		Exception caughtException = null;
+		try {
+			streamingConverter.convertAll(createRecords(1).iterator(), new FailingAppendable());
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(), "Unable to write converted data");
+		assertTrue(caughtException.getCause() instanceof IOException);
+	}
+
+	@Test
+	public void testUnknownConverterNameThrowsInitializationException() throws Exception {
+		StreamingListConverter unknown = new StreamingListConverter("unknown",
+				new ListEnvelope("[", ",", "]"));
+		RecordPublisherSpy publisher = new RecordPublisherSpy();
+		Exception caughtException = null;
+		try {
+			unknown.convertAll(publisher, output);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(publisher.subscriber, null);
+	}
+
+	@Test
+	public void testConvertAllFromPublisherRequestsOneRecordAtATime() throws Exception {
+		RecordPublisherSpy publisher = new RecordPublisherSpy();
+
+		CompletableFuture<Long> future = streamingConverter.convertAll(publisher, output);
+
+		assertEquals(output.toString(), "[");
+		assertEquals(publisher.noOfRequested, 1);
+		publisher.publish(createRecord(0));
+		assertEquals(output.toString(), "[record0");
+		assertEquals(publisher.noOfRequested, 2);
+		publisher.publish(createRecord(1));
+		assertFalse(future.isDone());
+		publisher.complete();
+
+		assertEquals(future.get(), Long.valueOf(2));
+		assertEquals(output.toString(), "[record0,record1]");
+		assertEquals(publisher.noOfRequested, 3);
+		assertFalse(publisher.cancelled);
+	}
+
+	@Test
+	public void testConvertAllWithLinksFromPublisher() throws Exception {
+		RecordPublisherSpy publisher = new RecordPublisherSpy();
+
+		CompletableFuture<Long> future = streamingConverter.convertAllWithLinks(publisher,
+				externalUrls, output);
+		publisher.publish(createRecord(0));
+		publisher.complete();
+
+		assertEquals(future.get(), Long.valueOf(1));
+		assertEquals(output.toString(), "[withLinks:record0]");
+	}
+
+	@Test
+	public void testConverterIsFetchedOnceForAllPublishedRecords() throws Exception {
+		RecordPublisherSpy publisher = new RecordPublisherSpy();
+
+		streamingConverter.convertAll(publisher, output);
+		publisher.publish(createRecord(0));
+		publisher.publish(createRecord(1));
+		publisher.complete();
+
+		assertEquals(converterFactory.noOfFactoredToStringConverters, 1);
+		assertEquals(output.toString(), "[record0,record1]");
+	}
+
+	@Test
+	public void testFailingConversionCancelsSubscription() throws Exception {
+		RecordPublisherSpy publisher = new RecordPublisherSpy();
+
+		CompletableFuture<Long> future = streamingConverter.convertAll(publisher, output);
+		publisher.publish(new ExternallyConvertibleSpy());
+		publisher.complete();
+
+		assertTrue(publisher.cancelled);
+		assertEquals(publisher.noOfRequested, 1);
+		Exception caughtException = getFailure(future);
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(), "Unable to convert, thrown by SPY");
+		assertEquals(output.toString(), "[");
+	}
+
+	private Exception getFailure(CompletableFuture<Long> future) throws InterruptedException {
+		try {
+			future.get();
+		} catch (ExecutionException e) {
+			return (Exception) e.getCause();
+		}
+		return null;
+	}
+
+	@Test
+	public void testFailingPublisherCompletesFutureExceptionally() throws Exception {
+		RecordPublisherSpy publisher = new RecordPublisherSpy();
+		IllegalStateException publisherError = new IllegalStateException("someError");
+
+		CompletableFuture<Long> future = streamingConverter.convertAll(publisher, output);
+		publisher.fail(publisherError);
+
+		Exception caughtException = getFailure(future);
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(), "Publisher of records failed");
+		assertSame(caughtException.getCause(), publisherError);
+	}
+
+	@Test
+	public void testCancellingFutureCancelsSubscription() throws Exception {
+		RecordPublisherSpy publisher = new RecordPublisherSpy();
+
+		CompletableFuture<Long> future = streamingConverter.convertAll(publisher, output);
+		future.cancel(false);
+
+		assertTrue(publisher.cancelled);
+	}
+
+	@Test
+	public void testSecondSubscriptionIsCancelled() throws Exception {
+		RecordPublisherSpy publisher = new RecordPublisherSpy();
+		streamingConverter.convertAll(publisher, output);
+		SubscriptionSpy secondSubscription = new SubscriptionSpy();
+
+		publisher.subscriber.onSubscribe(secondSubscription);
+
+		assertTrue(secondSubscription.cancelled);
+		assertEquals(secondSubscription.noOfRequested, 0);
+	}
+
+	private List<ExternallyConvertible> createRecords(int size) {
+		List<ExternallyConvertible> records = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			records.add(createRecord(i));
+		}
+		return records;
+	}
+
+	private ExternallyConvertibleSpy createRecord(int number) {
+		return new ExternallyConvertibleSpy("record" + number, "v1");
+	}
+
+	private static class IdentityConverterFactory extends ConverterFactorySpy {
+		IdentityConverter converter;
+		long noOfConvertedRecords = 0;
+
+		IdentityConverterFactory() {
+			super(CONVERTER_NAME);
+		}
+
+		@Override
+		public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
+			noOfFactoredToStringConverters++;
+			converter = new IdentityConverter(this);
+			return converter;
+		}
+	}
+
+	private static class IdentityConverter implements ExternallyConvertibleToStringConverter {
+		private final IdentityConverterFactory converterFactory;
+		ExternalUrls externalUrls;
+
+		IdentityConverter(IdentityConverterFactory converterFactory) {
+			this.converterFactory = converterFactory;
+		}
+
+		@Override
+		public String convert(ExternallyConvertible externallyConvertible) {
+			String identity = ((ExternallyConvertibleSpy) externallyConvertible).identity;
+			if (identity == null) {
+				throw new ConverterException("Unable to convert, thrown by SPY");
+			}
+			converterFactory.noOfConvertedRecords++;
+			return identity;
+		}
+
+		@Override
+		public String convertWithLinks(ExternallyConvertible externallyConvertible,
+				ExternalUrls externalUrls) {
+			this.externalUrls = externalUrls;
+			return "withLinks:" + convert(externallyConvertible);
+		}
+	}
+
+	private class GeneratingIterator implements Iterator<ExternallyConvertible> {
+		private final int size;
+		private int noOfReturned = 0;
+		long maxNoOfRecordsAheadOfOutput = 0;
+
+		GeneratingIterator(int size) {
+			this.size = size;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return noOfReturned < size;
+		}
+
+		@Override
+		public ExternallyConvertible next() {
+			maxNoOfRecordsAheadOfOutput = Math.max(maxNoOfRecordsAheadOfOutput,
+					noOfReturned - converterFactory.noOfConvertedRecords);
+			return createRecord(noOfReturned++);
+		}
+	}
+
+	private static class NullAppendable implements Appendable {
+		@Override
+		public Appendable append(CharSequence csq) {
+			return this;
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) {
+			return this;
+		}
+
+		@Override
+		public Appendable append(char c) {
+			return this;
+		}
+	}
+
+	private static class FailingAppendable implements Appendable {
+		@Override
+		public Appendable append(CharSequence csq) throws IOException {
+			throw new IOException("someError");
+		}
+
+		@Override
+		public Appendable append(CharSequence csq, int start, int end) throws IOException {
+			throw new IOException("someError");
+		}
+
+		@Override
+		public Appendable append(char c) throws IOException {
+			throw new IOException("someError");
+		}
+	}
+
+	private static class RecordPublisherSpy implements Flow.Publisher<ExternallyConvertible> {
+		Flow.Subscriber<? super ExternallyConvertible> subscriber;
+		long noOfRequested = 0;
+		boolean cancelled = false;
+
+		@Override
+		public void subscribe(Flow.Subscriber<? super ExternallyConvertible> subscriber) {
+			this.subscriber = subscriber;
+			subscriber.onSubscribe(new Flow.Subscription() {
+				@Override
+				public void request(long n) {
+					noOfRequested += n;
+				}
+
+				@Override
+				public void cancel() {
+					cancelled = true;
+				}
+			});
+		}
+
+		void publish(ExternallyConvertible externallyConvertible) {
+			subscriber.onNext(externallyConvertible);
+		}
+
+		void complete() {
+			subscriber.onComplete();
+		}
+
+		void fail(Throwable throwable) {
+			subscriber.onError(throwable);
+		}
+	}
+
+	private static class SubscriptionSpy implements Flow.Subscription {
+		long noOfRequested = 0;
+		boolean cancelled = false;
+
+		@Override
+		public void request(long n) {
+			noOfRequested += n;
+		}
+
+		@Override
+		public void cancel() {
+			cancelled = true;
+		}
+	}
+}
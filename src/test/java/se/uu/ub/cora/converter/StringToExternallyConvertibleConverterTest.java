@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.spy.StringToExternallyConvertibleConverterSpy;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+public class StringToExternallyConvertibleConverterTest {
+	private StringToExternallyConvertibleConverterSpy converter;
+
+	@BeforeMethod
+	public void beforeMethod() {
+		converter = new StringToExternallyConvertibleConverterSpy();
+	}
+
+	@Test
+	public void testConvertFromReader() throws Exception {
+		ExternallyConvertible result = converter.convert(new StringReader("someDataString"));
+
+		assertEquals(converter.dataStrings.get(0), "someDataString");
+		assertSame(result, converter.returnedExternallyConvertibles.get(0));
+	}
+
+	@Test
+	public void testConvertFromInputStreamUsesCharset() throws Exception {
+		byte[] bytes = "åäö".getBytes(StandardCharsets.ISO_8859_1);
+
+		ExternallyConvertible result = converter.convert(new ByteArrayInputStream(bytes),
+				StandardCharsets.ISO_8859_1);
+
+		assertEquals(converter.dataStrings.get(0), "åäö");
+		assertSame(result, converter.returnedExternallyConvertibles.get(0));
+	}
+
+	@Test
+	public void testConvertFromReaderReadErrorThrowsConverterException() throws Exception {
+		IOException ioException = new IOException();
+		Reader failingReader = new Reader() {
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				throw ioException;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		Exception caughtException = null;
+		try {
+			converter.convert(failingReader);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterException);
+		assertEquals(caughtException.getMessage(), "Unable to read data to convert");
+		assertSame(caughtException.getCause(), ioException);
+		assertTrue(converter.dataStrings.isEmpty());
+	}
+}
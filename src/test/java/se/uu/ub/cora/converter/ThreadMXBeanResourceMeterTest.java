@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.annotations.Test;
+
+public class ThreadMXBeanResourceMeterTest {
+	private ThreadMXBeanResourceMeter meter = new ThreadMXBeanResourceMeter();
+
+	@Test
+	public void testAllocatedBytesAreMeasuredForPlatformThread() throws Exception {
+		long before = meter.getAllocatedBytes();
+		byte[] allocated = new byte[100_000];
+		long after = meter.getAllocatedBytes();
+
+		assertTrue(before >= 0);
+		assertTrue(after - before >= allocated.length);
+	}
+
+	@Test
+	public void testCpuTimeIsMeasuredForPlatformThread() throws Exception {
+		assertTrue(meter.getCpuTimeNanos() >= 0);
+	}
+
+	@Test
+	public void testNothingIsMeasuredForVirtualThread() throws Exception {
+		AtomicLong allocatedBytes = new AtomicLong();
+		AtomicLong cpuTimeNanos = new AtomicLong();
+
+		Thread.ofVirtual().start(() -> {
+			allocatedBytes.set(meter.getAllocatedBytes());
+			cpuTimeNanos.set(meter.getCpuTimeNanos());
+		}).join();
+
+		assertEquals(allocatedBytes.get(), ThreadResourceMeter.UNKNOWN);
+		assertEquals(cpuTimeNanos.get(), ThreadResourceMeter.UNKNOWN);
+	}
+}
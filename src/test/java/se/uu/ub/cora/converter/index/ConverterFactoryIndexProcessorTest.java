@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.index;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ConverterFactoryIndexProcessorTest {
+	private static final String ABSTRACT_FACTORY = "se.uu.ub.cora.converter.index"
+			+ ".ConverterFactoryIndexProcessorTest.AbstractFactory";
+	private Path outputDirectory;
+	private StringWriter compilerOutput;
+
+	@BeforeMethod
+	public void beforeMethod() throws IOException {
+		outputDirectory = Files.createTempDirectory("converterIndexProcessor");
+		compilerOutput = new StringWriter();
+	}
+
+	@Test
+	public void testIndexIsWrittenForAnnotatedFactories() throws Exception {
+		boolean compiled = compile(annotatedFactorySource("JsonFactory", "json"),
+				annotatedFactorySource("XmlFactory", "xml"));
+
+		assertTrue(compiled, compilerOutput.toString());
+		assertEquals(readIndex().getImplementations(),
+				Map.of("json", "some.pkg.JsonFactory", "xml", "some.pkg.XmlFactory"));
+	}
+
+	private JavaFileObject annotatedFactorySource(String className, String name) {
+		return source(className, "@se.uu.ub.cora.converter.ConverterFactoryName(\"" + name
+				+ "\")\npublic class " + className + " extends " + ABSTRACT_FACTORY + " {}");
+	}
+
+	private JavaFileObject source(String className, String classSource) {
+		return new SimpleJavaFileObject(
+				URI.create("string:///some/pkg/" + className + ".java"),
+				JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return "package some.pkg;\n" + classSource;
+			}
+		};
+	}
+
+	private boolean compile(JavaFileObject... sources) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		CompilationTask task = compiler.getTask(compilerOutput, null, null,
+				List.of("-proc:only", "-classpath", System.getProperty("java.class.path"), "-d",
+						outputDirectory.toString()),
+				null, List.of(sources));
+		task.setProcessors(List.of(new ConverterFactoryIndexProcessor()));
+		return task.call();
+	}
+
+	private ConverterFactoryIndex readIndex() throws IOException {
+		Path indexFile = outputDirectory.resolve(ConverterFactoryIndex.RESOURCE_NAME);
+		String index = Files.readString(indexFile, StandardCharsets.UTF_8);
+		return ConverterFactoryIndex.readUsingClassLoader(
+				ConverterFactoryIndexTest.createClassLoaderWithIndexes(index));
+	}
+
+	@Test
+	public void testNoIndexIsWrittenWithoutAnnotatedFactories() throws Exception {
+		boolean compiled = compile(source("PlainClass", "public class PlainClass {}"));
+
+		assertTrue(compiled, compilerOutput.toString());
+		assertFalse(Files.exists(outputDirectory.resolve(ConverterFactoryIndex.RESOURCE_NAME)));
+	}
+
+	@Test
+	public void testAnnotatedClassNotImplementingConverterFactoryIsAnError() throws Exception {
+		boolean compiled = compile(source("NotAFactory",
+				"@se.uu.ub.cora.converter.ConverterFactoryName(\"json\")\n"
+						+ "public class NotAFactory {}"));
+
+		assertFalse(compiled);
+		assertTrue(compilerOutput.toString().contains("@ConverterFactoryName must be used on a"
+				+ " public, non abstract class implementing ConverterFactory"));
+	}
+
+	@Test
+	public void testSameNameTwiceIsAnError() throws Exception {
+		boolean compiled = compile(annotatedFactorySource("JsonFactory", "json"),
+				annotatedFactorySource("OtherJsonFactory", "json"));
+
+		assertFalse(compiled);
+		assertTrue(compilerOutput.toString().contains(
+				"More than one implementations found for ConverterFactory with name json"));
+	}
+
+	public abstract static class AbstractFactory
+			implements se.uu.ub.cora.converter.ConverterFactory {
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.index;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import se.uu.ub.cora.converter.ConverterFactory;
+import se.uu.ub.cora.converter.ConverterInitializationException;
+
+public class ConverterFactoryIndexTest {
+
+	@Test
+	public void testNoIndexIsEmpty() throws Exception {
+		ConverterFactoryIndex index = ConverterFactoryIndex
+				.readUsingClassLoader(createClassLoaderWithIndexes());
+
+		assertTrue(index.isEmpty());
+		assertTrue(index.getImplementations().isEmpty());
+		assertFalse(index.isComplete());
+	}
+
+	@Test
+	public void testReadIndex() throws Exception {
+		ClassLoader classLoader = createClassLoaderWithIndexes(
+				"json=se.some.JsonConverterFactory\nxml=se.some.XmlConverterFactory\n");
+
+		ConverterFactoryIndex index = ConverterFactoryIndex.readUsingClassLoader(classLoader);
+
+		assertEquals(index.getImplementations(), Map.of("json", "se.some.JsonConverterFactory",
+				"xml", "se.some.XmlConverterFactory"));
+	}
+
+	public static ClassLoader createClassLoaderWithIndexes(String... indexes) throws IOException {
+		URL[] urls = new URL[indexes.length];
+		for (int i = 0; i < indexes.length; i++) {
+			urls[i] = writeIndexToTempDirectory(indexes[i]).toUri().toURL();
+		}
+		return new URLClassLoader(urls, null);
+	}
+
+	private static Path writeIndexToTempDirectory(String index) throws IOException {
+		Path directory = Files.createTempDirectory("converterIndex");
+		Path indexFile = directory.resolve(ConverterFactoryIndex.RESOURCE_NAME);
+		Files.createDirectories(indexFile.getParent());
+		Files.writeString(indexFile, index, StandardCharsets.UTF_8);
+		indexFile.toFile().deleteOnExit();
+		return directory;
+	}
+
+	@Test
+	public void testIndexesAreMerged() throws Exception {
+		ClassLoader classLoader = createClassLoaderWithIndexes(
+				"json=se.some.JsonConverterFactory\n", "xml=se.other.XmlConverterFactory\n");
+
+		ConverterFactoryIndex index = ConverterFactoryIndex.readUsingClassLoader(classLoader);
+
+		assertEquals(index.getImplementations(), Map.of("json", "se.some.JsonConverterFactory",
+				"xml", "se.other.XmlConverterFactory"));
+	}
+
+	@Test
+	public void testSameNameInTwoIndexesThrowsError() throws Exception {
+		ClassLoader classLoader = createClassLoaderWithIndexes(
+				"json=se.some.JsonConverterFactory\n", "json=se.other.JsonConverterFactory\n");
+
+		Exception caughtException = null;
+		try {
+			ConverterFactoryIndex.readUsingClassLoader(classLoader);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(),
+				"More than one implementations found for ConverterFactory with name json");
+	}
+
+	@Test
+	public void testIndexIsCompleteWhenAllServicesAreIndexed() throws Exception {
+		ClassLoader classLoader = createClassLoaderWithIndexAndServices(
+				"json=se.some.JsonConverterFactory\nxml=se.some.XmlConverterFactory\n",
+				"# converters\nse.some.JsonConverterFactory\n\n"
+						+ "se.some.XmlConverterFactory # xml\n");
+
+		ConverterFactoryIndex index = ConverterFactoryIndex.readUsingClassLoader(classLoader);
+
+		assertTrue(index.isComplete());
+	}
+
+	@Test
+	public void testIndexIsNotCompleteWhenAServiceIsNotIndexed() throws Exception {
+		ClassLoader classLoader = createClassLoaderWithIndexAndServices(
+				"json=se.some.JsonConverterFactory\n",
+				"se.some.JsonConverterFactory\nse.some.XmlConverterFactory\n");
+
+		ConverterFactoryIndex index = ConverterFactoryIndex.readUsingClassLoader(classLoader);
+
+		assertFalse(index.isComplete());
+	}
+
+	@Test
+	public void testIndexWithoutServicesIsComplete() throws Exception {
+		ConverterFactoryIndex index = ConverterFactoryIndex.readUsingClassLoader(
+				createClassLoaderWithIndexes("json=se.some.JsonConverterFactory\n"));
+
+		assertTrue(index.isComplete());
+	}
+
+	private static ClassLoader createClassLoaderWithIndexAndServices(String index,
+			String services) throws IOException {
+		Path directory = writeIndexToTempDirectory(index);
+		Path serviceFile = directory
+				.resolve("META-INF/services/" + ConverterFactory.class.getName());
+		Files.createDirectories(serviceFile.getParent());
+		Files.writeString(serviceFile, services, StandardCharsets.UTF_8);
+		serviceFile.toFile().deleteOnExit();
+		return new URLClassLoader(new URL[] { directory.toUri().toURL() }, null);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2019, 2021 Uppsala University Library
+ * Copyright 2019, 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -27,6 +27,12 @@ public class ConverterFactorySpy implements ConverterFactory {
 
 	public String factoryName;
 	public String converterName;
+	public boolean threadSafe = false;
+	public int noOfFactoredToStringConverters = 0;
+	public int noOfFactoredStringToConverters = 0;
+	public int noOfFactorsThreadSafeConvertersCalls = 0;
+	public StringToExternallyConvertibleConverterSpy lastFactoredStringToConverter;
+	public ExternallyConvertibleToStringConverterSpy lastFactoredToStringConverter;
 
 	public ConverterFactorySpy(String name) {
 		this.factoryName = name;
@@ -41,6 +47,8 @@ public class ConverterFactorySpy implements ConverterFactory {
 	public StringToExternallyConvertibleConverter factorStringToExternallyConvertableConverter() {
 		StringToExternallyConvertibleConverterSpy stringToDataElementConverterSpy = new StringToExternallyConvertibleConverterSpy();
 		stringToDataElementConverterSpy.factoryName = factoryName;
+		noOfFactoredStringToConverters++;
+		lastFactoredStringToConverter = stringToDataElementConverterSpy;
 		return stringToDataElementConverterSpy;
 	}
 
@@ -48,6 +56,14 @@ public class ConverterFactorySpy implements ConverterFactory {
 	public ExternallyConvertibleToStringConverter factorExternallyConvertableToStringConverter() {
 		ExternallyConvertibleToStringConverterSpy dataElementToStringConverterSpy = new ExternallyConvertibleToStringConverterSpy();
 		dataElementToStringConverterSpy.factoryName = factoryName;
+		noOfFactoredToStringConverters++;
+		lastFactoredToStringConverter = dataElementToStringConverterSpy;
 		return dataElementToStringConverterSpy;
 	}
+
+	@Override
+	public boolean factorsThreadSafeConverters() {
+		noOfFactorsThreadSafeConvertersCalls++;
+		return threadSafe;
+	}
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.spy;
+
+import se.uu.ub.cora.converter.DataEventReader;
+import se.uu.ub.cora.converter.DataEventWriter;
+
+public class DataEventConverterFactorySpy extends ConverterFactorySpy {
+
+	public int noOfFactoredReaders = 0;
+	public int noOfFactoredWriters = 0;
+	public DataEventReaderSpy reader;
+	public DataEventWriterSpy writer;
+
+	public DataEventConverterFactorySpy(String name) {
+		super(name);
+	}
+
+	@Override
+	public boolean supportsDataEvents() {
+		return true;
+	}
+
+	@Override
+	public DataEventReader factorDataEventReader() {
+		noOfFactoredReaders++;
+		reader = new DataEventReaderSpy();
+		return reader;
+	}
+
+	@Override
+	public DataEventWriter factorDataEventWriter() {
+		noOfFactoredWriters++;
+		writer = new DataEventWriterSpy();
+		return writer;
+	}
+}
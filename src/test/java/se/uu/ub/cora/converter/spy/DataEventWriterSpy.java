@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.spy;
+
+import java.io.IOException;
+
+import se.uu.ub.cora.converter.ConverterException;
+import se.uu.ub.cora.converter.DataEventHandler;
+import se.uu.ub.cora.converter.DataEventWriter;
+
+public class DataEventWriterSpy implements DataEventWriter {
+
+	public Appendable appendable;
+
+	@Override
+	public DataEventHandler writeTo(Appendable appendable) {
+		this.appendable = appendable;
+		return new DataEventHandler() {
+
+			@Override
+			public void startElement(String nameInData) {
+				write("start:" + nameInData + ";");
+			}
+
+			@Override
+			public void attribute(String nameInData, String value) {
+				write("attribute:" + nameInData + "=" + value + ";");
+			}
+
+			@Override
+			public void repeatId(String repeatId) {
+				write("repeatId:" + repeatId + ";");
+			}
+
+			@Override
+			public void value(String value) {
+				write("value:" + value + ";");
+			}
+
+			@Override
+			public void endElement() {
+				write("end;");
+			}
+		};
+	}
+
+	private void write(String text) {
+		try {
+			appendable.append(text);
+		} catch (IOException e) {
+			throw new ConverterException("Unable to write, thrown by SPY", e);
+		}
+	}
+}
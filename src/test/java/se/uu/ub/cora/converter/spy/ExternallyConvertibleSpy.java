@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package se.uu.ub.cora.converter.spy;
+
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+public class ExternallyConvertibleSpy implements ExternallyConvertible {
+	public String identity;
+	public String version;
+
+	public ExternallyConvertibleSpy() {
+	}
+
+	public ExternallyConvertibleSpy(String identity, String version) {
+		this.identity = identity;
+		this.version = version;
+	}
+
+}
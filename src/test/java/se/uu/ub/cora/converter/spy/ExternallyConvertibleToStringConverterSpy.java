@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -27,17 +27,25 @@ public class ExternallyConvertibleToStringConverterSpy
 		implements ExternallyConvertibleToStringConverter {
 
 	public String factoryName = "";
+	public ExternallyConvertible externallyConvertible;
+	public ExternalUrls externalUrls;
+	public String convertedString = "someConvertedString";
+	public String convertedWithLinksString = "someConvertedWithLinksString";
+	public int noOfConvertCalls = 0;
 
 	@Override
 	public String convert(ExternallyConvertible externallyConvertible) {
-		// TODO Auto-generated method stub
-		return null;
+		this.externallyConvertible = externallyConvertible;
+		noOfConvertCalls++;
+		return convertedString;
 	}
 
 	@Override
 	public String convertWithLinks(ExternallyConvertible externallyConvertible, ExternalUrls externalUrls) {
-		// TODO Auto-generated method stub
-		return null;
+		this.externallyConvertible = externallyConvertible;
+		this.externalUrls = externalUrls;
+		noOfConvertCalls++;
+		return convertedWithLinksString;
 	}
 
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Uppsala University Library
+ *
+ * This file is part of Cora.
+ *
+ *     Cora is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     Cora is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with Cora.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package se.uu.ub.cora.converter.spy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import se.uu.ub.cora.converter.ExternalUrls;
+import se.uu.ub.cora.data.ExternallyConvertible;
+
+public class SizeHintedToStringConverterSpy extends ExternallyConvertibleToStringConverterSpy {
+
+	public List<Integer> outputSizeHints = new ArrayList<>();
+
+	@Override
+	public String convert(ExternallyConvertible externallyConvertible, int outputSizeHint) {
+		outputSizeHints.add(outputSizeHint);
+		return convert(externallyConvertible);
+	}
+
+	@Override
+	public String convertWithLinks(ExternallyConvertible externallyConvertible,
+			ExternalUrls externalUrls, int outputSizeHint) {
+		outputSizeHints.add(outputSizeHint);
+		return convertWithLinks(externallyConvertible, externalUrls);
+	}
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021 Uppsala University Library
+ * Copyright 2021, 2026 Uppsala University Library
  *
  * This file is part of Cora.
  *
@@ -19,6 +19,9 @@
 
 package se.uu.ub.cora.converter.spy;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import se.uu.ub.cora.converter.StringToExternallyConvertibleConverter;
 import se.uu.ub.cora.data.ExternallyConvertible;
 
@@ -26,11 +29,15 @@ public class StringToExternallyConvertibleConverterSpy
 		implements StringToExternallyConvertibleConverter {
 
 	public String factoryName = "";
+	public List<String> dataStrings = new ArrayList<>();
+	public List<ExternallyConvertible> returnedExternallyConvertibles = new ArrayList<>();
 
 	@Override
 	public ExternallyConvertible convert(String dataString) {
-		// TODO Auto-generated method stub
-		return null;
+		dataStrings.add(dataString);
+		ExternallyConvertible externallyConvertible = new ExternallyConvertibleSpy();
+		returnedExternallyConvertibles.add(externallyConvertible);
+		return externallyConvertible;
 	}
 
 }
@@ -68,6 +68,16 @@ public class LoggerFactorySpy implements LoggerFactory {
 		return infoMessages.get(messageNo);
 	}
 
+	public int getNoOfWarnLogMessagesUsingClassName(String className) {
+		List<String> warnMessages = (createdLoggers.get(className)).warnMessages;
+		return warnMessages.size();
+	}
+
+	public String getWarnLogMessageUsingClassNameAndNo(String className, int messageNo) {
+		List<String> warnMessages = (createdLoggers.get(className)).warnMessages;
+		return warnMessages.get(messageNo);
+	}
+
 	public void resetLogs(String testedClassName) {
 		if (createdLoggers.containsKey(testedClassName)) {
 			LoggerSpy loggerSpy = createdLoggers.get(testedClassName);
@@ -29,6 +29,7 @@ public class LoggerSpy implements Logger {
 
 	public List<String> fatalMessages = new ArrayList<>();
 	public List<String> infoMessages = new ArrayList<>();
+	public List<String> warnMessages = new ArrayList<>();
 
 	@Override
 	public void logFatalUsingMessage(String message) {
@@ -55,14 +56,12 @@ public class LoggerSpy implements Logger {
 
 	@Override
 	public void logWarnUsingMessage(String message) {
-		// TODO Auto-generated method stub
-
+		warnMessages.add(message);
 	}
 
 	@Override
 	public void logWarnUsingMessageAndException(String message, Exception exception) {
-		// TODO Auto-generated method stub
-
+		warnMessages.add(message);
 	}
 
 	@Override
@@ -97,6 +96,7 @@ public class LoggerSpy implements Logger {
 	public void resetLogs() {
 		fatalMessages = new ArrayList<>();
 		infoMessages = new ArrayList<>();
+		warnMessages = new ArrayList<>();
 	}
 
 }
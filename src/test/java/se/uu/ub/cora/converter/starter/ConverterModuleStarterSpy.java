@@ -28,6 +28,7 @@ import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
 public class ConverterModuleStarterSpy implements ConverterModuleStarter {
 
 	public boolean startWasCalled = false;
+	public int noOfStartCalls = 0;
 	public Iterable<ConverterFactory> converterFactoryImplementations;
 	private int noOfConverterFactories;
 	public Map<String, ConverterFactory> converterFactories;
@@ -41,6 +42,7 @@ public class ConverterModuleStarterSpy implements ConverterModuleStarter {
 			Iterable<ConverterFactory> converterFactoryImplementations) {
 		this.converterFactoryImplementations = converterFactoryImplementations;
 		startWasCalled = true;
+		noOfStartCalls++;
 		if (noOfConverterFactories == 0) {
 			throw new ConverterInitializationException(
 					"No implementations when loading, thrown by SPY");
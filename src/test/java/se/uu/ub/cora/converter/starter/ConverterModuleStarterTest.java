@@ -20,18 +20,35 @@
 package se.uu.ub.cora.converter.starter;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.ServiceLoader.Provider;
+import java.util.Set;
 
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import se.uu.ub.cora.converter.ConverterFactory;
 import se.uu.ub.cora.converter.ConverterInitializationException;
+import se.uu.ub.cora.converter.spy.AnnotatedConverterFactorySpy;
+import se.uu.ub.cora.converter.index.ConverterFactoryIndex;
+import se.uu.ub.cora.converter.index.ConverterFactoryIndexTest;
 import se.uu.ub.cora.converter.spy.ConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.IndexedConverterFactorySpy;
+import se.uu.ub.cora.converter.spy.NotIndexedConverterFactorySpy;
 import se.uu.ub.cora.converter.spy.log.LoggerFactorySpy;
 import se.uu.ub.cora.logger.LoggerProvider;
 
@@ -151,4 +168,339 @@ public class ConverterModuleStarterTest {
 				"More than one implementations found for ConverterFactory with name XML");
 	}
 
+	@Test
+	public void testServiceLoaderIsStartedUsingProviders() throws Exception {
+		Exception caughtException = null;
+		try {
+			starter.startUsingConverterFactoryImplementations(
+					ServiceLoader.load(ConverterFactory.class));
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(), "No implementations found for ConverterFactory");
+	}
+
+	@Test
+	public void testProviderWithoutAnnotationIsInstantiatedAtStart() throws Exception {
+		ConverterFactorySpy converterFactorySpy = new ConverterFactorySpy("XML");
+		ConverterFactoryProviderSpy provider = new ConverterFactoryProviderSpy(
+				converterFactorySpy);
+
+		Map<String, ConverterFactory> converterFactories = startUsingProviders(provider);
+
+		assertEquals(provider.noOfGetCalls, 1);
+		assertSame(converterFactories.get("XML"), converterFactorySpy);
+		assertEquals(loggerFactorySpy.getInfoLogMessageUsingClassNameAndNo(testedClassName, 0),
+				"ConverterFactorySpy found as implementation for ConverterFactory with name XML");
+	}
+
+	private Map<String, ConverterFactory> startUsingProviders(
+			ConverterFactoryProviderSpy... providers) {
+		List<Provider<ConverterFactory>> providerList = new ArrayList<>(List.of(providers));
+		return starter.startUsingConverterFactoryProviders(providerList);
+	}
+
+	@Test
+	public void testAnnotatedProviderIsNotInstantiatedAtStart() throws Exception {
+		AnnotatedConverterFactorySpy converterFactorySpy = new AnnotatedConverterFactorySpy(
+				"annotated");
+		ConverterFactoryProviderSpy provider = new ConverterFactoryProviderSpy(
+				converterFactorySpy);
+
+		Map<String, ConverterFactory> converterFactories = startUsingProviders(provider);
+
+		assertEquals(provider.noOfGetCalls, 0);
+		ConverterFactory converterFactory = converterFactories.get("annotated");
+		assertTrue(converterFactory instanceof LazyConverterFactory);
+		assertEquals(converterFactory.getName(), "annotated");
+		assertEquals(provider.noOfGetCalls, 0);
+		assertEquals(loggerFactorySpy.getInfoLogMessageUsingClassNameAndNo(testedClassName, 0),
+				"AnnotatedConverterFactorySpy found as implementation for ConverterFactory"
+						+ " with name annotated");
+	}
+
+	@Test
+	public void testAnnotatedProviderIsInstantiatedOnceWhenUsed() throws Exception {
+		AnnotatedConverterFactorySpy converterFactorySpy = new AnnotatedConverterFactorySpy(
+				"annotated");
+		converterFactorySpy.threadSafe = true;
+		ConverterFactoryProviderSpy provider = new ConverterFactoryProviderSpy(
+				converterFactorySpy);
+		ConverterFactory converterFactory = startUsingProviders(provider).get("annotated");
+
+		converterFactory.factorExternallyConvertableToStringConverter();
+		converterFactory.factorStringToExternallyConvertableConverter();
+		assertTrue(converterFactory.factorsThreadSafeConverters());
+
+		assertEquals(provider.noOfGetCalls, 1);
+		assertEquals(converterFactorySpy.noOfFactoredToStringConverters, 1);
+		assertEquals(converterFactorySpy.noOfFactoredStringToConverters, 1);
+		assertSame(((LazyConverterFactory) converterFactory).getConverterFactory(),
+				converterFactorySpy);
+	}
+
+	@Test
+	public void testAnnotatedNameDifferentFromNameThrowsErrorWhenUsed() throws Exception {
+		ConverterFactoryProviderSpy provider = new ConverterFactoryProviderSpy(
+				new AnnotatedConverterFactorySpy("other"));
+		ConverterFactory converterFactory = startUsingProviders(provider).get("annotated");
+
+		Exception caughtException = null;
+		try {
+			converterFactory.factorExternallyConvertableToStringConverter();
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(),
+				"AnnotatedConverterFactorySpy is registered with name annotated but has name other");
+	}
+
+	@Test
+	public void testDuplicateNamesAreFoundWithoutInstantiatingAnnotatedProviders()
+			throws Exception {
+		ConverterFactoryProviderSpy annotatedProvider = new ConverterFactoryProviderSpy(
+				new AnnotatedConverterFactorySpy("annotated"));
+		ConverterFactoryProviderSpy provider = new ConverterFactoryProviderSpy(
+				new ConverterFactorySpy("annotated"));
+
+		Exception caughtException = null;
+		try {
+			startUsingProviders(annotatedProvider, provider);
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(),
+				"More than one implementations found for ConverterFactory with name annotated");
+		assertEquals(annotatedProvider.noOfGetCalls, 0);
+	}
+
+	@Test
+	public void testNoProvidersThrowsError() throws Exception {
+		Exception caughtException = null;
+		try {
+			startUsingProviders();
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(), "No implementations found for ConverterFactory");
+	}
+
+	@Test
+	public void testIndexedFactoriesAreNotInstantiatedAtStart() throws Exception {
+		IndexedConverterFactorySpy.noOfInstances = 0;
+
+		Map<String, ConverterFactory> converterFactories = startUsingIndex(
+				"indexed=" + IndexedConverterFactorySpy.class.getName());
+
+		assertEquals(IndexedConverterFactorySpy.noOfInstances, 0);
+		assertEquals(converterFactories.size(), 1);
+		assertEquals(converterFactories.get("indexed").getName(), "indexed");
+		assertEquals(loggerFactorySpy.getInfoLogMessageUsingClassNameAndNo(testedClassName, 0),
+				"IndexedConverterFactorySpy found as implementation for ConverterFactory"
+						+ " with name indexed");
+	}
+
+	@SafeVarargs
+	private Map<String, ConverterFactory> startUsingIndex(String index,
+			Provider<ConverterFactory>... providers) throws Exception {
+		ConverterFactoryIndex converterFactoryIndex = ConverterFactoryIndex.readUsingClassLoader(
+				ConverterFactoryIndexTest.createClassLoaderWithIndexes(index));
+		return starter.startUsingConverterFactoryIndex(converterFactoryIndex,
+				List.of(providers));
+	}
+
+	@Test
+	public void testProvidersAreNotUsedAtStartWithIndexAlone() throws Exception {
+		CountingProviders providers = new CountingProviders(
+				new ConverterFactoryProviderSpy(new IndexedConverterFactorySpy()));
+		ConverterFactoryIndex converterFactoryIndex = ConverterFactoryIndex.readUsingClassLoader(
+				ConverterFactoryIndexTest.createClassLoaderWithIndexes(
+						"indexed=" + IndexedConverterFactorySpy.class.getName()));
+
+		ConverterFactory converterFactory = starter
+				.startUsingConverterFactoryIndex(converterFactoryIndex, providers).get("indexed");
+
+		assertEquals(providers.noOfIteratorCalls, 0);
+		converterFactory.factorExternallyConvertableToStringConverter();
+		assertEquals(providers.noOfIteratorCalls, 1);
+	}
+
+	private static class CountingProviders implements Iterable<Provider<ConverterFactory>> {
+		private List<Provider<ConverterFactory>> providers;
+		int noOfIteratorCalls = 0;
+
+		CountingProviders(Provider<ConverterFactory> provider) {
+			providers = List.of(provider);
+		}
+
+		@Override
+		public Iterator<Provider<ConverterFactory>> iterator() {
+			noOfIteratorCalls++;
+			return providers.iterator();
+		}
+	}
+
+	@Test
+	public void testIndexedFactoryIsInstantiatedOnceWhenUsed() throws Exception {
+		ConverterFactoryProviderSpy provider = new ConverterFactoryProviderSpy(
+				new IndexedConverterFactorySpy());
+		ConverterFactory converterFactory = startUsingIndex(
+				"indexed=" + IndexedConverterFactorySpy.class.getName(), provider).get("indexed");
+
+		converterFactory.factorExternallyConvertableToStringConverter();
+		converterFactory.factorStringToExternallyConvertableConverter();
+
+		assertEquals(provider.noOfGetCalls, 1);
+		assertSame(((LazyConverterFactory) converterFactory).getConverterFactory(),
+				provider.converterFactory);
+	}
+
+	@Test
+	public void testIndexedFactoryThatIsNotRegisteredThrowsErrorWhenUsed() throws Exception {
+		ConverterFactory converterFactory = startUsingIndex("missing=se.some.MissingFactory")
+				.get("missing");
+
+		Exception caughtException = null;
+		try {
+			converterFactory.factorExternallyConvertableToStringConverter();
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(), "Unable to instantiate ConverterFactory"
+				+ " se.some.MissingFactory, it is not registered as a service");
+	}
+
+	@Test
+	public void testIndexedNameDifferentFromNameThrowsErrorWhenUsed() throws Exception {
+		ConverterFactory converterFactory = startUsingIndex(
+				"other=" + IndexedConverterFactorySpy.class.getName(),
+				new ConverterFactoryProviderSpy(new IndexedConverterFactorySpy())).get("other");
+
+		Exception caughtException = null;
+		try {
+			converterFactory.factorStringToExternallyConvertableConverter();
+		} catch (Exception e) {
+			caughtException = e;
+		}
+
+		assertTrue(caughtException instanceof ConverterInitializationException);
+		assertEquals(caughtException.getMessage(),
+				"IndexedConverterFactorySpy is registered with name other but has name indexed");
+	}
+
+	@Test
+	public void testAnnotatedProviderIsInstantiatedWhenAskedForDataEvents() throws Exception {
+		ConverterFactoryProviderSpy provider = new ConverterFactoryProviderSpy(
+				new AnnotatedConverterFactorySpy("annotated"));
+		ConverterFactory converterFactory = startUsingProviders(provider).get("annotated");
+
+		assertFalse(converterFactory.supportsDataEvents());
+
+		assertEquals(provider.noOfGetCalls, 1);
+	}
+
+	@Test
+	public void testIndexedFactoriesAreMergedWithNotIndexedProviders() throws Exception {
+		ConverterFactoryProviderSpy indexedProvider = new ConverterFactoryProviderSpy(
+				new IndexedConverterFactorySpy());
+		ConverterFactoryProviderSpy notIndexedProvider = new ConverterFactoryProviderSpy(
+				new ConverterFactorySpy("notIndexed"));
+		IndexedConverterFactorySpy.noOfInstances = 0;
+		ConverterFactoryIndex converterFactoryIndex = ConverterFactoryIndex.readUsingClassLoader(
+				ConverterFactoryIndexTest.createClassLoaderWithIndexes(
+						"indexed=" + IndexedConverterFactorySpy.class.getName()));
+
+		Map<String, ConverterFactory> converterFactories = starter
+				.startUsingConverterFactoryIndexAndProviders(converterFactoryIndex,
+						List.of(indexedProvider, notIndexedProvider));
+
+		assertEquals(converterFactories.keySet(), Set.of("indexed", "notIndexed"));
+		assertEquals(indexedProvider.noOfGetCalls, 0);
+		assertEquals(notIndexedProvider.noOfGetCalls, 1);
+		converterFactories.get("indexed").factorExternallyConvertableToStringConverter();
+		assertEquals(indexedProvider.noOfGetCalls, 1);
+		assertEquals(IndexedConverterFactorySpy.noOfInstances, 0);
+	}
+
+	@Test
+	public void testServiceLoaderWithIndexedAndNotIndexedJars() throws Exception {
+		Path indexedJar = createJarDirectory(IndexedConverterFactorySpy.class);
+		writeFile(indexedJar, ConverterFactoryIndex.RESOURCE_NAME,
+				"indexed=" + IndexedConverterFactorySpy.class.getName());
+		Path notIndexedJar = createJarDirectory(NotIndexedConverterFactorySpy.class);
+		IndexedConverterFactorySpy.noOfInstances = 0;
+		NotIndexedConverterFactorySpy.noOfInstances = 0;
+
+		Map<String, ConverterFactory> converterFactories;
+		Thread currentThread = Thread.currentThread();
+		ClassLoader contextClassLoader = currentThread.getContextClassLoader();
+		try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { indexedJar.toUri().toURL(), notIndexedJar.toUri().toURL() },
+				getClass().getClassLoader())) {
+			currentThread.setContextClassLoader(classLoader);
+			converterFactories = starter.startUsingConverterFactoryImplementations(
+					ServiceLoader.load(ConverterFactory.class, classLoader));
+		} finally {
+			currentThread.setContextClassLoader(contextClassLoader);
+		}
+
+		assertEquals(converterFactories.keySet(), Set.of("indexed", "notIndexed"));
+		assertEquals(IndexedConverterFactorySpy.noOfInstances, 0);
+		assertEquals(NotIndexedConverterFactorySpy.noOfInstances, 1);
+		converterFactories.get("indexed").factorStringToExternallyConvertableConverter();
+		assertEquals(IndexedConverterFactorySpy.noOfInstances, 1);
+	}
+
+	@Test
+	public void testServiceLoaderWithCompleteIndexUsesIndexAlone() throws Exception {
+		Path indexedJar = Files.createTempDirectory("converterJar");
+		writeFile(indexedJar, "META-INF/services/" + ConverterFactory.class.getName(),
+				IndexedConverterFactorySpy.class.getName() + "\nse.some.MissingFactory\n");
+		writeFile(indexedJar, ConverterFactoryIndex.RESOURCE_NAME,
+				"indexed=" + IndexedConverterFactorySpy.class.getName()
+						+ "\nmissing=se.some.MissingFactory\n");
+		IndexedConverterFactorySpy.noOfInstances = 0;
+
+		Map<String, ConverterFactory> converterFactories;
+		Thread currentThread = Thread.currentThread();
+		ClassLoader contextClassLoader = currentThread.getContextClassLoader();
+		try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { indexedJar.toUri().toURL() }, getClass().getClassLoader())) {
+			currentThread.setContextClassLoader(classLoader);
+			converterFactories = starter.startUsingConverterFactoryImplementations(
+					ServiceLoader.load(ConverterFactory.class, classLoader));
+			assertEquals(converterFactories.keySet(), Set.of("indexed", "missing"));
+			assertEquals(IndexedConverterFactorySpy.noOfInstances, 0);
+			converterFactories.get("indexed").factorStringToExternallyConvertableConverter();
+		} finally {
+			currentThread.setContextClassLoader(contextClassLoader);
+		}
+
+		assertEquals(IndexedConverterFactorySpy.noOfInstances, 1);
+	}
+
+	private Path createJarDirectory(Class<? extends ConverterFactory> implementation)
+			throws IOException {
+		Path directory = Files.createTempDirectory("converterJar");
+		writeFile(directory, "META-INF/services/" + ConverterFactory.class.getName(),
+				implementation.getName());
+		return directory;
+	}
+
+	private void writeFile(Path directory, String name, String content) throws IOException {
+		Path file = directory.resolve(name);
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, content, StandardCharsets.UTF_8);
+		file.toFile().deleteOnExit();
+	}
 }